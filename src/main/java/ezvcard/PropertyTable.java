@@ -0,0 +1,455 @@
+package ezvcard;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+
+import ezvcard.property.VCardProperty;
+
+/*
+ Copyright (c) 2012-2021, Michael Angstadt
+ All rights reserved.
+
+ Redistribution and use in source and binary forms, with or without
+ modification, are permitted provided that the following conditions are met: 
+
+ 1. Redistributions of source code must retain the above copyright notice, this
+ list of conditions and the following disclaimer. 
+ 2. Redistributions in binary form must reproduce the above copyright notice,
+ this list of conditions and the following disclaimer in the documentation
+ and/or other materials provided with the distribution. 
+
+ THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+
+ The views and conclusions contained in the software and documentation are those
+ of the authors and should not be interpreted as representing official policies, 
+ either expressed or implied, of the FreeBSD Project.
+ */
+
+/**
+ * <p>
+ * Stores the properties of a {@link VCard}, grouped by class.
+ * </p>
+ * <p>
+ * All properties are kept in a single array in which the properties of each
+ * class occupy a contiguous run (a "slot"). The slots are ordered by when
+ * their class was first added, and each slot records where its run ends. This
+ * is much more compact than a map of lists, since a vCard typically contains
+ * a handful of properties spread across a handful of classes. Looking up a
+ * class is a linear scan over the slot classes, which is as fast as a hash
+ * lookup for the number of classes a vCard usually has.
+ * </p>
+ * <p>
+ * Properties are compared by identity when looking up a class, so subclasses
+ * get their own slots.
+ * </p>
+ * <p>
+ * A table can share property objects with the table it was copied from (see
+ * {@link #copy}). A shared property is copied the first time it is handed
+ * out by one of the public-facing methods, so that changes made to it do not
+ * affect the other table.
+ * </p>
+ * @author Michael Angstadt
+ */
+final class PropertyTable {
+	private static final VCardProperty[] NO_PROPERTIES = {};
+	private static final Class<?>[] NO_CLASSES = {};
+	private static final int[] NO_ENDS = {};
+
+	/**
+	 * The properties, grouped by class.
+	 */
+	private VCardProperty[] properties = NO_PROPERTIES;
+	private int size;
+
+	/**
+	 * The class of each slot.
+	 */
+	private Class<?>[] classes = NO_CLASSES;
+
+	/**
+	 * The index in {@link #properties} where each slot ends (exclusive).
+	 */
+	private int[] ends = NO_ENDS;
+	private int slotCount;
+
+	/**
+	 * Flags the properties that are shared with another table (null if none
+	 * are).
+	 */
+	private boolean[] shared;
+
+	/**
+	 * Creates a copy of this table.
+	 * @param shareAll true to share all properties with the copy, false to
+	 * only share the properties that this table is already sharing and to
+	 * copy the rest
+	 * @return the copy
+	 */
+	PropertyTable copy(boolean shareAll) {
+		PropertyTable copy = new PropertyTable();
+		if (size == 0) {
+			return copy;
+		}
+
+		copy.properties = Arrays.copyOf(properties, size);
+		copy.size = size;
+		copy.classes = Arrays.copyOf(classes, slotCount);
+		copy.ends = Arrays.copyOf(ends, slotCount);
+		copy.slotCount = slotCount;
+		copy.shared = new boolean[size];
+
+		for (int i = 0; i < size; i++) {
+			if (shareAll || (shared != null && shared[i])) {
+				copy.shared[i] = true;
+			} else {
+				copy.properties[i] = properties[i].copy();
+			}
+		}
+
+		return copy;
+	}
+
+	/**
+	 * Stops tracking which properties are shared with other tables, without
+	 * copying them. This must only be called once the properties can no longer
+	 * be modified (when the vCard is frozen).
+	 */
+	void clearShared() {
+		shared = null;
+	}
+
+	/**
+	 * Gets the total number of properties.
+	 * @return the number of properties
+	 */
+	int size() {
+		return size;
+	}
+
+	/**
+	 * Gets the number of properties of the given class.
+	 * @param clazz the property class
+	 * @return the number of properties
+	 */
+	int size(Class<?> clazz) {
+		int slot = slot(clazz);
+		return (slot < 0) ? 0 : ends[slot] - start(slot);
+	}
+
+	/**
+	 * Gets the first property of the given class.
+	 * @param clazz the property class
+	 * @return the property or null if there are none
+	 */
+	VCardProperty first(Class<?> clazz) {
+		int slot = slot(clazz);
+		return (slot < 0) ? null : unshare(start(slot));
+	}
+
+	/**
+	 * Gets a property of the given class.
+	 * @param clazz the property class
+	 * @param index the index of the property within its class
+	 * @return the property
+	 * @throws IndexOutOfBoundsException if the index is out of range
+	 */
+	VCardProperty get(Class<?> clazz, int index) {
+		return unshare(offset(clazz, index, false));
+	}
+
+	/**
+	 * Replaces a property of the given class.
+	 * @param clazz the property class
+	 * @param index the index of the property within its class
+	 * @param property the new property
+	 * @return the property that was replaced
+	 * @throws IndexOutOfBoundsException if the index is out of range
+	 */
+	VCardProperty set(Class<?> clazz, int index, VCardProperty property) {
+		int offset = offset(clazz, index, false);
+		VCardProperty replaced = unshare(offset);
+		properties[offset] = property;
+		return replaced;
+	}
+
+	/**
+	 * Adds a property to the end of its class's properties.
+	 * @param clazz the property class
+	 * @param property the property
+	 */
+	void add(Class<?> clazz, VCardProperty property) {
+		int slot = slot(clazz);
+		if (slot < 0) {
+			slot = addSlot(clazz);
+		}
+		insert(slot, ends[slot], property);
+	}
+
+	/**
+	 * Inserts a property into its class's properties.
+	 * @param clazz the property class
+	 * @param index the index within the class to insert the property at
+	 * @param property the property
+	 * @throws IndexOutOfBoundsException if the index is out of range
+	 */
+	void add(Class<?> clazz, int index, VCardProperty property) {
+		int offset = offset(clazz, index, true);
+		int slot = slot(clazz);
+		if (slot < 0) {
+			slot = addSlot(clazz);
+		}
+		insert(slot, offset, property);
+	}
+
+	/**
+	 * Removes a property of the given class.
+	 * @param clazz the property class
+	 * @param index the index of the property within its class
+	 * @return the property that was removed
+	 * @throws IndexOutOfBoundsException if the index is out of range
+	 */
+	VCardProperty remove(Class<?> clazz, int index) {
+		int offset = offset(clazz, index, false);
+		VCardProperty removed = unshare(offset);
+		delete(slot(clazz), offset, 1);
+		return removed;
+	}
+
+	/**
+	 * Removes the first property of the given class that is equal to the given
+	 * property.
+	 * @param clazz the property class
+	 * @param property the property
+	 * @return the removed property or null if no property was removed
+	 */
+	VCardProperty remove(Class<?> clazz, VCardProperty property) {
+		int slot = slot(clazz);
+		if (slot < 0) {
+			return null;
+		}
+
+		for (int i = start(slot); i < ends[slot]; i++) {
+			VCardProperty removed = properties[i];
+			if (Objects.equals(property, removed)) {
+				delete(slot, i, 1);
+				return removed;
+			}
+		}
+		return null;
+	}
+
+	/**
+	 * Removes all properties of the given class.
+	 * @param clazz the property class
+	 * @return the removed properties (this list is immutable)
+	 */
+	List<VCardProperty> removeAll(Class<?> clazz) {
+		int slot = slot(clazz);
+		if (slot < 0) {
+			return Collections.emptyList();
+		}
+
+		int start = start(slot);
+		int end = ends[slot];
+		unshare(start, end);
+		List<VCardProperty> removed = Collections.unmodifiableList(Arrays.asList(Arrays.copyOfRange(properties, start, end)));
+		delete(slot, start, end - start);
+		return removed;
+	}
+
+	/**
+	 * Replaces all properties of the given class with a single property.
+	 * @param clazz the property class
+	 * @param property the property or null to just remove the existing
+	 * properties
+	 * @return the replaced properties (this list is immutable)
+	 */
+	List<VCardProperty> replace(Class<?> clazz, VCardProperty property) {
+		List<VCardProperty> replaced = removeAll(clazz);
+		if (property != null) {
+			add(clazz, property);
+		}
+		return replaced;
+	}
+
+	/**
+	 * Gets all the properties, grouped by class.
+	 * @return a copy of the properties (this list is immutable)
+	 */
+	List<VCardProperty> values() {
+		unshare(0, size);
+		return Collections.unmodifiableList(Arrays.asList(Arrays.copyOf(properties, size)));
+	}
+
+	/**
+	 * Gets the number of property classes.
+	 * @return the number of property classes
+	 */
+	int slotCount() {
+		return slotCount;
+	}
+
+	/**
+	 * Gets the property class of the given slot.
+	 * @param slot the slot (must be less than {@link #slotCount()})
+	 * @return the property class
+	 */
+	Class<?> slotClass(int slot) {
+		return classes[slot];
+	}
+
+	/**
+	 * Gets the properties of the given slot. Shared properties are not copied,
+	 * so the properties must not be modified or handed out.
+	 * @param slot the slot (must be less than {@link #slotCount()})
+	 * @return the properties (this list is backed by the table and must not be
+	 * held onto while the table is modified)
+	 */
+	List<VCardProperty> slotValues(int slot) {
+		return Arrays.asList(properties).subList(start(slot), ends[slot]);
+	}
+
+	/**
+	 * Gets the properties of the given class. Shared properties are not
+	 * copied, so the properties must not be modified or handed out (see
+	 * {@link #unshare(Class)}).
+	 * @param clazz the property class
+	 * @return the properties (this list is backed by the table and must not be
+	 * held onto while the table is modified)
+	 */
+	List<VCardProperty> values(Class<?> clazz) {
+		int slot = slot(clazz);
+		return (slot < 0) ? Collections.<VCardProperty> emptyList() : slotValues(slot);
+	}
+
+	/**
+	 * Copies the properties of the given class that are shared with another
+	 * table.
+	 * @param clazz the property class
+	 */
+	void unshare(Class<?> clazz) {
+		int slot = slot(clazz);
+		if (slot >= 0) {
+			unshare(start(slot), ends[slot]);
+		}
+	}
+
+	private void unshare(int start, int end) {
+		if (shared == null) {
+			return;
+		}
+
+		for (int i = start; i < end; i++) {
+			unshare(i);
+		}
+	}
+
+	private VCardProperty unshare(int offset) {
+		VCardProperty property = properties[offset];
+		if (shared != null && shared[offset]) {
+			property = property.copy();
+			properties[offset] = property;
+			shared[offset] = false;
+		}
+		return property;
+	}
+
+	private int slot(Class<?> clazz) {
+		for (int i = 0; i < slotCount; i++) {
+			if (classes[i] == clazz) {
+				return i;
+			}
+		}
+		return -1;
+	}
+
+	private int start(int slot) {
+		return (slot == 0) ? 0 : ends[slot - 1];
+	}
+
+	/**
+	 * Converts a class-relative index into an index in the properties array.
+	 * @param clazz the property class
+	 * @param index the class-relative index
+	 * @param inclusive true to allow the index to equal the number of
+	 * properties in the class (for insertions), false not to
+	 * @return the array index
+	 */
+	private int offset(Class<?> clazz, int index, boolean inclusive) {
+		int slot = slot(clazz);
+		int start = (slot < 0) ? size : start(slot);
+		int count = (slot < 0) ? 0 : ends[slot] - start;
+		if (index < 0 || index > count || (index == count && !inclusive)) {
+			throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + count);
+		}
+		return start + index;
+	}
+
+	private int addSlot(Class<?> clazz) {
+		if (slotCount == classes.length) {
+			int capacity = Math.max(4, slotCount * 2);
+			classes = Arrays.copyOf(classes, capacity);
+			ends = Arrays.copyOf(ends, capacity);
+		}
+
+		classes[slotCount] = clazz;
+		ends[slotCount] = size;
+		return slotCount++;
+	}
+
+	private void insert(int slot, int offset, VCardProperty property) {
+		if (size == properties.length) {
+			int capacity = Math.max(8, size + (size >> 1));
+			properties = Arrays.copyOf(properties, capacity);
+		}
+
+		System.arraycopy(properties, offset, properties, offset + 1, size - offset);
+		properties[offset] = property;
+		if (shared != null) {
+			if (shared.length < properties.length) {
+				shared = Arrays.copyOf(shared, properties.length);
+			}
+			System.arraycopy(shared, offset, shared, offset + 1, size - offset);
+			shared[offset] = false;
+		}
+		size++;
+
+		for (int i = slot; i < slotCount; i++) {
+			ends[i]++;
+		}
+	}
+
+	private void delete(int slot, int offset, int count) {
+		System.arraycopy(properties, offset + count, properties, offset, size - offset - count);
+		Arrays.fill(properties, size - count, size, null);
+		if (shared != null) {
+			System.arraycopy(shared, offset + count, shared, offset, size - offset - count);
+			Arrays.fill(shared, size - count, size, false);
+		}
+		size -= count;
+
+		for (int i = slot; i < slotCount; i++) {
+			ends[i] -= count;
+		}
+
+		if (start(slot) == ends[slot]) {
+			//remove the empty slot
+			int moved = slotCount - slot - 1;
+			System.arraycopy(classes, slot + 1, classes, slot, moved);
+			System.arraycopy(ends, slot + 1, ends, slot, moved);
+			slotCount--;
+			classes[slotCount] = null;
+		}
+	}
+}
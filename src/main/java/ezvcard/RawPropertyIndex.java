@@ -0,0 +1,135 @@
+package ezvcard;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import ezvcard.property.RawProperty;
+import ezvcard.property.VCardProperty;
+import ezvcard.util.StringUtils;
+
+/*
+ Copyright (c) 2012-2021, Michael Angstadt
+ All rights reserved.
+
+ Redistribution and use in source and binary forms, with or without
+ modification, are permitted provided that the following conditions are met: 
+
+ 1. Redistributions of source code must retain the above copyright notice, this
+ list of conditions and the following disclaimer. 
+ 2. Redistributions in binary form must reproduce the above copyright notice,
+ this list of conditions and the following disclaimer in the documentation
+ and/or other materials provided with the distribution. 
+
+ THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+
+ The views and conclusions contained in the software and documentation are those
+ of the authors and should not be interpreted as representing official policies, 
+ either expressed or implied, of the FreeBSD Project.
+ */
+
+/**
+ * <p>
+ * A case-insensitive index of {@link RawProperty} objects by property name,
+ * used by {@link VCard} to look up extended properties.
+ * </p>
+ * <p>
+ * The index is an immutable snapshot. {@link VCard} discards it when its raw
+ * properties are added or removed, and rebuilds it if any of the indexed
+ * properties have been renamed since it was built (see
+ * {@link RawProperty#addNameListener}). Lookups do not allocate any memory.
+ * </p>
+ * @author Michael Angstadt
+ */
+final class RawPropertyIndex {
+	private final int renameCount;
+	private final String[] names;
+	private final List<List<RawProperty>> properties;
+	private final int mask;
+
+	/**
+	 * @param rawProperties the properties to index
+	 * @param renameCount the vCard's count of property renames at the time the
+	 * properties were read
+	 */
+	RawPropertyIndex(List<? extends VCardProperty> rawProperties, int renameCount) {
+		this.renameCount = renameCount;
+
+		int capacity = 2;
+		while (capacity < rawProperties.size() * 2) {
+			capacity <<= 1;
+		}
+		names = new String[capacity];
+		properties = new ArrayList<>(Collections.nCopies(capacity, null));
+		mask = capacity - 1;
+
+		for (VCardProperty property : rawProperties) {
+			RawProperty raw = (RawProperty) property;
+			String name = raw.getPropertyName();
+			if (name == null) {
+				continue;
+			}
+
+			int slot = slot(name);
+			if (names[slot] == null) {
+				names[slot] = name;
+				properties.set(slot, new ArrayList<>(1));
+			}
+			properties.get(slot).add(raw);
+		}
+
+		for (int i = 0; i < capacity; i++) {
+			List<RawProperty> list = properties.get(i);
+			if (list != null) {
+				properties.set(i, Collections.unmodifiableList(list));
+			}
+		}
+	}
+
+	/**
+	 * Gets the vCard's count of property renames at the time the index was
+	 * built.
+	 * @return the rename count
+	 */
+	int getRenameCount() {
+		return renameCount;
+	}
+
+	/**
+	 * Gets the properties with the given name.
+	 * @param name the property name (case insensitive)
+	 * @return the properties (this list is immutable)
+	 */
+	List<RawProperty> get(String name) {
+		if (name == null) {
+			return Collections.emptyList();
+		}
+
+		int slot = slot(name);
+		return (names[slot] == null) ? Collections.<RawProperty> emptyList() : properties.get(slot);
+	}
+
+	/**
+	 * Finds the slot that the given name occupies, or the empty slot it would
+	 * be stored in.
+	 * @param name the property name
+	 * @return the slot
+	 */
+	private int slot(String name) {
+		int hash = StringUtils.hashCodeIgnoreCase(name);
+		int slot = (hash ^ (hash >>> 16)) & mask;
+		while (names[slot] != null && !names[slot].equalsIgnoreCase(name)) {
+			slot = (slot + 1) & mask;
+		}
+		return slot;
+	}
+}
@@ -12,11 +12,13 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.function.Supplier;
 
 import javax.xml.transform.TransformerException;
 
@@ -117,7 +119,39 @@ import ezvcard.util.StringUtils;
  */
 public class VCard implements Iterable<VCardProperty> {
 	private VCardVersion version;
-	private final ListMultimap<Class<? extends VCardProperty>, VCardProperty> properties = new ListMultimap<>();
+	private final PropertyTable properties;
+
+	/**
+	 * The number of properties whose unmarshalling has been deferred until
+	 * they are accessed. Each one is stored in the property table as a
+	 * {@link DeferredProperty}, which holds its position until it is
+	 * unmarshalled.
+	 */
+	private int deferredCount;
+
+	/**
+	 * Indexes the extended properties by name (null if it needs to be
+	 * rebuilt).
+	 */
+	private RawPropertyIndex extendedPropertyIndex;
+
+	/**
+	 * Counts how many times the indexed extended properties have been renamed,
+	 * so the index can be rebuilt when it goes out of date.
+	 */
+	private final RenameCounter renameCounter = new RenameCounter();
+
+	/**
+	 * True if the vCard can no longer be modified. This field is volatile so
+	 * that all writes made before the vCard was frozen are visible to any
+	 * thread that reads from the vCard afterwards.
+	 */
+	private volatile boolean frozen;
+
+	/**
+	 * The hash code, calculated when the vCard is frozen.
+	 */
+	private int frozenHashCode;
 
 	/**
 	 * Creates a new vCard set to version 3.0.
@@ -132,17 +166,27 @@ public class VCard implements Iterable<VCardProperty> {
 	 */
 	public VCard(VCardVersion version) {
 		this.version = version;
+		properties = new PropertyTable();
 	}
 
 	/**
-	 * Creates a deep copy of the given vCard.
+	 * <p>
+	 * Creates a deep copy of the given vCard. The copy is not frozen, even if
+	 * the original is.
+	 * </p>
+	 * <p>
+	 * If the original is frozen (see {@link #freeze}), the copy is made lazily:
+	 * the copy initially shares the original's property objects, and each
+	 * property is only copied when it is first retrieved from the copy or
+	 * removed from it. This makes copying a frozen vCard about as cheap as
+	 * copying an array.
+	 * </p>
 	 * @param original the vCard to copy
 	 */
 	public VCard(VCard original) {
 		version = original.version;
-		for (VCardProperty property : original.getProperties()) {
-			addProperty(property.copy());
-		}
+		original.resolveDeferredProperties();
+		properties = original.properties.copy(original.frozen);
 	}
 
 	/**
@@ -464,6 +508,7 @@ public class VCard implements Iterable<VCardProperty> {
 	 * @param version the vCard version
 	 */
 	public void setVersion(VCardVersion version) {
+		checkFrozen();
 		this.version = version;
 	}
 
@@ -4198,6 +4243,7 @@ public class VCard implements Iterable<VCardProperty> {
 	 * @return the iterator
 	 */
 	public Iterator<VCardProperty> iterator() {
+		resolveDeferredProperties();
 		return properties.values().iterator();
 	}
 
@@ -4208,6 +4254,7 @@ public class VCard implements Iterable<VCardProperty> {
 	 * @return the property or null if not found
 	 */
 	public <T extends VCardProperty> T getProperty(Class<T> clazz) {
+		resolveDeferredProperties(clazz);
 		return clazz.cast(properties.first(clazz));
 	}
 
@@ -4219,6 +4266,7 @@ public class VCard implements Iterable<VCardProperty> {
 	 * {@link VCard} object and vice versa)
 	 */
 	public <T extends VCardProperty> List<T> getProperties(Class<T> clazz) {
+		resolveDeferredProperties(clazz);
 		return new VCardPropertyList<>(clazz);
 	}
 
@@ -4263,6 +4311,7 @@ public class VCard implements Iterable<VCardProperty> {
 	 * @return the properties (this list is immutable)
 	 */
 	public Collection<VCardProperty> getProperties() {
+		resolveDeferredProperties();
 		return properties.values();
 	}
 
@@ -4271,7 +4320,114 @@ public class VCard implements Iterable<VCardProperty> {
 	 * @param property the property to add
 	 */
 	public void addProperty(VCardProperty property) {
-		properties.put(property.getClass(), property);
+		checkFrozen();
+		resolveDeferredProperties(property.getClass());
+		properties.add(property.getClass(), property);
+		modified(property.getClass());
+	}
+
+	/**
+	 * <p>
+	 * Adds a property whose unmarshalling is deferred until the first time
+	 * that properties of the given class are accessed. This is used by the
+	 * parsers to support lazy parsing.
+	 * </p>
+	 * <p>
+	 * Because the unmarshalling process can produce a property of a different
+	 * class (for example, a {@link RawProperty} if the property value cannot
+	 * be parsed), all deferred properties are unmarshalled when
+	 * {@link RawProperty} objects are accessed.
+	 * </p>
+	 * <p>
+	 * The property's position among the other properties of its class is
+	 * reserved when it is added, so the order of the vCard's properties does
+	 * not depend on when they are unmarshalled.
+	 * </p>
+	 * @param clazz the class of the property that the supplier is expected to
+	 * return
+	 * @param supplier unmarshals the property (may return null if the property
+	 * should be discarded)
+	 */
+	public void addDeferredProperty(Class<? extends VCardProperty> clazz, Supplier<? extends VCardProperty> supplier) {
+		checkFrozen();
+		properties.add(clazz, new DeferredProperty(supplier));
+		deferredCount++;
+	}
+
+	/**
+	 * Unmarshals the deferred properties of the given class.
+	 * @param clazz the property class
+	 */
+	private void resolveDeferredProperties(Class<? extends VCardProperty> clazz) {
+		if (frozen || deferredCount == 0) {
+			return;
+		}
+
+		if (clazz == RawProperty.class) {
+			resolveDeferredProperties();
+			return;
+		}
+
+		resolve(clazz);
+	}
+
+	/**
+	 * Unmarshals all deferred properties.
+	 */
+	private void resolveDeferredProperties() {
+		if (frozen || deferredCount == 0) {
+			return;
+		}
+
+		//resolving a slot can add or remove slots, so iterate over a copy
+		List<Class<?>> classes = new ArrayList<>(properties.slotCount());
+		for (int slot = 0; slot < properties.slotCount(); slot++) {
+			classes.add(properties.slotClass(slot));
+		}
+
+		for (Class<?> clazz : classes) {
+			resolve(clazz);
+			if (deferredCount == 0) {
+				break;
+			}
+		}
+	}
+
+	/**
+	 * Unmarshals the deferred properties of the given class, replacing each
+	 * one in place.
+	 * @param clazz the property class
+	 */
+	private void resolve(Class<?> clazz) {
+		int i = 0;
+		while (true) {
+			List<VCardProperty> values = properties.values(clazz);
+			if (i >= values.size()) {
+				break;
+			}
+
+			VCardProperty value = values.get(i);
+			if (!(value instanceof DeferredProperty)) {
+				i++;
+				continue;
+			}
+
+			VCardProperty property = ((DeferredProperty) value).resolve();
+			deferredCount--;
+
+			if (property != null && property.getClass() == clazz) {
+				properties.set(clazz, i, property);
+				i++;
+				continue;
+			}
+
+			properties.remove(clazz, i);
+			if (property != null) {
+				//for example, a RawProperty if the value could not be parsed
+				properties.add(property.getClass(), property);
+				modified(property.getClass());
+			}
+		}
 	}
 
 	/**
@@ -4281,7 +4437,12 @@ public class VCard implements Iterable<VCardProperty> {
 	 * @return the properties that were replaced (this list is immutable)
 	 */
 	public List<VCardProperty> setProperty(VCardProperty property) {
-		return properties.replace(property.getClass(), property);
+		checkFrozen();
+		resolveDeferredProperties(property.getClass());
+		modified(property.getClass());
+		List<VCardProperty> replaced = properties.replace(property.getClass(), property);
+		released(replaced);
+		return replaced;
 	}
 
 	/**
@@ -4294,7 +4455,11 @@ public class VCard implements Iterable<VCardProperty> {
 	 * @return the properties that were replaced (this list is immutable)
 	 */
 	public <T extends VCardProperty> List<T> setProperty(Class<T> clazz, T property) {
+		checkFrozen();
+		resolveDeferredProperties(clazz);
+		modified(clazz);
 		List<VCardProperty> replaced = properties.replace(clazz, property);
+		released(replaced);
 		return castList(replaced, clazz);
 	}
 
@@ -4304,7 +4469,15 @@ public class VCard implements Iterable<VCardProperty> {
 	 * @return true if it was removed, false if it wasn't found
 	 */
 	public boolean removeProperty(VCardProperty property) {
-		return properties.remove(property.getClass(), property);
+		checkFrozen();
+		modified(property.getClass());
+		VCardProperty removed = properties.remove(property.getClass(), property);
+		if (removed == null) {
+			return false;
+		}
+
+		released(removed);
+		return true;
 	}
 
 	/**
@@ -4314,7 +4487,11 @@ public class VCard implements Iterable<VCardProperty> {
 	 * @return the properties that were removed (this list is immutable)
 	 */
 	public <T extends VCardProperty> List<T> removeProperties(Class<T> clazz) {
+		checkFrozen();
+		resolveDeferredProperties(clazz);
+		modified(clazz);
 		List<VCardProperty> removed = properties.removeAll(clazz);
+		released(removed);
 		return castList(removed, clazz);
 	}
 
@@ -4324,12 +4501,8 @@ public class VCard implements Iterable<VCardProperty> {
 	 * @return the property or null if none were found
 	 */
 	public RawProperty getExtendedProperty(String name) {
-		for (RawProperty raw : getExtendedProperties()) {
-			if (raw.getPropertyName().equalsIgnoreCase(name)) {
-				return raw;
-			}
-		}
-		return null;
+		List<RawProperty> properties = getExtendedProperties(name);
+		return properties.isEmpty() ? null : properties.get(0);
 	}
 
 	/**
@@ -4338,15 +4511,40 @@ public class VCard implements Iterable<VCardProperty> {
 	 * @return the properties (this list is immutable)
 	 */
 	public List<RawProperty> getExtendedProperties(String name) {
-		List<RawProperty> properties = new ArrayList<>();
+		resolveDeferredProperties(RawProperty.class);
 
-		for (RawProperty raw : getExtendedProperties()) {
-			if (raw.getPropertyName().equalsIgnoreCase(name)) {
-				properties.add(raw);
-			}
+		RawPropertyIndex index = extendedPropertyIndex;
+		if (index != null && index.getRenameCount() == renameCounter.count) {
+			return index.get(name);
+		}
+
+		if (frozen) {
+			/*
+			 * A property was renamed after the vCard was frozen. Do not replace
+			 * the index, since frozen vCards must not be modified by reads.
+			 */
+			index = new RawPropertyIndex(properties.values(RawProperty.class), renameCounter.count);
+			return index.get(name);
 		}
 
-		return Collections.unmodifiableList(properties);
+		index = buildExtendedPropertyIndex();
+		extendedPropertyIndex = index;
+		return index.get(name);
+	}
+
+	/**
+	 * Builds the index used to look up extended properties by name, and
+	 * listens for renames of the indexed properties.
+	 * @return the index
+	 */
+	private RawPropertyIndex buildExtendedPropertyIndex() {
+		properties.unshare(RawProperty.class);
+		List<VCardProperty> rawProperties = properties.values(RawProperty.class);
+		int renameCount = renameCounter.count;
+		for (VCardProperty property : rawProperties) {
+			((RawProperty) property).addNameListener(renameCounter);
+		}
+		return new RawPropertyIndex(rawProperties, renameCount);
 	}
 
 	/**
@@ -4414,16 +4612,11 @@ public class VCard implements Iterable<VCardProperty> {
 	 * @return the properties that were removed (this list is immutable)
 	 */
 	public List<RawProperty> removeExtendedProperty(String name) {
-		List<RawProperty> all = getExtendedProperties();
-		List<RawProperty> toRemove = new ArrayList<>();
-		for (RawProperty property : all) {
-			if (property.getPropertyName().equalsIgnoreCase(name)) {
-				toRemove.add(property);
-			}
+		List<RawProperty> toRemove = getExtendedProperties(name);
+		if (!toRemove.isEmpty()) {
+			getExtendedProperties().removeAll(toRemove);
 		}
-
-		all.removeAll(toRemove);
-		return Collections.unmodifiableList(toRemove);
+		return toRemove;
 	}
 
 	/**
@@ -4490,6 +4683,128 @@ public class VCard implements Iterable<VCardProperty> {
 		return removed;
 	}
 
+	/**
+	 * <p>
+	 * Freezes this vCard, preventing it from being modified any further. All
+	 * methods that add, remove, or replace properties, or that change the
+	 * version, will throw an {@link UnsupportedOperationException}. This
+	 * includes the lists returned by {@link #getProperties(Class)} and the
+	 * property-specific getter methods.
+	 * </p>
+	 * <p>
+	 * Once frozen, a vCard can be safely shared between threads without
+	 * copying it or synchronizing on it. Deferred properties (see
+	 * {@link #addDeferredProperty}) are unmarshalled when the vCard is
+	 * frozen, the index used by {@link #getExtendedProperties(String)} is
+	 * built, and the vCard's hash code is calculated once and cached. Reading
+	 * from a frozen vCard never modifies it.
+	 * </p>
+	 * <p>
+	 * Freezing does not stop the property objects themselves from being
+	 * modified (for example, by calling {@link Note#setValue}). Doing so
+	 * after the vCard has been frozen is not thread-safe, and will cause
+	 * {@link #hashCode} to return a stale value. Use the copy constructor,
+	 * {@link #VCard(VCard)}, to get a modifiable copy of a frozen vCard.
+	 * </p>
+	 * @return this
+	 */
+	public VCard freeze() {
+		if (frozen) {
+			return this;
+		}
+
+		resolveDeferredProperties();
+
+		/*
+		 * Properties that are shared with a frozen vCard no longer need to be
+		 * copied, since neither vCard allows its properties to be modified.
+		 */
+		properties.clearShared();
+
+		extendedPropertyIndex = buildExtendedPropertyIndex();
+		frozenHashCode = calculateHashCode();
+		frozen = true;
+		return this;
+	}
+
+	/**
+	 * Determines whether this vCard has been frozen (see {@link #freeze}).
+	 * @return true if it's frozen, false if not
+	 */
+	public boolean isFrozen() {
+		return frozen;
+	}
+
+	/**
+	 * Called when properties of the given class have been added or removed.
+	 * @param clazz the property class
+	 */
+	private void modified(Class<?> clazz) {
+		if (clazz == RawProperty.class) {
+			extendedPropertyIndex = null;
+		}
+	}
+
+	/**
+	 * Called when properties have been removed from the vCard.
+	 * @param removed the removed properties
+	 */
+	private void released(List<VCardProperty> removed) {
+		for (VCardProperty property : removed) {
+			released(property);
+		}
+	}
+
+	/**
+	 * Called when a property has been removed from the vCard.
+	 * @param removed the removed property (may be null)
+	 */
+	private void released(VCardProperty removed) {
+		if (removed instanceof RawProperty) {
+			((RawProperty) removed).removeNameListener(renameCounter);
+		}
+	}
+
+	/**
+	 * Holds the position of a property whose unmarshalling has been deferred
+	 * (see {@link #addDeferredProperty}).
+	 */
+	private static class DeferredProperty extends VCardProperty {
+		private final Supplier<? extends VCardProperty> supplier;
+
+		public DeferredProperty(Supplier<? extends VCardProperty> supplier) {
+			this.supplier = supplier;
+		}
+
+		/**
+		 * Unmarshals the property.
+		 * @return the property or null if it should be discarded
+		 */
+		public VCardProperty resolve() {
+			return supplier.get();
+		}
+	}
+
+	/**
+	 * Listens for renames of the extended properties in the index. It does not
+	 * reference the vCard, so it does not keep the vCard in memory if a
+	 * property outlives it.
+	 */
+	private static class RenameCounter implements RawProperty.NameListener {
+		private volatile int count;
+
+		@Override
+		public void nameChanged(RawProperty property) {
+			count++;
+		}
+	}
+
+	private void checkFrozen() {
+		if (frozen) {
+			throw new UnsupportedOperationException(Messages.INSTANCE.getExceptionMessage(48));
+		}
+	}
+
 	/**
 	 * Casts all objects in the given list to the given class, adding the casted
 	 * objects to a new list.
@@ -4543,28 +4858,53 @@ public class VCard implements Iterable<VCardProperty> {
 	public String toString() {
 		StringBuilder sb = new StringBuilder();
 		sb.append("version=").append(version);
-		for (VCardProperty property : properties.values()) {
-			sb.append(StringUtils.NEWLINE).append(property);
+		resolveDeferredProperties();
+		for (int slot = 0; slot < properties.slotCount(); slot++) {
+			for (VCardProperty property : properties.slotValues(slot)) {
+				sb.append(StringUtils.NEWLINE).append(property);
+			}
 		}
 		return sb.toString();
 	}
 
 	@Override
 	public int hashCode() {
+		return frozen ? frozenHashCode : calculateHashCode();
+	}
+
+	private int calculateHashCode() {
 		final int prime = 31;
 		int result = 1;
 
 		result = prime * result + ((version == null) ? 0 : version.hashCode());
 
 		int propertiesHash = 1;
-		for (VCardProperty property : properties.values()) {
-			propertiesHash += property.hashCode();
+		resolveDeferredProperties();
+		for (int slot = 0; slot < properties.slotCount(); slot++) {
+			for (VCardProperty property : properties.slotValues(slot)) {
+				propertiesHash += property.hashCode();
+			}
 		}
 		result = prime * result + propertiesHash;
 
 		return result;
 	}
 
+	/**
+	 * <p>
+	 * Determines if this vCard has the same version and properties as the
+	 * given object. The order of the properties does not matter.
+	 * </p>
+	 * <p>
+	 * Properties that are in a different order are matched up using a hash
+	 * map, so property classes must implement {@link Object#hashCode} in a
+	 * way that is consistent with {@link Object#equals}. Otherwise, two vCards
+	 * that contain equal properties in different orders may not be considered
+	 * equal.
+	 * </p>
+	 * @param obj the object to compare against
+	 * @return true if they are equal, false if not
+	 */
 	@Override
 	public boolean equals(Object obj) {
 		if (this == obj) return true;
@@ -4572,25 +4912,67 @@ public class VCard implements Iterable<VCardProperty> {
 		if (getClass() != obj.getClass()) return false;
 		VCard other = (VCard) obj;
 		if (version != other.version) return false;
+		if (frozen && other.frozen && frozenHashCode != other.frozenHashCode) return false;
+		resolveDeferredProperties();
+		other.resolveDeferredProperties();
 		if (properties.size() != other.properties.size()) return false;
+		if (properties.slotCount() != other.properties.slotCount()) return false;
 
-		for (Map.Entry<Class<? extends VCardProperty>, List<VCardProperty>> entry : properties) {
-			Class<? extends VCardProperty> key = entry.getKey();
-			List<VCardProperty> value = entry.getValue();
-			List<VCardProperty> otherValue = other.properties.get(key);
-
-			if (value.size() != otherValue.size()) {
+		for (int slot = 0; slot < properties.slotCount(); slot++) {
+			List<VCardProperty> value = properties.slotValues(slot);
+			List<VCardProperty> otherValue = other.properties.values(properties.slotClass(slot));
+			if (!equalsIgnoreOrder(value, otherValue)) {
 				return false;
 			}
+		}
 
-			List<VCardProperty> otherValueCopy = new ArrayList<>(otherValue);
-			for (VCardProperty property : value) {
-				if (!otherValueCopy.remove(property)) {
-					return false;
-				}
-			}
+		return true;
+	}
+
+	/**
+	 * Determines if two lists contain the same properties, ignoring order. If
+	 * the properties are in the same order, no objects are allocated.
+	 * Otherwise, the properties that are out of order are counted in a hash
+	 * map, which relies on the properties' {@link Object#hashCode} methods
+	 * being consistent with their {@link Object#equals} methods.
+	 * @param properties the first list
+	 * @param otherProperties the second list
+	 * @return true if they are equal, false if not
+	 */
+	private static boolean equalsIgnoreOrder(List<VCardProperty> properties, List<VCardProperty> otherProperties) {
+		int size = properties.size();
+		if (size != otherProperties.size()) {
+			return false;
+		}
+
+		/*
+		 * The properties are usually in the same order, so only do an
+		 * order-independent comparison on the properties that aren't.
+		 */
+		int i = 0;
+		while (i < size && properties.get(i).equals(otherProperties.get(i))) {
+			i++;
+		}
+		if (i == size) {
+			return true;
 		}
 
+		/*
+		 * Count the occurrences of each property so the comparison takes
+		 * linear time, rather than searching the other list for each
+		 * property.
+		 */
+		Map<VCardProperty, int[]> counts = new HashMap<>();
+		for (int j = i; j < size; j++) {
+			counts.computeIfAbsent(properties.get(j), k -> new int[1])[0]++;
+		}
+		for (int j = i; j < size; j++) {
+			int[] count = counts.get(otherProperties.get(j));
+			if (count == null || count[0] == 0) {
+				return false;
+			}
+			count[0]--;
+		}
 		return true;
 	}
 
@@ -4630,42 +5012,50 @@ public class VCard implements Iterable<VCardProperty> {
 	 */
 	private class VCardPropertyList<T extends VCardProperty> extends AbstractList<T> {
 		protected final Class<T> propertyClass;
-		protected final List<VCardProperty> properties;
 
 		/**
 		 * @param propertyClass the property class
 		 */
 		public VCardPropertyList(Class<T> propertyClass) {
 			this.propertyClass = propertyClass;
-			properties = VCard.this.properties.get(propertyClass);
 		}
 
 		@Override
 		public void add(int index, T value) {
-			properties.add(index, value);
+			checkFrozen();
+			properties.add(propertyClass, index, value);
+			modified(propertyClass);
+			modCount++;
 		}
 
 		@Override
 		public T remove(int index) {
-			VCardProperty removed = properties.remove(index);
+			checkFrozen();
+			VCardProperty removed = properties.remove(propertyClass, index);
+			modified(propertyClass);
+			released(removed);
+			modCount++;
 			return cast(removed);
 		}
 
 		@Override
 		public T get(int index) {
-			VCardProperty property = properties.get(index);
+			VCardProperty property = properties.get(propertyClass, index);
 			return cast(property);
 		}
 
 		@Override
 		public T set(int index, T value) {
-			VCardProperty replaced = properties.set(index, value);
+			checkFrozen();
+			VCardProperty replaced = properties.set(propertyClass, index, value);
+			modified(propertyClass);
+			released(replaced);
 			return cast(replaced);
 		}
 
 		@Override
 		public int size() {
-			return properties.size();
+			return properties.size(propertyClass);
 		}
 
 		private T cast(VCardProperty value) {
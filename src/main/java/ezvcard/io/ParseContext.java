@@ -4,6 +4,7 @@ import java.util.ArrayList;
 import java.util.List;
 
 import ezvcard.VCardVersion;
+import ezvcard.util.BinaryStorage;
 
 /*
  Copyright (c) 2012-2021, Michael Angstadt
@@ -43,6 +44,9 @@ public class ParseContext {
 	private List<ParseWarning> warnings = new ArrayList<>();
 	private Integer lineNumber;
 	private String propertyName;
+	private boolean warningsEnabled = true;
+	private BinaryStorage binaryStorage;
+	private int binaryStorageThreshold;
 
 	/**
 	 * Gets the version of the vCard being parsed.
@@ -93,12 +97,68 @@ public class ParseContext {
 		this.propertyName = propertyName;
 	}
 
+	/**
+	 * Gets whether warnings are recorded (enabled by default).
+	 * @return true if warnings are recorded, false if they are discarded
+	 */
+	public boolean isWarningsEnabled() {
+		return warningsEnabled;
+	}
+
+	/**
+	 * Sets whether warnings are recorded (enabled by default).
+	 * @param enable true to record warnings, false to discard them
+	 */
+	public void setWarningsEnabled(boolean enable) {
+		warningsEnabled = enable;
+	}
+
+	/**
+	 * Gets the object that large binary property values are decoded into.
+	 * @return the binary storage or null if binary property values are kept
+	 * in memory
+	 */
+	public BinaryStorage getBinaryStorage() {
+		return binaryStorage;
+	}
+
+	/**
+	 * Sets the object that large binary property values are decoded into.
+	 * @param binaryStorage the binary storage or null to keep binary property
+	 * values in memory
+	 */
+	public void setBinaryStorage(BinaryStorage binaryStorage) {
+		this.binaryStorage = binaryStorage;
+	}
+
+	/**
+	 * Gets the minimum length a property value must be in order for its binary
+	 * data to be decoded into the binary storage.
+	 * @return the minimum length (in characters)
+	 */
+	public int getBinaryStorageThreshold() {
+		return binaryStorageThreshold;
+	}
+
+	/**
+	 * Sets the minimum length a property value must be in order for its binary
+	 * data to be decoded into the binary storage.
+	 * @param binaryStorageThreshold the minimum length (in characters)
+	 */
+	public void setBinaryStorageThreshold(int binaryStorageThreshold) {
+		this.binaryStorageThreshold = binaryStorageThreshold;
+	}
+
 	/**
 	 * Adds a parse warning.
 	 * @param code the warning code
 	 * @param args the warning message arguments
 	 */
 	public void addWarning(int code, Object... args) {
+		if (!warningsEnabled) {
+			return;
+		}
+
 		//@formatter:off
 		warnings.add(new ParseWarning.Builder(this)
 			.message(code, args)
@@ -111,6 +171,10 @@ public class ParseContext {
 	 * @param message the warning message
 	 */
 	public void addWarning(String message) {
+		if (!warningsEnabled) {
+			return;
+		}
+
 		//@formatter:off
 		warnings.add(new ParseWarning.Builder(this)
 			.message(message)
@@ -37,12 +37,21 @@ either expressed or implied, of the FreeBSD Project.
  */
 public class ParseWarning {
 	private final Integer code, lineNumber;
-	private final String propertyName, message;
+	private final String propertyName;
+	private final Object[] args;
 
-	private ParseWarning(Integer lineNumber, String propertyName, Integer code, String message) {
+	/**
+	 * The warning message. If the warning has a code, the message is not
+	 * generated until it is asked for, since most warnings are never looked
+	 * at.
+	 */
+	private String message;
+
+	private ParseWarning(Integer lineNumber, String propertyName, Integer code, Object[] args, String message) {
 		this.lineNumber = lineNumber;
 		this.propertyName = propertyName;
 		this.code = code;
+		this.args = args;
 		this.message = message;
 	}
 
@@ -67,6 +76,9 @@ public class ParseWarning {
 	 * @return the warning message
 	 */
 	public String getMessage() {
+		if (message == null && code != null) {
+			message = Messages.INSTANCE.getParseMessage(code, args);
+		}
 		return message;
 	}
 
@@ -80,7 +92,7 @@ public class ParseWarning {
 
 	@Override
 	public String toString() {
-		String message = this.message;
+		String message = getMessage();
 		if (code != null) {
 			message = "(" + code + ") " + message;
 		}
@@ -108,6 +120,7 @@ public class ParseWarning {
 	public static class Builder {
 		private Integer lineNumber, code;
 		private String propertyName, message;
+		private Object[] args;
 
 		/**
 		 * Creates an empty builder.
@@ -154,7 +167,8 @@ public class ParseWarning {
 		 */
 		public Builder message(int code, Object... args) {
 			this.code = code;
-			message = Messages.INSTANCE.getParseMessage(code, args);
+			this.args = args;
+			message = null;
 			return this;
 		}
 
@@ -165,6 +179,7 @@ public class ParseWarning {
 		 */
 		public Builder message(String message) {
 			code = null;
+			args = null;
 			this.message = message;
 			return this;
 		}
@@ -184,7 +199,7 @@ public class ParseWarning {
 		 * @return the {@link ParseWarning} object
 		 */
 		public ParseWarning build() {
-			return new ParseWarning(lineNumber, propertyName, code, message);
+			return new ParseWarning(lineNumber, propertyName, code, args, message);
 		}
 	}
 }
@@ -0,0 +1,175 @@
+package ezvcard.io;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.TreeSet;
+
+import javax.xml.namespace.QName;
+
+import ezvcard.io.scribe.ScribeIndex;
+import ezvcard.io.scribe.VCardPropertyScribe;
+import ezvcard.property.RawProperty;
+import ezvcard.property.VCardProperty;
+
+/*
+ Copyright (c) 2012-2021, Michael Angstadt
+ All rights reserved.
+
+ Redistribution and use in source and binary forms, with or without
+ modification, are permitted provided that the following conditions are met: 
+
+ 1. Redistributions of source code must retain the above copyright notice, this
+ list of conditions and the following disclaimer. 
+ 2. Redistributions in binary form must reproduce the above copyright notice,
+ this list of conditions and the following disclaimer in the documentation
+ and/or other materials provided with the distribution. 
+
+ THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+
+ The views and conclusions contained in the software and documentation are those
+ of the authors and should not be interpreted as representing official policies, 
+ either expressed or implied, of the FreeBSD Project.
+ */
+
+/**
+ * <p>
+ * Determines which properties a {@link StreamReader} will parse. Properties
+ * that are rejected by the filter are discarded as soon as their names are
+ * read, before their parameters and values are processed.
+ * </p>
+ * <p>
+ * Properties can be identified by name (case-insensitive) or by class. The
+ * "VERSION" property is never filtered out.
+ * </p>
+ * <p>
+ * <b>Example:</b>
+ * </p>
+ * 
+ * <pre class="brush:java">
+ * PropertyFilter filter = PropertyFilter.include(FormattedName.class, Email.class, Uid.class);
+ * try (VCardReader reader = new VCardReader(file)) {
+ *   reader.setPropertyFilter(filter);
+ *   VCard vcard;
+ *   while ((vcard = reader.readNext()) != null) {
+ *     //...
+ *   }
+ * }
+ * </pre>
+ * @author Michael Angstadt
+ */
+public class PropertyFilter {
+	private final boolean include;
+	private final Set<String> names;
+	private final Set<Class<? extends VCardProperty>> classes;
+
+	private PropertyFilter(boolean include, Set<String> names, Set<Class<? extends VCardProperty>> classes) {
+		this.include = include;
+		this.names = names;
+		this.classes = classes;
+	}
+
+	/**
+	 * Creates a filter that only accepts properties with the given names.
+	 * @param names the property names (case-insensitive, e.g. "FN")
+	 * @return the filter
+	 */
+	public static PropertyFilter include(String... names) {
+		return new PropertyFilter(true, toNameSet(names), Collections.emptySet());
+	}
+
+	/**
+	 * Creates a filter that only accepts properties of the given classes.
+	 * @param classes the property classes (use {@link RawProperty} to accept
+	 * all extended properties that do not have a scribe)
+	 * @return the filter
+	 */
+	@SafeVarargs
+	public static PropertyFilter include(Class<? extends VCardProperty>... classes) {
+		Set<Class<? extends VCardProperty>> set = new HashSet<>();
+		for (Class<? extends VCardProperty> clazz : classes) {
+			set.add(clazz);
+		}
+		return new PropertyFilter(true, Collections.emptySet(), Collections.unmodifiableSet(set));
+	}
+
+	/**
+	 * Creates a filter that accepts all properties except those with the given
+	 * names.
+	 * @param names the property names (case-insensitive, e.g. "PHOTO")
+	 * @return the filter
+	 */
+	public static PropertyFilter exclude(String... names) {
+		return new PropertyFilter(false, toNameSet(names), Collections.emptySet());
+	}
+
+	/**
+	 * Creates a filter that accepts all properties except those of the given
+	 * classes.
+	 * @param classes the property classes (use {@link RawProperty} to reject
+	 * all extended properties that do not have a scribe)
+	 * @return the filter
+	 */
+	@SafeVarargs
+	public static PropertyFilter exclude(Class<? extends VCardProperty>... classes) {
+		Set<Class<? extends VCardProperty>> set = new HashSet<>();
+		for (Class<? extends VCardProperty> clazz : classes) {
+			set.add(clazz);
+		}
+		return new PropertyFilter(false, Collections.emptySet(), Collections.unmodifiableSet(set));
+	}
+
+	private static Set<String> toNameSet(String... names) {
+		Set<String> set = new TreeSet<>(String.CASE_INSENSITIVE_ORDER);
+		set.addAll(Arrays.asList(names));
+		return Collections.unmodifiableSet(set);
+	}
+
+	/**
+	 * Determines if a property should be parsed.
+	 * @param propertyName the property name (e.g. "FN")
+	 * @param index the scribe index that the reader is using (only consulted
+	 * if the filter was created with property classes)
+	 * @return true to parse the property, false to discard it
+	 */
+	public boolean accepts(String propertyName, ScribeIndex index) {
+		boolean matches;
+		if (classes.isEmpty()) {
+			matches = names.contains(propertyName);
+		} else {
+			VCardPropertyScribe<? extends VCardProperty> scribe = index.getPropertyScribe(propertyName);
+			Class<? extends VCardProperty> propertyClass = (scribe == null) ? RawProperty.class : scribe.getPropertyClass();
+			matches = classes.contains(propertyClass);
+		}
+		return include == matches;
+	}
+
+	/**
+	 * Determines if an xCard property should be parsed.
+	 * @param propertyName the XML local name and namespace of the property
+	 * element. Names are matched against the local name.
+	 * @param index the scribe index that the reader is using (only consulted
+	 * if the filter was created with property classes)
+	 * @return true to parse the property, false to discard it
+	 */
+	public boolean accepts(QName propertyName, ScribeIndex index) {
+		boolean matches;
+		if (classes.isEmpty()) {
+			matches = names.contains(propertyName.getLocalPart());
+		} else {
+			VCardPropertyScribe<? extends VCardProperty> scribe = index.getPropertyScribe(propertyName);
+			matches = classes.contains(scribe.getPropertyClass());
+		}
+		return include == matches;
+	}
+}
@@ -2,18 +2,32 @@ package ezvcard.io;
 
 import java.io.Closeable;
 import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.util.ArrayList;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+import javax.xml.namespace.QName;
 
 import ezvcard.VCard;
 import ezvcard.io.scribe.ScribeIndex;
 import ezvcard.io.scribe.VCardPropertyScribe;
 import ezvcard.parameter.AddressType;
+import ezvcard.parameter.VCardParameters;
 import ezvcard.property.Address;
 import ezvcard.property.Label;
 import ezvcard.property.VCardProperty;
+import ezvcard.util.ArrayMap;
+import ezvcard.util.BinaryHandle;
+import ezvcard.util.BinaryStorage;
+import ezvcard.util.StringPool;
 
 /*
  Copyright (c) 2012-2021, Michael Angstadt
@@ -51,7 +65,12 @@ import ezvcard.property.VCardProperty;
 public abstract class StreamReader implements Closeable {
 	protected final List<ParseWarning> warnings = new ArrayList<>();
 	protected ScribeIndex index = new ScribeIndex();
-	protected ParseContext context;
+	protected final ParseContext context = new ParseContext();
+	protected PropertyFilter propertyFilter;
+	protected boolean warningsEnabled = true;
+	protected BinaryStorage binaryStorage;
+	protected int binaryStorageThreshold = 64 * 1024;
+	protected StringPool stringPool;
 
 	/**
 	 * Reads all vCards from the data stream.
@@ -67,6 +86,62 @@ public abstract class StreamReader implements Closeable {
 		return vcards;
 	}
 
+	/**
+	 * <p>
+	 * Creates a lazy stream of the vCards in the data stream. vCards are only
+	 * read as the stream is consumed. Closing the returned stream closes this
+	 * reader. Any {@link IOException} thrown while reading is re-thrown as an
+	 * {@link UncheckedIOException}.
+	 * </p>
+	 * <p>
+	 * The stream can be made parallel. When it is, vCards are read from the
+	 * data stream in batches and each batch is processed on its own thread.
+	 * </p>
+	 * <p>
+	 * Because the warnings are reset every time a vCard is read, the
+	 * {@link #getWarnings} method should only be called from a sequential
+	 * stream, and only from within the stream pipeline.
+	 * </p>
+	 * @return the stream
+	 */
+	public Stream<VCard> stream() {
+		return StreamSupport.stream(spliterator(), false).onClose(() -> {
+			try {
+				close();
+			} catch (IOException e) {
+				throw new UncheckedIOException(e);
+			}
+		});
+	}
+
+	/**
+	 * Creates a spliterator that lazily reads the vCards in the data stream.
+	 * Unlike {@link #stream}, this reader is not closed when the spliterator is
+	 * exhausted.
+	 * @return the spliterator
+	 * @see #stream
+	 */
+	public Spliterator<VCard> spliterator() {
+		return new Spliterators.AbstractSpliterator<VCard>(Long.MAX_VALUE, Spliterator.ORDERED | Spliterator.NONNULL) {
+			@Override
+			public boolean tryAdvance(Consumer<? super VCard> action) {
+				VCard vcard;
+				try {
+					vcard = readNext();
+				} catch (IOException e) {
+					throw new UncheckedIOException(e);
+				}
+
+				if (vcard == null) {
+					return false;
+				}
+
+				action.accept(vcard);
+				return true;
+			}
+		};
+	}
+
 	/**
 	 * Reads the next vCard from the data stream.
 	 * @return the next vCard or null if there are no more
@@ -74,8 +149,20 @@ public abstract class StreamReader implements Closeable {
 	 */
 	public VCard readNext() throws IOException {
 		warnings.clear();
-		context = new ParseContext();
-		return _readNext();
+
+		//reuse the parse context instead of creating a new one for every vCard
+		context.getWarnings().clear();
+		context.setVersion(null);
+		context.setLineNumber(null);
+		context.setPropertyName(null);
+		context.setWarningsEnabled(warningsEnabled);
+		context.setBinaryStorage(binaryStorage);
+		context.setBinaryStorageThreshold(binaryStorageThreshold);
+		VCard vcard = _readNext();
+		if (!warningsEnabled) {
+			warnings.clear();
+		}
+		return vcard;
 	}
 
 	/**
@@ -145,6 +232,189 @@ public abstract class StreamReader implements Closeable {
 		this.index = index;
 	}
 
+	/**
+	 * Gets the filter that determines which properties are parsed.
+	 * @return the filter or null if all properties are parsed (default)
+	 */
+	public PropertyFilter getPropertyFilter() {
+		return propertyFilter;
+	}
+
+	/**
+	 * Sets the filter that determines which properties are parsed. Properties
+	 * that are rejected by the filter are discarded without being unmarshalled.
+	 * @param propertyFilter the filter or null to parse all properties
+	 * (default)
+	 */
+	public void setPropertyFilter(PropertyFilter propertyFilter) {
+		this.propertyFilter = propertyFilter;
+	}
+
+	/**
+	 * Determines if a property should be parsed, according to the property
+	 * filter.
+	 * @param propertyName the property name
+	 * @return true if the property should be parsed, false if it should be
+	 * discarded
+	 */
+	protected boolean isAccepted(String propertyName) {
+		return propertyFilter == null || propertyFilter.accepts(propertyName, index);
+	}
+
+	/**
+	 * Determines if an xCard property should be parsed, according to the
+	 * property filter.
+	 * @param propertyName the XML local name and namespace of the property
+	 * element
+	 * @return true if the property should be parsed, false if it should be
+	 * discarded
+	 */
+	protected boolean isAccepted(QName propertyName) {
+		return propertyFilter == null || propertyFilter.accepts(propertyName, index);
+	}
+
+	/**
+	 * Gets whether parse warnings are recorded (enabled by default).
+	 * @return true if warnings are recorded, false if not
+	 */
+	public boolean isWarningsEnabled() {
+		return warningsEnabled;
+	}
+
+	/**
+	 * Sets whether parse warnings are recorded (enabled by default). Disabling
+	 * warnings saves the cost of creating them when the caller does not need
+	 * them. When disabled, {@link #getWarnings} always returns an empty list.
+	 * @param enable true to record warnings, false not to
+	 */
+	public void setWarningsEnabled(boolean enable) {
+		warningsEnabled = enable;
+	}
+
+	/**
+	 * Gets the object that large binary property values (such as embedded
+	 * photos) are decoded into.
+	 * @return the binary storage or null if binary property values are kept in
+	 * memory (default)
+	 */
+	public BinaryStorage getBinaryStorage() {
+		return binaryStorage;
+	}
+
+	/**
+	 * <p>
+	 * Sets the object that large binary property values (such as embedded
+	 * photos) are decoded into. This keeps huge values from having to be held
+	 * in memory as both base64 text and decoded bytes.
+	 * </p>
+	 * <p>
+	 * Properties whose values are stored this way only hold a
+	 * {@link BinaryHandle} to their data (see
+	 * {@link ezvcard.property.BinaryProperty#getDataHandle}). Only property
+	 * values that are at least as long as the storage threshold are stored
+	 * (see {@link #setBinaryStorageThreshold}).
+	 * </p>
+	 * <p>
+	 * If the storage throws an {@link IOException}, it is thrown by
+	 * {@link #readNext}. Properties whose parsing is deferred (see
+	 * {@link ezvcard.io.text.VCardReader#setLazyParsingEnabled}) are stored
+	 * when they are first accessed, so the exception is wrapped in an
+	 * {@link UncheckedIOException} instead.
+	 * </p>
+	 * @param binaryStorage the binary storage or null to keep binary property
+	 * values in memory (default)
+	 */
+	public void setBinaryStorage(BinaryStorage binaryStorage) {
+		this.binaryStorage = binaryStorage;
+	}
+
+	/**
+	 * Gets the minimum length a binary property value must be in order for it
+	 * to be decoded into the binary storage.
+	 * @return the minimum length in characters (defaults to 65536)
+	 */
+	public int getBinaryStorageThreshold() {
+		return binaryStorageThreshold;
+	}
+
+	/**
+	 * Sets the minimum length a binary property value must be in order for it
+	 * to be decoded into the binary storage.
+	 * @param binaryStorageThreshold the minimum length in characters (defaults
+	 * to 65536)
+	 */
+	public void setBinaryStorageThreshold(int binaryStorageThreshold) {
+		this.binaryStorageThreshold = binaryStorageThreshold;
+	}
+
+	/**
+	 * Gets the pool that is used to deduplicate property groups and parameter
+	 * names and values.
+	 * @return the string pool or null if strings are not deduplicated
+	 * (default)
+	 */
+	public StringPool getStringPool() {
+		return stringPool;
+	}
+
+	/**
+	 * Sets the pool that is used to deduplicate property groups and parameter
+	 * names and values. These strings are repeated across many vCards, so
+	 * deduplicating them reduces the memory used by the parsed vCards. A
+	 * single pool can be shared by multiple readers.
+	 * @param stringPool the string pool or null not to deduplicate strings
+	 * (default)
+	 */
+	public void setStringPool(StringPool stringPool) {
+		this.stringPool = stringPool;
+	}
+
+	/**
+	 * Deduplicates a string using the string pool, if one is set.
+	 * @param string the string (can be null)
+	 * @return the pooled string
+	 */
+	protected String intern(String string) {
+		return (stringPool == null) ? string : stringPool.intern(string);
+	}
+
+	/**
+	 * Deduplicates the names and values of a property's parameters using the
+	 * string pool, if one is set.
+	 * @param parameters the parameters
+	 * @return the parameters with pooled names and values (may be the same
+	 * object)
+	 */
+	protected VCardParameters intern(VCardParameters parameters) {
+		return intern(parameters, stringPool);
+	}
+
+	/**
+	 * Deduplicates the names and values of a property's parameters using the
+	 * given string pool.
+	 * @param parameters the parameters
+	 * @param stringPool the string pool or null not to deduplicate
+	 * @return the parameters with pooled names and values (may be the same
+	 * object)
+	 */
+	protected static VCardParameters intern(VCardParameters parameters, StringPool stringPool) {
+		if (stringPool == null) {
+			return parameters;
+		}
+
+		Map<String, List<String>> map = parameters.getMap();
+		Map<String, List<String>> interned = new ArrayMap<>();
+		for (Map.Entry<String, List<String>> entry : map.entrySet()) {
+			List<String> values = entry.getValue();
+			List<String> internedValues = new ArrayList<>(values.size());
+			for (String value : values) {
+				internedValues.add(stringPool.intern(value));
+			}
+			interned.put(stringPool.intern(entry.getKey()), internedValues);
+		}
+		return new VCardParameters(interned);
+	}
+
 	/**
 	 * Gets the warnings from the last vCard that was unmarshalled. This list is
 	 * reset every time a new vCard is read.
@@ -2,10 +2,15 @@ package ezvcard.io;
 
 import java.io.Closeable;
 import java.io.IOException;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
+import java.util.Deque;
 import java.util.HashSet;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
 
 import ezvcard.Ezvcard;
 import ezvcard.Messages;
@@ -13,11 +18,13 @@ import ezvcard.VCard;
 import ezvcard.VCardVersion;
 import ezvcard.io.scribe.ScribeIndex;
 import ezvcard.io.scribe.VCardPropertyScribe;
+import ezvcard.io.scribe.WritePlan;
 import ezvcard.property.Address;
 import ezvcard.property.Label;
 import ezvcard.property.ProductId;
 import ezvcard.property.RawProperty;
 import ezvcard.property.VCardProperty;
+import ezvcard.util.IOUtils;
 
 /*
  Copyright (c) 2012-2021, Michael Angstadt
@@ -56,6 +63,7 @@ public abstract class StreamWriter implements Closeable {
 	protected ScribeIndex index = new ScribeIndex();
 	protected boolean addProdId = true;
 	protected boolean versionStrict = true;
+	private ForkJoinPool forkJoinPool;
 
 	/**
 	 * Writes a vCard to the stream.
@@ -69,6 +77,93 @@ public abstract class StreamWriter implements Closeable {
 		_write(vcard, properties);
 	}
 
+	/**
+	 * <p>
+	 * Writes multiple vCards to the stream.
+	 * </p>
+	 * <p>
+	 * If a thread pool has been assigned to the writer (see
+	 * {@link #setForkJoinPool}), the vCards are marshalled concurrently using
+	 * the pool, and then written to the stream in the calling thread in their
+	 * original order. The number of vCards that are marshalled ahead of the
+	 * one being written is limited to twice the pool's parallelism level. The
+	 * writer's settings must not be changed while this method is running.
+	 * </p>
+	 * @param vcards the vCards to write
+	 * @throws IOException if there's a problem writing to the output stream
+	 * @throws IllegalArgumentException if a scribe hasn't been registered for a
+	 * custom property class (see: {@link #registerScribe registerScribe})
+	 */
+	public void writeAll(Iterable<VCard> vcards) throws IOException {
+		if (forkJoinPool == null) {
+			for (VCard vcard : vcards) {
+				write(vcard);
+			}
+			return;
+		}
+
+		int readAheadLimit = Math.max(forkJoinPool.getParallelism(), 1) * 2;
+		Deque<ForkJoinTask<RenderedVCard>> tasks = new ArrayDeque<>();
+		Iterator<VCard> it = vcards.iterator();
+		try {
+			while (true) {
+				while (tasks.size() < readAheadLimit && it.hasNext()) {
+					VCard vcard = it.next();
+					tasks.add(forkJoinPool.submit(() -> render(vcard, prepare(vcard))));
+				}
+
+				ForkJoinTask<RenderedVCard> task = tasks.poll();
+				if (task == null) {
+					break;
+				}
+
+				RenderedVCard rendered = IOUtils.join(task);
+				rendered.write();
+			}
+		} finally {
+			for (ForkJoinTask<RenderedVCard> task : tasks) {
+				task.cancel(false);
+			}
+		}
+	}
+
+	/**
+	 * <p>
+	 * Marshals a vCard so that it can be written to the stream at a later
+	 * time. This is called by {@link #writeAll} when a thread pool has been
+	 * assigned to the writer, which means that it may be called from any
+	 * thread and must not modify the state of the writer.
+	 * </p>
+	 * <p>
+	 * Subclasses should override this method to perform as much work as
+	 * possible (such as invoking the property scribes) up front. The default
+	 * implementation does not do any work up front and simply calls
+	 * {@link #_write} when the vCard is written to the stream.
+	 * </p>
+	 * @param vcard the vCard
+	 * @param properties the properties to write
+	 * @return the object that writes the marshalled vCard to the stream
+	 * @throws IOException if there's a problem marshalling the vCard
+	 */
+	protected RenderedVCard render(VCard vcard, List<VCardProperty> properties) throws IOException {
+		return () -> _write(vcard, properties);
+	}
+
+	/**
+	 * Writes a vCard that was marshalled by {@link StreamWriter#render} to the
+	 * stream. This is always invoked from the thread that called
+	 * {@link StreamWriter#writeAll}, in the order in which the vCards were
+	 * passed into that method.
+	 */
+	protected interface RenderedVCard {
+		/**
+		 * Writes the vCard to the stream.
+		 * @throws IOException if there's a problem writing to the output
+		 * stream
+		 */
+		void write() throws IOException;
+	}
+
 	/**
 	 * Writes a vCard to the stream.
 	 * @param vcard the vCard that is being written
@@ -83,6 +178,26 @@ public abstract class StreamWriter implements Closeable {
 	 */
 	protected abstract VCardVersion getTargetVersion();
 
+	/**
+	 * Gets the thread pool that is used by {@link #writeAll} to marshal vCards
+	 * in parallel.
+	 * @return the thread pool or null if parallel writing is disabled (the
+	 * default)
+	 */
+	public ForkJoinPool getForkJoinPool() {
+		return forkJoinPool;
+	}
+
+	/**
+	 * Sets the thread pool that is used by {@link #writeAll} to marshal vCards
+	 * in parallel. The vCards are still written in order.
+	 * @param forkJoinPool the thread pool or null to marshal the vCards
+	 * sequentially in the calling thread (the default)
+	 */
+	public void setForkJoinPool(ForkJoinPool forkJoinPool) {
+		this.forkJoinPool = forkJoinPool;
+	}
+
 	/**
 	 * Gets whether a {@link ProductId} property will be added to each vCard
 	 * that marks it as having been generated by this library. For 2.1 vCards,
@@ -167,22 +282,27 @@ public abstract class StreamWriter implements Closeable {
 	private List<VCardProperty> prepare(VCard vcard) {
 		VCardVersion targetVersion = getTargetVersion();
 		List<VCardProperty> propertiesToAdd = new ArrayList<>();
-		Set<Class<? extends VCardProperty>> unregistered = new HashSet<>();
+		Set<Class<? extends VCardProperty>> unregistered = null;
 		VCardProperty prodIdProperty = null;
 		for (VCardProperty property : vcard) {
-			if (versionStrict && !property.isSupportedBy(targetVersion)) {
+			WritePlan plan = index.getWritePlan(property.getClass(), targetVersion);
+
+			if (versionStrict && !plan.isSupported()) {
 				//do not add the property to the vCard if it is not supported by the target version
 				continue;
 			}
 
 			//do not add PRODID to the property list yet
-			if (property instanceof ProductId) {
+			if (plan.isProductId()) {
 				prodIdProperty = property;
 				continue;
 			}
 
 			//check for scribe
-			if (!index.hasPropertyScribe(property)) {
+			if (!plan.hasScribe()) {
+				if (unregistered == null) {
+					unregistered = new HashSet<>();
+				}
 				unregistered.add(property.getClass());
 				continue;
 			}
@@ -190,7 +310,7 @@ public abstract class StreamWriter implements Closeable {
 			propertiesToAdd.add(property);
 
 			//add LABEL properties for each ADR property if the target version is 2.1 or 3.0
-			if ((targetVersion == VCardVersion.V2_1 || targetVersion == VCardVersion.V3_0) && property instanceof Address) {
+			if (plan.isLabelSynthesized()) {
 				Address adr = (Address) property;
 				String labelStr = adr.getLabel();
 				if (labelStr == null) {
@@ -203,7 +323,7 @@ public abstract class StreamWriter implements Closeable {
 			}
 		}
 
-		if (!unregistered.isEmpty()) {
+		if (unregistered != null) {
 			List<String> classes = new ArrayList<>(unregistered.size());
 			for (Class<? extends VCardProperty> clazz : unregistered) {
 				classes.add(clazz.getName());
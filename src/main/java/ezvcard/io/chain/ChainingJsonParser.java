@@ -8,6 +8,8 @@ import java.nio.file.Path;
 import ezvcard.Ezvcard;
 import ezvcard.io.StreamReader;
 import ezvcard.io.json.JCardReader;
+import ezvcard.util.Compression;
+import ezvcard.util.MappedFileReader;
 
 /*
  Copyright (c) 2012-2021, Michael Angstadt
@@ -42,6 +44,8 @@ import ezvcard.io.json.JCardReader;
  * @author Michael Angstadt
  */
 public class ChainingJsonParser<T extends ChainingJsonParser<?>> extends ChainingParser<T> {
+	private boolean memoryMapped = false;
+
 	public ChainingJsonParser(String string) {
 		super(string);
 	}
@@ -58,6 +62,20 @@ public class ChainingJsonParser<T extends ChainingJsonParser<?>> extends Chainin
 		super(file);
 	}
 
+	/**
+	 * Sets whether the input file will be memory-mapped instead of being read
+	 * through a buffered stream (disabled by default). This setting only
+	 * applies if the parser was created with a {@link Path} object, and is
+	 * ignored if the file is compressed.
+	 * @param enable true to memory-map the file, false not to
+	 * @return this
+	 * @see MappedFileReader
+	 */
+	public T memoryMapped(boolean enable) {
+		memoryMapped = enable;
+		return this_;
+	}
+
 	@Override
 	StreamReader constructReader() throws IOException {
 		if (string != null) {
@@ -69,6 +87,9 @@ public class ChainingJsonParser<T extends ChainingJsonParser<?>> extends Chainin
 		if (reader != null) {
 			return new JCardReader(reader);
 		}
+		if (memoryMapped && Compression.detect(file) == Compression.NONE) {
+			return new JCardReader(new MappedFileReader(file));
+		}
 		return new JCardReader(file);
 	}
 }
@@ -3,6 +3,7 @@ package ezvcard.io.chain;
 import java.io.IOException;
 import java.io.UncheckedIOException;
 import java.util.List;
+import java.util.stream.Stream;
 
 import ezvcard.Ezvcard;
 import ezvcard.VCard;
@@ -61,4 +62,14 @@ public class ChainingJsonStringParser extends ChainingJsonParser<ChainingJsonStr
 			throw new UncheckedIOException(e);
 		}
 	}
+
+	@Override
+	public Stream<VCard> stream() {
+		try {
+			return super.stream();
+		} catch (IOException e) {
+			//should never be thrown because we're reading from a string
+			throw new UncheckedIOException(e);
+		}
+	}
 }
@@ -7,12 +7,14 @@ import java.io.UncheckedIOException;
 import java.io.Writer;
 import java.nio.file.Path;
 import java.util.Collection;
+import java.util.concurrent.ForkJoinPool;
 
 import ezvcard.Ezvcard;
 import ezvcard.VCard;
 import ezvcard.io.json.JCardWriter;
 import ezvcard.io.scribe.VCardPropertyScribe;
 import ezvcard.property.VCardProperty;
+import ezvcard.util.Compression;
 
 /*
  Copyright (c) 2012-2021, Michael Angstadt
@@ -76,6 +78,11 @@ public class ChainingJsonWriter extends ChainingWriter<ChainingJsonWriter> {
 		return super.versionStrict(versionStrict);
 	}
 
+	@Override
+	public ChainingJsonWriter parallel(ForkJoinPool forkJoinPool) {
+		return super.parallel(forkJoinPool);
+	}
+
 	@Override
 	public ChainingJsonWriter register(VCardPropertyScribe<? extends VCardProperty> scribe) {
 		return super.register(scribe);
@@ -106,12 +113,15 @@ public class ChainingJsonWriter extends ChainingWriter<ChainingJsonWriter> {
 	}
 
 	/**
-	 * Writes the jCards to a file.
+	 * Writes the jCards to a file. The data is compressed if the file name has
+	 * a compression-related extension, such as ".gz" (see
+	 * {@link Compression#fromFileName}). If a thread pool was assigned with
+	 * {@link #parallel}, it is also used to compress gzip data.
 	 * @param file the file to write to
 	 * @throws IOException if there's a problem writing to the file
 	 */
 	public void go(Path file) throws IOException {
-		try (JCardWriter writer = new JCardWriter(file, wrapInArray())) {
+		try (JCardWriter writer = new JCardWriter(file, wrapInArray(), forkJoinPool)) {
 			go(writer);
 		}
 	}
@@ -133,8 +143,14 @@ public class ChainingJsonWriter extends ChainingWriter<ChainingJsonWriter> {
 			writer.setScribeIndex(index);
 		}
 		try {
-			for (VCard vcard : vcards) {
-				writer.write(vcard);
+			if (forkJoinPool == null) {
+				for (VCard vcard : vcards) {
+					writer.write(vcard);
+					writer.flush();
+				}
+			} else {
+				writer.setForkJoinPool(forkJoinPool);
+				writer.writeAll(vcards);
 				writer.flush();
 			}
 		} finally {
@@ -3,16 +3,24 @@ package ezvcard.io.chain;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.Reader;
+import java.io.UncheckedIOException;
 import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 import ezvcard.VCard;
 import ezvcard.io.ParseWarning;
+import ezvcard.io.PropertyFilter;
 import ezvcard.io.StreamReader;
 import ezvcard.io.scribe.ScribeIndex;
 import ezvcard.io.scribe.VCardPropertyScribe;
 import ezvcard.property.VCardProperty;
+import ezvcard.util.StringPool;
 
 /*
  Copyright (c) 2012-2021, Michael Angstadt
@@ -53,6 +61,8 @@ abstract class ChainingParser<T extends ChainingParser<?>> {
 
 	ScribeIndex index;
 	List<List<ParseWarning>> warnings;
+	PropertyFilter propertyFilter;
+	StringPool stringPool;
 
 	@SuppressWarnings("unchecked")
 	final T this_ = (T) this;
@@ -111,6 +121,31 @@ abstract class ChainingParser<T extends ChainingParser<?>> {
 		return this_;
 	}
 
+	/**
+	 * Sets the filter that determines which properties are parsed.
+	 * @param propertyFilter the filter or null to parse all properties
+	 * (default)
+	 * @return this
+	 * @see StreamReader#setPropertyFilter(PropertyFilter)
+	 */
+	public T filter(PropertyFilter propertyFilter) {
+		this.propertyFilter = propertyFilter;
+		return this_;
+	}
+
+	/**
+	 * Sets the pool that is used to deduplicate property groups and parameter
+	 * names and values.
+	 * @param stringPool the string pool or null not to deduplicate strings
+	 * (default)
+	 * @return this
+	 * @see StreamReader#setStringPool(StringPool)
+	 */
+	public T stringPool(StringPool stringPool) {
+		this.stringPool = stringPool;
+		return this_;
+	}
+
 	/**
 	 * Reads the first vCard from the stream.
 	 * @return the vCard or null if there are no vCards
@@ -118,9 +153,7 @@ abstract class ChainingParser<T extends ChainingParser<?>> {
 	 */
 	public VCard first() throws IOException {
 		StreamReader reader = constructReader();
-		if (index != null) {
-			reader.setScribeIndex(index);
-		}
+		configure(reader);
 
 		try {
 			VCard vcard = reader.readNext();
@@ -142,9 +175,7 @@ abstract class ChainingParser<T extends ChainingParser<?>> {
 	 */
 	public List<VCard> all() throws IOException {
 		StreamReader reader = constructReader();
-		if (index != null) {
-			reader.setScribeIndex(index);
-		}
+		configure(reader);
 
 		try {
 			List<VCard> vcards = new ArrayList<>();
@@ -163,8 +194,67 @@ abstract class ChainingParser<T extends ChainingParser<?>> {
 		}
 	}
 
+	/**
+	 * <p>
+	 * Creates a lazy stream of the vCards in the data stream. vCards are only
+	 * read as the stream is consumed. Any {@link IOException} thrown while
+	 * reading is re-thrown as an {@link UncheckedIOException}.
+	 * </p>
+	 * <p>
+	 * If the data stream was opened by this parser (for example, if a file is
+	 * being parsed), then it is closed when the returned stream is closed.
+	 * Streams that are passed into this parser are left open.
+	 * </p>
+	 * @return the stream
+	 * @throws IOException if there's an I/O problem
+	 * @see StreamReader#stream()
+	 */
+	public Stream<VCard> stream() throws IOException {
+		StreamReader reader = constructReader();
+		configure(reader);
+
+		Spliterator<VCard> source = reader.spliterator();
+		Spliterator<VCard> spliterator = source;
+		if (warnings != null) {
+			spliterator = new Spliterators.AbstractSpliterator<VCard>(Long.MAX_VALUE, source.characteristics()) {
+				@Override
+				public boolean tryAdvance(Consumer<? super VCard> action) {
+					return source.tryAdvance(vcard -> {
+						warnings.add(reader.getWarnings());
+						action.accept(vcard);
+					});
+				}
+			};
+		}
+
+		Stream<VCard> stream = StreamSupport.stream(spliterator, false);
+		if (closeWhenDone()) {
+			stream = stream.onClose(() -> {
+				try {
+					reader.close();
+				} catch (IOException e) {
+					throw new UncheckedIOException(e);
+				}
+			});
+		}
+		return stream;
+	}
+
 	abstract StreamReader constructReader() throws IOException;
 
+	/**
+	 * Applies the options that are common to all chaining parsers to a newly
+	 * constructed reader.
+	 * @param reader the reader
+	 */
+	private void configure(StreamReader reader) {
+		if (index != null) {
+			reader.setScribeIndex(index);
+		}
+		reader.setPropertyFilter(propertyFilter);
+		reader.setStringPool(stringPool);
+	}
+
 	private boolean closeWhenDone() {
 		return in == null && reader == null;
 	}
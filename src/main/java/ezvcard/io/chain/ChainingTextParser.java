@@ -4,10 +4,13 @@ import java.io.IOException;
 import java.io.InputStream;
 import java.io.Reader;
 import java.nio.file.Path;
+import java.util.concurrent.ForkJoinPool;
 
 import ezvcard.Ezvcard;
 import ezvcard.io.StreamReader;
 import ezvcard.io.text.VCardReader;
+import ezvcard.util.Compression;
+import ezvcard.util.MappedFileReader;
 
 /*
  Copyright (c) 2012-2021, Michael Angstadt
@@ -43,6 +46,9 @@ import ezvcard.io.text.VCardReader;
  */
 public class ChainingTextParser<T extends ChainingTextParser<?>> extends ChainingParser<T> {
 	private boolean caretDecoding = true;
+	private ForkJoinPool forkJoinPool;
+	private boolean memoryMapped = false;
+	private boolean lazyParsing = false;
 
 	public ChainingTextParser(String string) {
 		super(string);
@@ -74,10 +80,51 @@ public class ChainingTextParser<T extends ChainingTextParser<?>> extends Chainin
 		return this_;
 	}
 
+	/**
+	 * Sets the thread pool to use to parse the vCards in parallel. By default,
+	 * the vCards are parsed sequentially.
+	 * @param forkJoinPool the thread pool or null to parse the vCards
+	 * sequentially
+	 * @return this
+	 * @see VCardReader#setForkJoinPool(ForkJoinPool)
+	 */
+	public T parallel(ForkJoinPool forkJoinPool) {
+		this.forkJoinPool = forkJoinPool;
+		return this_;
+	}
+
+	/**
+	 * Sets whether each property will be unmarshalled only when it is first
+	 * accessed (disabled by default).
+	 * @param enable true to enable lazy parsing, false not to
+	 * @return this
+	 * @see VCardReader#setLazyParsingEnabled(boolean)
+	 */
+	public T lazyParsing(boolean enable) {
+		lazyParsing = enable;
+		return this_;
+	}
+
+	/**
+	 * Sets whether the input file will be memory-mapped instead of being read
+	 * through a buffered stream (disabled by default). This setting only
+	 * applies if the parser was created with a {@link Path} object, and is
+	 * ignored if the file is compressed.
+	 * @param enable true to memory-map the file, false not to
+	 * @return this
+	 * @see MappedFileReader
+	 */
+	public T memoryMapped(boolean enable) {
+		memoryMapped = enable;
+		return this_;
+	}
+
 	@Override
 	StreamReader constructReader() throws IOException {
 		VCardReader reader = newReader();
 		reader.setCaretDecodingEnabled(caretDecoding);
+		reader.setForkJoinPool(forkJoinPool);
+		reader.setLazyParsingEnabled(lazyParsing);
 		return reader;
 	}
 
@@ -91,6 +138,9 @@ public class ChainingTextParser<T extends ChainingTextParser<?>> extends Chainin
 		if (reader != null) {
 			return new VCardReader(reader);
 		}
+		if (memoryMapped && Compression.detect(file) == Compression.NONE) {
+			return new VCardReader(new MappedFileReader(file));
+		}
 		return new VCardReader(file);
 	}
 }
@@ -6,7 +6,10 @@ import java.io.StringWriter;
 import java.io.UncheckedIOException;
 import java.io.Writer;
 import java.nio.file.Path;
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
 
 import ezvcard.Ezvcard;
 import ezvcard.VCard;
@@ -17,6 +20,7 @@ import ezvcard.io.text.VCardWriter;
 import ezvcard.property.Address;
 import ezvcard.property.StructuredName;
 import ezvcard.property.VCardProperty;
+import ezvcard.util.Compression;
 
 /*
  Copyright (c) 2012-2021, Michael Angstadt
@@ -166,6 +170,11 @@ public class ChainingTextWriter extends ChainingWriter<ChainingTextWriter> {
 		return super.versionStrict(versionStrict);
 	}
 
+	@Override
+	public ChainingTextWriter parallel(ForkJoinPool forkJoinPool) {
+		return super.parallel(forkJoinPool);
+	}
+
 	@Override
 	public ChainingTextWriter register(VCardPropertyScribe<? extends VCardProperty> scribe) {
 		return super.register(scribe);
@@ -197,6 +206,8 @@ public class ChainingTextWriter extends ChainingWriter<ChainingTextWriter> {
 
 	/**
 	 * Writes the vCards to a file. If the file exists, it will be overwritten.
+	 * The data is compressed if the file name has a compression-related
+	 * extension, such as ".gz" (see {@link Compression#fromFileName}).
 	 * @param file the file to write to
 	 * @throws IOException if there's a problem writing to the file
 	 */
@@ -205,14 +216,17 @@ public class ChainingTextWriter extends ChainingWriter<ChainingTextWriter> {
 	}
 
 	/**
-	 * Writes the vCards to a file.
+	 * Writes the vCards to a file. The data is compressed if the file name has
+	 * a compression-related extension, such as ".gz" (see
+	 * {@link Compression#fromFileName}). If a thread pool was assigned with
+	 * {@link #parallel}, it is also used to compress gzip data.
 	 * @param file the file to write to
 	 * @param append true to append onto the end of the file, false to overwrite
 	 * it
 	 * @throws IOException if there's a problem writing to the file
 	 */
 	public void go(Path file, boolean append) throws IOException {
-		try (VCardWriter writer = new VCardWriter(file, append, getVCardWriterConstructorVersion())) {
+		try (VCardWriter writer = new VCardWriter(file, append, getVCardWriterConstructorVersion(), forkJoinPool)) {
 			go(writer);
 		}
 	}
@@ -239,20 +253,61 @@ public class ChainingTextWriter extends ChainingWriter<ChainingTextWriter> {
 			writer.setScribeIndex(index);
 		}
 
+		if (forkJoinPool != null) {
+			goParallel(writer);
+			return;
+		}
+
 		for (VCard vcard : vcards) {
 			if (version == null) {
 				//use the version that's assigned to each individual vCard
-				VCardVersion vcardVersion = vcard.getVersion();
-				if (vcardVersion == null) {
-					vcardVersion = VCardVersion.V3_0;
-				}
-				writer.setTargetVersion(vcardVersion);
+				writer.setTargetVersion(getVersion(vcard));
 			}
 			writer.write(vcard);
 			writer.flush();
 		}
 	}
 
+	private void goParallel(VCardWriter writer) throws IOException {
+		writer.setForkJoinPool(forkJoinPool);
+
+		if (version != null) {
+			writer.writeAll(vcards);
+			writer.flush();
+			return;
+		}
+
+		/*
+		 * Use the version that's assigned to each individual vCard. The target
+		 * version can only be changed in between calls to writeAll(), so each
+		 * run of consecutive vCards that have the same version is written
+		 * together.
+		 */
+		List<VCard> run = new ArrayList<>();
+		VCardVersion runVersion = null;
+		for (VCard vcard : vcards) {
+			VCardVersion vcardVersion = getVersion(vcard);
+			if (vcardVersion != runVersion && !run.isEmpty()) {
+				writer.setTargetVersion(runVersion);
+				writer.writeAll(run);
+				run.clear();
+			}
+			runVersion = vcardVersion;
+			run.add(vcard);
+		}
+
+		if (!run.isEmpty()) {
+			writer.setTargetVersion(runVersion);
+			writer.writeAll(run);
+		}
+		writer.flush();
+	}
+
+	private static VCardVersion getVersion(VCard vcard) {
+		VCardVersion version = vcard.getVersion();
+		return (version == null) ? VCardVersion.V3_0 : version;
+	}
+
 	/**
 	 * <p>
 	 * Gets the {@link VCardVersion} object to pass into the {@link VCardWriter}
@@ -1,8 +1,10 @@
 package ezvcard.io.chain;
 
 import java.util.Collection;
+import java.util.concurrent.ForkJoinPool;
 
 import ezvcard.VCard;
+import ezvcard.io.StreamWriter;
 import ezvcard.io.scribe.ScribeIndex;
 import ezvcard.io.scribe.VCardPropertyScribe;
 import ezvcard.property.ProductId;
@@ -44,6 +46,7 @@ class ChainingWriter<T extends ChainingWriter<?>> {
 	ScribeIndex index;
 	boolean prodId = true;
 	boolean versionStrict = true;
+	ForkJoinPool forkJoinPool;
 
 	@SuppressWarnings("unchecked")
 	private final T this_ = (T) this;
@@ -80,6 +83,20 @@ class ChainingWriter<T extends ChainingWriter<?>> {
 		return this_;
 	}
 
+	/**
+	 * Sets the thread pool to use to marshal the vCards in parallel. The
+	 * vCards are still written in order. By default, the vCards are marshalled
+	 * sequentially.
+	 * @param forkJoinPool the thread pool or null to marshal the vCards
+	 * sequentially
+	 * @return this
+	 * @see StreamWriter#setForkJoinPool(ForkJoinPool)
+	 */
+	T parallel(ForkJoinPool forkJoinPool) {
+		this.forkJoinPool = forkJoinPool;
+		return this_;
+	}
+
 	/**
 	 * Registers a property scribe.
 	 * @param scribe the scribe to register
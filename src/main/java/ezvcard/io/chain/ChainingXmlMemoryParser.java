@@ -3,6 +3,7 @@ package ezvcard.io.chain;
 import java.io.IOException;
 import java.io.UncheckedIOException;
 import java.util.List;
+import java.util.stream.Stream;
 
 import org.w3c.dom.Document;
 
@@ -68,4 +69,14 @@ public class ChainingXmlMemoryParser extends ChainingXmlParser<ChainingXmlMemory
 			throw new UncheckedIOException(e);
 		}
 	}
+
+	@Override
+	public Stream<VCard> stream() {
+		try {
+			return super.stream();
+		} catch (IOException e) {
+			//should never be thrown because we're reading from a string
+			throw new UncheckedIOException(e);
+		}
+	}
 }
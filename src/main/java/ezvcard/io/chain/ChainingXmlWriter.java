@@ -7,6 +7,7 @@ import java.nio.file.Path;
 import java.util.Collection;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
 
 import javax.xml.transform.Transformer;
 import javax.xml.transform.TransformerException;
@@ -21,6 +22,7 @@ import ezvcard.io.xml.XCardDocument;
 import ezvcard.io.xml.XCardDocument.XCardDocumentStreamWriter;
 import ezvcard.io.xml.XCardOutputProperties;
 import ezvcard.property.VCardProperty;
+import ezvcard.util.Compression;
 
 /*
  Copyright (c) 2012-2021, Michael Angstadt
@@ -122,6 +124,11 @@ public class ChainingXmlWriter extends ChainingWriter<ChainingXmlWriter> {
 		return super.versionStrict(versionStrict);
 	}
 
+	@Override
+	public ChainingXmlWriter parallel(ForkJoinPool forkJoinPool) {
+		return super.parallel(forkJoinPool);
+	}
+
 	@Override
 	public ChainingXmlWriter register(VCardPropertyScribe<? extends VCardProperty> scribe) {
 		return super.register(scribe);
@@ -158,13 +165,16 @@ public class ChainingXmlWriter extends ChainingWriter<ChainingXmlWriter> {
 	}
 
 	/**
-	 * Writes the xCards to a file.
+	 * Writes the xCards to a file. The data is compressed if the file name has
+	 * a compression-related extension, such as ".gz" (see
+	 * {@link Compression#fromFileName}). If a thread pool was assigned with
+	 * {@link #parallel}, it is also used to compress gzip data.
 	 * @param file the file to write to
 	 * @throws IOException if the file can't be opened
 	 * @throws TransformerException if there's a problem writing to the file
 	 */
 	public void go(Path file) throws IOException, TransformerException {
-		createXCardDocument().write(file, outputProperties);
+		createXCardDocument().write(file, outputProperties, forkJoinPool);
 	}
 
 	/**
@@ -199,9 +209,8 @@ public class ChainingXmlWriter extends ChainingWriter<ChainingXmlWriter> {
 			writer.setScribeIndex(index);
 		}
 
-		for (VCard vcard : vcards) {
-			writer.write(vcard);
-		}
+		writer.setForkJoinPool(forkJoinPool);
+		writer.writeAll(vcards);
 
 		return document;
 	}
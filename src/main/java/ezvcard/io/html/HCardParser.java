@@ -277,7 +277,7 @@ public class HCardParser extends StreamReader {
 
 		vcard = new VCard();
 		vcard.setVersion(VCardVersion.V3_0);
-		if (pageUrl != null) {
+		if (pageUrl != null && isAccepted("SOURCE")) {
 			vcard.addSource(pageUrl);
 		}
 
@@ -307,6 +307,9 @@ public class HCardParser extends StreamReader {
 					} else {
 						//try parsing as IMPP
 						VCardPropertyScribe<? extends VCardProperty> scribe = index.getPropertyScribe(Impp.class);
+						if (!isAccepted(scribe.getPropertyName())) {
+							continue;
+						}
 
 						context.getWarnings().clear();
 						context.setPropertyName(scribe.getPropertyName());
@@ -329,6 +332,10 @@ public class HCardParser extends StreamReader {
 				className = categoriesName;
 			}
 
+			if (!isAccepted(className)) {
+				continue;
+			}
+
 			VCardPropertyScribe<? extends VCardProperty> scribe = index.getPropertyScribe(className);
 			if (scribe == null) {
 				//if no scribe is found, and the class name doesn't start with "x-", then it must be an arbitrary CSS class that has nothing to do with vCard
@@ -7,6 +7,7 @@ import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.function.Predicate;
 
 import com.fasterxml.jackson.core.JsonFactory;
 import com.fasterxml.jackson.core.JsonParseException;
@@ -52,6 +53,7 @@ public class JCardRawReader implements Closeable {
 	private boolean eof = false;
 	private JCardDataStreamListener listener;
 	private boolean strict = false;
+	private Predicate<String> propertyFilter;
 
 	/**
 	 * @param reader the reader to wrap
@@ -82,6 +84,17 @@ public class JCardRawReader implements Closeable {
 		return (parser == null) ? 0 : parser.getCurrentLocation().getLineNr();
 	}
 
+	/**
+	 * Sets the filter that determines which properties are passed to the
+	 * listener. Properties that are rejected by the filter are skipped over
+	 * without their parameters or values being read.
+	 * @param propertyFilter tests the property name (in lower case) or null to
+	 * read all properties
+	 */
+	public void setPropertyFilter(Predicate<String> propertyFilter) {
+		this.propertyFilter = propertyFilter;
+	}
+
 	/**
 	 * Reads the next vCard from the jCard data stream.
 	 * @param listener handles the vCard data as it is read off the wire
@@ -154,6 +167,14 @@ public class JCardRawReader implements Closeable {
 		checkCurrent(JsonToken.VALUE_STRING);
 		String propertyName = parser.getValueAsString().toLowerCase();
 
+		if (propertyFilter != null && !propertyFilter.test(propertyName)) {
+			//skip to the end of the property array
+			while (parser.nextToken() != JsonToken.END_ARRAY) {
+				parser.skipChildren();
+			}
+			return;
+		}
+
 		//get parameters
 		VCardParameters parameters = parseParameters();
 
@@ -6,7 +6,6 @@ import java.io.InputStreamReader;
 import java.io.Reader;
 import java.io.StringReader;
 import java.nio.charset.StandardCharsets;
-import java.nio.file.Files;
 import java.nio.file.Path;
 
 import com.fasterxml.jackson.core.JsonParser;
@@ -24,6 +23,8 @@ import ezvcard.io.scribe.RawPropertyScribe;
 import ezvcard.io.scribe.VCardPropertyScribe;
 import ezvcard.parameter.VCardParameters;
 import ezvcard.property.VCardProperty;
+import ezvcard.util.Compression;
+import ezvcard.util.MappedFileReader;
 
 /*
  Copyright (c) 2012-2021, Michael Angstadt
@@ -92,11 +93,19 @@ public class JCardReader extends StreamReader {
 	}
 
 	/**
-	 * @param file the file to read from
+	 * <p>
+	 * Creates a new jCard reader.
+	 * </p>
+	 * <p>
+	 * To memory-map the file instead, pass a {@link MappedFileReader} into the
+	 * {@link #JCardReader(Reader)} constructor.
+	 * </p>
+	 * @param file the file to read from (the file is decompressed if it is
+	 * gzip or zlib compressed, see {@link Compression})
 	 * @throws IOException if there is a problem reading the file
 	 */
 	public JCardReader(Path file) throws IOException {
-		this(Files.newBufferedReader(file, StandardCharsets.UTF_8));
+		this(Compression.newReader(file, StandardCharsets.UTF_8));
 	}
 
 	/**
@@ -122,6 +131,8 @@ public class JCardReader extends StreamReader {
 		context.setVersion(VCardVersion.V4_0);
 
 		JCardDataStreamListenerImpl listener = new JCardDataStreamListenerImpl();
+		//"version" is not treated as a property, so it is never filtered out
+		reader.setPropertyFilter((propertyFilter == null) ? null : propertyName -> "version".equals(propertyName) || isAccepted(propertyName));
 		reader.readNext(listener);
 		VCard vcard = listener.vcard;
 		if (vcard != null && !listener.versionFound) {
@@ -175,6 +186,9 @@ public class JCardReader extends StreamReader {
 				scribe = new RawPropertyScribe(propertyName);
 			}
 
+			group = intern(group);
+			parameters = intern(parameters);
+
 			VCardProperty property;
 			try {
 				property = scribe.parseJson(value, dataType, parameters, context);
@@ -6,9 +6,10 @@ import java.io.OutputStream;
 import java.io.OutputStreamWriter;
 import java.io.Writer;
 import java.nio.charset.StandardCharsets;
-import java.nio.file.Files;
 import java.nio.file.Path;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.ForkJoinPool;
 
 import com.fasterxml.jackson.core.JsonGenerator;
 import com.fasterxml.jackson.core.PrettyPrinter;
@@ -22,6 +23,8 @@ import ezvcard.io.StreamWriter;
 import ezvcard.io.scribe.VCardPropertyScribe;
 import ezvcard.parameter.VCardParameters;
 import ezvcard.property.VCardProperty;
+import ezvcard.util.Compression;
+import ezvcard.util.ParallelGzipOutputStream;
 
 /*
  Copyright (c) 2012-2021, Michael Angstadt
@@ -95,21 +98,41 @@ public class JCardWriter extends StreamWriter implements Flushable {
 	}
 
 	/**
-	 * @param file the file to write to (UTF-8 encoding will be used)
+	 * @param file the file to write to (UTF-8 encoding will be used). The data
+	 * is compressed if the file name has a compression-related extension, such
+	 * as ".gz" (see {@link Compression#fromFileName}).
 	 * @throws IOException if there's a problem opening the file
 	 */
 	public JCardWriter(Path file) throws IOException {
-		this(Files.newBufferedWriter(file, StandardCharsets.UTF_8));
+		this(file, false);
 	}
 
 	/**
-	 * @param file the file to write to (UTF-8 encoding will be used)
+	 * @param file the file to write to (UTF-8 encoding will be used). The data
+	 * is compressed if the file name has a compression-related extension, such
+	 * as ".gz" (see {@link Compression#fromFileName}).
 	 * @param wrapInArray true to enclose all written vCards in a JSON array,
 	 * false not to
 	 * @throws IOException if there's a problem opening the file
 	 */
 	public JCardWriter(Path file, boolean wrapInArray) throws IOException {
-		this(Files.newBufferedWriter(file, StandardCharsets.UTF_8), wrapInArray);
+		this(file, wrapInArray, null);
+	}
+
+	/**
+	 * @param file the file to write to (UTF-8 encoding will be used). The data
+	 * is compressed if the file name has a compression-related extension, such
+	 * as ".gz" (see {@link Compression#fromFileName}).
+	 * @param wrapInArray true to enclose all written vCards in a JSON array,
+	 * false not to
+	 * @param compressionPool the thread pool to use to compress the data in
+	 * parallel if the file is gzip-compressed (see
+	 * {@link ParallelGzipOutputStream}), or null to compress it in the calling
+	 * thread
+	 * @throws IOException if there's a problem opening the file
+	 */
+	public JCardWriter(Path file, boolean wrapInArray, ForkJoinPool compressionPool) throws IOException {
+		this(Compression.newOutputStream(file, compressionPool), wrapInArray);
 	}
 
 	/**
@@ -145,13 +168,25 @@ public class JCardWriter extends StreamWriter implements Flushable {
 	 * custom property class (see: {@link #registerScribe registerScribe})
 	 */
 	@Override
-	@SuppressWarnings({ "rawtypes", "unchecked" })
 	protected void _write(VCard vcard, List<VCardProperty> properties) throws IOException {
-		Object previousValue = getCurrentValue();
+		write(marshal(vcard, properties));
+	}
 
-		writer.writeStartVCard();
-		writer.writeProperty("version", VCardDataType.TEXT, JCardValue.single(targetVersion.getVersion()));
+	@Override
+	protected RenderedVCard render(VCard vcard, List<VCardProperty> properties) {
+		List<MarshalledProperty> marshalled = marshal(vcard, properties);
+		return () -> write(marshalled);
+	}
 
+	/**
+	 * Marshals the vCard's properties.
+	 * @param vcard the vCard
+	 * @param properties the properties to marshal
+	 * @return the marshalled properties
+	 */
+	@SuppressWarnings({ "rawtypes", "unchecked" })
+	private List<MarshalledProperty> marshal(VCard vcard, List<VCardProperty> properties) {
+		List<MarshalledProperty> marshalled = new ArrayList<>(properties.size());
 		for (VCardProperty property : properties) {
 			VCardPropertyScribe scribe = index.getPropertyScribe(property);
 
@@ -173,7 +208,24 @@ public class JCardWriter extends StreamWriter implements Flushable {
 			removeUnsupportedParameters(parameters);
 			VCardDataType dataType = scribe.dataType(property, targetVersion);
 
-			writer.writeProperty(group, name, parameters, dataType, value);
+			marshalled.add(new MarshalledProperty(group, name, parameters, dataType, value));
+		}
+		return marshalled;
+	}
+
+	/**
+	 * Writes a marshalled vCard to the stream.
+	 * @param properties the vCard's marshalled properties
+	 * @throws IOException if there's a problem writing to the output stream
+	 */
+	private void write(List<MarshalledProperty> properties) throws IOException {
+		Object previousValue = getCurrentValue();
+
+		writer.writeStartVCard();
+		writer.writeProperty("version", VCardDataType.TEXT, JCardValue.single(targetVersion.getVersion()));
+
+		for (MarshalledProperty property : properties) {
+			writer.writeProperty(property.group, property.name, property.parameters, property.dataType, property.value);
 		}
 
 		writer.writeEndVCard();
@@ -181,6 +233,24 @@ public class JCardWriter extends StreamWriter implements Flushable {
 		setCurrentValue(previousValue);
 	}
 
+	/**
+	 * A property that is ready to be written to the stream.
+	 */
+	private static class MarshalledProperty {
+		private final String group, name;
+		private final VCardParameters parameters;
+		private final VCardDataType dataType;
+		private final JCardValue value;
+
+		public MarshalledProperty(String group, String name, VCardParameters parameters, VCardDataType dataType, JCardValue value) {
+			this.group = group;
+			this.name = name;
+			this.parameters = parameters;
+			this.dataType = dataType;
+			this.value = value;
+		}
+	}
+
 	/**
 	 * If this object has a {@link JsonGenerator), and the generator has an
 	 * output context, gets the current value of the output context.
@@ -1,5 +1,12 @@
 package ezvcard.io.scribe;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.lang.reflect.Method;
+
 import com.github.mangstadt.vinnie.io.VObjectPropertyValues;
 
 import ezvcard.VCard;
@@ -15,6 +22,10 @@ import ezvcard.parameter.Encoding;
 import ezvcard.parameter.MediaTypeParameter;
 import ezvcard.parameter.VCardParameters;
 import ezvcard.property.BinaryProperty;
+import ezvcard.property.VCardProperty;
+import ezvcard.util.Base64OutputStream;
+import ezvcard.util.BinaryHandle;
+import ezvcard.util.BinaryStorage;
 import ezvcard.util.DataUri;
 import ezvcard.util.org.apache.commons.codec.binary.Base64;
 
@@ -50,8 +61,15 @@ import ezvcard.util.org.apache.commons.codec.binary.Base64;
  * @param <U> the media type class
  */
 public abstract class BinaryPropertyScribe<T extends BinaryProperty<U>, U extends MediaTypeParameter> extends VCardPropertyScribe<T> {
+	/**
+	 * True if {@link #_writeText} is not overridden by a sub-class (see
+	 * {@link #hasBinaryData}).
+	 */
+	private final boolean binaryDataStreamable;
+
 	public BinaryPropertyScribe(Class<T> clazz, String propertyName) {
 		super(clazz, propertyName);
+		binaryDataStreamable = isBinaryDataStreamable(getClass());
 	}
 
 	@Override
@@ -78,7 +96,7 @@ public abstract class BinaryPropertyScribe<T extends BinaryProperty<U>, U extend
 			}
 		}
 
-		if (property.getData() != null) {
+		if (property.getDataHandle() != null || property.getData() != null) {
 			switch (version) {
 			case V2_1:
 			case V3_0:
@@ -118,7 +136,7 @@ public abstract class BinaryPropertyScribe<T extends BinaryProperty<U>, U extend
 			return;
 		}
 
-		if (property.getData() != null) {
+		if (property.getDataHandle() != null || property.getData() != null) {
 			copy.setMediaType(null);
 
 			switch (version) {
@@ -148,7 +166,7 @@ public abstract class BinaryPropertyScribe<T extends BinaryProperty<U>, U extend
 	@Override
 	protected T _parseText(String value, VCardDataType dataType, VCardParameters parameters, ParseContext context) {
 		value = VObjectPropertyValues.unescape(value);
-		return parse(value, dataType, parameters, context.getVersion());
+		return parse(value, dataType, parameters, context.getVersion(), context);
 	}
 
 	@Override
@@ -160,7 +178,7 @@ public abstract class BinaryPropertyScribe<T extends BinaryProperty<U>, U extend
 	protected T _parseXml(XCardElement element, VCardParameters parameters, ParseContext context) {
 		String value = element.first(VCardDataType.URI);
 		if (value != null) {
-			return parse(value, VCardDataType.URI, parameters, element.version());
+			return parse(value, VCardDataType.URI, parameters, element.version(), context);
 		}
 
 		throw missingXmlElements(VCardDataType.URI);
@@ -206,7 +224,7 @@ public abstract class BinaryPropertyScribe<T extends BinaryProperty<U>, U extend
 	@Override
 	protected T _parseJson(JCardValue value, VCardDataType dataType, VCardParameters parameters, ParseContext context) {
 		String valueStr = value.asSingle();
-		return parse(valueStr, dataType, parameters, VCardVersion.V4_0);
+		return parse(valueStr, dataType, parameters, VCardVersion.V4_0, context);
 	}
 
 	/**
@@ -319,6 +337,102 @@ public abstract class BinaryPropertyScribe<T extends BinaryProperty<U>, U extend
 		return (extension == null) ? null : _mediaTypeFromFileExtension(extension);
 	}
 
+	/**
+	 * Parses the property. If the value is large and contains embedded binary
+	 * data, and a {@link BinaryStorage} is assigned to the parse context, the
+	 * binary data is decoded directly into the storage.
+	 * @param value the property value
+	 * @param dataType the data type
+	 * @param parameters the property parameters
+	 * @param version the vCard version
+	 * @param context the parse context
+	 * @return the parsed property
+	 */
+	protected T parse(String value, VCardDataType dataType, VCardParameters parameters, VCardVersion version, ParseContext context) {
+		BinaryStorage storage = context.getBinaryStorage();
+		if (storage != null && value.length() >= context.getBinaryStorageThreshold()) {
+			T property = parseIntoStorage(value, dataType, parameters, version, storage);
+			if (property != null) {
+				return property;
+			}
+		}
+
+		return parse(value, dataType, parameters, version);
+	}
+
+	/**
+	 * Decodes a property's embedded binary data into a {@link BinaryStorage}
+	 * object, without holding all of the decoded data in memory.
+	 * @param value the property value
+	 * @param dataType the data type
+	 * @param parameters the property parameters
+	 * @param version the vCard version
+	 * @param storage the storage
+	 * @return the parsed property or null if the value does not contain
+	 * embedded binary data
+	 */
+	private T parseIntoStorage(String value, VCardDataType dataType, VCardParameters parameters, VCardVersion version, BinaryStorage storage) {
+		U contentType;
+		int start;
+
+		switch (version) {
+		case V2_1:
+		case V3_0:
+			if (dataType == VCardDataType.URL || dataType == VCardDataType.URI) {
+				return null;
+			}
+
+			Encoding encodingSubType = parameters.getEncoding();
+			if (encodingSubType != Encoding.BASE64 && encodingSubType != Encoding.B) {
+				return null;
+			}
+
+			contentType = parseContentTypeFromParameters(parameters, version);
+			start = 0;
+			break;
+		case V4_0:
+			//only data URIs that contain base64-encoded binary data
+			int comma = value.indexOf(',');
+			if (comma < 0) {
+				return null;
+			}
+
+			String header = value.substring(0, comma);
+			if (!header.toLowerCase().endsWith(";base64")) {
+				return null;
+			}
+
+			DataUri uri;
+			try {
+				uri = DataUri.parse(header + ",");
+			} catch (IllegalArgumentException e) {
+				//not a data URI
+				return null;
+			}
+			if (uri.getData() == null) {
+				//it has a "charset" parameter, so it contains text
+				return null;
+			}
+
+			contentType = _mediaTypeFromMediaTypeParameter(uri.getContentType());
+			start = comma + 1;
+			break;
+		default:
+			return null;
+		}
+
+		BinaryHandle handle;
+		try {
+			handle = storage.store(new Base64InputStream(value, start));
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+
+		T property = _newInstance((byte[]) null, contentType);
+		property.setDataHandle(handle, contentType);
+		return property;
+	}
+
 	/**
 	 * Parses the property.
 	 * @param value the property value
@@ -366,22 +480,116 @@ public abstract class BinaryPropertyScribe<T extends BinaryProperty<U>, U extend
 			return url;
 		}
 
-		byte data[] = property.getData();
+		byte data[];
+		try {
+			data = property.readData();
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
 		if (data != null) {
 			switch (version) {
 			case V2_1:
 			case V3_0:
 				return Base64.encodeBase64String(data);
 			case V4_0:
-				U contentType = property.getContentType();
-				String mediaType = (contentType == null || contentType.getMediaType() == null) ? "application/octet-stream" : contentType.getMediaType();
-				return new DataUri(mediaType, data).toString();
+				return new DataUri(dataUriMediaType(property), data).toString();
 			}
 		}
 
 		return "";
 	}
 
+	/**
+	 * <p>
+	 * Determines if the given property's value is binary data that can be
+	 * written using {@link #writeBinaryData}.
+	 * </p>
+	 * <p>
+	 * {@link #writeBinaryData} produces the same output as this class's
+	 * implementation of {@link #_writeText}. If a sub-class overrides
+	 * {@link #_writeText}, this method returns false, so that the sub-class's
+	 * implementation is always used. A sub-class that overrides both methods
+	 * is responsible for only returning true when its {@link #_writeText}
+	 * implementation would produce the same output as
+	 * {@link #writeBinaryData}.
+	 * </p>
+	 * @param property the property
+	 * @return true if the property holds binary data, false if not (e.g. if it
+	 * holds a URL)
+	 */
+	public boolean hasBinaryData(T property) {
+		return binaryDataStreamable && property.getUrl() == null && (property.getDataHandle() != null || property.getData() != null);
+	}
+
+	/**
+	 * Determines if a scribe class overrides {@link #_writeText} without also
+	 * overriding {@link #hasBinaryData}.
+	 * @param clazz the scribe class
+	 * @return true if its binary data can be written using
+	 * {@link #writeBinaryData}, false if {@link #_writeText} must be used
+	 */
+	private static boolean isBinaryDataStreamable(Class<?> clazz) {
+		for (Class<?> c = clazz; c != BinaryPropertyScribe.class; c = c.getSuperclass()) {
+			if (declaresMethod(c, "_writeText") && !declaresMethod(c, "hasBinaryData")) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	private static boolean declaresMethod(Class<?> clazz, String name) {
+		for (Method method : clazz.getDeclaredMethods()) {
+			if (method.getName().equals(name)) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * <p>
+	 * Writes the property's binary data to a plain-text vCard, encoding it as it
+	 * goes. For version 2.1 and 3.0 vCards, the data is written in base64. For
+	 * version 4.0 vCards, it is written as a data URI.
+	 * </p>
+	 * <p>
+	 * The output is identical to the value returned by
+	 * {@link #writeText(VCardProperty, WriteContext) writeText}, but the
+	 * encoded value is never held in memory in its entirety. If the data is
+	 * stored outside of the heap (see {@link BinaryProperty#getDataHandle}), it
+	 * is not loaded into memory either.
+	 * </p>
+	 * @param property the property (see {@link #hasBinaryData})
+	 * @param version the vCard version being written
+	 * @param writer the writer to send the encoded value to
+	 * @throws IOException if there's a problem reading the binary data or
+	 * writing to the writer
+	 */
+	public void writeBinaryData(T property, VCardVersion version, Writer writer) throws IOException {
+		if (version == VCardVersion.V4_0) {
+			writer.write("data:");
+			writer.write(dataUriMediaType(property).toLowerCase());
+			writer.write(";base64,");
+		}
+
+		try (InputStream in = property.openData(); OutputStream out = new Base64OutputStream(writer)) {
+			if (in == null) {
+				return;
+			}
+
+			byte buffer[] = new byte[8192];
+			int read;
+			while ((read = in.read(buffer)) != -1) {
+				out.write(buffer, 0, read);
+			}
+		}
+	}
+
+	private String dataUriMediaType(T property) {
+		U contentType = property.getContentType();
+		return (contentType == null || contentType.getMediaType() == null) ? "application/octet-stream" : contentType.getMediaType();
+	}
+
 	/**
 	 * Gets the file extension from a URL.
 	 * @param url the URL
@@ -400,4 +608,132 @@ public abstract class BinaryPropertyScribe<T extends BinaryProperty<U>, U extend
 
 		return url.substring(dotPos + 1);
 	}
+
+	/**
+	 * Decodes base64 data as it is read, directly from the string that holds
+	 * it. Like {@link Base64#decodeBase64(String)}, characters that are not
+	 * part of the base64 alphabet are ignored, and decoding stops at the first
+	 * padding character.
+	 */
+	private static class Base64InputStream extends InputStream {
+		private final String base64;
+		private int pos;
+		private int buffer;
+		private int bufferedBits;
+
+		public Base64InputStream(String base64, int start) {
+			this.base64 = base64;
+			this.pos = start;
+		}
+
+		@Override
+		public int read() {
+			while (bufferedBits < 8) {
+				if (pos >= base64.length()) {
+					return -1;
+				}
+
+				char c = base64.charAt(pos++);
+				if (c == '=') {
+					pos = base64.length();
+					return -1;
+				}
+
+				int sextet = decode(c);
+				if (sextet < 0) {
+					continue;
+				}
+
+				buffer = ((buffer << 6) | sextet) & 0xffff;
+				bufferedBits += 6;
+			}
+
+			bufferedBits -= 8;
+			return (buffer >> bufferedBits) & 0xff;
+		}
+
+		@Override
+		public int read(byte[] b, int off, int len) {
+			if (len == 0) {
+				return 0;
+			}
+
+			int read = 0;
+
+			//read one byte at a time until the next quartet starts on a byte boundary
+			while (bufferedBits > 0 && read < len) {
+				int value = read();
+				if (value < 0) {
+					break;
+				}
+				b[off + read++] = (byte) value;
+			}
+
+			//decode whole quartets straight into the array
+			while (bufferedBits == 0 && len - read >= 3) {
+				int quartet = 0;
+				int sextets = 0;
+				while (sextets < 4 && pos < base64.length()) {
+					char c = base64.charAt(pos++);
+					if (c == '=') {
+						pos = base64.length();
+						break;
+					}
+
+					int sextet = decode(c);
+					if (sextet < 0) {
+						continue;
+					}
+
+					quartet = (quartet << 6) | sextet;
+					sextets++;
+				}
+
+				if (sextets < 4) {
+					//end of the data, so any leftover bits are discarded
+					if (sextets == 2) {
+						b[off + read++] = (byte) (quartet >> 4);
+					} else if (sextets == 3) {
+						b[off + read++] = (byte) (quartet >> 10);
+						b[off + read++] = (byte) (quartet >> 2);
+					}
+					break;
+				}
+
+				b[off + read++] = (byte) (quartet >> 16);
+				b[off + read++] = (byte) (quartet >> 8);
+				b[off + read++] = (byte) quartet;
+			}
+
+			//there is not enough room left in the array for a whole quartet
+			while (read < len) {
+				int value = read();
+				if (value < 0) {
+					break;
+				}
+				b[off + read++] = (byte) value;
+			}
+
+			return (read == 0) ? -1 : read;
+		}
+
+		private static int decode(char c) {
+			if (c >= 'A' && c <= 'Z') {
+				return c - 'A';
+			}
+			if (c >= 'a' && c <= 'z') {
+				return c - 'a' + 26;
+			}
+			if (c >= '0' && c <= '9') {
+				return c - '0' + 52;
+			}
+			if (c == '+' || c == '-') {
+				return 62;
+			}
+			if (c == '/' || c == '_') {
+				return 63;
+			}
+			return -1;
+		}
+	}
 }
@@ -98,6 +98,12 @@ public class KeyScribe extends BinaryPropertyScribe<Key, KeyType> {
 		super._prepareParameters(property, copy, version, vcard);
 	}
 
+	@Override
+	public boolean hasBinaryData(Key property) {
+		//plain-text keys are written by _writeText()
+		return property.getText() == null && super.hasBinaryData(property);
+	}
+
 	@Override
 	protected String _writeText(Key property, WriteContext context) {
 		String text = property.getText();
@@ -122,7 +128,7 @@ public class KeyScribe extends BinaryPropertyScribe<Key, KeyType> {
 			return property;
 		}
 
-		return parse(value, dataType, parameters, context.getVersion());
+		return parse(value, dataType, parameters, context.getVersion(), context);
 	}
 
 	@Override
@@ -148,7 +154,7 @@ public class KeyScribe extends BinaryPropertyScribe<Key, KeyType> {
 
 		String value = element.first(VCardDataType.URI);
 		if (value != null) {
-			return parse(value, VCardDataType.URI, parameters, element.version());
+			return parse(value, VCardDataType.URI, parameters, element.version(), context);
 		}
 
 		throw missingXmlElements(VCardDataType.URI, VCardDataType.TEXT);
@@ -2,6 +2,7 @@ package ezvcard.io.scribe;
 
 import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 import javax.xml.namespace.QName;
 
@@ -78,6 +79,7 @@ public class ScribeIndex {
 	private static final Map<String, VCardPropertyScribe<? extends VCardProperty>> standardByName = new HashMap<>();
 	private static final Map<Class<? extends VCardProperty>, VCardPropertyScribe<? extends VCardProperty>> standardByClass = new HashMap<>();
 	private static final Map<QName, VCardPropertyScribe<? extends VCardProperty>> standardByQName = new HashMap<>();
+	private static final VCardVersion[] VERSIONS = VCardVersion.values();
 	static {
 		//2.1, RFC 2426, RFC 6350
 		registerStandard(new AddressScribe());
@@ -141,6 +143,25 @@ public class ScribeIndex {
 	private final Map<Class<? extends VCardProperty>, VCardPropertyScribe<? extends VCardProperty>> extendedByClass = new HashMap<>(0);
 	private final Map<QName, VCardPropertyScribe<? extends VCardProperty>> extendedByQName = new HashMap<>(0);
 
+	private final Map<Class<? extends VCardProperty>, WritePlan[]> writePlans = new ConcurrentHashMap<>();
+
+	/**
+	 * Creates a scribe index that contains only the standard property scribes.
+	 */
+	public ScribeIndex() {
+		//empty
+	}
+
+	/**
+	 * Copy constructor.
+	 * @param original the scribe index to make a copy of
+	 */
+	public ScribeIndex(ScribeIndex original) {
+		extendedByName.putAll(original.extendedByName);
+		extendedByClass.putAll(original.extendedByClass);
+		extendedByQName.putAll(original.extendedByQName);
+	}
+
 	/**
 	 * Gets a property scribe by name.
 	 * @param propertyName the property name (case-insensitive, e.g. "FN")
@@ -221,6 +242,36 @@ public class ScribeIndex {
 		return getPropertyScribe(Xml.class);
 	}
 
+	/**
+	 * Gets the write plan for a property class. Write plans are cached, and the
+	 * cache is cleared whenever a scribe is registered or unregistered. This
+	 * method is thread-safe.
+	 * @param clazz the property class
+	 * @param version the version of the vCard that is being written
+	 * @return the write plan
+	 */
+	public WritePlan getWritePlan(Class<? extends VCardProperty> clazz, VCardVersion version) {
+		WritePlan[] plans = writePlans.get(clazz);
+		if (plans == null) {
+			plans = new WritePlan[VERSIONS.length];
+			WritePlan[] existing = writePlans.putIfAbsent(clazz, plans);
+			if (existing != null) {
+				plans = existing;
+			}
+		}
+
+		/*
+		 * If two threads create the same plan at the same time, one of them
+		 * simply replaces the other. Plans are immutable, so this is harmless.
+		 */
+		WritePlan plan = plans[version.ordinal()];
+		if (plan == null) {
+			plan = new WritePlan(clazz, version, this);
+			plans[version.ordinal()] = plan;
+		}
+		return plan;
+	}
+
 	/**
 	 * Registers a property scribe.
 	 * @param scribe the scribe to register
@@ -229,6 +280,7 @@ public class ScribeIndex {
 		extendedByName.put(scribe.getPropertyName().toUpperCase(), scribe);
 		extendedByClass.put(scribe.getPropertyClass(), scribe);
 		extendedByQName.put(scribe.getQName(), scribe);
+		writePlans.clear();
 	}
 
 	/**
@@ -239,6 +291,7 @@ public class ScribeIndex {
 		extendedByName.remove(scribe.getPropertyName().toUpperCase());
 		extendedByClass.remove(scribe.getPropertyClass());
 		extendedByQName.remove(scribe.getQName());
+		writePlans.clear();
 	}
 
 	private static void registerStandard(VCardPropertyScribe<? extends VCardProperty> scribe) {
@@ -0,0 +1,158 @@
+package ezvcard.io.scribe;
+
+import java.util.Arrays;
+
+import ezvcard.SupportedVersions;
+import ezvcard.VCardDataType;
+import ezvcard.VCardVersion;
+import ezvcard.property.Address;
+import ezvcard.property.Label;
+import ezvcard.property.ProductId;
+import ezvcard.property.RawProperty;
+import ezvcard.property.VCardProperty;
+
+/*
+ Copyright (c) 2012-2021, Michael Angstadt
+ All rights reserved.
+
+ Redistribution and use in source and binary forms, with or without
+ modification, are permitted provided that the following conditions are met: 
+
+ 1. Redistributions of source code must retain the above copyright notice, this
+ list of conditions and the following disclaimer. 
+ 2. Redistributions in binary form must reproduce the above copyright notice,
+ this list of conditions and the following disclaimer in the documentation
+ and/or other materials provided with the distribution. 
+
+ THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+
+ The views and conclusions contained in the software and documentation are those
+ of the authors and should not be interpreted as representing official policies, 
+ either expressed or implied, of the FreeBSD Project.
+ */
+
+/**
+ * <p>
+ * Describes how the properties of a given class are handled when they are
+ * written to a vCard of a given version. Write plans are created and cached by
+ * {@link ScribeIndex#getWritePlan}, so that the writers do not have to look
+ * up the same information for every property of every vCard they write.
+ * </p>
+ * <p>
+ * Instances of this class are immutable.
+ * </p>
+ * @author Michael Angstadt
+ */
+public class WritePlan {
+	private final Class<? extends VCardProperty> propertyClass;
+	private final VCardVersion version;
+	private final VCardPropertyScribe<? extends VCardProperty> scribe;
+	private final VCardDataType defaultDataType;
+	private final boolean supported;
+	private final boolean hasScribe;
+	private final boolean productId;
+	private final boolean labelSynthesized;
+
+	/**
+	 * @param propertyClass the property class
+	 * @param version the version of the vCard that is being written
+	 * @param index the scribe index to get the property's scribe from
+	 */
+	WritePlan(Class<? extends VCardProperty> propertyClass, VCardVersion version, ScribeIndex index) {
+		this.propertyClass = propertyClass;
+		this.version = version;
+
+		boolean raw = RawProperty.class.isAssignableFrom(propertyClass);
+		scribe = raw ? null : index.getPropertyScribe(propertyClass);
+		hasScribe = raw || scribe != null;
+		defaultDataType = (scribe == null) ? null : scribe.defaultDataType(version);
+
+		SupportedVersions supportedVersions = propertyClass.getAnnotation(SupportedVersions.class);
+		supported = (supportedVersions == null) || Arrays.asList(supportedVersions.value()).contains(version);
+
+		productId = ProductId.class.isAssignableFrom(propertyClass);
+		labelSynthesized = (version == VCardVersion.V2_1 || version == VCardVersion.V3_0) && Address.class.isAssignableFrom(propertyClass);
+	}
+
+	/**
+	 * Gets the property class.
+	 * @return the property class
+	 */
+	public Class<? extends VCardProperty> getPropertyClass() {
+		return propertyClass;
+	}
+
+	/**
+	 * Gets the version of the vCard that is being written.
+	 * @return the version
+	 */
+	public VCardVersion getVersion() {
+		return version;
+	}
+
+	/**
+	 * Gets the scribe that marshals the property class.
+	 * @return the scribe or null if the class is a {@link RawProperty} (each
+	 * instance of which requires its own scribe, see
+	 * {@link ScribeIndex#getPropertyScribe(VCardProperty)}) or if no scribe is
+	 * registered for the class
+	 */
+	public VCardPropertyScribe<? extends VCardProperty> getScribe() {
+		return scribe;
+	}
+
+	/**
+	 * Gets the default data type of the property class.
+	 * @return the default data type or null if unknown
+	 * @see VCardPropertyScribe#defaultDataType
+	 */
+	public VCardDataType getDefaultDataType() {
+		return defaultDataType;
+	}
+
+	/**
+	 * Determines if the property class supports the vCard version.
+	 * @return true if the version is supported, false if not
+	 * @see VCardProperty#isSupportedBy
+	 */
+	public boolean isSupported() {
+		return supported;
+	}
+
+	/**
+	 * Determines if the property class can be marshalled.
+	 * @return true if the class is a {@link RawProperty} or a scribe is
+	 * registered for it, false if not
+	 */
+	public boolean hasScribe() {
+		return hasScribe;
+	}
+
+	/**
+	 * Determines if the property class is {@link ProductId}, which the writers
+	 * handle specially.
+	 * @return true if the class is {@link ProductId}, false if not
+	 */
+	public boolean isProductId() {
+		return productId;
+	}
+
+	/**
+	 * Determines if a {@link Label} property must be created for each property
+	 * of this class that has a label. This is the case for {@link Address}
+	 * properties in version 2.1 and 3.0 vCards.
+	 * @return true if LABEL properties must be created, false if not
+	 */
+	public boolean isLabelSynthesized() {
+		return labelSynthesized;
+	}
+}
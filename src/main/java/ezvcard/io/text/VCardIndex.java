@@ -0,0 +1,455 @@
+package ezvcard.io.text;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayInputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import ezvcard.Messages;
+import ezvcard.VCard;
+import ezvcard.io.PropertyFilter;
+import ezvcard.property.FormattedName;
+import ezvcard.property.Uid;
+import ezvcard.util.MappedFileReader;
+
+/*
+ Copyright (c) 2012-2021, Michael Angstadt
+ All rights reserved.
+
+ Redistribution and use in source and binary forms, with or without
+ modification, are permitted provided that the following conditions are met: 
+
+ 1. Redistributions of source code must retain the above copyright notice, this
+ list of conditions and the following disclaimer. 
+ 2. Redistributions in binary form must reproduce the above copyright notice,
+ this list of conditions and the following disclaimer in the documentation
+ and/or other materials provided with the distribution. 
+
+ THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+
+ The views and conclusions contained in the software and documentation are those
+ of the authors and should not be interpreted as representing official policies, 
+ either expressed or implied, of the FreeBSD Project.
+ */
+
+/**
+ * <p>
+ * Records the position of each vCard in a plain-text vCard file, allowing
+ * individual vCards to be read without scanning the file from the beginning.
+ * The index can optionally record the UID and FN of each vCard so that vCards
+ * can be looked up by UID. Indexes can be saved to a side file so that the
+ * vCard file only has to be scanned once.
+ * </p>
+ * <p>
+ * <b>Example:</b>
+ * </p>
+ * 
+ * <pre class="brush:java">
+ * Path file = Paths.get("contacts.vcf");
+ * Path indexFile = Paths.get("contacts.vcf.idx");
+ * 
+ * VCardIndex index = Files.exists(indexFile) ? VCardIndex.load(indexFile) : null;
+ * if (index == null || !index.isUpToDate(file)) {
+ *   index = VCardIndex.build(file);
+ *   index.save(indexFile);
+ * }
+ * 
+ * VCard vcard = index.read(file, 1234);
+ * VCard other = index.readByUid(file, "urn:uuid:03a0e51f-d1aa-4385-8a53-e29025acd8af");
+ * </pre>
+ * <p>
+ * The file must use a character encoding in which each ASCII character is
+ * encoded as a single byte of the same value (such as UTF-8 or ISO-8859-1).
+ * The index records the size and last-modified time of the file, and refuses
+ * to read from the file if either of these have changed. Instances of this
+ * class are immutable.
+ * </p>
+ * @author Michael Angstadt
+ */
+public class VCardIndex {
+	/**
+	 * "VCIX" in ASCII.
+	 */
+	private static final int MAGIC = 0x56434958;
+	private static final int FORMAT_VERSION = 2;
+	private static final byte[] UTF8_BOM = { (byte) 0xEF, (byte) 0xBB, (byte) 0xBF };
+
+	private final Charset charset;
+	private final long fileSize, lastModified;
+	private final List<Entry> entries;
+	private final Map<String, Entry> entriesByUid = new HashMap<>();
+
+	private VCardIndex(Charset charset, long fileSize, long lastModified, List<Entry> entries) {
+		this.charset = charset;
+		this.fileSize = fileSize;
+		this.lastModified = lastModified;
+		this.entries = Collections.unmodifiableList(entries);
+		for (Entry entry : entries) {
+			if (entry.uid != null) {
+				entriesByUid.putIfAbsent(entry.uid, entry);
+			}
+		}
+	}
+
+	/**
+	 * Scans a UTF-8 encoded vCard file and records the position, UID, and FN
+	 * of each vCard.
+	 * @param file the vCard file
+	 * @return the index
+	 * @throws IOException if there's a problem reading the file
+	 */
+	public static VCardIndex build(Path file) throws IOException {
+		return build(file, StandardCharsets.UTF_8, true);
+	}
+
+	/**
+	 * Scans a vCard file and records the position of each vCard.
+	 * @param file the vCard file
+	 * @param charset the character encoding of the file
+	 * @param keys true to also record the UID and FN of each vCard, false not
+	 * to. Recording these values requires each vCard's UID and FN properties
+	 * to be parsed.
+	 * @return the index
+	 * @throws IllegalArgumentException if the character encoding is not
+	 * compatible with US-ASCII
+	 * @throws IOException if there's a problem reading the file
+	 */
+	public static VCardIndex build(Path file, Charset charset, boolean keys) throws IOException {
+		String ascii = "BEGIN:VCARD\r\n";
+		if (!Arrays.equals(ascii.getBytes(charset), ascii.getBytes(StandardCharsets.US_ASCII))) {
+			throw Messages.INSTANCE.getIllegalArgumentException(45, charset.name());
+		}
+
+		long fileSize = Files.size(file);
+		long lastModified = Files.getLastModifiedTime(file).toMillis();
+
+		/*
+		 * Decode the file as ISO-8859-1 so that each character position is
+		 * equal to a byte position.
+		 */
+		List<Entry> entries = new ArrayList<>();
+		VCardSplitter splitter = new VCardSplitter();
+		int bomLength = StandardCharsets.UTF_8.equals(charset) && startsWithUtf8Bom(file) ? UTF8_BOM.length : 0;
+		try (Reader reader = new MappedFileReader(file, StandardCharsets.ISO_8859_1)) {
+			reader.skip(bomLength);
+
+			char[] buffer = new char[8192];
+			int read;
+			while ((read = reader.read(buffer)) >= 0) {
+				splitter.append(buffer, 0, read);
+				addEntries(splitter, charset, keys, bomLength, entries);
+			}
+		}
+		splitter.finish();
+		addEntries(splitter, charset, keys, bomLength, entries);
+
+		return new VCardIndex(charset, fileSize, lastModified, entries);
+	}
+
+	private static boolean startsWithUtf8Bom(Path file) throws IOException {
+		byte[] head = new byte[UTF8_BOM.length];
+		try (InputStream in = Files.newInputStream(file)) {
+			int read = 0;
+			while (read < head.length) {
+				int r = in.read(head, read, head.length - read);
+				if (r < 0) {
+					return false;
+				}
+				read += r;
+			}
+		}
+		return Arrays.equals(head, UTF8_BOM);
+	}
+
+	private static void addEntries(VCardSplitter splitter, Charset charset, boolean keys, long offsetBase, List<Entry> entries) throws IOException {
+		VCardSplitter.Chunk chunk;
+		while ((chunk = splitter.poll()) != null) {
+			String text = chunk.getText();
+			String uid = null, formattedName = null;
+			if (keys) {
+				String decoded = new String(text.getBytes(StandardCharsets.ISO_8859_1), charset);
+				try (VCardReader reader = new VCardReader(decoded)) {
+					reader.setPropertyFilter(PropertyFilter.include(Uid.class, FormattedName.class));
+					reader.setWarningsEnabled(false);
+
+					VCard vcard = reader.readNext();
+					if (vcard != null) {
+						Uid uidProperty = vcard.getUid();
+						uid = (uidProperty == null) ? null : uidProperty.getValue();
+						FormattedName fn = vcard.getFormattedName();
+						formattedName = (fn == null) ? null : fn.getValue();
+					}
+				}
+			}
+
+			entries.add(new Entry(offsetBase + chunk.getOffset(), text.length(), uid, formattedName));
+		}
+	}
+
+	/**
+	 * Loads an index that was saved with {@link #save}.
+	 * @param indexFile the index file
+	 * @return the index
+	 * @throws IOException if there's a problem reading the file or if the file
+	 * is not a vCard index
+	 */
+	public static VCardIndex load(Path indexFile) throws IOException {
+		try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(indexFile)))) {
+			if (in.readInt() != MAGIC || in.readInt() != FORMAT_VERSION) {
+				throw new IOException(Messages.INSTANCE.getExceptionMessage(46));
+			}
+
+			Charset charset = Charset.forName(in.readUTF());
+			long fileSize = in.readLong();
+			long lastModified = in.readLong();
+			int size = in.readInt();
+			List<Entry> entries = new ArrayList<>(size);
+			for (int i = 0; i < size; i++) {
+				long offset = in.readLong();
+				int length = in.readInt();
+				String uid = in.readBoolean() ? in.readUTF() : null;
+				String formattedName = in.readBoolean() ? in.readUTF() : null;
+				entries.add(new Entry(offset, length, uid, formattedName));
+			}
+
+			return new VCardIndex(charset, fileSize, lastModified, entries);
+		}
+	}
+
+	/**
+	 * Saves the index to a file.
+	 * @param indexFile the index file
+	 * @throws IOException if there's a problem writing to the file
+	 */
+	public void save(Path indexFile) throws IOException {
+		try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(indexFile)))) {
+			out.writeInt(MAGIC);
+			out.writeInt(FORMAT_VERSION);
+			out.writeUTF(charset.name());
+			out.writeLong(fileSize);
+			out.writeLong(lastModified);
+			out.writeInt(entries.size());
+			for (Entry entry : entries) {
+				out.writeLong(entry.offset);
+				out.writeInt(entry.length);
+				writeKey(out, entry.uid);
+				writeKey(out, entry.formattedName);
+			}
+		}
+	}
+
+	private static void writeKey(DataOutputStream out, String key) throws IOException {
+		/*
+		 * writeUTF() cannot write strings longer than 65535 bytes. Keys that
+		 * are longer than this are unlikely and are simply not saved.
+		 */
+		boolean write = (key != null && key.length() <= 65535 / 3);
+		out.writeBoolean(write);
+		if (write) {
+			out.writeUTF(key);
+		}
+	}
+
+	/**
+	 * Gets the character encoding of the indexed file.
+	 * @return the character encoding
+	 */
+	public Charset getCharset() {
+		return charset;
+	}
+
+	/**
+	 * Determines if the given file is the same size and has the same
+	 * last-modified time as the file that the index was built from. If not,
+	 * the file has changed and the index must be rebuilt.
+	 * @param file the indexed file
+	 * @return true if the index can be used to read the file, false if not
+	 * @throws IOException if there's a problem reading the file's attributes
+	 */
+	public boolean isUpToDate(Path file) throws IOException {
+		return Files.size(file) == fileSize && Files.getLastModifiedTime(file).toMillis() == lastModified;
+	}
+
+	/**
+	 * Gets the number of vCards in the index.
+	 * @return the number of vCards
+	 */
+	public int size() {
+		return entries.size();
+	}
+
+	/**
+	 * Gets the index entries, one for each vCard, in the order in which they
+	 * appear in the file.
+	 * @return the entries (this list is immutable)
+	 */
+	public List<Entry> getEntries() {
+		return entries;
+	}
+
+	/**
+	 * Gets the entry of the vCard with the given UID. If more than one vCard
+	 * has the UID, the first one is returned.
+	 * @param uid the UID
+	 * @return the entry or null if not found (or if the index does not record
+	 * UIDs)
+	 */
+	public Entry getEntryByUid(String uid) {
+		return entriesByUid.get(uid);
+	}
+
+	/**
+	 * Gets the entries of the vCards with the given formatted name (FN
+	 * property value).
+	 * @param formattedName the formatted name
+	 * @return the entries (empty if none were found or if the index does not
+	 * record formatted names)
+	 */
+	public List<Entry> getEntriesByFormattedName(String formattedName) {
+		List<Entry> found = new ArrayList<>();
+		for (Entry entry : entries) {
+			if (formattedName.equals(entry.formattedName)) {
+				found.add(entry);
+			}
+		}
+		return found;
+	}
+
+	/**
+	 * Creates a reader that reads just one vCard from the indexed file. The
+	 * vCard is read from its recorded position, without scanning the rest of
+	 * the file.
+	 * @param file the indexed file
+	 * @param entry the vCard's index entry
+	 * @return the reader
+	 * @throws IOException if there's a problem reading the file or if the file
+	 * has changed since the index was built (see {@link #isUpToDate})
+	 */
+	public VCardReader newReader(Path file, Entry entry) throws IOException {
+		if (!isUpToDate(file)) {
+			throw new IOException(Messages.INSTANCE.getExceptionMessage(53, file));
+		}
+
+		ByteBuffer buffer = ByteBuffer.allocate(entry.length);
+		try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+			channel.position(entry.offset);
+			while (buffer.hasRemaining() && channel.read(buffer) >= 0) {
+				//keep reading
+			}
+		}
+		buffer.flip();
+
+		Reader reader = new InputStreamReader(new ByteArrayInputStream(buffer.array(), 0, buffer.limit()), charset);
+		return new VCardReader(reader);
+	}
+
+	/**
+	 * Reads a vCard from the indexed file.
+	 * @param file the indexed file
+	 * @param position the position of the vCard in the file (starts at 0)
+	 * @return the vCard
+	 * @throws IndexOutOfBoundsException if the position is out of range
+	 * @throws IOException if there's a problem reading the file or if the file
+	 * has changed since the index was built (see {@link #isUpToDate})
+	 */
+	public VCard read(Path file, int position) throws IOException {
+		return read(file, entries.get(position));
+	}
+
+	/**
+	 * Reads a vCard from the indexed file by its UID.
+	 * @param file the indexed file
+	 * @param uid the vCard's UID
+	 * @return the vCard or null if no vCard with the given UID was found
+	 * @throws IOException if there's a problem reading the file or if the file
+	 * has changed since the index was built (see {@link #isUpToDate})
+	 */
+	public VCard readByUid(Path file, String uid) throws IOException {
+		Entry entry = getEntryByUid(uid);
+		return (entry == null) ? null : read(file, entry);
+	}
+
+	private VCard read(Path file, Entry entry) throws IOException {
+		try (VCardReader reader = newReader(file, entry)) {
+			return reader.readNext();
+		}
+	}
+
+	/**
+	 * The location of a single vCard within the indexed file.
+	 */
+	public static class Entry {
+		private final long offset;
+		private final int length;
+		private final String uid, formattedName;
+
+		private Entry(long offset, int length, String uid, String formattedName) {
+			this.offset = offset;
+			this.length = length;
+			this.uid = uid;
+			this.formattedName = formattedName;
+		}
+
+		/**
+		 * Gets the byte offset of the vCard's "BEGIN" line.
+		 * @return the byte offset
+		 */
+		public long getOffset() {
+			return offset;
+		}
+
+		/**
+		 * Gets the length of the vCard in bytes, up to and including the
+		 * "END" line (not including the newline that terminates it).
+		 * @return the length in bytes
+		 */
+		public int getLength() {
+			return length;
+		}
+
+		/**
+		 * Gets the value of the vCard's UID property.
+		 * @return the UID or null if the vCard does not have one or if the
+		 * index does not record UIDs
+		 */
+		public String getUid() {
+			return uid;
+		}
+
+		/**
+		 * Gets the value of the vCard's FN property.
+		 * @return the formatted name or null if the vCard does not have one or
+		 * if the index does not record formatted names
+		 */
+		public String getFormattedName() {
+			return formattedName;
+		}
+	}
+}
@@ -0,0 +1,262 @@
+package ezvcard.io.text;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.StringReader;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.charset.Charset;
+import java.nio.charset.CharsetDecoder;
+import java.nio.charset.CoderResult;
+import java.nio.charset.CodingErrorAction;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import ezvcard.VCard;
+import ezvcard.io.ParseWarning;
+
+/*
+ Copyright (c) 2012-2021, Michael Angstadt
+ All rights reserved.
+
+ Redistribution and use in source and binary forms, with or without
+ modification, are permitted provided that the following conditions are met: 
+
+ 1. Redistributions of source code must retain the above copyright notice, this
+ list of conditions and the following disclaimer. 
+ 2. Redistributions in binary form must reproduce the above copyright notice,
+ this list of conditions and the following disclaimer in the documentation
+ and/or other materials provided with the distribution. 
+
+ THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+
+ The views and conclusions contained in the software and documentation are those
+ of the authors and should not be interpreted as representing official policies, 
+ either expressed or implied, of the FreeBSD Project.
+ */
+
+/**
+ * <p>
+ * Parses {@link VCard} objects from a plain-text vCard data stream that is
+ * pushed into the parser piece by piece, as opposed to being pulled from a
+ * blocking {@link Reader}. This is useful for non-blocking I/O frameworks,
+ * where the data arrives in arbitrarily-sized {@link ByteBuffer} chunks.
+ * </p>
+ * <p>
+ * Each vCard is passed to the listener as soon as its "END:VCARD" line has been
+ * received. Partial lines, folded lines, and quoted-printable soft line breaks
+ * are allowed to span multiple chunks, as are multi-byte characters.
+ * </p>
+ * <p>
+ * <b>Example:</b>
+ * </p>
+ * 
+ * <pre class="brush:java">
+ * VCardPushParser parser = new VCardPushParser((vcard, warnings) -&gt; {
+ *   //...
+ * });
+ * 
+ * //called every time more data arrives
+ * parser.push(buffer);
+ * 
+ * //called when there is no more data
+ * parser.finish();
+ * </pre>
+ * <p>
+ * Each vCard is parsed by a {@link VCardReader} that is created with the
+ * {@link VCardReaderConfig} that is passed into the constructor, so all of
+ * the reader's settings (such as lazy parsing, recovery mode, and binary
+ * storage) apply to the push parser as well.
+ * </p>
+ * <p>
+ * Instances of this class are not thread-safe.
+ * </p>
+ * @author Michael Angstadt
+ */
+public class VCardPushParser {
+	private final Listener listener;
+	private final Charset charset;
+	private final VCardReaderConfig config;
+	private final CharsetDecoder decoder;
+	private final CharBuffer chars = CharBuffer.allocate(8192);
+	private final ByteBuffer leftover = ByteBuffer.allocate(16);
+	private VCardSplitter splitter;
+
+	/**
+	 * Creates a parser that decodes the data as UTF-8 and uses the default
+	 * reader settings.
+	 * @param listener the object to send the parsed vCards to
+	 */
+	public VCardPushParser(Listener listener) {
+		this(StandardCharsets.UTF_8, listener);
+	}
+
+	/**
+	 * Creates a parser that uses the default reader settings.
+	 * @param charset the character encoding of the data. This is also used as
+	 * the default character set of quoted-printable property values.
+	 * @param listener the object to send the parsed vCards to
+	 */
+	public VCardPushParser(Charset charset, Listener listener) {
+		this(charset, new VCardReaderConfig.Builder().build(), listener);
+	}
+
+	/**
+	 * @param charset the character encoding of the data. This is also used as
+	 * the default character set of quoted-printable property values, unless
+	 * the configuration defines one.
+	 * @param config the settings of the readers that parse each vCard
+	 * @param listener the object to send the parsed vCards to
+	 */
+	public VCardPushParser(Charset charset, VCardReaderConfig config, Listener listener) {
+		this.charset = charset;
+		this.config = config;
+		this.listener = listener;
+		splitter = newSplitter();
+
+		//@formatter:off
+		decoder = charset.newDecoder()
+			.onMalformedInput(CodingErrorAction.REPLACE)
+			.onUnmappableCharacter(CodingErrorAction.REPLACE);
+		//@formatter:on
+	}
+
+	/**
+	 * Gets the settings of the readers that parse each vCard.
+	 * @return the settings
+	 */
+	public VCardReaderConfig getConfig() {
+		return config;
+	}
+
+	/**
+	 * Pushes more data into the parser. Any vCards that are completed by this
+	 * data are passed to the listener before this method returns.
+	 * @param data the data (all of its remaining bytes are consumed)
+	 */
+	public void push(ByteBuffer data) {
+		/*
+		 * Complete the multi-byte character that was cut off at the end of the
+		 * previous chunk.
+		 */
+		while (leftover.position() > 0 && data.hasRemaining()) {
+			leftover.put(data.get());
+			leftover.flip();
+			decode(leftover, false);
+			leftover.compact();
+		}
+
+		decode(data, false);
+		if (data.hasRemaining()) {
+			//the beginning of a multi-byte character
+			leftover.put(data);
+		}
+
+		parseChunks();
+	}
+
+	/**
+	 * Pushes more data into the parser. Any vCards that are completed by this
+	 * data are passed to the listener before this method returns.
+	 * @param data the data
+	 * @param offset the offset of the first byte to read
+	 * @param length the number of bytes to read
+	 */
+	public void push(byte[] data, int offset, int length) {
+		push(ByteBuffer.wrap(data, offset, length));
+	}
+
+	/**
+	 * Signals that the end of the data stream has been reached. If the last
+	 * vCard was not terminated with an "END:VCARD" line, then whatever was
+	 * received of it is parsed and passed to the listener. The parser can then
+	 * be used to parse another data stream.
+	 */
+	public void finish() {
+		leftover.flip();
+		decode(leftover, true);
+		leftover.clear();
+
+		decoder.flush(chars);
+		appendChars();
+		decoder.reset();
+
+		splitter.finish();
+		parseChunks();
+		splitter = newSplitter();
+	}
+
+	private VCardSplitter newSplitter() {
+		VCardSplitter splitter = new VCardSplitter();
+		splitter.setRecoveryEnabled(config.isRecoveryEnabled());
+		return splitter;
+	}
+
+	private void decode(ByteBuffer in, boolean endOfInput) {
+		CoderResult result;
+		do {
+			result = decoder.decode(in, chars, endOfInput);
+			appendChars();
+		} while (result.isOverflow());
+	}
+
+	private void appendChars() {
+		chars.flip();
+		splitter.append(chars.array(), chars.arrayOffset() + chars.position(), chars.remaining());
+		chars.clear();
+	}
+
+	private void parseChunks() {
+		VCardSplitter.Chunk chunk;
+		while ((chunk = splitter.poll()) != null) {
+			VCard vcard;
+			List<ParseWarning> warnings;
+			try (VCardReader reader = new VCardReader(new StringReader(chunk.getText()), config)) {
+				if (config.getDefaultQuotedPrintableCharset() == null) {
+					reader.setDefaultQuotedPrintableCharset(charset);
+				}
+
+				//the splitter has already isolated the vCard
+				reader.setRecoveryEnabled(false);
+
+				reader.lineNumberOffset = chunk.getLineNumber() - 1;
+
+				vcard = reader.readNext();
+				warnings = reader.getWarnings();
+				if (config.isWarningsEnabled()) {
+					VCardReader.addSkippedDataWarning(warnings, chunk);
+				}
+			} catch (IOException e) {
+				//should never be thrown because we're reading from a string
+				throw new UncheckedIOException(e);
+			}
+
+			if (vcard != null) {
+				listener.onVCard(vcard, warnings);
+			}
+		}
+	}
+
+	/**
+	 * Receives the vCards that are parsed by a {@link VCardPushParser}.
+	 */
+	public interface Listener {
+		/**
+		 * Called when a vCard has been parsed.
+		 * @param vcard the vCard
+		 * @param warnings the warnings that were generated while parsing the
+		 * vCard
+		 */
+		void onVCard(VCard vcard, List<ParseWarning> warnings);
+	}
+}
@@ -5,11 +5,19 @@ import java.io.InputStream;
 import java.io.InputStreamReader;
 import java.io.Reader;
 import java.io.StringReader;
+import java.io.UncheckedIOException;
 import java.nio.charset.Charset;
-import java.nio.file.Files;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Path;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
+import java.util.Deque;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.function.Supplier;
 
 import com.github.mangstadt.vinnie.VObjectProperty;
 import com.github.mangstadt.vinnie.io.Context;
@@ -24,18 +32,26 @@ import ezvcard.VCardDataType;
 import ezvcard.VCardVersion;
 import ezvcard.io.CannotParseException;
 import ezvcard.io.EmbeddedVCardException;
+import ezvcard.io.ParseContext;
 import ezvcard.io.ParseWarning;
 import ezvcard.io.SkipMeException;
 import ezvcard.io.StreamReader;
 import ezvcard.io.scribe.RawPropertyScribe;
+import ezvcard.io.scribe.ScribeIndex;
 import ezvcard.io.scribe.VCardPropertyScribe;
 import ezvcard.parameter.Encoding;
 import ezvcard.parameter.VCardParameters;
 import ezvcard.property.Address;
 import ezvcard.property.Label;
 import ezvcard.property.VCardProperty;
+import ezvcard.util.ArrayMap;
+import ezvcard.util.BinaryStorage;
+import ezvcard.util.Compression;
 import ezvcard.util.IOUtils;
+import ezvcard.util.MappedFileReader;
+import ezvcard.util.StringPool;
 import ezvcard.util.StringUtils;
+import ezvcard.util.Utf8Reader;
 
 /*
  Copyright (c) 2012-2021, Michael Angstadt
@@ -83,14 +99,80 @@ import ezvcard.util.StringUtils;
  *   }
  * }
  * </pre>
+ * <p>
+ * <b>Parallel parsing:</b> If a {@link ForkJoinPool} is assigned to the reader
+ * (see {@link #setForkJoinPool}), the data stream is split into the raw text of
+ * each vCard, and the vCards are parsed concurrently using the pool. The vCards
+ * are still returned in the order in which they appear in the data stream, and
+ * the warnings returned by {@link #getWarnings} still belong to the vCard that
+ * was just read. In this mode, and in recovery mode, each vCard is parsed with
+ * the settings the reader had when it started reading the data stream.
+ * Settings that are changed afterwards take effect when {@link #reset(Reader)}
+ * is called.
+ * </p>
+ * 
+ * <pre class="brush:java">
+ * Path file = Paths.get("vcards.vcf");
+ * try (VCardReader reader = new VCardReader(file)) {
+ *   reader.setForkJoinPool(ForkJoinPool.commonPool());
+ *   VCard vcard;
+ *   while ((vcard = reader.readNext()) != null) {
+ *     //...
+ *   }
+ * }
+ * </pre>
+ * <p>
+ * <b>Recovery mode:</b> Normally, a vCard that is missing its "END:VCARD" line
+ * swallows the vCards that follow it. If recovery mode is enabled (see
+ * {@link #setRecoveryEnabled}), vCards that are truncated or that contain
+ * binary data or undecodable characters are discarded, and the reader picks up
+ * again at the next "BEGIN:VCARD" line. The amount of data that was skipped is
+ * reported by {@link #getSkippedCards}, {@link #getSkippedLines}, and
+ * {@link #getSkippedCharacters}, and by a warning that is attached to the vCard
+ * that follows the skipped data.
+ * </p>
+ * <p>
+ * <b>Reuse:</b> Readers that are created with a {@link VCardReaderConfig}
+ * share its scribe index and syntax rules. Calling {@link #reset(Reader)}
+ * points the reader at a new data stream while keeping its settings, so one
+ * reader can be kept per thread and used for many small payloads.
+ * </p>
  * @author Michael Angstadt
  * @see <a href="http://www.imc.org/pdi/vcard-21.rtf">vCard 2.1</a>
  * @see <a href="http://tools.ietf.org/html/rfc2426">RFC 2426 (3.0)</a>
  * @see <a href="http://tools.ietf.org/html/rfc6350">RFC 6350 (4.0)</a>
  */
 public class VCardReader extends StreamReader {
-	private final VObjectReader reader;
+	private Reader input;
+	private VObjectReader reader;
 	private final VCardVersion defaultVersion;
+	private final SyntaxRules syntaxRules;
+	private Charset defaultQuotedPrintableCharset;
+
+	/**
+	 * Whether the scribe index belongs to a {@link VCardReaderConfig} object or
+	 * is used by deferred properties (see lazy parsing), meaning it must be
+	 * copied before it is modified.
+	 */
+	private boolean sharedIndex = false;
+
+	/**
+	 * The number that is added to the line numbers reported by the VObject
+	 * reader. This is used when parsing a vCard that was split off from a
+	 * larger data stream.
+	 */
+	int lineNumberOffset = 0;
+
+	private boolean lazyParsing = false;
+	private boolean originalLineCaching = false;
+	private boolean recovery = false;
+
+	private ForkJoinPool forkJoinPool;
+	private VCardSplitter splitter;
+	private VCardReaderConfig chunkConfig;
+	private final Deque<ForkJoinTask<ParsedVCard>> tasks = new ArrayDeque<>();
+	private char[] buffer;
+	private boolean eof = false;
 
 	/**
 	 * Creates a new vCard reader.
@@ -119,18 +201,26 @@ public class VCardReader extends StreamReader {
 	}
 
 	/**
-	 * Creates a new vCard reader.
+	 * Creates a new vCard reader. The input stream is decoded using the
+	 * system's default character encoding.
 	 * @param in the input stream to read from
 	 * @param defaultVersion the version to assume the vCard is in until a
 	 * VERSION property is encountered (defaults to 2.1)
 	 */
 	public VCardReader(InputStream in, VCardVersion defaultVersion) {
-		this(new InputStreamReader(in), defaultVersion);
+		this(newReader(in), defaultVersion);
 	}
 
 	/**
+	 * <p>
 	 * Creates a new vCard reader.
-	 * @param file the file to read from
+	 * </p>
+	 * <p>
+	 * To memory-map the file instead, pass a {@link MappedFileReader} into the
+	 * {@link #VCardReader(Reader)} constructor.
+	 * </p>
+	 * @param file the file to read from (the file is decompressed if it is
+	 * gzip or zlib compressed, see {@link Compression})
 	 * @throws IOException if there is a problem opening the file
 	 */
 	public VCardReader(Path file) throws IOException {
@@ -139,13 +229,14 @@ public class VCardReader extends StreamReader {
 
 	/**
 	 * Creates a new vCard reader.
-	 * @param file the file to read from
+	 * @param file the file to read from (the file is decompressed if it is
+	 * gzip or zlib compressed, see {@link Compression})
 	 * @param defaultVersion the version to assume the vCard is in until a
 	 * VERSION property is encountered (defaults to 2.1)
 	 * @throws IOException if there is a problem opening the file
 	 */
 	public VCardReader(Path file, VCardVersion defaultVersion) throws IOException {
-		this(Files.newBufferedReader(file), defaultVersion);
+		this(Compression.newReader(file, StandardCharsets.UTF_8), defaultVersion);
 	}
 
 	/**
@@ -165,8 +256,59 @@ public class VCardReader extends StreamReader {
 	public VCardReader(Reader reader, VCardVersion defaultVersion) {
 		SyntaxRules rules = SyntaxRules.vcard();
 		rules.setDefaultSyntaxStyle(defaultVersion.getSyntaxStyle());
+		this.input = reader;
 		this.reader = new VObjectReader(reader, rules);
 		this.defaultVersion = defaultVersion;
+		this.syntaxRules = rules;
+	}
+
+	/**
+	 * Creates a new vCard reader. The input stream is decoded using the
+	 * system's default character encoding.
+	 * @param in the input stream to read from
+	 * @param config the reader's settings
+	 */
+	public VCardReader(InputStream in, VCardReaderConfig config) {
+		this(newReader(in), config);
+	}
+
+	/**
+	 * Creates a new vCard reader.
+	 * @param reader the reader to read from
+	 * @param config the reader's settings
+	 */
+	public VCardReader(Reader reader, VCardReaderConfig config) {
+		this.input = reader;
+		this.syntaxRules = config.getSyntaxRules();
+		this.reader = new VObjectReader(reader, syntaxRules);
+		this.defaultVersion = config.getDefaultVersion();
+
+		setCaretDecodingEnabled(config.isCaretDecodingEnabled());
+		if (config.getDefaultQuotedPrintableCharset() != null) {
+			setDefaultQuotedPrintableCharset(config.getDefaultQuotedPrintableCharset());
+		}
+		lazyParsing = config.isLazyParsingEnabled();
+		originalLineCaching = config.isOriginalLineCachingEnabled();
+		recovery = config.isRecoveryEnabled();
+		warningsEnabled = config.isWarningsEnabled();
+		propertyFilter = config.getPropertyFilter();
+		binaryStorage = config.getBinaryStorage();
+		binaryStorageThreshold = config.getBinaryStorageThreshold();
+		stringPool = config.getStringPool();
+		index = config.getScribeIndex();
+		sharedIndex = true;
+	}
+
+	/**
+	 * Wraps an input stream in a reader that uses the system's default
+	 * character encoding. If the encoding is UTF-8 or US-ASCII, a reader that
+	 * converts ASCII bytes directly to characters is used.
+	 * @param in the input stream
+	 * @return the reader
+	 */
+	private static Reader newReader(InputStream in) {
+		Charset charset = Charset.defaultCharset();
+		return Utf8Reader.isSupported(charset) ? new Utf8Reader(in, charset) : new InputStreamReader(in, charset);
 	}
 
 	/**
@@ -209,19 +351,435 @@ public class VCardReader extends StreamReader {
 	 */
 	public void setDefaultQuotedPrintableCharset(Charset charset) {
 		reader.setDefaultQuotedPrintableCharset(charset);
+		defaultQuotedPrintableCharset = charset;
+	}
+
+	/**
+	 * Gets whether lazy parsing is enabled (disabled by default).
+	 * @return true if lazy parsing is enabled, false if not
+	 * @see #setLazyParsingEnabled(boolean)
+	 */
+	public boolean isLazyParsingEnabled() {
+		return lazyParsing;
+	}
+
+	/**
+	 * <p>
+	 * Sets whether lazy parsing is enabled (disabled by default).
+	 * </p>
+	 * <p>
+	 * When enabled, the reader holds on to each property's raw name,
+	 * parameters, and value, and only unmarshals the property the first time
+	 * that properties of its class are retrieved from the {@link VCard} object
+	 * (for example, by calling {@link VCard#getProperties(Class)} or by
+	 * iterating over the vCard). This saves time and memory when only a few of
+	 * each vCard's properties are needed.
+	 * </p>
+	 * <p>
+	 * Warnings that occur while a deferred property is being unmarshalled are
+	 * discarded. ADR and LABEL properties, as well as properties without
+	 * values, are always unmarshalled right away.
+	 * </p>
+	 * @param enable true to enable lazy parsing, false to disable it
+	 */
+	public void setLazyParsingEnabled(boolean enable) {
+		lazyParsing = enable;
+	}
+
+	/**
+	 * Gets whether original line caching is enabled (disabled by default).
+	 * @return true if original line caching is enabled, false if not
+	 * @see #setOriginalLineCachingEnabled(boolean)
+	 */
+	public boolean isOriginalLineCachingEnabled() {
+		return originalLineCaching;
+	}
+
+	/**
+	 * <p>
+	 * Sets whether original line caching is enabled (disabled by default).
+	 * </p>
+	 * <p>
+	 * When enabled, each property holds on to the (unfolded) line it was read
+	 * from (see {@link VCardProperty#setOriginalLine}). When the vCard is
+	 * written back out with {@link VCardWriter} using the same version, the
+	 * properties that have not been modified are written exactly as they were
+	 * read, without being marshalled again. This saves time when only a few
+	 * properties of each vCard are changed, and preserves any formatting quirks
+	 * of the application that created the vCard.
+	 * </p>
+	 * <p>
+	 * Lines are not cached for properties that use quoted-printable encoding
+	 * or that contain embedded vCards. Properties are always marshalled again
+	 * if the writer is told to include or omit trailing semicolons, or if the
+	 * writer's circumflex accent setting differs from this reader's (for lines
+	 * that contain circumflex accents).
+	 * </p>
+	 * @param enable true to enable original line caching, false to disable it
+	 */
+	public void setOriginalLineCachingEnabled(boolean enable) {
+		originalLineCaching = enable;
+	}
+
+	/**
+	 * Gets whether recovery mode is enabled (disabled by default).
+	 * @return true if recovery mode is enabled, false if not
+	 * @see #setRecoveryEnabled(boolean)
+	 */
+	public boolean isRecoveryEnabled() {
+		return recovery;
+	}
+
+	/**
+	 * <p>
+	 * Sets whether recovery mode is enabled (disabled by default). This should
+	 * be called before the first vCard is read.
+	 * </p>
+	 * <p>
+	 * When enabled, the reader discards any vCard that is missing its
+	 * "END:VCARD" line or that contains control characters or characters that
+	 * could not be decoded, and then skips ahead to the next "BEGIN:VCARD"
+	 * line. A warning is attached to the vCard that follows the skipped data.
+	 * </p>
+	 * @param enable true to enable recovery mode, false to disable it
+	 * @see #getSkippedCards
+	 * @see #getSkippedLines
+	 * @see #getSkippedCharacters
+	 */
+	public void setRecoveryEnabled(boolean enable) {
+		recovery = enable;
+	}
+
+	/**
+	 * Gets the number of malformed vCards that have been discarded in recovery
+	 * mode since the reader was created or last reset.
+	 * @return the number of vCards
+	 */
+	public int getSkippedCards() {
+		return (splitter == null) ? 0 : splitter.getSkippedCards();
+	}
+
+	/**
+	 * Gets the number of lines that have been skipped in recovery mode since
+	 * the reader was created or last reset. This includes the lines of
+	 * discarded vCards and any malformed data found between vCards.
+	 * @return the number of lines
+	 */
+	public int getSkippedLines() {
+		return (splitter == null) ? 0 : splitter.getSkippedLines();
+	}
+
+	/**
+	 * Gets the number of characters that have been skipped in recovery mode
+	 * since the reader was created or last reset. When reading from an input
+	 * stream that uses a single-byte character encoding (or from ASCII data),
+	 * this is also the number of bytes that were skipped.
+	 * @return the number of characters
+	 * @see #getSkippedLines
+	 */
+	public long getSkippedCharacters() {
+		return (splitter == null) ? 0 : splitter.getSkippedCharacters();
+	}
+
+	/**
+	 * Gets the thread pool that is used to parse vCards in parallel.
+	 * @return the thread pool or null if parallel parsing is disabled (the
+	 * default)
+	 */
+	public ForkJoinPool getForkJoinPool() {
+		return forkJoinPool;
+	}
+
+	/**
+	 * <p>
+	 * Sets the thread pool that is used to parse vCards in parallel. This
+	 * should be called before the first vCard is read.
+	 * </p>
+	 * <p>
+	 * While parallel parsing is enabled, the reader reads ahead of the vCard
+	 * that is returned by {@link #readNext}. The number of vCards that are read
+	 * ahead is limited to twice the pool's parallelism level.
+	 * </p>
+	 * @param forkJoinPool the thread pool or null to parse the vCards
+	 * sequentially in the calling thread (the default)
+	 */
+	public void setForkJoinPool(ForkJoinPool forkJoinPool) {
+		this.forkJoinPool = forkJoinPool;
+	}
+
+	/**
+	 * <p>
+	 * Discards the current data stream and starts reading from a new one. The
+	 * reader's settings are retained. This allows a single reader to be reused
+	 * for many small data streams.
+	 * </p>
+	 * <p>
+	 * The current data stream is not closed.
+	 * </p>
+	 * @param reader the reader to read from
+	 */
+	public void reset(Reader reader) {
+		cancelTasks();
+		splitter = null;
+		eof = false;
+		lineNumberOffset = 0;
+		warnings.clear();
+
+		boolean caretDecoding = isCaretDecodingEnabled();
+		this.input = reader;
+		this.reader = new VObjectReader(reader, syntaxRules);
+		this.reader.setCaretDecodingEnabled(caretDecoding);
+		if (defaultQuotedPrintableCharset != null) {
+			this.reader.setDefaultQuotedPrintableCharset(defaultQuotedPrintableCharset);
+		}
+	}
+
+	/**
+	 * <p>
+	 * Discards the current data stream and starts reading from a new one. The
+	 * input stream is decoded using the system's default character encoding.
+	 * The reader's settings are retained. This allows a single reader to be
+	 * reused for many small data streams.
+	 * </p>
+	 * <p>
+	 * The current data stream is not closed.
+	 * </p>
+	 * @param in the input stream to read from
+	 */
+	public void reset(InputStream in) {
+		reset(newReader(in));
+	}
+
+	/**
+	 * Discards the current data stream and starts reading from the given
+	 * string.
+	 * @param str the string to read from
+	 * @see #reset(Reader)
+	 */
+	public void reset(String str) {
+		reset(new StringReader(str));
+	}
+
+	@Override
+	public ScribeIndex getScribeIndex() {
+		unshareIndex();
+		return index;
+	}
+
+	@Override
+	public void setScribeIndex(ScribeIndex index) {
+		super.setScribeIndex(index);
+		sharedIndex = false;
+	}
+
+	@Override
+	public void registerScribe(VCardPropertyScribe<? extends VCardProperty> scribe) {
+		unshareIndex();
+		super.registerScribe(scribe);
+	}
+
+	/**
+	 * Makes a private copy of the scribe index if it is shared (see
+	 * {@link #sharedIndex}), so that it can be safely modified.
+	 */
+	private void unshareIndex() {
+		if (sharedIndex) {
+			index = new ScribeIndex(index);
+			sharedIndex = false;
+		}
 	}
 
 	@Override
 	protected VCard _readNext() throws IOException {
+		if (forkJoinPool != null || recovery) {
+			return readNextSplit();
+		}
+
 		VObjectDataListenerImpl listener = new VObjectDataListenerImpl();
-		reader.parse(listener);
+		try {
+			reader.parse(listener);
+		} catch (UncheckedIOException e) {
+			/*
+			 * Scribes cannot throw checked exceptions, so they wrap the
+			 * IOExceptions thrown by the binary storage (see
+			 * setBinaryStorage()).
+			 */
+			throw e.getCause();
+		}
 		return listener.root;
 	}
 
+	/**
+	 * Reads the next vCard by splitting it off from the data stream and
+	 * parsing it on its own. This is used when parallel parsing or recovery
+	 * mode is enabled.
+	 * @return the next vCard or null if there are no more
+	 * @throws IOException if there's a problem reading from the input stream
+	 */
+	private VCard readNextSplit() throws IOException {
+		if (splitter == null) {
+			splitter = new VCardSplitter();
+			chunkConfig = newChunkConfig();
+			splitter.setRecoveryEnabled(recovery);
+			buffer = new char[8192];
+		}
+
+		while (true) {
+			ParsedVCard parsed;
+			if (forkJoinPool == null) {
+				VCardSplitter.Chunk chunk = nextChunk();
+				if (chunk == null) {
+					return null;
+				}
+				parsed = new ParseChunkTask(chunk, chunkConfig).call();
+			} else {
+				submitTasks();
+
+				ForkJoinTask<ParsedVCard> task = tasks.poll();
+				if (task == null) {
+					return null;
+				}
+				parsed = IOUtils.join(task);
+			}
+
+			if (parsed.vcard != null) {
+				warnings.addAll(parsed.warnings);
+				return parsed.vcard;
+			}
+		}
+	}
+
+	/**
+	 * Reads from the input stream until the read-ahead limit is reached or the
+	 * end of the stream is reached, submitting each vCard to the thread pool
+	 * as it is encountered.
+	 * @throws IOException if there's a problem reading from the input stream
+	 */
+	private void submitTasks() throws IOException {
+		int readAheadLimit = Math.max(forkJoinPool.getParallelism(), 1) * 2;
+		while (tasks.size() < readAheadLimit) {
+			VCardSplitter.Chunk chunk = nextChunk();
+			if (chunk == null) {
+				break;
+			}
+			tasks.add(forkJoinPool.submit(new ParseChunkTask(chunk, chunkConfig)));
+		}
+	}
+
+	/**
+	 * Reads from the input stream until the next vCard is split off from the
+	 * data stream.
+	 * @return the next vCard's raw text or null if the end of the stream has
+	 * been reached
+	 * @throws IOException if there's a problem reading from the input stream
+	 */
+	private VCardSplitter.Chunk nextChunk() throws IOException {
+		while (true) {
+			VCardSplitter.Chunk chunk = splitter.poll();
+			if (chunk != null || eof) {
+				return chunk;
+			}
+
+			int read = input.read(buffer);
+			if (read < 0) {
+				eof = true;
+				splitter.finish();
+			} else {
+				splitter.append(buffer, 0, read);
+			}
+		}
+	}
+
+	/**
+	 * Creates the settings of the readers that parse the vCards that are split
+	 * off from the data stream (see {@link ParseChunkTask}).
+	 * @return the settings
+	 */
+	private VCardReaderConfig newChunkConfig() {
+		//recovery mode is not enabled because the data has already been split
+		//@formatter:off
+		return new VCardReaderConfig.Builder()
+			.defaultVersion(defaultVersion)
+			.caretDecoding(isCaretDecodingEnabled())
+			.defaultQuotedPrintableCharset(getDefaultQuotedPrintableCharset())
+			.lazyParsing(lazyParsing)
+			.originalLineCaching(originalLineCaching)
+			.warnings(warningsEnabled)
+			.filter(propertyFilter)
+			.binaryStorage(binaryStorage)
+			.binaryStorageThreshold(binaryStorageThreshold)
+			.stringPool(stringPool)
+			.scribeIndex(index)
+		.build();
+		//@formatter:on
+	}
+
+	/**
+	 * Parses a single vCard that was split off from the data stream.
+	 */
+	private static class ParseChunkTask implements Callable<ParsedVCard> {
+		private final VCardSplitter.Chunk chunk;
+		private final VCardReaderConfig config;
+
+		public ParseChunkTask(VCardSplitter.Chunk chunk, VCardReaderConfig config) {
+			this.chunk = chunk;
+			this.config = config;
+		}
+
+		public ParsedVCard call() throws IOException {
+			try (VCardReader chunkReader = new VCardReader(new StringReader(chunk.getText()), config)) {
+				chunkReader.lineNumberOffset = chunk.getLineNumber() - 1;
+
+				VCard vcard = chunkReader.readNext();
+
+				List<ParseWarning> warnings = chunkReader.getWarnings();
+				if (config.isWarningsEnabled()) {
+					addSkippedDataWarning(warnings, chunk);
+				}
+
+				return new ParsedVCard(vcard, warnings);
+			}
+		}
+	}
+
+	/**
+	 * If data was skipped in recovery mode before the given vCard, adds a
+	 * warning to the vCard's warnings list saying so.
+	 * @param warnings the vCard's warnings
+	 * @param chunk the vCard
+	 */
+	static void addSkippedDataWarning(List<ParseWarning> warnings, VCardSplitter.Chunk chunk) {
+		if (chunk.getSkippedLineNumber() <= 0) {
+			return;
+		}
+
+		//@formatter:off
+		warnings.add(0, new ParseWarning.Builder()
+			.lineNumber(chunk.getSkippedLineNumber())
+			.message(39, chunk.getSkippedLines(), chunk.getSkippedCards())
+			.build()
+		);
+		//@formatter:on
+	}
+
+	/**
+	 * The result of a {@link ParseChunkTask}.
+	 */
+	private static class ParsedVCard {
+		private final VCard vcard;
+		private final List<ParseWarning> warnings;
+
+		public ParsedVCard(VCard vcard, List<ParseWarning> warnings) {
+			this.vcard = vcard;
+			this.warnings = warnings;
+		}
+	}
+
 	private class VObjectDataListenerImpl implements VObjectDataListener {
 		private VCard root;
 		private final VCardStack stack = new VCardStack();
 		private EmbeddedVCardException embeddedVCardException;
+		private final PropertyUnmarshaller unmarshaller = new PropertyUnmarshaller(VCardReader.this);
 
 		public void onComponentBegin(String name, Context context) {
 			if (!isVCardComponent(name)) {
@@ -267,19 +825,190 @@ public class VCardReader extends StreamReader {
 				embeddedVCardException = null;
 			}
 
+			if (!isAccepted(vobjectProperty.getName())) {
+				return;
+			}
+
 			VCard curVCard = stack.peek().vcard;
 			VCardVersion version = curVCard.getVersion();
 
-			VCardProperty property = parseProperty(vobjectProperty, version, vobjectContext.getLineNumber());
+			String line = originalLineCaching ? vobjectContext.getUnfoldedLine() : null;
+			VCardProperty property = parseProperty(vobjectProperty, line, version, vobjectContext.getLineNumber() + lineNumberOffset);
 			if (property != null) {
 				curVCard.addProperty(property);
 			}
 		}
 
-		private VCardProperty parseProperty(VObjectProperty vobjectProperty, VCardVersion version, int lineNumber) {
-			String group = vobjectProperty.getGroup();
+		private VCardProperty parseProperty(VObjectProperty vobjectProperty, String line, VCardVersion version, int lineNumber) {
 			String name = vobjectProperty.getName();
-			VCardParameters parameters = new VCardParameters(vobjectProperty.getParameters().getMap());
+
+			//get the scribe
+			VCardPropertyScribe<? extends VCardProperty> scribe = index.getPropertyScribe(name);
+			if (scribe == null) {
+				scribe = new RawPropertyScribe(name);
+			}
+
+			if (lazyParsing && isDeferrable(scribe, vobjectProperty.getValue())) {
+				//the unmarshaller holds on to the scribe index, so it must be copied before it is modified
+				sharedIndex = true;
+				stack.peek().vcard.addDeferredProperty(scribe.getPropertyClass(), unmarshaller.defer(vobjectProperty, line, scribe, version, lineNumber));
+				return null;
+			}
+
+			VCardProperty property;
+			try {
+				property = unmarshaller.unmarshal(vobjectProperty, line, scribe, version, lineNumber, context, warnings);
+			} catch (EmbeddedVCardException e) {
+				//a nested vCard is expected to be next (2.1 style)
+				embeddedVCardException = e;
+				property = e.getProperty();
+			}
+			if (property == null) {
+				return null;
+			}
+
+			/*
+			 * LABEL properties must be treated specially so they can be matched
+			 * up with the ADR properties that they belong to. LABELs are not
+			 * added to the vCard as properties, they are added to the ADR
+			 * properties they belong to (unless they cannot be matched up with
+			 * an ADR).
+			 */
+			if (property instanceof Label) {
+				Label label = (Label) property;
+				stack.peek().labels.add(label);
+				return null;
+			}
+
+			return property;
+		}
+
+		/**
+		 * Determines if a property's unmarshalling can be deferred when lazy
+		 * parsing is enabled.
+		 * @param scribe the property's scribe
+		 * @param value the property value
+		 * @return true if the property can be deferred, false if it must be
+		 * unmarshalled right away
+		 */
+		private boolean isDeferrable(VCardPropertyScribe<? extends VCardProperty> scribe, String value) {
+			/*
+			 * LABEL and ADR properties must be unmarshalled right away so
+			 * they can be matched up with each other when the vCard ends.
+			 */
+			Class<? extends VCardProperty> propertyClass = scribe.getPropertyClass();
+			if (propertyClass == Label.class || propertyClass == Address.class) {
+				return false;
+			}
+
+			/*
+			 * If the property does not have a value, it may be followed by a
+			 * nested vCard (2.1 style), which must be handled as the data
+			 * stream is read.
+			 */
+			return !value.trim().isEmpty();
+		}
+
+		public void onVersion(String value, Context vobjectContext) {
+			VCardVersion version = VCardVersion.valueOfByStr(value);
+			context.setVersion(version);
+			stack.peek().vcard.setVersion(version);
+		}
+
+		public void onWarning(Warning warning, VObjectProperty property, Exception thrown, Context vobjectContext) {
+			if (!warningsEnabled || !inVCardComponent(vobjectContext.getParentComponents())) {
+				//ignore warnings that are not directly inside a VCARD component
+				return;
+			}
+
+			//@formatter:off
+			warnings.add(new ParseWarning.Builder(context)
+				.lineNumber(vobjectContext.getLineNumber() + lineNumberOffset)
+				.propertyName((property == null) ? null : property.getName())
+				.message(27, warning.getMessage(), vobjectContext.getUnfoldedLine())
+				.build()
+			);
+			//@formatter:on
+		}
+
+		private boolean inVCardComponent(List<String> parentComponents) {
+			if (parentComponents.isEmpty()) {
+				return false;
+			}
+			String last = parentComponents.get(parentComponents.size() - 1);
+			return isVCardComponent(last);
+		}
+
+		private boolean isVCardComponent(String componentName) {
+			return "VCARD".equals(componentName);
+		}
+	}
+
+	/**
+	 * Unmarshals the properties of a vCard. It only holds on to the reader
+	 * settings that unmarshalling depends on, so that properties whose
+	 * unmarshalling is deferred (see lazy parsing) do not keep the reader
+	 * alive and are not affected by any changes made to the reader after the
+	 * vCard is returned.
+	 */
+	private static class PropertyUnmarshaller {
+		private final ScribeIndex index;
+		private final StringPool stringPool;
+		private final boolean caretDecoding;
+		private final Charset defaultQuotedPrintableCharset;
+		private final BinaryStorage binaryStorage;
+		private final int binaryStorageThreshold;
+
+		public PropertyUnmarshaller(VCardReader reader) {
+			index = reader.index;
+			stringPool = reader.stringPool;
+			caretDecoding = reader.isCaretDecodingEnabled();
+			defaultQuotedPrintableCharset = reader.getDefaultQuotedPrintableCharset();
+			binaryStorage = reader.binaryStorage;
+			binaryStorageThreshold = reader.binaryStorageThreshold;
+		}
+
+		/**
+		 * Creates a supplier that unmarshals a property when the property is
+		 * first accessed (see lazy parsing). Warnings that occur while
+		 * unmarshalling the property are discarded because the vCard has
+		 * already been returned by the time the property is unmarshalled.
+		 * @param vobjectProperty the property
+		 * @param line the unfolded line the property was read from or null not
+		 * to cache it
+		 * @param scribe the property's scribe
+		 * @param version the version of the vCard the property belongs to
+		 * @param lineNumber the line number of the property
+		 * @return the supplier
+		 */
+		public Supplier<VCardProperty> defer(VObjectProperty vobjectProperty, String line, VCardPropertyScribe<? extends VCardProperty> scribe, VCardVersion version, int lineNumber) {
+			return () -> {
+				ParseContext context = new ParseContext();
+				context.setWarningsEnabled(false);
+				context.setBinaryStorage(binaryStorage);
+				context.setBinaryStorageThreshold(binaryStorageThreshold);
+				return unmarshal(vobjectProperty, line, scribe, version, lineNumber, context, new ArrayList<>());
+			};
+		}
+
+		/**
+		 * Unmarshals a property.
+		 * @param vobjectProperty the property
+		 * @param line the unfolded line the property was read from or null not
+		 * to cache it
+		 * @param scribe the property's scribe
+		 * @param version the version of the vCard the property belongs to
+		 * @param lineNumber the line number of the property
+		 * @param context the parse context
+		 * @param warnings the list to add the parse warnings to
+		 * @return the property or null if it should be discarded
+		 * @throws EmbeddedVCardException if the property does not have a value
+		 * and is expected to be followed by a nested vCard (2.1 style)
+		 */
+		public VCardProperty unmarshal(VObjectProperty vobjectProperty, String line, VCardPropertyScribe<? extends VCardProperty> scribe, VCardVersion version, int lineNumber, ParseContext context, List<ParseWarning> warnings) {
+			String group = intern(vobjectProperty.getGroup());
+			String name = vobjectProperty.getName();
+			VCardParameters parameters = takeParameters(vobjectProperty);
 			String value = vobjectProperty.getValue();
 
 			context.getWarnings().clear();
@@ -291,12 +1020,6 @@ public class VCardReader extends StreamReader {
 			processNamelessParameters(parameters);
 			processQuotedMultivaluedTypeParams(parameters, version);
 
-			//get the scribe
-			VCardPropertyScribe<? extends VCardProperty> scribe = index.getPropertyScribe(name);
-			if (scribe == null) {
-				scribe = new RawPropertyScribe(name);
-			}
-
 			//get the data type (VALUE parameter)
 			VCardDataType dataType = parameters.getValue();
 			parameters.setValue(null);
@@ -305,41 +1028,71 @@ public class VCardReader extends StreamReader {
 				dataType = scribe.defaultDataType(version);
 			}
 
+			parameters = intern(parameters);
+
+			if (parameters.getEncoding() == Encoding.QUOTED_PRINTABLE) {
+				//the line would have to be re-encoded when it is folded
+				line = null;
+			}
+
 			VCardProperty property;
 			try {
 				property = scribe.parseText(value, dataType, parameters, context);
 				warnings.addAll(context.getWarnings());
 			} catch (SkipMeException e) {
-				handleSkippedProperty(name, lineNumber, e);
+				handleSkippedProperty(context, warnings, e);
 				return null;
 			} catch (CannotParseException e) {
-				property = handleUnparseableProperty(name, parameters, value, dataType, lineNumber, version, e);
+				property = handleUnparseableProperty(name, parameters, value, dataType, context, warnings, e);
 			} catch (EmbeddedVCardException e) {
-				handledEmbeddedVCard(name, value, lineNumber, e);
+				if (value.trim().isEmpty()) {
+					//a nested vCard is expected to be next (2.1 style), which the caller must handle
+					e.getProperty().setGroup(group);
+					throw e;
+				}
+
+				parseEmbeddedVCard(value, context, warnings, e);
 				property = e.getProperty();
+				line = null;
 			}
 
 			property.setGroup(group);
+			handleLabelParameter(property);
 
-			/*
-			 * LABEL properties must be treated specially so they can be matched
-			 * up with the ADR properties that they belong to. LABELs are not
-			 * added to the vCard as properties, they are added to the ADR
-			 * properties they belong to (unless they cannot be matched up with
-			 * an ADR).
-			 */
-			if (property instanceof Label) {
-				Label label = (Label) property;
-				stack.peek().labels.add(label);
-				return null;
+			if (line != null) {
+				property.setOriginalLine(line, version, caretDecoding);
 			}
 
-			handleLabelParameter(property);
-
 			return property;
 		}
 
-		private void handleSkippedProperty(String propertyName, int lineNumber, SkipMeException e) {
+		/**
+		 * Moves the parameters of a property that vinnie has parsed into a
+		 * {@link VCardParameters} object. vinnie creates a new parameter map
+		 * for every property it parses, and the property is only unmarshalled
+		 * once, so the value lists are taken over instead of being copied.
+		 * @param vobjectProperty the property
+		 * @return the parameters
+		 */
+		private static VCardParameters takeParameters(VObjectProperty vobjectProperty) {
+			Map<String, List<String>> map = new ArrayMap<>();
+			for (Map.Entry<String, List<String>> entry : vobjectProperty.getParameters()) {
+				List<String> values = entry.getValue();
+				if (values instanceof ArrayList) {
+					((ArrayList<String>) values).trimToSize();
+				}
+
+				//keys are already converted to uppercase by vinnie
+				map.put(entry.getKey(), values);
+			}
+			return new VCardParameters(map);
+		}
+
+		private void handleSkippedProperty(ParseContext context, List<ParseWarning> warnings, SkipMeException e) {
+			if (!context.isWarningsEnabled()) {
+				return;
+			}
+
 			//@formatter:off
 			warnings.add(new ParseWarning.Builder(context)
 				.message(22, e.getMessage())
@@ -348,38 +1101,35 @@ public class VCardReader extends StreamReader {
 			//@formatter:on
 		}
 
-		private VCardProperty handleUnparseableProperty(String name, VCardParameters parameters, String value, VCardDataType dataType, int lineNumber, VCardVersion version, CannotParseException e) {
-			//@formatter:off
-			warnings.add(new ParseWarning.Builder(context)
-				.message(e)
-				.build()
-			);
-			//@formatter:on
+		private VCardProperty handleUnparseableProperty(String name, VCardParameters parameters, String value, VCardDataType dataType, ParseContext context, List<ParseWarning> warnings, CannotParseException e) {
+			if (context.isWarningsEnabled()) {
+				//@formatter:off
+				warnings.add(new ParseWarning.Builder(context)
+					.message(e)
+					.build()
+				);
+				//@formatter:on
+			}
 
 			RawPropertyScribe scribe = new RawPropertyScribe(name);
 			return scribe.parseText(value, dataType, parameters, null);
 		}
 
-		private void handledEmbeddedVCard(String name, String value, int lineNumber, EmbeddedVCardException exception) {
-			/*
-			 * If the property does not have a value, a nested vCard is expected
-			 * to be next (2.1 style).
-			 */
-			if (value.trim().isEmpty()) {
-				embeddedVCardException = exception;
-				return;
-			}
-
-			/*
-			 * If the property does have a value, the property value should be
-			 * an embedded vCard (3.0 style).
-			 */
+		/**
+		 * Parses a property value that contains an embedded vCard (3.0 style).
+		 * @param value the property value
+		 * @param context the parse context
+		 * @param warnings the list to add the nested vCard's warnings to
+		 * @param exception the exception that the scribe threw
+		 */
+		private void parseEmbeddedVCard(String value, ParseContext context, List<ParseWarning> warnings, EmbeddedVCardException exception) {
 			value = VObjectPropertyValues.unescape(value);
 
 			VCardReader agentReader = new VCardReader(value);
-			agentReader.setCaretDecodingEnabled(isCaretDecodingEnabled());
-			agentReader.setDefaultQuotedPrintableCharset(getDefaultQuotedPrintableCharset());
+			agentReader.setCaretDecodingEnabled(caretDecoding);
+			agentReader.setDefaultQuotedPrintableCharset(defaultQuotedPrintableCharset);
 			agentReader.setScribeIndex(index);
+			agentReader.setWarningsEnabled(context.isWarningsEnabled());
 
 			try {
 				VCard nestedVCard = agentReader.readNext();
@@ -420,40 +1170,6 @@ public class VCardReader extends StreamReader {
 			adr.setLabel(label);
 		}
 
-		public void onVersion(String value, Context vobjectContext) {
-			VCardVersion version = VCardVersion.valueOfByStr(value);
-			context.setVersion(version);
-			stack.peek().vcard.setVersion(version);
-		}
-
-		public void onWarning(Warning warning, VObjectProperty property, Exception thrown, Context vobjectContext) {
-			if (!inVCardComponent(vobjectContext.getParentComponents())) {
-				//ignore warnings that are not directly inside a VCARD component
-				return;
-			}
-
-			//@formatter:off
-			warnings.add(new ParseWarning.Builder(context)
-				.lineNumber(vobjectContext.getLineNumber())
-				.propertyName((property == null) ? null : property.getName())
-				.message(27, warning.getMessage(), vobjectContext.getUnfoldedLine())
-				.build()
-			);
-			//@formatter:on
-		}
-
-		private boolean inVCardComponent(List<String> parentComponents) {
-			if (parentComponents.isEmpty()) {
-				return false;
-			}
-			String last = parentComponents.get(parentComponents.size() - 1);
-			return isVCardComponent(last);
-		}
-
-		private boolean isVCardComponent(String componentName) {
-			return "VCARD".equals(componentName);
-		}
-
 		/**
 		 * Assigns names to all nameless parameters. v3.0 and v4.0 require all
 		 * parameters to have names, but v2.1 does not.
@@ -529,6 +1245,14 @@ public class VCardReader extends StreamReader {
 			}
 			types.add(valueWithComma.substring(prev + 1));
 		}
+
+		private String intern(String string) {
+			return (stringPool == null) ? string : stringPool.intern(string);
+		}
+
+		private VCardParameters intern(VCardParameters parameters) {
+			return StreamReader.intern(parameters, stringPool);
+		}
 	}
 
 	/**
@@ -581,10 +1305,19 @@ public class VCardReader extends StreamReader {
 	}
 
 	/**
-	 * Closes the input stream.
+	 * Closes the input stream. If parallel parsing is enabled, any vCards that
+	 * have been read ahead are discarded.
 	 * @throws IOException if there's a problem closing the input stream
 	 */
 	public void close() throws IOException {
+		cancelTasks();
 		reader.close();
 	}
+
+	private void cancelTasks() {
+		for (ForkJoinTask<ParsedVCard> task : tasks) {
+			task.cancel(false);
+		}
+		tasks.clear();
+	}
 }
@@ -0,0 +1,401 @@
+package ezvcard.io.text;
+
+import java.nio.charset.Charset;
+
+import com.github.mangstadt.vinnie.io.SyntaxRules;
+
+import ezvcard.VCardVersion;
+import ezvcard.io.PropertyFilter;
+import ezvcard.io.scribe.ScribeIndex;
+import ezvcard.io.scribe.VCardPropertyScribe;
+import ezvcard.property.VCardProperty;
+import ezvcard.util.BinaryStorage;
+import ezvcard.util.StringPool;
+
+/*
+ Copyright (c) 2012-2021, Michael Angstadt
+ All rights reserved.
+
+ Redistribution and use in source and binary forms, with or without
+ modification, are permitted provided that the following conditions are met: 
+
+ 1. Redistributions of source code must retain the above copyright notice, this
+ list of conditions and the following disclaimer. 
+ 2. Redistributions in binary form must reproduce the above copyright notice,
+ this list of conditions and the following disclaimer in the documentation
+ and/or other materials provided with the distribution. 
+
+ THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+
+ The views and conclusions contained in the software and documentation are those
+ of the authors and should not be interpreted as representing official policies, 
+ either expressed or implied, of the FreeBSD Project.
+ */
+
+/**
+ * <p>
+ * Immutable settings for {@link VCardReader}. A single instance can be shared
+ * between any number of readers and threads, which avoids having to rebuild
+ * the scribe index and syntax rules every time a reader is created.
+ * </p>
+ * <p>
+ * <b>Example:</b>
+ * </p>
+ * 
+ * <pre class="brush:java">
+ * VCardReaderConfig config = new VCardReaderConfig.Builder()
+ *   .defaultVersion(VCardVersion.V3_0)
+ *   .register(new MyPropertyScribe())
+ *   .build();
+ * 
+ * //one reader per thread, reused for each payload
+ * ThreadLocal&lt;VCardReader&gt; readers = ThreadLocal.withInitial(() -&gt; new VCardReader(new StringReader(""), config));
+ * 
+ * VCardReader reader = readers.get();
+ * reader.reset(payload);
+ * VCard vcard = reader.readNext();
+ * </pre>
+ * @author Michael Angstadt
+ */
+public class VCardReaderConfig {
+	private final VCardVersion defaultVersion;
+	private final boolean caretDecodingEnabled;
+	private final Charset defaultQuotedPrintableCharset;
+	private final boolean lazyParsingEnabled;
+	private final boolean originalLineCachingEnabled;
+	private final boolean recoveryEnabled;
+	private final boolean warningsEnabled;
+	private final PropertyFilter propertyFilter;
+	private final BinaryStorage binaryStorage;
+	private final int binaryStorageThreshold;
+	private final StringPool stringPool;
+	private final ScribeIndex index;
+	private final SyntaxRules syntaxRules;
+
+	private VCardReaderConfig(Builder builder) {
+		defaultVersion = builder.defaultVersion;
+		caretDecodingEnabled = builder.caretDecodingEnabled;
+		defaultQuotedPrintableCharset = builder.defaultQuotedPrintableCharset;
+		lazyParsingEnabled = builder.lazyParsingEnabled;
+		originalLineCachingEnabled = builder.originalLineCachingEnabled;
+		recoveryEnabled = builder.recoveryEnabled;
+		warningsEnabled = builder.warningsEnabled;
+		propertyFilter = builder.propertyFilter;
+		binaryStorage = builder.binaryStorage;
+		binaryStorageThreshold = builder.binaryStorageThreshold;
+		stringPool = builder.stringPool;
+		index = new ScribeIndex(builder.index);
+
+		syntaxRules = SyntaxRules.vcard();
+		syntaxRules.setDefaultSyntaxStyle(defaultVersion.getSyntaxStyle());
+	}
+
+	/**
+	 * Gets the version to assume the vCard is in until a VERSION property is
+	 * encountered.
+	 * @return the default version
+	 */
+	public VCardVersion getDefaultVersion() {
+		return defaultVersion;
+	}
+
+	/**
+	 * Gets whether readers will decode parameter values that use circumflex
+	 * accent encoding.
+	 * @return true if circumflex accent decoding is enabled, false if not
+	 * @see VCardReader#isCaretDecodingEnabled
+	 */
+	public boolean isCaretDecodingEnabled() {
+		return caretDecodingEnabled;
+	}
+
+	/**
+	 * Gets the character set to use when the parser cannot determine what
+	 * character set to use to decode a quoted-printable property value.
+	 * @return the character set or null to base it off of the character set
+	 * of the underlying input stream
+	 * @see VCardReader#getDefaultQuotedPrintableCharset
+	 */
+	public Charset getDefaultQuotedPrintableCharset() {
+		return defaultQuotedPrintableCharset;
+	}
+
+	/**
+	 * Gets whether lazy parsing is enabled.
+	 * @return true if lazy parsing is enabled, false if not
+	 * @see VCardReader#setLazyParsingEnabled
+	 */
+	public boolean isLazyParsingEnabled() {
+		return lazyParsingEnabled;
+	}
+
+	/**
+	 * Gets whether original line caching is enabled.
+	 * @return true if original line caching is enabled, false if not
+	 * @see VCardReader#setOriginalLineCachingEnabled
+	 */
+	public boolean isOriginalLineCachingEnabled() {
+		return originalLineCachingEnabled;
+	}
+
+	/**
+	 * Gets whether recovery mode is enabled.
+	 * @return true if recovery mode is enabled, false if not
+	 * @see VCardReader#setRecoveryEnabled
+	 */
+	public boolean isRecoveryEnabled() {
+		return recoveryEnabled;
+	}
+
+	/**
+	 * Gets whether parse warnings are recorded.
+	 * @return true if warnings are recorded, false if not
+	 * @see VCardReader#setWarningsEnabled
+	 */
+	public boolean isWarningsEnabled() {
+		return warningsEnabled;
+	}
+
+	/**
+	 * Gets the filter that determines which properties are parsed.
+	 * @return the filter or null if all properties are parsed
+	 */
+	public PropertyFilter getPropertyFilter() {
+		return propertyFilter;
+	}
+
+	/**
+	 * Gets the object that large binary property values are decoded into.
+	 * @return the binary storage or null if binary property values are kept in
+	 * memory
+	 * @see VCardReader#setBinaryStorage
+	 */
+	public BinaryStorage getBinaryStorage() {
+		return binaryStorage;
+	}
+
+	/**
+	 * Gets the minimum length a binary property value must be in order for it
+	 * to be decoded into the binary storage.
+	 * @return the minimum length in characters
+	 * @see VCardReader#setBinaryStorageThreshold
+	 */
+	public int getBinaryStorageThreshold() {
+		return binaryStorageThreshold;
+	}
+
+	/**
+	 * Gets the pool that is used to deduplicate property groups and parameter
+	 * names and values.
+	 * @return the string pool or null if strings are not deduplicated
+	 * @see VCardReader#setStringPool
+	 */
+	public StringPool getStringPool() {
+		return stringPool;
+	}
+
+	/**
+	 * Gets the scribe index. Readers that are created with this configuration
+	 * make a private copy of it before any changes are made to it.
+	 * @return the scribe index (must not be modified)
+	 */
+	ScribeIndex getScribeIndex() {
+		return index;
+	}
+
+	/**
+	 * Gets the syntax rules that are passed to the VObject reader.
+	 * @return the syntax rules (must not be modified)
+	 */
+	SyntaxRules getSyntaxRules() {
+		return syntaxRules;
+	}
+
+	/**
+	 * Builds {@link VCardReaderConfig} objects.
+	 */
+	public static class Builder {
+		private VCardVersion defaultVersion = VCardVersion.V2_1;
+		private boolean caretDecodingEnabled = true;
+		private Charset defaultQuotedPrintableCharset;
+		private boolean lazyParsingEnabled = false;
+		private boolean originalLineCachingEnabled = false;
+		private boolean recoveryEnabled = false;
+		private boolean warningsEnabled = true;
+		private PropertyFilter propertyFilter;
+		private BinaryStorage binaryStorage;
+		private int binaryStorageThreshold = 64 * 1024;
+		private StringPool stringPool;
+		private ScribeIndex index = new ScribeIndex();
+
+		/**
+		 * Sets the version to assume the vCard is in until a VERSION property
+		 * is encountered (defaults to 2.1).
+		 * @param defaultVersion the default version
+		 * @return this
+		 */
+		public Builder defaultVersion(VCardVersion defaultVersion) {
+			this.defaultVersion = defaultVersion;
+			return this;
+		}
+
+		/**
+		 * Sets whether readers will decode parameter values that use
+		 * circumflex accent encoding (enabled by default).
+		 * @param enable true to use circumflex accent decoding, false not to
+		 * @return this
+		 * @see VCardReader#setCaretDecodingEnabled
+		 */
+		public Builder caretDecoding(boolean enable) {
+			caretDecodingEnabled = enable;
+			return this;
+		}
+
+		/**
+		 * Sets the character set to use when the parser cannot determine what
+		 * character set to use to decode a quoted-printable property value.
+		 * @param charset the character set or null to base it off of the
+		 * character set of the underlying input stream (default)
+		 * @return this
+		 * @see VCardReader#setDefaultQuotedPrintableCharset
+		 */
+		public Builder defaultQuotedPrintableCharset(Charset charset) {
+			defaultQuotedPrintableCharset = charset;
+			return this;
+		}
+
+		/**
+		 * Sets whether lazy parsing is enabled (disabled by default).
+		 * @param enable true to enable lazy parsing, false to disable it
+		 * @return this
+		 * @see VCardReader#setLazyParsingEnabled
+		 */
+		public Builder lazyParsing(boolean enable) {
+			lazyParsingEnabled = enable;
+			return this;
+		}
+
+		/**
+		 * Sets whether original line caching is enabled (disabled by default).
+		 * @param enable true to enable original line caching, false to disable
+		 * it
+		 * @return this
+		 * @see VCardReader#setOriginalLineCachingEnabled
+		 */
+		public Builder originalLineCaching(boolean enable) {
+			originalLineCachingEnabled = enable;
+			return this;
+		}
+
+		/**
+		 * Sets whether recovery mode is enabled (disabled by default).
+		 * @param enable true to enable recovery mode, false to disable it
+		 * @return this
+		 * @see VCardReader#setRecoveryEnabled
+		 */
+		public Builder recovery(boolean enable) {
+			recoveryEnabled = enable;
+			return this;
+		}
+
+		/**
+		 * Sets whether parse warnings are recorded (enabled by default).
+		 * @param enable true to record warnings, false not to
+		 * @return this
+		 * @see VCardReader#setWarningsEnabled
+		 */
+		public Builder warnings(boolean enable) {
+			warningsEnabled = enable;
+			return this;
+		}
+
+		/**
+		 * Sets the filter that determines which properties are parsed.
+		 * @param propertyFilter the filter or null to parse all properties
+		 * (default)
+		 * @return this
+		 * @see VCardReader#setPropertyFilter
+		 */
+		public Builder filter(PropertyFilter propertyFilter) {
+			this.propertyFilter = propertyFilter;
+			return this;
+		}
+
+		/**
+		 * Sets the object that large binary property values are decoded into.
+		 * The object must be thread-safe if the configuration is shared
+		 * between threads.
+		 * @param binaryStorage the binary storage or null to keep binary
+		 * property values in memory (default)
+		 * @return this
+		 * @see VCardReader#setBinaryStorage
+		 */
+		public Builder binaryStorage(BinaryStorage binaryStorage) {
+			this.binaryStorage = binaryStorage;
+			return this;
+		}
+
+		/**
+		 * Sets the minimum length a binary property value must be in order
+		 * for it to be decoded into the binary storage.
+		 * @param binaryStorageThreshold the minimum length in characters
+		 * (defaults to 65536)
+		 * @return this
+		 * @see VCardReader#setBinaryStorageThreshold
+		 */
+		public Builder binaryStorageThreshold(int binaryStorageThreshold) {
+			this.binaryStorageThreshold = binaryStorageThreshold;
+			return this;
+		}
+
+		/**
+		 * Sets the pool that is used to deduplicate property groups and
+		 * parameter names and values.
+		 * @param stringPool the string pool or null not to deduplicate strings
+		 * (default)
+		 * @return this
+		 * @see VCardReader#setStringPool
+		 */
+		public Builder stringPool(StringPool stringPool) {
+			this.stringPool = stringPool;
+			return this;
+		}
+
+		/**
+		 * Registers a property scribe.
+		 * @param scribe the scribe
+		 * @return this
+		 */
+		public Builder register(VCardPropertyScribe<? extends VCardProperty> scribe) {
+			index.register(scribe);
+			return this;
+		}
+
+		/**
+		 * Replaces the scribe index with a copy of an existing one.
+		 * @param index the scribe index
+		 * @return this
+		 */
+		Builder scribeIndex(ScribeIndex index) {
+			this.index = new ScribeIndex(index);
+			return this;
+		}
+
+		/**
+		 * Builds the configuration object.
+		 * @return the configuration object
+		 */
+		public VCardReaderConfig build() {
+			return new VCardReaderConfig(this);
+		}
+	}
+}
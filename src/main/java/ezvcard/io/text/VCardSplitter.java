@@ -0,0 +1,564 @@
+package ezvcard.io.text;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+
+/*
+ Copyright (c) 2012-2021, Michael Angstadt
+ All rights reserved.
+
+ Redistribution and use in source and binary forms, with or without
+ modification, are permitted provided that the following conditions are met: 
+
+ 1. Redistributions of source code must retain the above copyright notice, this
+ list of conditions and the following disclaimer. 
+ 2. Redistributions in binary form must reproduce the above copyright notice,
+ this list of conditions and the following disclaimer in the documentation
+ and/or other materials provided with the distribution. 
+
+ THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+
+ The views and conclusions contained in the software and documentation are those
+ of the authors and should not be interpreted as representing official policies, 
+ either expressed or implied, of the FreeBSD Project.
+ */
+
+/**
+ * <p>
+ * Splits a plain-text vCard data stream into the raw text of each top-level
+ * vCard, so that each vCard can be parsed on its own.
+ * </p>
+ * <p>
+ * Data is fed into this class in arbitrarily-sized pieces. Lines that are
+ * folded (including quoted-printable soft line breaks) are never mistaken for
+ * "BEGIN" or "END" lines, and nested vCards (such as those found in version
+ * 2.1 AGENT properties) are kept inside of their parent vCard. Text that is
+ * not inside of a VCARD component is discarded.
+ * </p>
+ * <p>
+ * In recovery mode, vCards that are malformed are discarded as well. A vCard
+ * is considered to be malformed if it contains control characters or
+ * characters that could not be decoded (indicating binary data or a mix of
+ * character encodings), if a "BEGIN:VCARD" line is encountered that does not
+ * start an AGENT property value (indicating a missing "END:VCARD" line), or if
+ * the data stream ends before the vCard does. The splitter then skips ahead to
+ * the next "BEGIN:VCARD" line and keeps a count of what was skipped.
+ * </p>
+ * @author Michael Angstadt
+ */
+class VCardSplitter {
+	/**
+	 * Passed to {@link #endLine} when the last line is terminated by the end of
+	 * the stream instead of a newline character.
+	 */
+	private static final char NO_NEWLINE = 0;
+
+	private final Deque<Chunk> chunks = new ArrayDeque<>();
+	private final StringBuilder line = new StringBuilder();
+	private StringBuilder card;
+	private int depth;
+
+	private int lineNumber = 1;
+	private int cardLineNumber;
+	private long position;
+	private long lineStart;
+	private long cardOffset;
+	private boolean prevCharWasCR;
+	private boolean quotedPrintable;
+	private boolean softLineBreak;
+	private boolean agent;
+
+	private boolean recovery;
+	private boolean skipping;
+	private int skippedCards, skippedLines;
+	private long skippedCharacters;
+
+	/*
+	 * The data that is currently being skipped.
+	 */
+	private int regionLineNumber;
+	private long regionOffset;
+
+	/*
+	 * All of the skipped data that precedes the next vCard.
+	 */
+	private int skippedLineNumber, skippedCardsBefore;
+
+	/**
+	 * Gets whether recovery mode is enabled.
+	 * @return true if enabled, false if not (defaults to false)
+	 */
+	public boolean isRecoveryEnabled() {
+		return recovery;
+	}
+
+	/**
+	 * Sets whether recovery mode is enabled. When enabled, malformed vCards
+	 * are discarded instead of being returned.
+	 * @param enable true to enable, false to disable (defaults to false)
+	 */
+	public void setRecoveryEnabled(boolean enable) {
+		recovery = enable;
+	}
+
+	/**
+	 * Gets the number of malformed vCards that were discarded in recovery
+	 * mode.
+	 * @return the number of vCards
+	 */
+	public int getSkippedCards() {
+		return skippedCards;
+	}
+
+	/**
+	 * Gets the number of lines that were skipped in recovery mode. This
+	 * includes the lines of discarded vCards and any malformed data found
+	 * between vCards. Blank lines between vCards are not counted.
+	 * @return the number of lines
+	 */
+	public int getSkippedLines() {
+		return skippedLines;
+	}
+
+	/**
+	 * Gets the number of characters that were skipped in recovery mode.
+	 * @return the number of characters
+	 * @see #getSkippedLines
+	 */
+	public long getSkippedCharacters() {
+		return skippedCharacters;
+	}
+
+	/**
+	 * Feeds more data into the splitter.
+	 * @param buffer the data
+	 * @param offset the offset of the first character to read
+	 * @param length the number of characters to read
+	 */
+	public void append(char[] buffer, int offset, int length) {
+		int end = offset + length;
+		for (int i = offset; i < end; i++) {
+			append(buffer[i]);
+		}
+	}
+
+	/**
+	 * Feeds more data into the splitter.
+	 * @param data the data
+	 */
+	public void append(CharSequence data) {
+		for (int i = 0; i < data.length(); i++) {
+			append(data.charAt(i));
+		}
+	}
+
+	private void append(char c) {
+		position++;
+
+		if (c == '\n' && prevCharWasCR) {
+			//"\r\n" sequence
+			prevCharWasCR = false;
+			if (card != null) {
+				card.append(c);
+			}
+			lineStart = position;
+			return;
+		}
+
+		prevCharWasCR = (c == '\r');
+		if (c == '\r' || c == '\n') {
+			endLine(c);
+			lineStart = position;
+			return;
+		}
+
+		line.append(c);
+	}
+
+	/**
+	 * Signals that the end of the data stream has been reached. If the last
+	 * vCard was not terminated with an "END:VCARD" line, then whatever was read
+	 * of it is made available as a chunk.
+	 */
+	public void finish() {
+		if (line.length() > 0) {
+			endLine(NO_NEWLINE);
+		}
+
+		if (card != null) {
+			if (recovery) {
+				//the data stream ended before the vCard did
+				discard();
+			} else {
+				emit();
+			}
+		}
+
+		if (skipping) {
+			endRegion(position, lineNumber);
+		}
+	}
+
+	/**
+	 * Gets the next complete vCard, removing it from the splitter.
+	 * @return the vCard's raw text or null if no complete vCards are available
+	 */
+	public Chunk poll() {
+		return chunks.poll();
+	}
+
+	/**
+	 * Processes a complete line.
+	 * @param newline the newline character that terminated the line or
+	 * {@link #NO_NEWLINE} if the line was terminated by the end of the stream
+	 */
+	private void endLine(char newline) {
+		boolean folded = softLineBreak || (line.length() > 0 && isWhitespace(line.charAt(0)));
+
+		if (recovery && card != null && isCorrupt()) {
+			discard();
+		}
+
+		if (card == null) {
+			if (!folded && isComponentLine("BEGIN")) {
+				if (skipping) {
+					endRegion(lineStart, lineNumber);
+				}
+				card = new StringBuilder();
+				cardLineNumber = lineNumber;
+				cardOffset = lineStart;
+				depth = 1;
+				quotedPrintable = false;
+				agent = false;
+				appendLine(newline);
+			} else if (recovery && !skipping && !isBlank()) {
+				//malformed data between vCards
+				startRegion(lineStart, lineNumber);
+			}
+		} else if (folded) {
+			appendLine(newline);
+		} else {
+			quotedPrintable = isQuotedPrintable();
+			if (isComponentLine("BEGIN")) {
+				if (recovery && !agent) {
+					//the previous vCard is missing its "END:VCARD" line
+					discard();
+					endRegion(lineStart, lineNumber);
+					card = new StringBuilder();
+					cardLineNumber = lineNumber;
+					cardOffset = lineStart;
+				}
+				depth++;
+			} else if (isComponentLine("END")) {
+				depth--;
+			}
+			agent = recovery && isAgentLine();
+
+			if (depth == 0) {
+				//the newline that terminates the "END" line is not included
+				card.append(line);
+				emit();
+			} else {
+				appendLine(newline);
+			}
+		}
+
+		softLineBreak = quotedPrintable && line.length() > 0 && line.charAt(line.length() - 1) == '=';
+		line.setLength(0);
+		lineNumber++;
+	}
+
+	/**
+	 * Adds the current line to the current vCard.
+	 * @param newline the newline character that terminated the line or
+	 * {@link #NO_NEWLINE} if the line was terminated by the end of the stream
+	 */
+	private void appendLine(char newline) {
+		card.append(line);
+		if (newline != NO_NEWLINE) {
+			card.append(newline);
+		}
+	}
+
+	private void emit() {
+		chunks.add(new Chunk(card.toString(), cardLineNumber, cardOffset, skippedLineNumber, skippedCardsBefore));
+		card = null;
+		quotedPrintable = false;
+		skippedLineNumber = 0;
+		skippedCardsBefore = 0;
+	}
+
+	/**
+	 * Discards the current vCard and starts skipping data until the next
+	 * "BEGIN:VCARD" line is encountered.
+	 */
+	private void discard() {
+		if (!skipping) {
+			startRegion(cardOffset, cardLineNumber);
+		}
+		skippedCards++;
+		skippedCardsBefore++;
+		card = null;
+		depth = 0;
+		quotedPrintable = false;
+		agent = false;
+	}
+
+	private void startRegion(long offset, int lineNumber) {
+		skipping = true;
+		regionOffset = offset;
+		regionLineNumber = lineNumber;
+		if (skippedLineNumber == 0) {
+			skippedLineNumber = lineNumber;
+		}
+	}
+
+	/**
+	 * Stops skipping data.
+	 * @param offset the position of the first character after the skipped
+	 * data
+	 * @param lineNumber the line number of the first line after the skipped
+	 * data
+	 */
+	private void endRegion(long offset, int lineNumber) {
+		skipping = false;
+		skippedCharacters += offset - regionOffset;
+		skippedLines += lineNumber - regionLineNumber;
+	}
+
+	/**
+	 * Determines if the current line contains control characters or
+	 * characters that could not be decoded.
+	 * @return true if the line is corrupt, false if not
+	 */
+	private boolean isCorrupt() {
+		for (int i = 0; i < line.length(); i++) {
+			char c = line.charAt(i);
+			if ((c < 0x20 && c != '\t') || c == 0x7f || c == '\ufffd') {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * Determines if the current line is an AGENT property whose value is
+	 * empty, meaning that the next line starts a nested vCard.
+	 * @return true if the line is an AGENT property with no value, false if
+	 * not
+	 */
+	private boolean isAgentLine() {
+		int colon = line.indexOf(":");
+		if (colon < 0) {
+			return false;
+		}
+
+		for (int i = colon + 1; i < line.length(); i++) {
+			if (!isWhitespace(line.charAt(i))) {
+				return false;
+			}
+		}
+
+		int end = line.indexOf(";");
+		if (end < 0 || end > colon) {
+			end = colon;
+		}
+		int start = line.lastIndexOf(".", end) + 1;
+
+		String name = "AGENT";
+		return end - start == name.length() && startsWith(start, name);
+	}
+
+	private boolean isBlank() {
+		for (int i = 0; i < line.length(); i++) {
+			if (!isWhitespace(line.charAt(i))) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * Determines if the current line marks the beginning or end of a VCARD
+	 * component.
+	 * @param propertyName "BEGIN" or "END"
+	 * @return true if it does, false if not
+	 */
+	private boolean isComponentLine(String propertyName) {
+		int nameLength = propertyName.length();
+		if (line.length() <= nameLength || line.charAt(nameLength) != ':') {
+			return false;
+		}
+
+		for (int i = 0; i < nameLength; i++) {
+			if (Character.toUpperCase(line.charAt(i)) != propertyName.charAt(i)) {
+				return false;
+			}
+		}
+
+		int start = nameLength + 1;
+		int end = line.length();
+		while (start < end && isWhitespace(line.charAt(start))) {
+			start++;
+		}
+		while (end > start && isWhitespace(line.charAt(end - 1))) {
+			end--;
+		}
+
+		String value = "VCARD";
+		if (end - start != value.length()) {
+			return false;
+		}
+		for (int i = 0; i < value.length(); i++) {
+			if (Character.toUpperCase(line.charAt(start + i)) != value.charAt(i)) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * Determines if the current line contains a property whose value is
+	 * encoded in quoted-printable encoding. Such values may contain soft line
+	 * breaks.
+	 * @return true if the property value is quoted-printable, false if not
+	 */
+	private boolean isQuotedPrintable() {
+		String encoding = "QUOTED-PRINTABLE";
+		int end = line.indexOf(":");
+		if (end < 0) {
+			return false;
+		}
+
+		end -= encoding.length();
+		for (int i = 0; i <= end; i++) {
+			if (startsWith(i, encoding)) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * Determines if the given string appears at the given position within the
+	 * current line (case-insensitive).
+	 * @param position the position within the line
+	 * @param str the string to look for (must be in upper case)
+	 * @return true if the string appears at the given position, false if not
+	 */
+	private boolean startsWith(int position, String str) {
+		for (int i = 0; i < str.length(); i++) {
+			if (Character.toUpperCase(line.charAt(position + i)) != str.charAt(i)) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	private static boolean isWhitespace(char c) {
+		return c == ' ' || c == '\t';
+	}
+
+	/**
+	 * The raw text of a single top-level vCard.
+	 */
+	public static class Chunk {
+		private final String text;
+		private final int lineNumber;
+		private final long offset;
+		private final int skippedLineNumber;
+		private final int skippedCards;
+
+		/**
+		 * @param text the vCard's raw text
+		 * @param lineNumber the line number of the vCard's "BEGIN" line
+		 * @param offset the position of the first character of the vCard's
+		 * "BEGIN" line
+		 */
+		public Chunk(String text, int lineNumber, long offset) {
+			this(text, lineNumber, offset, 0, 0);
+		}
+
+		/**
+		 * @param text the vCard's raw text
+		 * @param lineNumber the line number of the vCard's "BEGIN" line
+		 * @param offset the position of the first character of the vCard's
+		 * "BEGIN" line
+		 * @param skippedLineNumber the line number of the first line of the
+		 * skipped data that precedes the vCard or 0 if no data was skipped
+		 * @param skippedCards the number of malformed vCards in the skipped
+		 * data
+		 */
+		public Chunk(String text, int lineNumber, long offset, int skippedLineNumber, int skippedCards) {
+			this.text = text;
+			this.lineNumber = lineNumber;
+			this.offset = offset;
+			this.skippedLineNumber = skippedLineNumber;
+			this.skippedCards = skippedCards;
+		}
+
+		/**
+		 * Gets the vCard's raw text.
+		 * @return the raw text
+		 */
+		public String getText() {
+			return text;
+		}
+
+		/**
+		 * Gets the line number of the vCard's "BEGIN" line, relative to the
+		 * beginning of the data stream.
+		 * @return the line number (starts at 1)
+		 */
+		public int getLineNumber() {
+			return lineNumber;
+		}
+
+		/**
+		 * Gets the position of the first character of the vCard's "BEGIN"
+		 * line, relative to the beginning of the data stream. The raw text of
+		 * the vCard runs from this position to this position plus the length
+		 * of the text.
+		 * @return the offset (starts at 0)
+		 */
+		public long getOffset() {
+			return offset;
+		}
+
+		/**
+		 * Gets the line number of the first line of the data that was skipped
+		 * in recovery mode immediately before this vCard.
+		 * @return the line number or 0 if no data was skipped
+		 */
+		public int getSkippedLineNumber() {
+			return skippedLineNumber;
+		}
+
+		/**
+		 * Gets the number of lines that were skipped in recovery mode
+		 * immediately before this vCard.
+		 * @return the number of lines
+		 */
+		public int getSkippedLines() {
+			return (skippedLineNumber == 0) ? 0 : lineNumber - skippedLineNumber;
+		}
+
+		/**
+		 * Gets the number of malformed vCards that were discarded in recovery
+		 * mode immediately before this vCard.
+		 * @return the number of vCards
+		 */
+		public int getSkippedCards() {
+			return skippedCards;
+		}
+	}
+}
@@ -2,21 +2,26 @@ package ezvcard.io.text;
 
 import static com.github.mangstadt.vinnie.Utils.escapeNewlines;
 
+import java.io.BufferedWriter;
 import java.io.Flushable;
 import java.io.IOException;
 import java.io.OutputStream;
 import java.io.OutputStreamWriter;
 import java.io.StringWriter;
 import java.io.Writer;
+import java.nio.channels.Channels;
+import java.nio.channels.WritableByteChannel;
 import java.nio.charset.Charset;
-import java.nio.charset.StandardCharsets;
-import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.StandardOpenOption;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ForkJoinPool;
 
 import com.github.mangstadt.vinnie.VObjectParameters;
+import com.github.mangstadt.vinnie.io.FoldedLineWriter;
 import com.github.mangstadt.vinnie.io.VObjectPropertyValues;
 import com.github.mangstadt.vinnie.io.VObjectWriter;
 
@@ -26,13 +31,18 @@ import ezvcard.VCardVersion;
 import ezvcard.io.EmbeddedVCardException;
 import ezvcard.io.SkipMeException;
 import ezvcard.io.StreamWriter;
+import ezvcard.io.scribe.BinaryPropertyScribe;
 import ezvcard.io.scribe.VCardPropertyScribe;
+import ezvcard.io.scribe.WritePlan;
 import ezvcard.parameter.Encoding;
 import ezvcard.parameter.VCardParameters;
 import ezvcard.property.Address;
 import ezvcard.property.BinaryProperty;
 import ezvcard.property.StructuredName;
 import ezvcard.property.VCardProperty;
+import ezvcard.util.Compression;
+import ezvcard.util.ParallelGzipOutputStream;
+import ezvcard.util.Utf8Writer;
 
 /*
  Copyright (c) 2012-2021, Michael Angstadt
@@ -110,17 +120,36 @@ public class VCardWriter extends StreamWriter implements Flushable {
 	private TargetApplication targetApplication;
 	private Boolean includeTrailingSemicolons;
 
+	/**
+	 * Idle writers that {@link #render} uses to render vCards on the thread
+	 * pool. A writer is only used by one thread at a time and is returned to
+	 * the queue when it is done, so the queue never holds more writers than
+	 * there are threads in the pool.
+	 */
+	private final Queue<VCardWriter> renderWriters = new ConcurrentLinkedQueue<>();
+
 	/**
 	 * @param out the output stream to write to
 	 * @param targetVersion the version that the vCards should conform to (if
 	 * set to "4.0", vCards will be written in UTF-8 encoding)
 	 */
 	public VCardWriter(OutputStream out, VCardVersion targetVersion) {
-		this(new OutputStreamWriter(out, (targetVersion == VCardVersion.V4_0) ? StandardCharsets.UTF_8 : Charset.defaultCharset()), targetVersion);
+		this((targetVersion == VCardVersion.V4_0) ? new Utf8Writer(out) : new OutputStreamWriter(out, Charset.defaultCharset()), targetVersion);
+	}
+
+	/**
+	 * @param channel the channel to write to
+	 * @param targetVersion the version that the vCards should conform to (if
+	 * set to "4.0", vCards will be written in UTF-8 encoding)
+	 */
+	public VCardWriter(WritableByteChannel channel, VCardVersion targetVersion) {
+		this((targetVersion == VCardVersion.V4_0) ? new Utf8Writer(channel) : Channels.newWriter(channel, Charset.defaultCharset().newEncoder(), -1), targetVersion);
 	}
 
 	/**
-	 * @param file the file to write to
+	 * @param file the file to write to (the data is compressed if the file
+	 * name has a compression-related extension, such as ".gz", see
+	 * {@link Compression#fromFileName})
 	 * @param targetVersion the version that the vCards should conform to (if
 	 * set to "4.0", vCards will be written in UTF-8 encoding)
 	 * @throws IOException if there's a problem opening the file
@@ -130,7 +159,9 @@ public class VCardWriter extends StreamWriter implements Flushable {
 	}
 
 	/**
-	 * @param file the file to write to
+	 * @param file the file to write to (the data is compressed if the file
+	 * name has a compression-related extension, such as ".gz", see
+	 * {@link Compression#fromFileName})
 	 * @param append true to append to the end of the file, false to overwrite
 	 * it
 	 * @param targetVersion the version that the vCards should conform to (if
@@ -138,16 +169,34 @@ public class VCardWriter extends StreamWriter implements Flushable {
 	 * @throws IOException if there's a problem opening the file
 	 */
 	public VCardWriter(Path file, boolean append, VCardVersion targetVersion) throws IOException {
-		//@formatter:off
-		this(
-			Files.newBufferedWriter(
-				file,
-				(targetVersion == VCardVersion.V4_0) ? StandardCharsets.UTF_8 : Charset.defaultCharset(),
-				append ? StandardOpenOption.APPEND : StandardOpenOption.TRUNCATE_EXISTING
-			),
-			targetVersion
-		);
-		//@formatter:on
+		this(file, append, targetVersion, null);
+	}
+
+	/**
+	 * @param file the file to write to (the data is compressed if the file
+	 * name has a compression-related extension, such as ".gz", see
+	 * {@link Compression#fromFileName})
+	 * @param append true to append to the end of the file, false to overwrite
+	 * it
+	 * @param targetVersion the version that the vCards should conform to (if
+	 * set to "4.0", vCards will be written in UTF-8 encoding)
+	 * @param compressionPool the thread pool to use to compress the data in
+	 * parallel if the file is gzip-compressed (see
+	 * {@link ParallelGzipOutputStream}), or null to compress it in the calling
+	 * thread
+	 * @throws IOException if there's a problem opening the file
+	 */
+	public VCardWriter(Path file, boolean append, VCardVersion targetVersion, ForkJoinPool compressionPool) throws IOException {
+		this(newWriter(file, append, targetVersion, compressionPool), targetVersion);
+	}
+
+	private static Writer newWriter(Path file, boolean append, VCardVersion targetVersion, ForkJoinPool compressionPool) throws IOException {
+		OutputStream out = Compression.newOutputStream(file, compressionPool, StandardOpenOption.CREATE, append ? StandardOpenOption.APPEND : StandardOpenOption.TRUNCATE_EXISTING);
+		if (targetVersion == VCardVersion.V4_0) {
+			//Utf8Writer has its own buffer
+			return new Utf8Writer(out);
+		}
+		return new BufferedWriter(new OutputStreamWriter(out, Charset.defaultCharset().newEncoder()));
 	}
 
 	/**
@@ -314,7 +363,23 @@ public class VCardWriter extends StreamWriter implements Flushable {
 		writer.writeVersion(targetVersion.getVersion());
 
 		for (VCardProperty property : propertiesToAdd) {
-			VCardPropertyScribe scribe = index.getPropertyScribe(property);
+			String originalLine = getOriginalLine(property, targetVersion);
+			if (originalLine != null) {
+				//the property has not been modified since it was read, so write it as-is
+				FoldedLineWriter foldedLineWriter = writer.getFoldedLineWriter();
+				foldedLineWriter.write(originalLine);
+				foldedLineWriter.writeln();
+				fixBinaryPropertyForOutlook(property);
+				continue;
+			}
+
+			WritePlan plan = index.getWritePlan(property.getClass(), targetVersion);
+			VCardPropertyScribe scribe = (plan.getScribe() == null) ? index.getPropertyScribe(property) : plan.getScribe();
+
+			if (scribe instanceof BinaryPropertyScribe && ((BinaryPropertyScribe) scribe).hasBinaryData((BinaryProperty) property)) {
+				writeBinaryProperty(vcard, (BinaryProperty) property, (BinaryPropertyScribe) scribe, plan);
+				continue;
+			}
 
 			String value = null;
 			VCard nestedVCard = null;
@@ -333,7 +398,7 @@ public class VCardWriter extends StreamWriter implements Flushable {
 				continue;
 			}
 
-			handleValueParameter(property, scribe, parameters);
+			handleValueParameter(property, scribe, plan, parameters);
 			handleLabelParameter(property, parameters);
 			handleQuotedPrintableEncodingParameter(property, parameters);
 
@@ -345,6 +410,60 @@ public class VCardWriter extends StreamWriter implements Flushable {
 		writer.writeEndComponent("VCARD");
 	}
 
+	/**
+	 * Renders the vCard to a string in its entirety (including line folding)
+	 * so that it can be copied to the output stream as-is.
+	 */
+	@Override
+	protected RenderedVCard render(VCard vcard, List<VCardProperty> properties) throws IOException {
+		VCardWriter cardWriter = renderWriters.poll();
+		if (cardWriter == null) {
+			cardWriter = new VCardWriter(new StringWriter(), targetVersion);
+		}
+
+		FoldedLineWriter foldedLineWriter = writer.getFoldedLineWriter();
+		FoldedLineWriter cardFoldedLineWriter = cardWriter.getVObjectWriter().getFoldedLineWriter();
+		cardFoldedLineWriter.setLineLength(foldedLineWriter.getLineLength());
+		cardFoldedLineWriter.setIndent(foldedLineWriter.getIndent());
+		copySettingsTo(cardWriter);
+		cardWriter.setAddProdId(addProdId);
+		cardWriter._write(vcard, properties);
+
+		/*
+		 * The writer is only returned to the queue if the vCard was written
+		 * successfully. If an exception is thrown, the writer may be left in
+		 * the middle of a line, so it is discarded.
+		 */
+		StringBuffer buffer = ((StringWriter) cardFoldedLineWriter.getWriter()).getBuffer();
+		String text = buffer.toString();
+		buffer.setLength(0);
+		renderWriters.offer(cardWriter);
+
+		/*
+		 * Bypass the folded line writer because the text has already been
+		 * folded. Each rendered vCard ends with a newline, so the folded line
+		 * writer's position within the current line is not affected.
+		 */
+		return () -> writer.getFoldedLineWriter().getWriter().write(text);
+	}
+
+	/**
+	 * Gets the line that a property was read from, provided that the property
+	 * has not been modified and that the line is compatible with this
+	 * writer's settings.
+	 * @param property the property
+	 * @param targetVersion the version of the vCard that is being written
+	 * @return the line or null if the property must be marshalled
+	 */
+	private String getOriginalLine(VCardProperty property, VCardVersion targetVersion) {
+		if (includeTrailingSemicolons != null) {
+			//the line may not follow the requested format
+			return null;
+		}
+
+		return property.getOriginalLine(targetVersion, writer.isCaretEncodingEnabled());
+	}
+
 	@SuppressWarnings("rawtypes")
 	private void writeNestedVCard(VCard nestedVCard, VCardProperty property, VCardPropertyScribe scribe, VCardParameters parameters, String value) throws IOException {
 		if (targetVersion == VCardVersion.V2_1) {
@@ -359,12 +478,8 @@ public class VCardWriter extends StreamWriter implements Flushable {
 			StringWriter sw = new StringWriter();
 			try (VCardWriter agentWriter = new VCardWriter(sw, targetVersion)) {
 				agentWriter.getVObjectWriter().getFoldedLineWriter().setLineLength(null);
+				copySettingsTo(agentWriter);
 				agentWriter.setAddProdId(false);
-				agentWriter.setCaretEncodingEnabled(isCaretEncodingEnabled());
-				agentWriter.setIncludeTrailingSemicolons(this.includeTrailingSemicolons);
-				agentWriter.setScribeIndex(index);
-				agentWriter.setTargetApplication(targetApplication);
-				agentWriter.setVersionStrict(versionStrict);
 				agentWriter.write(nestedVCard);
 			} catch (IOException ignore) {
 				//should never be thrown because we're writing to a string
@@ -376,6 +491,62 @@ public class VCardWriter extends StreamWriter implements Flushable {
 		}
 	}
 
+	/**
+	 * Copies this writer's settings to a writer that renders a vCard on its
+	 * behalf. The "add PRODID" setting and the line folding settings are not
+	 * copied, since they differ depending on what the vCard is rendered for.
+	 * @param other the writer to copy the settings to
+	 */
+	private void copySettingsTo(VCardWriter other) {
+		other.setTargetVersion(targetVersion);
+		other.setCaretEncodingEnabled(isCaretEncodingEnabled());
+		other.setIncludeTrailingSemicolons(includeTrailingSemicolons);
+		other.setScribeIndex(index);
+		other.setTargetApplication(targetApplication);
+		other.setVersionStrict(versionStrict);
+	}
+
+	/**
+	 * Writes a property whose value is binary data. The base64-encoded value
+	 * (or data URI) is streamed directly into the folded line writer instead
+	 * of being built as a string first, which keeps the memory footprint of
+	 * large photos and sounds down.
+	 * @param vcard the vCard being written
+	 * @param property the property
+	 * @param scribe the property scribe
+	 * @param plan the property's write plan
+	 * @throws IOException if there's a problem reading the binary data or
+	 * writing to the output stream
+	 */
+	@SuppressWarnings({ "rawtypes", "unchecked" })
+	private void writeBinaryProperty(VCard vcard, BinaryProperty property, BinaryPropertyScribe scribe, WritePlan plan) throws IOException {
+		VCardParameters parameters = scribe.prepareParameters(property, targetVersion, vcard);
+		handleValueParameter(property, scribe, plan, parameters);
+		handleQuotedPrintableEncodingParameter(property, parameters);
+
+		/*
+		 * Let vinnie write the property name and parameters so they are
+		 * validated and escaped exactly as they are for other properties.
+		 * Line folding is applied when the result is copied to the real
+		 * writer.
+		 */
+		StringWriter sw = new StringWriter();
+		VObjectWriter headerWriter = new VObjectWriter(sw, writer.getSyntaxStyle());
+		headerWriter.getFoldedLineWriter().setLineLength(null);
+		headerWriter.setCaretEncodingEnabled(writer.isCaretEncodingEnabled());
+		headerWriter.writeProperty(property.getGroup(), scribe.getPropertyName(), new VObjectParameters(parameters.getMap()), "");
+
+		String header = sw.toString();
+		header = header.substring(0, header.length() - 2); //remove the trailing newline
+
+		FoldedLineWriter foldedLineWriter = writer.getFoldedLineWriter();
+		foldedLineWriter.write(header);
+		scribe.writeBinaryData(property, targetVersion, foldedLineWriter);
+		foldedLineWriter.writeln();
+
+		fixBinaryPropertyForOutlook(property);
+	}
+
 	/**
 	 * <p>
 	 * Sets the property's VALUE parameter. This method only adds a VALUE
@@ -389,16 +560,17 @@ public class VCardWriter extends StreamWriter implements Flushable {
 	 * </ol>
 	 * @param property the property
 	 * @param scribe the property scribe
+	 * @param plan the property's write plan
 	 * @param parameters the property parameters
 	 */
 	@SuppressWarnings({ "rawtypes", "unchecked" })
-	private void handleValueParameter(VCardProperty property, VCardPropertyScribe scribe, VCardParameters parameters) {
+	private void handleValueParameter(VCardProperty property, VCardPropertyScribe scribe, WritePlan plan, VCardParameters parameters) {
 		VCardDataType dataType = scribe.dataType(property, targetVersion);
 		if (dataType == null) {
 			return;
 		}
 
-		VCardDataType defaultDataType = scribe.defaultDataType(targetVersion);
+		VCardDataType defaultDataType = plan.getDefaultDataType();
 		if (dataType == defaultDataType) {
 			return;
 		}
@@ -472,7 +644,7 @@ public class VCardWriter extends StreamWriter implements Flushable {
 		}
 
 		BinaryProperty<?> binaryProperty = (BinaryProperty<?>) property;
-		if (binaryProperty.getData() == null) {
+		if (binaryProperty.getDataHandle() == null && binaryProperty.getData() == null) {
 			//property value is not base64-encoded
 			return;
 		}
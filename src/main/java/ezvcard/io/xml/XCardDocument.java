@@ -14,13 +14,13 @@ import java.io.StringWriter;
 import java.io.UncheckedIOException;
 import java.io.Writer;
 import java.nio.charset.StandardCharsets;
-import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
 
 import javax.xml.namespace.QName;
 import javax.xml.transform.Transformer;
@@ -53,7 +53,9 @@ import ezvcard.io.scribe.VCardPropertyScribe;
 import ezvcard.parameter.VCardParameters;
 import ezvcard.property.VCardProperty;
 import ezvcard.property.Xml;
+import ezvcard.util.Compression;
 import ezvcard.util.ListMultimap;
+import ezvcard.util.ParallelGzipOutputStream;
 import ezvcard.util.XmlUtils;
 
 /*
@@ -170,12 +172,19 @@ public class XCardDocument {
 
 	/**
 	 * Parses an xCard document from a file.
-	 * @param file the file to read the vCards from
+	 * @param file the file to read the vCards from (the file is decompressed if
+	 * it is gzip or zlib compressed, see {@link Compression})
 	 * @throws IOException if there's a problem reading from the file
 	 * @throws SAXException if there's a problem parsing the XML
 	 */
 	public XCardDocument(Path file) throws SAXException, IOException {
-		this(XmlUtils.toDocument(file));
+		this(parse(file));
+	}
+
+	private static Document parse(Path file) throws SAXException, IOException {
+		try (InputStream in = Compression.newInputStream(file)) {
+			return XmlUtils.toDocument(in);
+		}
 	}
 
 	/**
@@ -410,15 +419,35 @@ public class XCardDocument {
 
 	/**
 	 * Writes the XML document to a file.
-	 * @param file the file to write to (UTF-8 encoding will be used)
+	 * @param file the file to write to (UTF-8 encoding will be used). The data
+	 * is compressed if the file name has a compression-related extension, such
+	 * as ".gz" (see {@link Compression#fromFileName}).
 	 * @param outputProperties properties to assign to the JAXP transformer (see
 	 * {@link Transformer#setOutputProperty})
 	 * @throws TransformerException if there's a problem writing to the file
 	 * @throws IOException if there's a problem writing to the file
 	 */
 	public void write(Path file, Map<String, String> outputProperties) throws TransformerException, IOException {
-		try (Writer writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8)) {
-			write(writer, outputProperties);
+		write(file, outputProperties, null);
+	}
+
+	/**
+	 * Writes the XML document to a file.
+	 * @param file the file to write to (UTF-8 encoding will be used). The data
+	 * is compressed if the file name has a compression-related extension, such
+	 * as ".gz" (see {@link Compression#fromFileName}).
+	 * @param outputProperties properties to assign to the JAXP transformer (see
+	 * {@link Transformer#setOutputProperty})
+	 * @param compressionPool the thread pool to use to compress the data in
+	 * parallel if the file is gzip-compressed (see
+	 * {@link ParallelGzipOutputStream}), or null to compress it in the calling
+	 * thread
+	 * @throws TransformerException if there's a problem writing to the file
+	 * @throws IOException if there's a problem writing to the file
+	 */
+	public void write(Path file, Map<String, String> outputProperties, ForkJoinPool compressionPool) throws TransformerException, IOException {
+		try (OutputStream out = Compression.newOutputStream(file, compressionPool)) {
+			write(out, outputProperties);
 		}
 	}
 
@@ -555,12 +584,16 @@ public class XCardDocument {
 		 * to a group
 		 */
 		private void parseAndAddElement(Element element, String group) {
-			VCardParameters parameters = parseParameters(element);
-
-			VCardProperty property;
 			String propertyName = element.getLocalName();
 			String ns = element.getNamespaceURI();
 			QName qname = new QName(ns, propertyName);
+			if (!isAccepted(qname)) {
+				return;
+			}
+
+			VCardParameters parameters = parseParameters(element);
+
+			VCardProperty property;
 			VCardPropertyScribe<? extends VCardProperty> scribe = index.getPropertyScribe(qname);
 
 			context.getWarnings().clear();
@@ -646,8 +679,35 @@ public class XCardDocument {
 			}
 		}
 
+		@Override
+		public void writeAll(Iterable<VCard> vcards) {
+			try {
+				super.writeAll(vcards);
+			} catch (IOException ignore) {
+				//won't be thrown because we're writing to a DOM
+			}
+		}
+
 		@Override
 		protected void _write(VCard vcard, List<VCardProperty> properties) throws IOException {
+			append(marshalVCard(vcard, properties, document));
+		}
+
+		@Override
+		protected RenderedVCard render(VCard vcard, List<VCardProperty> properties) {
+			//DOM objects are not thread-safe, so each vCard is built in its own document and then moved over
+			Element vcardElement = marshalVCard(vcard, properties, XmlUtils.createDocument());
+			return () -> append((Element) document.adoptNode(vcardElement));
+		}
+
+		/**
+		 * Marshals a vCard to an XML element.
+		 * @param vcard the vCard
+		 * @param properties the properties to marshal
+		 * @param document the document to use to create the XML elements
+		 * @return the XML element
+		 */
+		private Element marshalVCard(VCard vcard, List<VCardProperty> properties, Document document) {
 			//group properties by group name (null = no group name)
 			ListMultimap<String, VCardProperty> propertiesByGroup = new ListMultimap<>();
 			for (VCardProperty property : properties) {
@@ -655,12 +715,12 @@ public class XCardDocument {
 			}
 
 			//marshal each property object
-			Element vcardElement = createElement(VCARD);
+			Element vcardElement = createElement(VCARD, document);
 			for (Map.Entry<String, List<VCardProperty>> entry : propertiesByGroup) {
 				String groupName = entry.getKey();
 				Element parent;
 				if (groupName != null) {
-					Element groupElement = createElement(GROUP);
+					Element groupElement = createElement(GROUP, document);
 					groupElement.setAttribute("name", groupName);
 					vcardElement.appendChild(groupElement);
 					parent = groupElement;
@@ -670,7 +730,7 @@ public class XCardDocument {
 
 				for (VCardProperty property : entry.getValue()) {
 					try {
-						Element propertyElement = marshalProperty(property, vcard);
+						Element propertyElement = marshalProperty(property, vcard, document);
 						parent.appendChild(propertyElement);
 					} catch (SkipMeException e) {
 						//skip property
@@ -680,8 +740,16 @@ public class XCardDocument {
 				}
 			}
 
+			return vcardElement;
+		}
+
+		/**
+		 * Adds a marshalled vCard to the document.
+		 * @param vcardElement the vCard element
+		 */
+		private void append(Element vcardElement) {
 			if (vcardsRootElement == null) {
-				vcardsRootElement = createElement(VCARDS);
+				vcardsRootElement = createElement(VCARDS, document);
 				Element documentRoot = document.getDocumentElement();
 				if (documentRoot == null) {
 					document.appendChild(vcardsRootElement);
@@ -700,10 +768,11 @@ public class XCardDocument {
 		 * Marshals a type object to an XML element.
 		 * @param property the property to marshal
 		 * @param vcard the vcard the type belongs to
+		 * @param document the document to use to create the XML element
 		 * @return the XML element
 		 */
 		@SuppressWarnings({ "rawtypes", "unchecked" })
-		private Element marshalProperty(VCardProperty property, VCard vcard) {
+		private Element marshalProperty(VCardProperty property, VCard vcard, Document document) {
 			VCardPropertyScribe scribe = index.getPropertyScribe(property);
 
 			Element propertyElement;
@@ -717,7 +786,7 @@ public class XCardDocument {
 				propertyElement = (Element) document.importNode(propertyElement, true);
 			} else {
 				QName qname = scribe.getQName();
-				propertyElement = createElement(qname);
+				propertyElement = createElement(qname, document);
 				scribe.writeXml(property, propertyElement);
 			}
 
@@ -725,7 +794,7 @@ public class XCardDocument {
 			VCardParameters parameters = scribe.prepareParameters(property, targetVersion, vcard);
 			removeUnsupportedParameters(parameters);
 			if (!parameters.isEmpty()) {
-				Element parametersElement = marshalParameters(parameters);
+				Element parametersElement = marshalParameters(parameters, document);
 				Node firstChild = propertyElement.getFirstChild();
 				propertyElement.insertBefore(parametersElement, firstChild);
 			}
@@ -733,17 +802,17 @@ public class XCardDocument {
 			return propertyElement;
 		}
 
-		private Element marshalParameters(VCardParameters parameters) {
-			Element parametersElement = createElement(PARAMETERS);
+		private Element marshalParameters(VCardParameters parameters, Document document) {
+			Element parametersElement = createElement(PARAMETERS, document);
 
 			for (Map.Entry<String, List<String>> parameter : parameters) {
 				String parameterName = parameter.getKey().toLowerCase();
-				Element parameterElement = createElement(parameterName);
+				Element parameterElement = createElement(parameterName, document);
 
 				for (String parameterValue : parameter.getValue()) {
 					VCardDataType dataType = parameterDataTypes.get(parameterName);
 					String dataTypeElementName = (dataType == null) ? "unknown" : dataType.getName().toLowerCase();
-					Element dataTypeElement = createElement(dataTypeElementName);
+					Element dataTypeElement = createElement(dataTypeElementName, document);
 					dataTypeElement.setTextContent(parameterValue);
 					parameterElement.appendChild(dataTypeElement);
 				}
@@ -757,29 +826,32 @@ public class XCardDocument {
 		/**
 		 * Creates a new XML element under the vCard namespace.
 		 * @param name the name of the XML element
+		 * @param document the document to create the element with
 		 * @return the new XML element
 		 */
-		private Element createElement(String name) {
-			return createElement(name, targetVersion.getXmlNamespace());
+		private Element createElement(String name, Document document) {
+			return createElement(name, targetVersion.getXmlNamespace(), document);
 		}
 
 		/**
 		 * Creates a new XML element.
 		 * @param name the name of the XML element
 		 * @param ns the namespace of the XML element
+		 * @param document the document to create the element with
 		 * @return the new XML element
 		 */
-		private Element createElement(String name, String ns) {
+		private Element createElement(String name, String ns, Document document) {
 			return document.createElementNS(ns, name);
 		}
 
 		/**
 		 * Creates a new XML element.
 		 * @param qname the element name
+		 * @param document the document to create the element with
 		 * @return the new XML element
 		 */
-		private Element createElement(QName qname) {
-			return createElement(qname.getLocalPart(), qname.getNamespaceURI());
+		private Element createElement(QName qname, Document document) {
+			return createElement(qname.getLocalPart(), qname.getNamespaceURI(), document);
 		}
 	}
 }
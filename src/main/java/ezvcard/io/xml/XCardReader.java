@@ -5,13 +5,11 @@ import static ezvcard.io.xml.XCardQNames.PARAMETERS;
 import static ezvcard.io.xml.XCardQNames.VCARD;
 import static ezvcard.io.xml.XCardQNames.VCARDS;
 
-import java.io.BufferedInputStream;
 import java.io.Closeable;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.Reader;
 import java.io.StringReader;
-import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.List;
@@ -48,6 +46,7 @@ import ezvcard.parameter.VCardParameters;
 import ezvcard.property.VCardProperty;
 import ezvcard.property.Xml;
 import ezvcard.util.ClearableStringBuilder;
+import ezvcard.util.Compression;
 import ezvcard.util.XmlUtils;
 
 /*
@@ -131,11 +130,12 @@ public class XCardReader extends StreamReader {
 	}
 
 	/**
-	 * @param file the file to read from
+	 * @param file the file to read from (the file is decompressed if it is
+	 * gzip or zlib compressed, see {@link Compression})
 	 * @throws IOException if there is a problem opening the file
 	 */
 	public XCardReader(Path file) throws IOException {
-		this(new BufferedInputStream(Files.newInputStream(file)));
+		this(Compression.newInputStream(file));
 	}
 
 	/**
@@ -288,9 +288,9 @@ public class XCardReader extends StreamReader {
 				case vcard:
 					//<group>
 					if (GROUP.equals(qname)) {
-						group = attributes.getValue("name");
+						group = intern(attributes.getValue("name"));
 						typeToPush = ElementType.group;
-					} else {
+					} else if (isAccepted(qname)) {
 						propertyElement = createElement(namespace, localName, attributes);
 						parameters = new VCardParameters();
 						parent = propertyElement;
@@ -299,10 +299,12 @@ public class XCardReader extends StreamReader {
 					break;
 
 				case group:
-					propertyElement = createElement(namespace, localName, attributes);
-					parameters = new VCardParameters();
-					parent = propertyElement;
-					typeToPush = ElementType.property;
+					if (isAccepted(qname)) {
+						propertyElement = createElement(namespace, localName, attributes);
+						parameters = new VCardParameters();
+						parent = propertyElement;
+						typeToPush = ElementType.property;
+					}
 					break;
 
 				case property:
@@ -384,6 +386,7 @@ public class XCardReader extends StreamReader {
 
 					context.getWarnings().clear();
 					context.setPropertyName(propertyName);
+					parameters = intern(parameters);
 					try {
 						property = scribe.parseXml(propertyElement, parameters, context);
 						property.setGroup(group);
@@ -10,11 +10,11 @@ import java.io.OutputStream;
 import java.io.OutputStreamWriter;
 import java.io.Writer;
 import java.nio.charset.StandardCharsets;
-import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.Collections;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
 
 import javax.xml.namespace.QName;
 import javax.xml.transform.Result;
@@ -44,7 +44,9 @@ import ezvcard.io.scribe.VCardPropertyScribe;
 import ezvcard.parameter.VCardParameters;
 import ezvcard.property.VCardProperty;
 import ezvcard.property.Xml;
+import ezvcard.util.Compression;
 import ezvcard.util.ListMultimap;
+import ezvcard.util.ParallelGzipOutputStream;
 import ezvcard.util.XmlUtils;
 
 /*
@@ -179,13 +181,31 @@ public class XCardWriter extends XCardWriterBase {
 	}
 
 	/**
-	 * @param file the file to write to (UTF-8 encoding will be used)
+	 * @param file the file to write to (UTF-8 encoding will be used). The data
+	 * is compressed if the file name has a compression-related extension, such
+	 * as ".gz" (see {@link Compression#fromFileName}).
 	 * @param outputProperties properties to assign to the JAXP transformer (see
 	 * {@link Transformer#setOutputProperty})
 	 * @throws IOException if there is a problem opening the file
 	 */
 	public XCardWriter(Path file, Map<String, String> outputProperties) throws IOException {
-		this(Files.newBufferedWriter(file, StandardCharsets.UTF_8), outputProperties);
+		this(file, outputProperties, null);
+	}
+
+	/**
+	 * @param file the file to write to (UTF-8 encoding will be used). The data
+	 * is compressed if the file name has a compression-related extension, such
+	 * as ".gz" (see {@link Compression#fromFileName}).
+	 * @param outputProperties properties to assign to the JAXP transformer (see
+	 * {@link Transformer#setOutputProperty})
+	 * @param compressionPool the thread pool to use to compress the data in
+	 * parallel if the file is gzip-compressed (see
+	 * {@link ParallelGzipOutputStream}), or null to compress it in the calling
+	 * thread
+	 * @throws IOException if there is a problem opening the file
+	 */
+	public XCardWriter(Path file, Map<String, String> outputProperties, ForkJoinPool compressionPool) throws IOException {
+		this(Compression.newOutputStream(file, compressionPool), outputProperties);
 	}
 
 	/**
@@ -282,6 +302,41 @@ public class XCardWriter extends XCardWriterBase {
 
 	@Override
 	protected void _write(VCard vcard, List<VCardProperty> properties) throws IOException {
+		write(marshal(vcard, properties, DOC));
+	}
+
+	@Override
+	protected RenderedVCard render(VCard vcard, List<VCardProperty> properties) {
+		//DOM objects are not thread-safe, so each vCard gets its own
+		ListMultimap<String, MarshalledProperty> marshalled = marshal(vcard, properties, XmlUtils.createDocument());
+		return () -> write(marshalled);
+	}
+
+	/**
+	 * Marshals the vCard's properties.
+	 * @param vcard the vCard
+	 * @param properties the properties to marshal
+	 * @param document the document to use to create the property elements
+	 * @return the marshalled properties, grouped by group name (null = no
+	 * group name), with null entries for properties that should not be
+	 * written
+	 */
+	private ListMultimap<String, MarshalledProperty> marshal(VCard vcard, List<VCardProperty> properties, Document document) {
+		ListMultimap<String, MarshalledProperty> propertiesByGroup = new ListMultimap<>(); //group the types by group name (null = no group name)
+		for (VCardProperty property : properties) {
+			MarshalledProperty marshalled = marshal(property, vcard, document);
+			propertiesByGroup.put(property.getGroup(), marshalled);
+		}
+		return propertiesByGroup;
+	}
+
+	/**
+	 * Writes a marshalled vCard to the stream.
+	 * @param propertiesByGroup the vCard's marshalled properties, grouped by
+	 * group name
+	 * @throws IOException if there's a problem writing to the output stream
+	 */
+	private void write(ListMultimap<String, MarshalledProperty> propertiesByGroup) throws IOException {
 		try {
 			if (!started) {
 				handler.startDocument();
@@ -294,14 +349,9 @@ public class XCardWriter extends XCardWriterBase {
 				started = true;
 			}
 
-			ListMultimap<String, VCardProperty> propertiesByGroup = new ListMultimap<>(); //group the types by group name (null = no group name)
-			for (VCardProperty property : properties) {
-				propertiesByGroup.put(property.getGroup(), property);
-			}
-
 			start(VCARD);
 
-			for (Map.Entry<String, List<VCardProperty>> entry : propertiesByGroup) {
+			for (Map.Entry<String, List<MarshalledProperty>> entry : propertiesByGroup) {
 				String groupName = entry.getKey();
 				if (groupName != null) {
 					AttributesImpl attr = new AttributesImpl();
@@ -310,8 +360,10 @@ public class XCardWriter extends XCardWriterBase {
 					start(GROUP, attr);
 				}
 
-				for (VCardProperty property : entry.getValue()) {
-					write(property, vcard);
+				for (MarshalledProperty property : entry.getValue()) {
+					if (property != null) {
+						write(property);
+					}
 				}
 
 				if (groupName != null) {
@@ -352,8 +404,16 @@ public class XCardWriter extends XCardWriterBase {
 		}
 	}
 
+	/**
+	 * Marshals a property.
+	 * @param property the property
+	 * @param vcard the vCard the property belongs to
+	 * @param document the document to use to create the property element
+	 * @return the marshalled property or null if the property should not be
+	 * written
+	 */
 	@SuppressWarnings({ "rawtypes", "unchecked" })
-	private void write(VCardProperty property, VCard vcard) throws SAXException {
+	private MarshalledProperty marshal(VCardProperty property, VCard vcard, Document document) {
 		VCardPropertyScribe scribe = index.getPropertyScribe(property);
 		VCardParameters parameters = scribe.prepareParameters(property, targetVersion, vcard);
 
@@ -365,24 +425,30 @@ public class XCardWriter extends XCardWriterBase {
 			Xml xml = (Xml) property;
 			Document value = xml.getValue();
 			if (value == null) {
-				return;
+				return null;
 			}
 			propertyElement = value.getDocumentElement();
 		} else {
 			QName qname = scribe.getQName();
-			propertyElement = DOC.createElementNS(qname.getNamespaceURI(), qname.getLocalPart());
+			propertyElement = document.createElementNS(qname.getNamespaceURI(), qname.getLocalPart());
 			try {
 				scribe.writeXml(property, propertyElement);
 			} catch (SkipMeException e) {
-				return;
+				return null;
 			} catch (EmbeddedVCardException e) {
-				return;
+				return null;
 			}
 		}
 
+		return new MarshalledProperty(propertyElement, parameters);
+	}
+
+	private void write(MarshalledProperty property) throws SAXException {
+		Element propertyElement = property.element;
+
 		start(propertyElement);
 
-		write(parameters);
+		write(property.parameters);
 		write(propertyElement);
 
 		end(propertyElement);
@@ -513,4 +579,17 @@ public class XCardWriter extends XCardWriterBase {
 		}
 		return attributes;
 	}
+
+	/**
+	 * A property that is ready to be written to the stream.
+	 */
+	private static class MarshalledProperty {
+		private final Element element;
+		private final VCardParameters parameters;
+
+		public MarshalledProperty(Element element, VCardParameters parameters) {
+			this.element = element;
+			this.parameters = parameters;
+		}
+	}
 }
@@ -9,6 +9,7 @@ import java.util.Arrays;
 import java.util.Collections;
 import java.util.EnumSet;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
@@ -30,8 +31,10 @@ import ezvcard.property.Photo;
 import ezvcard.property.SortString;
 import ezvcard.property.Sound;
 import ezvcard.property.StructuredName;
+import ezvcard.util.ArrayMap;
 import ezvcard.util.GeoUri;
 import ezvcard.util.ListMultimap;
+import ezvcard.util.StringUtils;
 
 /*
  Copyright (c) 2012-2021, Michael Angstadt
@@ -369,10 +372,12 @@ public class VCardParameters extends ListMultimap<String, String> {
 	}
 
 	/**
-	 * Creates a list of parameters.
+	 * Creates a list of parameters. The parameters are stored in an
+	 * {@link ArrayMap}, which is much smaller than a {@link LinkedHashMap} for
+	 * the handful of parameters that most properties have.
 	 */
 	public VCardParameters() {
-		//empty
+		super(new ArrayMap<>());
 	}
 
 	/**
@@ -380,7 +385,7 @@ public class VCardParameters extends ListMultimap<String, String> {
 	 * @param orig the object to copy
 	 */
 	public VCardParameters(VCardParameters orig) {
-		super(orig);
+		super(compactCopy(orig.getMap()));
 	}
 
 	/**
@@ -1535,17 +1540,18 @@ public class VCardParameters extends ListMultimap<String, String> {
 		final int prime = 31;
 		int result = 1;
 
-		for (Map.Entry<String, List<String>> entry : this) {
+		for (Map.Entry<String, List<String>> entry : getMap().entrySet()) {
 			String key = entry.getKey();
 			List<String> value = entry.getValue();
 
 			int valueHash = 1;
 			for (String v : value) {
-				valueHash += v.toLowerCase().hashCode();
+				valueHash += StringUtils.hashCodeIgnoreCase(v);
 			}
 
+			//keys are already converted to uppercase when they are added
 			int entryHash = 1;
-			entryHash += prime * entryHash + ((key == null) ? 0 : key.toLowerCase().hashCode());
+			entryHash += prime * entryHash + ((key == null) ? 0 : key.hashCode());
 			entryHash += prime * entryHash + valueHash;
 
 			result += entryHash;
@@ -1577,34 +1583,56 @@ public class VCardParameters extends ListMultimap<String, String> {
 		if (getClass() != obj.getClass()) return false;
 
 		VCardParameters other = (VCardParameters) obj;
-		if (size() != other.size()) return false;
-
-		for (Map.Entry<String, List<String>> entry : this) {
-			String key = entry.getKey();
-			List<String> value = entry.getValue();
-			List<String> otherValue = other.get(key);
-
-			if (value.size() != otherValue.size()) {
+		Map<String, List<String>> map = getMap();
+		Map<String, List<String>> otherMap = other.getMap();
+		if (map.size() != otherMap.size()) return false;
+
+		//keys are already converted to uppercase when they are added
+		for (Map.Entry<String, List<String>> entry : map.entrySet()) {
+			List<String> otherValue = otherMap.get(entry.getKey());
+			if (otherValue == null || !equalsIgnoreCaseAndOrder(entry.getValue(), otherValue)) {
 				return false;
 			}
+		}
 
-			List<String> valueLower = new ArrayList<>(value.size());
-			for (String v : value) {
-				valueLower.add(v.toLowerCase());
-			}
-			Collections.sort(valueLower);
+		return true;
+	}
 
-			List<String> otherValueLower = new ArrayList<>(otherValue.size());
-			for (String v : otherValue) {
-				otherValueLower.add(v.toLowerCase());
-			}
-			Collections.sort(otherValueLower);
+	/**
+	 * Determines if two lists contain the same values, ignoring case and
+	 * order.
+	 * @param values the first list
+	 * @param otherValues the second list
+	 * @return true if they are equal, false if not
+	 */
+	private static boolean equalsIgnoreCaseAndOrder(List<String> values, List<String> otherValues) {
+		int size = values.size();
+		if (size != otherValues.size()) {
+			return false;
+		}
+
+		/*
+		 * The values are usually in the same order, so only sort them if they
+		 * aren't. Sorting requires copying the values that are out of order.
+		 */
+		int i = 0;
+		while (i < size && values.get(i).equalsIgnoreCase(otherValues.get(i))) {
+			i++;
+		}
+		if (i == size) {
+			return true;
+		}
 
-			if (!valueLower.equals(otherValueLower)) {
+		List<String> sorted = new ArrayList<>(values.subList(i, size));
+		sorted.sort(String.CASE_INSENSITIVE_ORDER);
+		List<String> otherSorted = new ArrayList<>(otherValues.subList(i, size));
+		otherSorted.sort(String.CASE_INSENSITIVE_ORDER);
+
+		for (int j = 0; j < sorted.size(); j++) {
+			if (!sorted.get(j).equalsIgnoreCase(otherSorted.get(j))) {
 				return false;
 			}
 		}
-
 		return true;
 	}
 
@@ -1741,4 +1769,18 @@ public class VCardParameters extends ListMultimap<String, String> {
 			return new IllegalStateException(Messages.INSTANCE.getExceptionMessage(26, parameterName), thrown);
 		}
 	}
+
+	/**
+	 * Copies a parameter map into an {@link ArrayMap}, trimming each value list
+	 * to its size.
+	 * @param map the map to copy (keys must already be in uppercase)
+	 * @return the copy
+	 */
+	public static Map<String, List<String>> compactCopy(Map<String, List<String>> map) {
+		Map<String, List<String>> copy = new ArrayMap<>();
+		for (Map.Entry<String, List<String>> entry : map.entrySet()) {
+			copy.put(entry.getKey(), new ArrayList<>(entry.getValue()));
+		}
+		return copy;
+	}
 }
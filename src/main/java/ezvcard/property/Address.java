@@ -1,6 +1,5 @@
 package ezvcard.property;
 
-import java.util.ArrayList;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
@@ -12,6 +11,7 @@ import ezvcard.parameter.AddressType;
 import ezvcard.parameter.Pid;
 import ezvcard.parameter.VCardParameters;
 import ezvcard.util.GeoUri;
+import ezvcard.util.ModCountList;
 import ezvcard.util.StringUtils;
 
 /*
@@ -103,22 +103,22 @@ import ezvcard.util.StringUtils;
  * @see <a href="http://www.imc.org/pdi/vcard-21.doc">vCard 2.1 p.11</a>
  */
 public class Address extends VCardProperty implements HasAltId {
-	private final List<String> poBoxes;
-	private final List<String> extendedAddresses;
-	private final List<String> streetAddresses;
-	private final List<String> localities;
-	private final List<String> regions;
-	private final List<String> postalCodes;
-	private final List<String> countries;
+	private final ModCountList<String> poBoxes;
+	private final ModCountList<String> extendedAddresses;
+	private final ModCountList<String> streetAddresses;
+	private final ModCountList<String> localities;
+	private final ModCountList<String> regions;
+	private final ModCountList<String> postalCodes;
+	private final ModCountList<String> countries;
 
 	public Address() {
-		poBoxes = new ArrayList<>(1);
-		extendedAddresses = new ArrayList<>(1);
-		streetAddresses = new ArrayList<>(1);
-		localities = new ArrayList<>(1);
-		regions = new ArrayList<>(1);
-		postalCodes = new ArrayList<>(1);
-		countries = new ArrayList<>(1);
+		poBoxes = new ModCountList<>(1);
+		extendedAddresses = new ModCountList<>(1);
+		streetAddresses = new ModCountList<>(1);
+		localities = new ModCountList<>(1);
+		regions = new ModCountList<>(1);
+		postalCodes = new ModCountList<>(1);
+		countries = new ModCountList<>(1);
 	}
 
 	/**
@@ -127,13 +127,13 @@ public class Address extends VCardProperty implements HasAltId {
 	 */
 	public Address(Address original) {
 		super(original);
-		poBoxes = new ArrayList<>(original.poBoxes);
-		extendedAddresses = new ArrayList<>(original.extendedAddresses);
-		streetAddresses = new ArrayList<>(original.streetAddresses);
-		localities = new ArrayList<>(original.localities);
-		regions = new ArrayList<>(original.regions);
-		postalCodes = new ArrayList<>(original.postalCodes);
-		countries = new ArrayList<>(original.countries);
+		poBoxes = new ModCountList<>(original.poBoxes);
+		extendedAddresses = new ModCountList<>(original.extendedAddresses);
+		streetAddresses = new ModCountList<>(original.streetAddresses);
+		localities = new ModCountList<>(original.localities);
+		regions = new ModCountList<>(original.regions);
+		postalCodes = new ModCountList<>(original.postalCodes);
+		countries = new ModCountList<>(original.countries);
 	}
 
 	/**
@@ -499,6 +499,20 @@ public class Address extends VCardProperty implements HasAltId {
 		return values;
 	}
 
+	@Override
+	protected int getModCount() {
+		//@formatter:off
+		return super.getModCount() +
+			poBoxes.getModCount() +
+			extendedAddresses.getModCount() +
+			streetAddresses.getModCount() +
+			localities.getModCount() +
+			regions.getModCount() +
+			postalCodes.getModCount() +
+			countries.getModCount();
+		//@formatter:on
+	}
+
 	@Override
 	public Address copy() {
 		return new Address(this);
@@ -149,6 +149,7 @@ public class Agent extends VCardProperty {
 	public void setUrl(String url) {
 		this.url = url;
 		vcard = null;
+		markDirty();
 	}
 
 	/**
@@ -166,6 +167,7 @@ public class Agent extends VCardProperty {
 	public void setVCard(VCard vcard) {
 		this.vcard = vcard;
 		url = null;
+		markDirty();
 	}
 
 	@Override
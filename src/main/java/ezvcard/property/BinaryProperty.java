@@ -1,8 +1,10 @@
 package ezvcard.property;
 
 import java.io.BufferedInputStream;
+import java.io.ByteArrayInputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.UncheckedIOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.Arrays;
@@ -15,7 +17,9 @@ import ezvcard.VCardVersion;
 import ezvcard.ValidationWarning;
 import ezvcard.parameter.MediaTypeParameter;
 import ezvcard.parameter.Pid;
+import ezvcard.util.BinaryHandle;
 import ezvcard.util.Gobble;
+import ezvcard.util.IOUtils;
 
 /*
  Copyright (c) 2012-2021, Michael Angstadt
@@ -57,6 +61,11 @@ public abstract class BinaryProperty<T extends MediaTypeParameter> extends VCard
 	 */
 	protected byte[] data;
 
+	/**
+	 * The handle to the data, if the data is stored outside of the heap.
+	 */
+	protected BinaryHandle dataHandle;
+
 	/**
 	 * The URL to the resource.
 	 */
@@ -116,18 +125,39 @@ public abstract class BinaryProperty<T extends MediaTypeParameter> extends VCard
 	public BinaryProperty(BinaryProperty<T> original) {
 		super(original);
 		data = (original.data == null) ? null : original.data.clone();
+		dataHandle = original.dataHandle;
 		url = original.url;
 		contentType = original.contentType;
 	}
 
 	/**
-	 * Gets the binary data of the resource.
-	 * @return the binary data or null if there is none
+	 * Gets the binary data of the resource, if it is held in memory. If the
+	 * data is stored outside of the heap (see {@link #getDataHandle}), this
+	 * method returns null. Use {@link #openData} to read the data no matter
+	 * where it is stored.
+	 * @return the binary data or null if there is none or if it is stored
+	 * outside of the heap
 	 */
 	public byte[] getData() {
 		return data;
 	}
 
+	/**
+	 * Reads the binary data of the resource into memory, regardless of whether
+	 * it is held in memory or stored outside of the heap. Data that is stored
+	 * outside of the heap is read in its entirety every time this method is
+	 * called, so {@link #openData} should be preferred for large values.
+	 * @return the binary data or null if there is none
+	 * @throws IOException if the data is stored outside of the heap and cannot
+	 * be read
+	 */
+	public byte[] readData() throws IOException {
+		if (data == null && dataHandle != null) {
+			return new Gobble(dataHandle.open()).asByteArray();
+		}
+		return data;
+	}
+
 	/**
 	 * Sets the binary data of the resource.
 	 * @param data the binary data
@@ -136,7 +166,53 @@ public abstract class BinaryProperty<T extends MediaTypeParameter> extends VCard
 	public void setData(byte[] data, T type) {
 		this.url = null;
 		this.data = data;
+		this.dataHandle = null;
+		setContentType(type);
+		markDirty();
+	}
+
+	/**
+	 * Gets the handle to the binary data, if the data is stored outside of the
+	 * heap. Properties whose data is stored this way are equal to properties
+	 * that have the same data, no matter how it is stored, so calling
+	 * {@link #equals} may read the data from storage.
+	 * @return the handle or null if the data is not stored outside of the heap
+	 * @see ezvcard.io.StreamReader#setBinaryStorage
+	 */
+	public BinaryHandle getDataHandle() {
+		return dataHandle;
+	}
+
+	/**
+	 * Sets the binary data of the resource to data that is stored outside of
+	 * the heap.
+	 * @param dataHandle the handle to the binary data
+	 * @param type the content type (e.g. "JPEG image")
+	 */
+	public void setDataHandle(BinaryHandle dataHandle, T type) {
+		this.url = null;
+		this.data = null;
+		this.dataHandle = dataHandle;
 		setContentType(type);
+		markDirty();
+	}
+
+	/**
+	 * Opens a stream to the binary data of the resource, regardless of whether
+	 * it is held in memory or stored outside of the heap.
+	 * @return the stream (the caller is responsible for closing it) or null if
+	 * there is no binary data
+	 * @throws IOException if the data is stored outside of the heap and cannot
+	 * be opened
+	 */
+	public InputStream openData() throws IOException {
+		if (data != null) {
+			return new ByteArrayInputStream(data);
+		}
+		if (dataHandle != null) {
+			return dataHandle.open();
+		}
+		return null;
 	}
 
 	/**
@@ -155,7 +231,9 @@ public abstract class BinaryProperty<T extends MediaTypeParameter> extends VCard
 	public void setUrl(String url, T type) {
 		this.url = url;
 		this.data = null;
+		this.dataHandle = null;
 		setContentType(type);
+		markDirty();
 	}
 
 	/**
@@ -172,6 +250,7 @@ public abstract class BinaryProperty<T extends MediaTypeParameter> extends VCard
 	 */
 	public void setContentType(T contentType) {
 		this.contentType = contentType;
+		markDirty();
 	}
 
 	/**
@@ -227,7 +306,7 @@ public abstract class BinaryProperty<T extends MediaTypeParameter> extends VCard
 
 	@Override
 	protected void _validate(List<ValidationWarning> warnings, VCardVersion version, VCard vcard) {
-		if (url == null && data == null) {
+		if (url == null && data == null && dataHandle == null) {
 			warnings.add(new ValidationWarning(8));
 		}
 	}
@@ -236,6 +315,9 @@ public abstract class BinaryProperty<T extends MediaTypeParameter> extends VCard
 	protected Map<String, Object> toStringValues() {
 		Map<String, Object> values = new LinkedHashMap<>();
 		values.put("data", (data == null) ? "null" : "length: " + data.length);
+		if (dataHandle != null) {
+			values.put("dataHandle", "size: " + dataHandle.size());
+		}
 		values.put("url", url);
 		values.put("contentType", contentType);
 		return values;
@@ -246,7 +328,7 @@ public abstract class BinaryProperty<T extends MediaTypeParameter> extends VCard
 		final int prime = 31;
 		int result = super.hashCode();
 		result = prime * result + ((contentType == null) ? 0 : contentType.hashCode());
-		result = prime * result + Arrays.hashCode(data);
+		result = prime * result + Long.hashCode(dataSize()); //so data stored outside of the heap does not have to be read
 		result = prime * result + ((url == null) ? 0 : url.hashCode());
 		return result;
 	}
@@ -259,10 +341,51 @@ public abstract class BinaryProperty<T extends MediaTypeParameter> extends VCard
 		if (contentType == null) {
 			if (other.contentType != null) return false;
 		} else if (!contentType.equals(other.contentType)) return false;
-		if (!Arrays.equals(data, other.data)) return false;
+		if (!dataEquals(other)) return false;
 		if (url == null) {
 			if (other.url != null) return false;
 		} else if (!url.equals(other.url)) return false;
 		return true;
 	}
+
+	/**
+	 * Gets the size of the binary data.
+	 * @return the size in bytes or -1 if there is no binary data
+	 */
+	private long dataSize() {
+		if (data != null) {
+			return data.length;
+		}
+		if (dataHandle != null) {
+			return dataHandle.size();
+		}
+		return -1;
+	}
+
+	/**
+	 * Compares the binary data of this property with the binary data of
+	 * another, regardless of whether the data is held in memory or stored
+	 * outside of the heap.
+	 * @param other the other property
+	 * @return true if the data is equal, false if not
+	 * @throws UncheckedIOException if data that is stored outside of the heap
+	 * cannot be read
+	 */
+	private boolean dataEquals(BinaryProperty<?> other) {
+		if (dataHandle == null && other.dataHandle == null) {
+			return Arrays.equals(data, other.data);
+		}
+		if (dataSize() != other.dataSize()) {
+			return false;
+		}
+		if (dataHandle == other.dataHandle) {
+			return true;
+		}
+
+		try (InputStream in = openData(); InputStream otherIn = other.openData()) {
+			return IOUtils.contentEquals(in, otherIn);
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+	}
 }
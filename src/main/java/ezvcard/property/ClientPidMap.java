@@ -142,6 +142,7 @@ public class ClientPidMap extends VCardProperty {
 	 */
 	public void setPid(Integer pid) {
 		this.pid = pid;
+		markDirty();
 	}
 
 	/**
@@ -158,6 +159,7 @@ public class ClientPidMap extends VCardProperty {
 	 */
 	public void setUri(String uri) {
 		this.uri = uri;
+		markDirty();
 	}
 
 	@Override
@@ -113,6 +113,7 @@ public class DateOrTimeProperty extends VCardProperty implements HasAltId {
 		this.date = date;
 		text = null;
 		partialDate = null;
+		markDirty();
 	}
 
 	/**
@@ -143,6 +144,7 @@ public class DateOrTimeProperty extends VCardProperty implements HasAltId {
 		this.partialDate = partialDate;
 		text = null;
 		date = null;
+		markDirty();
 	}
 
 	/**
@@ -162,6 +164,7 @@ public class DateOrTimeProperty extends VCardProperty implements HasAltId {
 		this.text = text;
 		date = null;
 		partialDate = null;
+		markDirty();
 	}
 
 	/**
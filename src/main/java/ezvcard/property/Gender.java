@@ -122,6 +122,7 @@ public class Gender extends VCardProperty {
 	 */
 	public void setText(String text) {
 		this.text = text;
+		markDirty();
 	}
 
 	/**
@@ -139,6 +140,7 @@ public class Gender extends VCardProperty {
 	 */
 	public void setGender(String gender) {
 		this.gender = gender;
+		markDirty();
 	}
 
 	/**
@@ -139,6 +139,7 @@ public class Geo extends VCardProperty implements HasAltId {
 		} else {
 			uri = new GeoUri.Builder(uri).coordA(latitude).build();
 		}
+		markDirty();
 	}
 
 	/**
@@ -159,6 +160,7 @@ public class Geo extends VCardProperty implements HasAltId {
 		} else {
 			uri = new GeoUri.Builder(uri).coordB(longitude).build();
 		}
+		markDirty();
 	}
 
 	/**
@@ -185,6 +187,7 @@ public class Geo extends VCardProperty implements HasAltId {
 	 */
 	public void setGeoUri(GeoUri uri) {
 		this.uri = uri;
+		markDirty();
 	}
 
 	/**
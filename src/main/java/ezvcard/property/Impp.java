@@ -295,6 +295,7 @@ public class Impp extends VCardProperty implements HasAltId {
 	 */
 	public void setUri(URI uri) {
 		this.uri = uri;
+		markDirty();
 	}
 
 	/**
@@ -308,6 +309,7 @@ public class Impp extends VCardProperty implements HasAltId {
 		} catch (URISyntaxException e) {
 			throw new IllegalArgumentException(e);
 		}
+		markDirty();
 	}
 
 	/**
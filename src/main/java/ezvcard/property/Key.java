@@ -86,7 +86,8 @@ import ezvcard.parameter.KeyType;
  *     continue;
  *   }
  *   
- *   byte[] data = key.getData();
+ *   //use openData() instead to stream large values
+ *   byte[] data = key.readData();
  *   if (data != null) {
  *     //property value is binary data
  *     continue;
@@ -177,8 +178,10 @@ public class Key extends BinaryProperty<KeyType> {
 	public void setText(String text, KeyType type) {
 		this.text = text;
 		data = null;
+		dataHandle = null;
 		url = null;
 		setContentType(type);
+		markDirty();
 	}
 
 	/**
@@ -218,7 +221,7 @@ public class Key extends BinaryProperty<KeyType> {
 
 	@Override
 	protected void _validate(List<ValidationWarning> warnings, VCardVersion version, VCard vcard) {
-		if (url == null && data == null && text == null) {
+		if (url == null && data == null && dataHandle == null && text == null) {
 			warnings.add(new ValidationWarning(8));
 		}
 
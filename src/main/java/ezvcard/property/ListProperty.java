@@ -1,6 +1,5 @@
 package ezvcard.property;
 
-import java.util.ArrayList;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
@@ -8,6 +7,7 @@ import java.util.Map;
 import ezvcard.VCard;
 import ezvcard.VCardVersion;
 import ezvcard.ValidationWarning;
+import ezvcard.util.ModCountList;
 
 /*
  Copyright (c) 2012-2021, Michael Angstadt
@@ -44,10 +44,10 @@ import ezvcard.ValidationWarning;
  * @param <T> the type of values stored in the list
  */
 public class ListProperty<T> extends VCardProperty {
-	protected final List<T> values;
+	protected final ModCountList<T> values;
 
 	public ListProperty() {
-		values = new ArrayList<>();
+		values = new ModCountList<>();
 	}
 
 	/**
@@ -56,7 +56,7 @@ public class ListProperty<T> extends VCardProperty {
 	 */
 	public ListProperty(ListProperty<T> original) {
 		super(original);
-		values = new ArrayList<>(original.values);
+		values = new ModCountList<>(original.values);
 	}
 
 	/**
@@ -67,6 +67,11 @@ public class ListProperty<T> extends VCardProperty {
 		return values;
 	}
 
+	@Override
+	protected int getModCount() {
+		return super.getModCount() + values.getModCount();
+	}
+
 	@Override
 	protected void _validate(List<ValidationWarning> warnings, VCardVersion version, VCard vcard) {
 		if (values.isEmpty()) {
@@ -72,7 +72,8 @@ import ezvcard.parameter.ImageType;
  *     continue;
  *   }
  *   
- *   byte[] data = photo.getData();
+ *   //use openData() instead to stream large values
+ *   byte[] data = photo.readData();
  *   if (data != null) {
  *     //property value is binary data
  *     continue;
@@ -124,6 +124,7 @@ public class PlaceProperty extends VCardProperty implements HasAltId {
 		this.geoUri = geoUri;
 		uri = null;
 		text = null;
+		markDirty();
 	}
 
 	/**
@@ -142,6 +143,7 @@ public class PlaceProperty extends VCardProperty implements HasAltId {
 		this.uri = uri;
 		geoUri = null;
 		text = null;
+		markDirty();
 	}
 
 	/**
@@ -160,6 +162,7 @@ public class PlaceProperty extends VCardProperty implements HasAltId {
 		this.text = text;
 		geoUri = null;
 		uri = null;
+		markDirty();
 	}
 
 	//@Override
@@ -1,5 +1,6 @@
 package ezvcard.property;
 
+import java.util.Arrays;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
@@ -12,6 +13,7 @@ import ezvcard.VCard;
 import ezvcard.VCardDataType;
 import ezvcard.VCardVersion;
 import ezvcard.ValidationWarning;
+import ezvcard.util.StringUtils;
 
 /*
  Copyright (c) 2012-2021, Michael Angstadt
@@ -51,6 +53,15 @@ public class RawProperty extends TextProperty {
 	private String propertyName;
 	private VCardDataType dataType;
 
+	/**
+	 * The objects that are notified when the property is renamed (null if
+	 * there are none). The array is replaced, never modified, when a listener
+	 * is added or removed. Updates are synchronized, so listeners can be added
+	 * and removed by multiple threads (e.g. by different vCards that share the
+	 * property).
+	 */
+	private volatile NameListener[] nameListeners;
+
 	/**
 	 * Creates a raw property.
 	 * @param propertyName the property name (e.g. "X-GENDER")
@@ -96,6 +107,68 @@ public class RawProperty extends TextProperty {
 	 */
 	public void setPropertyName(String propertyName) {
 		this.propertyName = propertyName;
+		markDirty();
+
+		NameListener[] listeners = nameListeners;
+		if (listeners != null) {
+			for (NameListener listener : listeners) {
+				listener.nameChanged(this);
+			}
+		}
+	}
+
+	/**
+	 * Adds an object that is notified whenever the property is renamed.
+	 * {@link VCard} uses this to keep the index it uses to look up extended
+	 * properties by name up to date. Listeners are not copied by the copy
+	 * constructor.
+	 * @param listener the listener (has no effect if it has already been
+	 * added)
+	 */
+	public synchronized void addNameListener(NameListener listener) {
+		NameListener[] listeners = nameListeners;
+		if (listeners == null) {
+			nameListeners = new NameListener[] { listener };
+			return;
+		}
+
+		for (NameListener existing : listeners) {
+			if (existing == listener) {
+				return;
+			}
+		}
+
+		listeners = Arrays.copyOf(listeners, listeners.length + 1);
+		listeners[listeners.length - 1] = listener;
+		nameListeners = listeners;
+	}
+
+	/**
+	 * Removes an object that is notified whenever the property is renamed.
+	 * @param listener the listener
+	 */
+	public synchronized void removeNameListener(NameListener listener) {
+		NameListener[] listeners = nameListeners;
+		if (listeners == null) {
+			return;
+		}
+
+		for (int i = 0; i < listeners.length; i++) {
+			if (listeners[i] != listener) {
+				continue;
+			}
+
+			if (listeners.length == 1) {
+				nameListeners = null;
+				return;
+			}
+
+			NameListener[] copy = new NameListener[listeners.length - 1];
+			System.arraycopy(listeners, 0, copy, 0, i);
+			System.arraycopy(listeners, i + 1, copy, i, listeners.length - i - 1);
+			nameListeners = copy;
+			return;
+		}
 	}
 
 	/**
@@ -112,6 +185,7 @@ public class RawProperty extends TextProperty {
 	 */
 	public void setDataType(VCardDataType dataType) {
 		this.dataType = dataType;
+		markDirty();
 	}
 
 	@Override
@@ -147,7 +221,7 @@ public class RawProperty extends TextProperty {
 		final int prime = 31;
 		int result = super.hashCode();
 		result = prime * result + ((dataType == null) ? 0 : dataType.hashCode());
-		result = prime * result + ((propertyName == null) ? 0 : propertyName.toLowerCase().hashCode());
+		result = prime * result + ((propertyName == null) ? 0 : StringUtils.hashCodeIgnoreCase(propertyName));
 		return result;
 	}
 
@@ -164,4 +238,16 @@ public class RawProperty extends TextProperty {
 		} else if (!propertyName.equalsIgnoreCase(other.propertyName)) return false;
 		return true;
 	}
+
+	/**
+	 * Receives notifications when a {@link RawProperty} is renamed.
+	 * @see RawProperty#addNameListener
+	 */
+	public interface NameListener {
+		/**
+		 * Called after the property's name has changed.
+		 * @param property the property
+		 */
+		void nameChanged(RawProperty property);
+	}
 }
@@ -153,6 +153,7 @@ public class Related extends VCardProperty implements HasAltId {
 	public void setUri(String uri) {
 		this.uri = uri;
 		text = null;
+		markDirty();
 	}
 
 	/**
@@ -170,6 +171,7 @@ public class Related extends VCardProperty implements HasAltId {
 	public void setText(String text) {
 		this.text = text;
 		uri = null;
+		markDirty();
 	}
 
 	/**
@@ -76,6 +76,7 @@ public class SimpleProperty<T> extends VCardProperty {
 	 */
 	public void setValue(T value) {
 		this.value = value;
+		markDirty();
 	}
 
 	@Override
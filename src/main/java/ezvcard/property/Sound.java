@@ -72,7 +72,8 @@ import ezvcard.parameter.SoundType;
  *     continue;
  *   }
  *   
- *   byte[] data = sound.getData();
+ *   //use openData() instead to stream large values
+ *   byte[] data = sound.readData();
  *   if (data != null) {
  *     //property value is binary data
  *     continue;
@@ -1,6 +1,5 @@
 package ezvcard.property;
 
-import java.util.ArrayList;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
@@ -8,6 +7,7 @@ import java.util.Map;
 import ezvcard.VCard;
 import ezvcard.VCardVersion;
 import ezvcard.ValidationWarning;
+import ezvcard.util.ModCountList;
 
 /*
  Copyright (c) 2012-2021, Michael Angstadt
@@ -72,14 +72,14 @@ import ezvcard.ValidationWarning;
 public class StructuredName extends VCardProperty implements HasAltId {
 	private String family;
 	private String given;
-	private final List<String> additional;
-	private final List<String> prefixes;
-	private final List<String> suffixes;
+	private final ModCountList<String> additional;
+	private final ModCountList<String> prefixes;
+	private final ModCountList<String> suffixes;
 
 	public StructuredName() {
-		additional = new ArrayList<>();
-		prefixes = new ArrayList<>();
-		suffixes = new ArrayList<>();
+		additional = new ModCountList<>();
+		prefixes = new ModCountList<>();
+		suffixes = new ModCountList<>();
 	}
 
 	/**
@@ -90,9 +90,9 @@ public class StructuredName extends VCardProperty implements HasAltId {
 		super(original);
 		family = original.family;
 		given = original.given;
-		additional = new ArrayList<>(original.additional);
-		prefixes = new ArrayList<>(original.prefixes);
-		suffixes = new ArrayList<>(original.suffixes);
+		additional = new ModCountList<>(original.additional);
+		prefixes = new ModCountList<>(original.prefixes);
+		suffixes = new ModCountList<>(original.suffixes);
 	}
 
 	/**
@@ -109,6 +109,7 @@ public class StructuredName extends VCardProperty implements HasAltId {
 	 */
 	public void setFamily(String family) {
 		this.family = family;
+		markDirty();
 	}
 
 	/**
@@ -125,6 +126,7 @@ public class StructuredName extends VCardProperty implements HasAltId {
 	 */
 	public void setGiven(String given) {
 		this.given = given;
+		markDirty();
 	}
 
 	/**
@@ -252,6 +254,11 @@ public class StructuredName extends VCardProperty implements HasAltId {
 		}
 	}
 
+	@Override
+	protected int getModCount() {
+		return super.getModCount() + additional.getModCount() + prefixes.getModCount() + suffixes.getModCount();
+	}
+
 	@Override
 	public StructuredName copy() {
 		return new StructuredName(this);
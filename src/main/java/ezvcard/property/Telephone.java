@@ -122,6 +122,7 @@ public class Telephone extends VCardProperty implements HasAltId {
 	public void setText(String text) {
 		this.text = text;
 		uri = null;
+		markDirty();
 	}
 
 	/**
@@ -145,6 +146,7 @@ public class Telephone extends VCardProperty implements HasAltId {
 	public void setUri(TelUri uri) {
 		text = null;
 		this.uri = uri;
+		markDirty();
 	}
 
 	/**
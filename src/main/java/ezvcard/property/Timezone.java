@@ -143,6 +143,7 @@ public class Timezone extends VCardProperty implements HasAltId {
 	 */
 	public void setOffset(ZoneOffset offset) {
 		this.offset = offset;
+		markDirty();
 	}
 
 	/**
@@ -165,6 +166,7 @@ public class Timezone extends VCardProperty implements HasAltId {
 	 */
 	public void setText(String text) {
 		this.text = text;
+		markDirty();
 	}
 
 	/**
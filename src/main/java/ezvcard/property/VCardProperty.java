@@ -18,6 +18,8 @@ import ezvcard.VCardVersion;
 import ezvcard.ValidationWarning;
 import ezvcard.parameter.Pid;
 import ezvcard.parameter.VCardParameters;
+import ezvcard.util.ModCountList;
+import ezvcard.util.StringUtils;
 
 /*
  Copyright (c) 2012-2021, Michael Angstadt
@@ -64,6 +66,20 @@ public abstract class VCardProperty implements Comparable<VCardProperty> {
 	 */
 	protected VCardParameters parameters;
 
+	/**
+	 * The line the property was read from (see {@link #setOriginalLine}).
+	 */
+	private String originalLine;
+	private VCardVersion originalVersion;
+	private boolean originalCaretDecoding;
+
+	/**
+	 * The property's modification count (see {@link #getModCount}) at the
+	 * time the original line was recorded.
+	 */
+	private int originalModCount;
+	private boolean dirty;
+
 	public VCardProperty() {
 		parameters = new VCardParameters();
 	}
@@ -75,6 +91,12 @@ public abstract class VCardProperty implements Comparable<VCardProperty> {
 	protected VCardProperty(VCardProperty original) {
 		group = original.group;
 		parameters = new VCardParameters(original.parameters);
+		if (!original.isDirty()) {
+			//the modification counts of the copied parameters and value lists start at zero
+			originalLine = original.originalLine;
+			originalVersion = original.originalVersion;
+			originalCaretDecoding = original.originalCaretDecoding;
+		}
 	}
 
 	/**
@@ -189,6 +211,7 @@ public abstract class VCardProperty implements Comparable<VCardProperty> {
 			throw new NullPointerException(Messages.INSTANCE.getExceptionMessage(42));
 		}
 		this.parameters = parameters;
+		dirty = true;
 	}
 
 	/**
@@ -216,6 +239,7 @@ public abstract class VCardProperty implements Comparable<VCardProperty> {
 	 */
 	public void setParameter(String name, String value) {
 		parameters.replace(name, value);
+		dirty = true;
 	}
 
 	/**
@@ -225,6 +249,7 @@ public abstract class VCardProperty implements Comparable<VCardProperty> {
 	 */
 	public void addParameter(String name, String value) {
 		parameters.put(name, value);
+		dirty = true;
 	}
 
 	/**
@@ -233,6 +258,7 @@ public abstract class VCardProperty implements Comparable<VCardProperty> {
 	 */
 	public void removeParameter(String name) {
 		parameters.removeAll(name);
+		dirty = true;
 	}
 
 	/**
@@ -249,6 +275,95 @@ public abstract class VCardProperty implements Comparable<VCardProperty> {
 	 */
 	public void setGroup(String group) {
 		this.group = group;
+		dirty = true;
+	}
+
+	/**
+	 * <p>
+	 * Records the plain-text line that this property was unmarshalled from.
+	 * This is called by {@link ezvcard.io.text.VCardReader VCardReader} when
+	 * original line caching is enabled. It should be called after the property
+	 * has been fully unmarshalled.
+	 * </p>
+	 * <p>
+	 * As long as the property is not modified afterwards, the line is written
+	 * as-is (instead of being marshalled again) when the property is written to
+	 * a plain-text vCard of the same version.
+	 * </p>
+	 * @param line the unfolded line (e.g. "TEL;TYPE=home:+1 555 555 1234") or
+	 * null to discard the line
+	 * @param version the version of the vCard the line was read from
+	 * @param caretDecoding true if circumflex accent decoding was enabled when
+	 * the line was read, false if not
+	 * @see ezvcard.io.text.VCardReader#setOriginalLineCachingEnabled
+	 */
+	public void setOriginalLine(String line, VCardVersion version, boolean caretDecoding) {
+		originalLine = line;
+		originalVersion = version;
+		originalCaretDecoding = caretDecoding;
+		originalModCount = getModCount();
+		dirty = false;
+	}
+
+	/**
+	 * Gets the plain-text line that this property was unmarshalled from,
+	 * provided that the property has not been modified since.
+	 * @param version the version of the vCard that is being written
+	 * @param caretEncoding true if circumflex accent encoding is enabled for
+	 * the vCard that is being written, false if not
+	 * @return the unfolded line or null if there is no line, if the property
+	 * has been modified, if the line was read from a vCard of a different
+	 * version, or if the line contains a circumflex accent and was read with a
+	 * different circumflex accent setting
+	 * @see #setOriginalLine
+	 */
+	public String getOriginalLine(VCardVersion version, boolean caretEncoding) {
+		if (version != originalVersion || isDirty()) {
+			return null;
+		}
+		if (caretEncoding != originalCaretDecoding && originalLine.indexOf('^') >= 0) {
+			return null;
+		}
+		return originalLine;
+	}
+
+	/**
+	 * <p>
+	 * Determines if the property has been modified since it was read from a
+	 * plain-text vCard (see {@link #setOriginalLine}).
+	 * </p>
+	 * <p>
+	 * The setter methods of the property classes mark the property as
+	 * modified. Changes made to the {@link VCardParameters} object or to a
+	 * property's value lists (such as {@link Address#getStreetAddresses}) are
+	 * detected by their modification counts (see {@link #getModCount}).
+	 * Changes made to mutable value objects (such as the DOM of an {@link Xml}
+	 * property) cannot be detected, so {@link #markDirty} must be called after
+	 * making them.
+	 * </p>
+	 * @return true if the property has been modified or if it does not have an
+	 * original line, false if not
+	 */
+	public boolean isDirty() {
+		return originalLine == null || dirty || getModCount() != originalModCount;
+	}
+
+	/**
+	 * Marks the property as modified, which prevents its original line from
+	 * being written (see {@link #setOriginalLine}).
+	 */
+	public void markDirty() {
+		dirty = true;
+	}
+
+	/**
+	 * Gets a number that changes every time the property's parameters are
+	 * modified. Child classes that hand out modifiable lists of values must
+	 * add the modification counts of those lists (see {@link ModCountList}).
+	 * @return the modification count
+	 */
+	protected int getModCount() {
+		return parameters.getModCount();
 	}
 
 	/**
@@ -341,7 +456,7 @@ public abstract class VCardProperty implements Comparable<VCardProperty> {
 	public int hashCode() {
 		final int prime = 31;
 		int result = 1;
-		result = prime * result + ((group == null) ? 0 : group.toLowerCase().hashCode());
+		result = prime * result + ((group == null) ? 0 : StringUtils.hashCodeIgnoreCase(group));
 		result = prime * result + parameters.hashCode();
 		return result;
 	}
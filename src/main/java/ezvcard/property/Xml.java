@@ -139,6 +139,7 @@ public class Xml extends VCardProperty implements HasAltId {
 	 */
 	public void setValue(Document value) {
 		this.value = value;
+		markDirty();
 	}
 
 	//@Override
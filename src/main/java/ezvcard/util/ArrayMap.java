@@ -0,0 +1,279 @@
+package ezvcard.util;
+
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Arrays;
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.Set;
+
+/*
+ Copyright (c) 2012-2021, Michael Angstadt
+ All rights reserved.
+
+ Redistribution and use in source and binary forms, with or without
+ modification, are permitted provided that the following conditions are met: 
+
+ 1. Redistributions of source code must retain the above copyright notice, this
+ list of conditions and the following disclaimer. 
+ 2. Redistributions in binary form must reproduce the above copyright notice,
+ this list of conditions and the following disclaimer in the documentation
+ and/or other materials provided with the distribution. 
+
+ THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+
+ The views and conclusions contained in the software and documentation are those
+ of the authors and should not be interpreted as representing official policies, 
+ either expressed or implied, of the FreeBSD Project.
+ */
+
+/**
+ * <p>
+ * A compact, insertion-ordered map for maps that usually contain only a few
+ * entries.
+ * </p>
+ * <p>
+ * Up to {@value #THRESHOLD} entries are stored in a single flat array of
+ * alternating keys and values, and are looked up with a linear scan. This
+ * takes much less memory than a {@link LinkedHashMap}, which allocates a
+ * table plus an entry object for every key, and is just as fast for a
+ * handful of keys. Once the map grows past the threshold, its entries are
+ * moved into a {@link LinkedHashMap}. Null keys and values are permitted.
+ * </p>
+ * <p>
+ * This class is not thread-safe.
+ * </p>
+ * @author Michael Angstadt
+ * @param <K> the key
+ * @param <V> the value
+ */
+public class ArrayMap<K, V> extends AbstractMap<K, V> {
+	/**
+	 * The number of entries the map can hold before it switches to a
+	 * {@link LinkedHashMap}.
+	 */
+	public static final int THRESHOLD = 8;
+
+	private static final Object[] EMPTY = {};
+
+	/**
+	 * The keys and values, alternating (k0, v0, k1, v1, ...).
+	 */
+	private Object[] table = EMPTY;
+	private int size;
+
+	/**
+	 * Holds the entries once the map has grown past the threshold (null until
+	 * then).
+	 */
+	private Map<K, V> delegate;
+
+	/**
+	 * Counts structural modifications so iterators can fail fast.
+	 */
+	private int modCount;
+
+	/**
+	 * Creates an empty map.
+	 */
+	public ArrayMap() {
+		//empty
+	}
+
+	/**
+	 * Creates a map that contains the entries of the given map.
+	 * @param map the map to copy
+	 */
+	public ArrayMap(Map<? extends K, ? extends V> map) {
+		putAll(map);
+	}
+
+	@Override
+	public int size() {
+		return (delegate == null) ? size : delegate.size();
+	}
+
+	@Override
+	public boolean containsKey(Object key) {
+		return (delegate == null) ? indexOf(key) >= 0 : delegate.containsKey(key);
+	}
+
+	@Override
+	@SuppressWarnings("unchecked")
+	public V get(Object key) {
+		if (delegate != null) {
+			return delegate.get(key);
+		}
+
+		int i = indexOf(key);
+		return (i < 0) ? null : (V) table[i + 1];
+	}
+
+	@Override
+	@SuppressWarnings("unchecked")
+	public V put(K key, V value) {
+		if (delegate != null) {
+			return delegate.put(key, value);
+		}
+
+		int i = indexOf(key);
+		if (i >= 0) {
+			V old = (V) table[i + 1];
+			table[i + 1] = value;
+			return old;
+		}
+
+		modCount++;
+		if (size == THRESHOLD) {
+			delegate = new LinkedHashMap<>(THRESHOLD * 4);
+			for (int j = 0; j < size * 2; j += 2) {
+				delegate.put((K) table[j], (V) table[j + 1]);
+			}
+			table = EMPTY;
+			size = 0;
+			return delegate.put(key, value);
+		}
+
+		if (size * 2 == table.length) {
+			table = Arrays.copyOf(table, Math.max(4, table.length * 2));
+		}
+		table[size * 2] = key;
+		table[size * 2 + 1] = value;
+		size++;
+		return null;
+	}
+
+	@Override
+	@SuppressWarnings("unchecked")
+	public V remove(Object key) {
+		if (delegate != null) {
+			return delegate.remove(key);
+		}
+
+		int i = indexOf(key);
+		if (i < 0) {
+			return null;
+		}
+
+		V old = (V) table[i + 1];
+		removeAt(i);
+		return old;
+	}
+
+	@Override
+	public void clear() {
+		modCount++;
+		delegate = null;
+		table = EMPTY;
+		size = 0;
+	}
+
+	@Override
+	public Set<Map.Entry<K, V>> entrySet() {
+		return new EntrySet();
+	}
+
+	private int indexOf(Object key) {
+		for (int i = 0; i < size * 2; i += 2) {
+			if (Objects.equals(key, table[i])) {
+				return i;
+			}
+		}
+		return -1;
+	}
+
+	private void removeAt(int i) {
+		modCount++;
+		System.arraycopy(table, i + 2, table, i, size * 2 - i - 2);
+		size--;
+		table[size * 2] = null;
+		table[size * 2 + 1] = null;
+	}
+
+	private class EntrySet extends AbstractSet<Map.Entry<K, V>> {
+		@Override
+		public Iterator<Map.Entry<K, V>> iterator() {
+			return (delegate == null) ? new ArrayIterator() : delegate.entrySet().iterator();
+		}
+
+		@Override
+		public int size() {
+			return ArrayMap.this.size();
+		}
+
+		@Override
+		public void clear() {
+			ArrayMap.this.clear();
+		}
+	}
+
+	private class ArrayIterator implements Iterator<Map.Entry<K, V>> {
+		private int next = 0;
+		private int lastReturned = -1;
+		private int expectedModCount = modCount;
+
+		@Override
+		public boolean hasNext() {
+			return next < size * 2;
+		}
+
+		@Override
+		@SuppressWarnings("unchecked")
+		public Map.Entry<K, V> next() {
+			checkForComodification();
+			if (!hasNext()) {
+				throw new NoSuchElementException();
+			}
+
+			lastReturned = next;
+			next += 2;
+			return new ArrayEntry((K) table[lastReturned], (V) table[lastReturned + 1]);
+		}
+
+		@Override
+		public void remove() {
+			if (lastReturned < 0) {
+				throw new IllegalStateException();
+			}
+			checkForComodification();
+
+			removeAt(lastReturned);
+			next = lastReturned;
+			lastReturned = -1;
+			expectedModCount = modCount;
+		}
+
+		private void checkForComodification() {
+			if (modCount != expectedModCount) {
+				throw new ConcurrentModificationException();
+			}
+		}
+	}
+
+	private class ArrayEntry extends SimpleEntry<K, V> {
+		private static final long serialVersionUID = 1L;
+
+		public ArrayEntry(K key, V value) {
+			super(key, value);
+		}
+
+		@Override
+		public V setValue(V value) {
+			ArrayMap.this.put(getKey(), value);
+			return super.setValue(value);
+		}
+	}
+}
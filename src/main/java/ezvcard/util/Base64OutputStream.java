@@ -0,0 +1,181 @@
+package ezvcard.util;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.Writer;
+
+import ezvcard.Messages;
+import ezvcard.util.org.apache.commons.codec.binary.Base64;
+
+/*
+ Copyright (c) 2012-2021, Michael Angstadt
+ All rights reserved.
+
+ Redistribution and use in source and binary forms, with or without
+ modification, are permitted provided that the following conditions are met: 
+
+ 1. Redistributions of source code must retain the above copyright notice, this
+ list of conditions and the following disclaimer. 
+ 2. Redistributions in binary form must reproduce the above copyright notice,
+ this list of conditions and the following disclaimer in the documentation
+ and/or other materials provided with the distribution. 
+
+ THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+
+ The views and conclusions contained in the software and documentation are those
+ of the authors and should not be interpreted as representing official policies, 
+ either expressed or implied, of the FreeBSD Project.
+ */
+
+/**
+ * <p>
+ * Encodes binary data in base64 as it is written, sending the encoded
+ * characters directly to a {@link Writer}. This allows large binary values to
+ * be serialized without first building the entire base64 string in memory. The
+ * output is identical to that of {@link Base64#encodeBase64String(byte[])}
+ * (standard alphabet, padded, no line breaks).
+ * </p>
+ * <p>
+ * The final, partial group of bytes (and its padding) is not written until the
+ * stream is closed. Closing the stream does NOT close the underlying writer.
+ * </p>
+ * <p>
+ * This class is not thread-safe.
+ * </p>
+ * @author Michael Angstadt
+ */
+public class Base64OutputStream extends OutputStream {
+	private static final char[] ALPHABET = "ABCDEFGHIJKLMNOPQRSTUVWXYZabcdefghijklmnopqrstuvwxyz0123456789+/".toCharArray();
+
+	private final Writer writer;
+	private final char[] chars = new char[4096];
+	private int pos = 0;
+	private int buffer = 0;
+	private int bufferedBytes = 0;
+	private boolean closed = false;
+
+	/**
+	 * @param writer the writer to send the base64 characters to
+	 */
+	public Base64OutputStream(Writer writer) {
+		this.writer = writer;
+	}
+
+	@Override
+	public void write(int b) throws IOException {
+		ensureOpen();
+		buffer = (buffer << 8) | (b & 0xff);
+		if (++bufferedBytes == 3) {
+			encodeBuffer();
+		}
+	}
+
+	@Override
+	public void write(byte[] b, int off, int len) throws IOException {
+		ensureOpen();
+		int end = off + len;
+		int i = off;
+
+		//complete the group that was started by a previous write
+		while (bufferedBytes > 0 && i < end) {
+			write(b[i++]);
+		}
+
+		//encode whole groups directly
+		while (end - i >= 3) {
+			if (chars.length - pos < 4) {
+				drain();
+			}
+
+			int group = ((b[i] & 0xff) << 16) | ((b[i + 1] & 0xff) << 8) | (b[i + 2] & 0xff);
+			chars[pos++] = ALPHABET[(group >> 18) & 0x3f];
+			chars[pos++] = ALPHABET[(group >> 12) & 0x3f];
+			chars[pos++] = ALPHABET[(group >> 6) & 0x3f];
+			chars[pos++] = ALPHABET[group & 0x3f];
+			i += 3;
+		}
+
+		//save the leftover bytes for the next write
+		while (i < end) {
+			write(b[i++]);
+		}
+	}
+
+	/**
+	 * Sends the characters that have been encoded so far to the underlying
+	 * writer and flushes it. The final, partial group of bytes is not written
+	 * until the stream is closed.
+	 * @throws IOException if there's a problem writing to the writer
+	 */
+	@Override
+	public void flush() throws IOException {
+		ensureOpen();
+		drain();
+		writer.flush();
+	}
+
+	/**
+	 * Writes the final group of bytes, along with any necessary padding
+	 * characters. The underlying writer is NOT closed.
+	 * @throws IOException if there's a problem writing to the writer
+	 */
+	@Override
+	public void close() throws IOException {
+		if (closed) {
+			return;
+		}
+
+		if (bufferedBytes > 0) {
+			if (chars.length - pos < 4) {
+				drain();
+			}
+
+			int padding = 3 - bufferedBytes;
+			int group = buffer << (padding * 8);
+			chars[pos++] = ALPHABET[(group >> 18) & 0x3f];
+			chars[pos++] = ALPHABET[(group >> 12) & 0x3f];
+			chars[pos++] = (padding == 2) ? '=' : ALPHABET[(group >> 6) & 0x3f];
+			chars[pos++] = '=';
+			buffer = 0;
+			bufferedBytes = 0;
+		}
+
+		drain();
+		closed = true;
+	}
+
+	private void encodeBuffer() throws IOException {
+		if (chars.length - pos < 4) {
+			drain();
+		}
+
+		chars[pos++] = ALPHABET[(buffer >> 18) & 0x3f];
+		chars[pos++] = ALPHABET[(buffer >> 12) & 0x3f];
+		chars[pos++] = ALPHABET[(buffer >> 6) & 0x3f];
+		chars[pos++] = ALPHABET[buffer & 0x3f];
+		buffer = 0;
+		bufferedBytes = 0;
+	}
+
+	private void drain() throws IOException {
+		if (pos > 0) {
+			writer.write(chars, 0, pos);
+			pos = 0;
+		}
+	}
+
+	private void ensureOpen() throws IOException {
+		if (closed) {
+			throw new IOException(Messages.INSTANCE.getExceptionMessage(49));
+		}
+	}
+}
@@ -0,0 +1,58 @@
+package ezvcard.util;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+/*
+ Copyright (c) 2012-2021, Michael Angstadt
+ All rights reserved.
+
+ Redistribution and use in source and binary forms, with or without
+ modification, are permitted provided that the following conditions are met: 
+
+ 1. Redistributions of source code must retain the above copyright notice, this
+ list of conditions and the following disclaimer. 
+ 2. Redistributions in binary form must reproduce the above copyright notice,
+ this list of conditions and the following disclaimer in the documentation
+ and/or other materials provided with the distribution. 
+
+ THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+
+ The views and conclusions contained in the software and documentation are those
+ of the authors and should not be interpreted as representing official policies, 
+ either expressed or implied, of the FreeBSD Project.
+ */
+
+/**
+ * <p>
+ * Stores large binary property values (such as embedded photos) outside of the
+ * Java heap while vCards are being parsed. The decoded data is streamed to the
+ * storage, and the property object only holds a {@link BinaryHandle} to it.
+ * </p>
+ * <p>
+ * Implementations must be thread-safe if they are used by a reader that parses
+ * vCards in parallel.
+ * </p>
+ * @author Michael Angstadt
+ * @see TempFileBinaryStorage
+ * @see ezvcard.io.StreamReader#setBinaryStorage
+ */
+public interface BinaryStorage {
+	/**
+	 * Stores binary data.
+	 * @param in the data to store (should be read until the end of the stream
+	 * is reached; does not need to be closed)
+	 * @return a handle to the stored data
+	 * @throws IOException if the data cannot be stored
+	 */
+	BinaryHandle store(InputStream in) throws IOException;
+}
@@ -0,0 +1,294 @@
+package ezvcard.util;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.PushbackInputStream;
+import java.io.Reader;
+import java.nio.charset.Charset;
+import java.nio.file.Files;
+import java.nio.file.OpenOption;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+import java.util.zip.Inflater;
+import java.util.zip.InflaterInputStream;
+
+import ezvcard.Messages;
+
+/*
+ Copyright (c) 2012-2021, Michael Angstadt
+ All rights reserved.
+
+ Redistribution and use in source and binary forms, with or without
+ modification, are permitted provided that the following conditions are met: 
+
+ 1. Redistributions of source code must retain the above copyright notice, this
+ list of conditions and the following disclaimer. 
+ 2. Redistributions in binary form must reproduce the above copyright notice,
+ this list of conditions and the following disclaimer in the documentation
+ and/or other materials provided with the distribution. 
+
+ THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+
+ The views and conclusions contained in the software and documentation are those
+ of the authors and should not be interpreted as representing official policies, 
+ either expressed or implied, of the FreeBSD Project.
+ */
+
+/**
+ * <p>
+ * The compression formats that the vCard readers and writers support when
+ * reading from and writing to files.
+ * </p>
+ * <p>
+ * When a file is read, its compression format is detected by looking at the
+ * first two bytes of the file. When a file is written, the compression format
+ * is determined by the file's extension (see {@link #fromFileName}).
+ * </p>
+ * <p>
+ * <b>Example:</b>
+ * </p>
+ * 
+ * <pre class="brush:java">
+ * //compressed automatically because of the file extension
+ * Ezvcard.write(vcards).go(Paths.get("contacts.vcf.gz"));
+ * 
+ * //decompressed automatically
+ * List&lt;VCard&gt; vcards = Ezvcard.parse(Paths.get("contacts.vcf.gz")).all();
+ * </pre>
+ * @author Michael Angstadt
+ */
+public enum Compression {
+	/**
+	 * No compression.
+	 */
+	NONE,
+
+	/**
+	 * gzip compression (RFC 1952). Used when writing to files that end in
+	 * ".gz" or ".gzip".
+	 */
+	GZIP,
+
+	/**
+	 * zlib-wrapped deflate compression (RFC 1950). Used when writing to files
+	 * that end in ".zz", ".zlib", or ".deflate".
+	 */
+	DEFLATE;
+
+	/**
+	 * The size of the buffers that the compressors and decompressors use.
+	 * Larger buffers mean fewer (but larger) reads and writes to the file.
+	 */
+	static final int BUFFER_SIZE = 64 * 1024;
+
+	/**
+	 * Determines the compression format to use when writing to a file, based on
+	 * the file's extension (case insensitive).
+	 * @param file the file
+	 * @return the compression format
+	 */
+	public static Compression fromFileName(Path file) {
+		Path fileName = file.getFileName();
+		if (fileName == null) {
+			return NONE;
+		}
+
+		String name = fileName.toString().toLowerCase();
+		if (name.endsWith(".gz") || name.endsWith(".gzip")) {
+			return GZIP;
+		}
+		if (name.endsWith(".zz") || name.endsWith(".zlib") || name.endsWith(".deflate")) {
+			return DEFLATE;
+		}
+		return NONE;
+	}
+
+	/**
+	 * Determines the compression format of a file by looking at its first two
+	 * bytes.
+	 * @param file the file
+	 * @return the compression format
+	 * @throws IOException if there's a problem reading the file
+	 */
+	public static Compression detect(Path file) throws IOException {
+		try (InputStream in = Files.newInputStream(file)) {
+			int b0 = in.read();
+			int b1 = (b0 < 0) ? -1 : in.read();
+			return detect(b0, b1);
+		}
+	}
+
+	private static Compression detect(int b0, int b1) {
+		if (b0 < 0 || b1 < 0) {
+			return NONE;
+		}
+
+		if (b0 == 0x1f && b1 == 0x8b) {
+			return GZIP;
+		}
+
+		/*
+		 * A zlib header starts with 0x78 when the default window size is used,
+		 * and the first two bytes, read as a big-endian number, are a multiple
+		 * of 31.
+		 */
+		if (b0 == 0x78 && ((b0 << 8) | b1) % 31 == 0) {
+			return DEFLATE;
+		}
+
+		return NONE;
+	}
+
+	/**
+	 * Opens a file for reading, decompressing its contents if it is
+	 * compressed.
+	 * @param file the file
+	 * @return the input stream
+	 * @throws IOException if there's a problem opening the file
+	 */
+	public static InputStream newInputStream(Path file) throws IOException {
+		return decompress(Files.newInputStream(file));
+	}
+
+	/**
+	 * Opens a file for reading, decompressing its contents if it is
+	 * compressed. Just like {@link Files#newBufferedReader(Path, Charset)},
+	 * the reader throws an exception if it encounters malformed character
+	 * data.
+	 * @param file the file
+	 * @param charset the character set the file is encoded in
+	 * @return the reader
+	 * @throws IOException if there's a problem opening the file
+	 */
+	public static Reader newReader(Path file, Charset charset) throws IOException {
+		return new BufferedReader(new InputStreamReader(newInputStream(file), charset.newDecoder()));
+	}
+
+	/**
+	 * Wraps an input stream in a decompressing input stream if the data is
+	 * compressed. The compression format is detected by reading the first two
+	 * bytes of the stream.
+	 * @param in the input stream
+	 * @return the decompressing input stream or an input stream that returns
+	 * the data as-is if the data is not compressed
+	 * @throws IOException if there's a problem reading from the input stream
+	 */
+	public static InputStream decompress(InputStream in) throws IOException {
+		PushbackInputStream pushback = new PushbackInputStream(in, 2);
+		int b0 = pushback.read();
+		int b1 = (b0 < 0) ? -1 : pushback.read();
+		if (b1 >= 0) {
+			pushback.unread(b1);
+		}
+		if (b0 >= 0) {
+			pushback.unread(b0);
+		}
+
+		switch (detect(b0, b1)) {
+		case GZIP:
+			return new GZIPInputStream(pushback, BUFFER_SIZE);
+		case DEFLATE:
+			return new InflaterInputStream(pushback, new Inflater(), BUFFER_SIZE) {
+				@Override
+				public void close() throws IOException {
+					try {
+						super.close();
+					} finally {
+						inf.end();
+					}
+				}
+			};
+		default:
+			return pushback;
+		}
+	}
+
+	/**
+	 * Opens a file for writing, compressing the data according to the file's
+	 * extension (see {@link #fromFileName}).
+	 * @param file the file
+	 * @param forkJoinPool if not null, and the file is gzip-compressed, the
+	 * data will be compressed in parallel using this thread pool (see
+	 * {@link ParallelGzipOutputStream})
+	 * @param options options specifying how the file is opened (see
+	 * {@link Files#newOutputStream})
+	 * @return the output stream
+	 * @throws IOException if there's a problem opening the file
+	 * @throws IllegalArgumentException if an attempt is made to append to a
+	 * file that uses {@link #DEFLATE} compression (zlib streams cannot be
+	 * concatenated)
+	 */
+	public static OutputStream newOutputStream(Path file, ForkJoinPool forkJoinPool, OpenOption... options) throws IOException {
+		Compression compression = fromFileName(file);
+		if (compression == DEFLATE && Arrays.asList(options).contains(StandardOpenOption.APPEND)) {
+			throw Messages.INSTANCE.getIllegalArgumentException(47, file);
+		}
+
+		OutputStream out = Files.newOutputStream(file, options);
+		try {
+			return compression.compress(out, forkJoinPool);
+		} catch (IOException e) {
+			out.close();
+			throw e;
+		}
+	}
+
+	/**
+	 * Wraps an output stream in a compressing output stream.
+	 * @param out the output stream
+	 * @return the compressing output stream or the given output stream if this
+	 * is {@link #NONE}
+	 * @throws IOException if there's a problem writing to the output stream
+	 */
+	public OutputStream compress(OutputStream out) throws IOException {
+		return compress(out, null);
+	}
+
+	/**
+	 * Wraps an output stream in a compressing output stream.
+	 * @param out the output stream
+	 * @param forkJoinPool if not null, and this is {@link #GZIP}, the data will
+	 * be compressed in parallel using this thread pool (see
+	 * {@link ParallelGzipOutputStream})
+	 * @return the compressing output stream or the given output stream if this
+	 * is {@link #NONE}
+	 * @throws IOException if there's a problem writing to the output stream
+	 */
+	public OutputStream compress(OutputStream out, ForkJoinPool forkJoinPool) throws IOException {
+		switch (this) {
+		case GZIP:
+			return (forkJoinPool == null) ? new GZIPOutputStream(out, BUFFER_SIZE) : new ParallelGzipOutputStream(out, forkJoinPool);
+		case DEFLATE:
+			return new DeflaterOutputStream(out, new Deflater(), BUFFER_SIZE) {
+				@Override
+				public void close() throws IOException {
+					try {
+						super.close();
+					} finally {
+						def.end();
+					}
+				}
+			};
+		default:
+			return out;
+		}
+	}
+}
@@ -2,6 +2,9 @@ package ezvcard.util;
 
 import java.io.Closeable;
 import java.io.IOException;
+import java.io.InputStream;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
 
 /*
  Copyright (c) 2012-2021, Michael Angstadt
@@ -50,6 +53,77 @@ public final class IOUtils {
 		}
 	}
 
+	/**
+	 * Determines if two streams contain the same bytes. Neither stream is
+	 * closed.
+	 * @param in1 the first stream
+	 * @param in2 the second stream
+	 * @return true if the streams contain the same bytes, false if not
+	 * @throws IOException if there's a problem reading from either stream
+	 */
+	public static boolean contentEquals(InputStream in1, InputStream in2) throws IOException {
+		byte[] buffer1 = new byte[8192];
+		byte[] buffer2 = new byte[8192];
+		while (true) {
+			int read1 = readFully(in1, buffer1);
+			int read2 = readFully(in2, buffer2);
+			if (read1 != read2) {
+				return false;
+			}
+			for (int i = 0; i < read1; i++) {
+				if (buffer1[i] != buffer2[i]) {
+					return false;
+				}
+			}
+			if (read1 < buffer1.length) {
+				return true;
+			}
+		}
+	}
+
+	private static int readFully(InputStream in, byte[] buffer) throws IOException {
+		int total = 0;
+		while (total < buffer.length) {
+			int read = in.read(buffer, total, buffer.length - total);
+			if (read < 0) {
+				break;
+			}
+			total += read;
+		}
+		return total;
+	}
+
+	/**
+	 * <p>
+	 * Waits for a task that was submitted to a {@link ForkJoinPool} to finish
+	 * and returns its result.
+	 * </p>
+	 * <p>
+	 * {@link ForkJoinTask#join} wraps checked exceptions in a
+	 * {@link RuntimeException}, and wraps that again if the task ran in another
+	 * thread. This method walks through those wrappers and re-throws the
+	 * original {@link IOException}, if that is what the task threw.
+	 * </p>
+	 * @param <T> the task's result type
+	 * @param task the task
+	 * @return the task's result
+	 * @throws IOException if the task threw an {@link IOException}
+	 */
+	public static <T> T join(ForkJoinTask<T> task) throws IOException {
+		try {
+			return task.join();
+		} catch (RuntimeException e) {
+			Throwable cause = e;
+			while (cause.getClass() == RuntimeException.class && cause.getCause() != null) {
+				cause = cause.getCause();
+			}
+			if (cause instanceof IOException) {
+				throw (IOException) cause;
+			}
+			throw e;
+		}
+	}
+
 	private IOUtils() {
 		//hide
 	}
@@ -68,6 +68,11 @@ import java.util.Set;
 public class ListMultimap<K, V> implements Iterable<Map.Entry<K, List<V>>> {
 	private final Map<K, List<V>> map;
 
+	/**
+	 * The number of times the multimap has been modified.
+	 */
+	private int modCount;
+
 	/**
 	 * Creates an empty multimap.
 	 */
@@ -125,10 +130,11 @@ public class ListMultimap<K, V> implements Iterable<Map.Entry<K, List<V>>> {
 		key = sanitizeKey(key);
 		List<V> list = map.get(key);
 		if (list == null) {
-			list = new ArrayList<>();
+			list = new ArrayList<>(1);
 			map.put(key, list);
 		}
 		list.add(value);
+		modCount++;
 	}
 
 	/**
@@ -144,10 +150,11 @@ public class ListMultimap<K, V> implements Iterable<Map.Entry<K, List<V>>> {
 		key = sanitizeKey(key);
 		List<V> list = map.get(key);
 		if (list == null) {
-			list = new ArrayList<>();
+			list = new ArrayList<>(values.size());
 			map.put(key, list);
 		}
 		list.addAll(values);
+		modCount++;
 	}
 
 	/**
@@ -208,6 +215,9 @@ public class ListMultimap<K, V> implements Iterable<Map.Entry<K, List<V>>> {
 		if (values.isEmpty()) {
 			map.remove(key);
 		}
+		if (success) {
+			modCount++;
+		}
 		return success;
 	}
 
@@ -226,6 +236,7 @@ public class ListMultimap<K, V> implements Iterable<Map.Entry<K, List<V>>> {
 
 		List<V> unmodifiableCopy = Collections.unmodifiableList(new ArrayList<>(removed));
 		removed.clear();
+		modCount++;
 		return unmodifiableCopy;
 	}
 
@@ -265,6 +276,7 @@ public class ListMultimap<K, V> implements Iterable<Map.Entry<K, List<V>>> {
 			value.clear();
 		}
 		map.clear();
+		modCount++;
 	}
 
 	/**
@@ -331,6 +343,16 @@ public class ListMultimap<K, V> implements Iterable<Map.Entry<K, List<V>>> {
 		return map;
 	}
 
+	/**
+	 * Gets the number of times the multimap has been modified, either directly
+	 * or through one of the lists returned by {@link #get}. Modifications made
+	 * to the map returned by {@link #getMap} are not counted.
+	 * @return the modification count
+	 */
+	public int getModCount() {
+		return modCount;
+	}
+
 	/**
 	 * Modifies a given key before it is used to interact with the internal map.
 	 * This method is meant to be overridden by child classes if necessary.
@@ -440,8 +462,11 @@ public class ListMultimap<K, V> implements Iterable<Map.Entry<K, List<V>>> {
 			}
 			int oldSize = size(); // calls refreshIfEmpty
 			boolean changed = getDelegate().addAll(index, collection);
-			if (changed && oldSize == 0) {
-				addToMap();
+			if (changed) {
+				modCount++;
+				if (oldSize == 0) {
+					addToMap();
+				}
 			}
 			return changed;
 		}
@@ -453,13 +478,16 @@ public class ListMultimap<K, V> implements Iterable<Map.Entry<K, List<V>>> {
 
 		public V set(int index, V element) {
 			refreshIfEmpty();
-			return getDelegate().set(index, element);
+			V replaced = getDelegate().set(index, element);
+			modCount++;
+			return replaced;
 		}
 
 		public void add(int index, V element) {
 			refreshIfEmpty();
 			boolean wasEmpty = getDelegate().isEmpty();
 			getDelegate().add(index, element);
+			modCount++;
 			if (wasEmpty) {
 				addToMap();
 			}
@@ -468,6 +496,7 @@ public class ListMultimap<K, V> implements Iterable<Map.Entry<K, List<V>>> {
 		public V remove(int index) {
 			refreshIfEmpty();
 			V value = getDelegate().remove(index);
+			modCount++;
 			removeIfEmpty();
 			return value;
 		}
@@ -594,8 +623,11 @@ public class ListMultimap<K, V> implements Iterable<Map.Entry<K, List<V>>> {
 			refreshIfEmpty();
 			boolean wasEmpty = delegate.isEmpty();
 			boolean changed = delegate.add(value);
-			if (changed && wasEmpty) {
-				addToMap();
+			if (changed) {
+				modCount++;
+				if (wasEmpty) {
+					addToMap();
+				}
 			}
 			return changed;
 		}
@@ -613,8 +645,11 @@ public class ListMultimap<K, V> implements Iterable<Map.Entry<K, List<V>>> {
 			}
 			int oldSize = size(); // calls refreshIfEmpty
 			boolean changed = delegate.addAll(collection);
-			if (changed && oldSize == 0) {
-				addToMap();
+			if (changed) {
+				modCount++;
+				if (oldSize == 0) {
+					addToMap();
+				}
 			}
 			return changed;
 		}
@@ -638,6 +673,7 @@ public class ListMultimap<K, V> implements Iterable<Map.Entry<K, List<V>>> {
 				return;
 			}
 			delegate.clear();
+			modCount++;
 			removeIfEmpty(); // maybe shouldn't be removed if this is a sublist
 		}
 
@@ -646,6 +682,7 @@ public class ListMultimap<K, V> implements Iterable<Map.Entry<K, List<V>>> {
 			refreshIfEmpty();
 			boolean changed = delegate.remove(o);
 			if (changed) {
+				modCount++;
 				removeIfEmpty();
 			}
 			return changed;
@@ -659,6 +696,7 @@ public class ListMultimap<K, V> implements Iterable<Map.Entry<K, List<V>>> {
 			refreshIfEmpty();
 			boolean changed = delegate.removeAll(collection);
 			if (changed) {
+				modCount++;
 				removeIfEmpty();
 			}
 			return changed;
@@ -669,6 +707,7 @@ public class ListMultimap<K, V> implements Iterable<Map.Entry<K, List<V>>> {
 			refreshIfEmpty();
 			boolean changed = delegate.retainAll(c);
 			if (changed) {
+				modCount++;
 				removeIfEmpty();
 			}
 			return changed;
@@ -705,11 +744,13 @@ public class ListMultimap<K, V> implements Iterable<Map.Entry<K, List<V>>> {
 
 			public void set(V value) {
 				getDelegateIterator().set(value);
+				modCount++;
 			}
 
 			public void add(V value) {
 				boolean wasEmpty = isEmpty();
 				getDelegateIterator().add(value);
+				modCount++;
 				if (wasEmpty) {
 					addToMap();
 				}
@@ -738,6 +779,7 @@ public class ListMultimap<K, V> implements Iterable<Map.Entry<K, List<V>>> {
 
 			public void remove() {
 				delegateIterator.remove();
+				modCount++;
 				removeIfEmpty();
 			}
 
@@ -0,0 +1,212 @@
+package ezvcard.util;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.CharBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.nio.charset.CharsetDecoder;
+import java.nio.charset.CoderResult;
+import java.nio.charset.CodingErrorAction;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+import ezvcard.Messages;
+
+/*
+ Copyright (c) 2012-2021, Michael Angstadt
+ All rights reserved.
+
+ Redistribution and use in source and binary forms, with or without
+ modification, are permitted provided that the following conditions are met: 
+
+ 1. Redistributions of source code must retain the above copyright notice, this
+ list of conditions and the following disclaimer. 
+ 2. Redistributions in binary form must reproduce the above copyright notice,
+ this list of conditions and the following disclaimer in the documentation
+ and/or other materials provided with the distribution. 
+
+ THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+
+ The views and conclusions contained in the software and documentation are those
+ of the authors and should not be interpreted as representing official policies, 
+ either expressed or implied, of the FreeBSD Project.
+ */
+
+/**
+ * <p>
+ * Reads the contents of a file by mapping it into memory (see
+ * {@link FileChannel#map}) and decoding the characters directly from the mapped
+ * region. This avoids the system calls and buffer copies that a stream-based
+ * reader incurs.
+ * </p>
+ * <p>
+ * The file is mapped one window at a time, so files that are larger than 2GB
+ * (the maximum size of a single mapping) can be read. Malformed byte sequences
+ * are replaced with the character set's replacement character.
+ * </p>
+ * <p>
+ * This class is not thread-safe.
+ * </p>
+ * @author Michael Angstadt
+ */
+public class MappedFileReader extends Reader {
+	private static final long DEFAULT_WINDOW_SIZE = 64 * 1024 * 1024;
+
+	private final FileChannel channel;
+	private final long size;
+	private final long windowSize;
+	private final CharsetDecoder decoder;
+	private final CharBuffer chars = CharBuffer.allocate(8192);
+
+	private MappedByteBuffer window;
+	private long windowPosition;
+	private boolean flushed = false;
+	private boolean closed = false;
+
+	/**
+	 * Creates a reader that decodes the file using UTF-8.
+	 * @param file the file to read
+	 * @throws IOException if there's a problem opening the file
+	 */
+	public MappedFileReader(Path file) throws IOException {
+		this(file, StandardCharsets.UTF_8);
+	}
+
+	/**
+	 * Creates a reader.
+	 * @param file the file to read
+	 * @param charset the character set to decode the file with
+	 * @throws IOException if there's a problem opening the file
+	 */
+	public MappedFileReader(Path file, Charset charset) throws IOException {
+		this(file, charset, DEFAULT_WINDOW_SIZE);
+	}
+
+	/**
+	 * Creates a reader.
+	 * @param file the file to read
+	 * @param charset the character set to decode the file with
+	 * @param windowSize the maximum number of bytes to map into memory at a
+	 * time (must be large enough to hold any single encoded character)
+	 * @throws IOException if there's a problem opening the file
+	 */
+	MappedFileReader(Path file, Charset charset, long windowSize) throws IOException {
+		this.windowSize = Math.min(windowSize, Integer.MAX_VALUE);
+		decoder = charset.newDecoder().onMalformedInput(CodingErrorAction.REPLACE).onUnmappableCharacter(CodingErrorAction.REPLACE);
+
+		channel = FileChannel.open(file, StandardOpenOption.READ);
+		try {
+			size = channel.size();
+			map(0);
+		} catch (IOException | RuntimeException e) {
+			channel.close();
+			throw e;
+		}
+
+		chars.flip();
+	}
+
+	@Override
+	public int read() throws IOException {
+		if (!chars.hasRemaining() && !fill()) {
+			return -1;
+		}
+		return chars.get();
+	}
+
+	@Override
+	public int read(char[] buffer, int offset, int length) throws IOException {
+		if (length == 0) {
+			return 0;
+		}
+		if (!chars.hasRemaining() && !fill()) {
+			return -1;
+		}
+
+		int read = Math.min(length, chars.remaining());
+		chars.get(buffer, offset, read);
+		return read;
+	}
+
+	@Override
+	public boolean ready() throws IOException {
+		ensureOpen();
+		return chars.hasRemaining() || window.hasRemaining();
+	}
+
+	/**
+	 * Decodes more characters into the character buffer.
+	 * @return true if more characters were decoded, false if the end of the
+	 * file has been reached
+	 * @throws IOException if there's a problem mapping the file
+	 */
+	private boolean fill() throws IOException {
+		ensureOpen();
+		if (flushed) {
+			return false;
+		}
+
+		chars.clear();
+		while (chars.position() == 0) {
+			boolean lastWindow = (windowPosition + window.limit() >= size);
+			CoderResult result = decoder.decode(window, chars, lastWindow);
+			if (result.isOverflow()) {
+				break;
+			}
+
+			if (lastWindow) {
+				decoder.flush(chars);
+				flushed = true;
+				break;
+			}
+
+			/*
+			 * Map the next part of the file, starting with any bytes that were
+			 * left over from a character that straddled the window boundary.
+			 */
+			map(windowPosition + window.position());
+		}
+		chars.flip();
+
+		return chars.hasRemaining();
+	}
+
+	private void map(long position) throws IOException {
+		long length = Math.min(windowSize, size - position);
+		window = channel.map(FileChannel.MapMode.READ_ONLY, position, length);
+		windowPosition = position;
+	}
+
+	private void ensureOpen() throws IOException {
+		if (closed) {
+			throw new IOException(Messages.INSTANCE.getExceptionMessage(49));
+		}
+	}
+
+	/**
+	 * Closes the underlying file channel.
+	 * @throws IOException if there's a problem closing the channel
+	 */
+	@Override
+	public void close() throws IOException {
+		if (closed) {
+			return;
+		}
+
+		closed = true;
+		window = null;
+		channel.close();
+	}
+}
@@ -0,0 +1,124 @@
+package ezvcard.util;
+
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.RandomAccess;
+
+/*
+ Copyright (c) 2012-2021, Michael Angstadt
+ All rights reserved.
+
+ Redistribution and use in source and binary forms, with or without
+ modification, are permitted provided that the following conditions are met: 
+
+ 1. Redistributions of source code must retain the above copyright notice, this
+ list of conditions and the following disclaimer. 
+ 2. Redistributions in binary form must reproduce the above copyright notice,
+ this list of conditions and the following disclaimer in the documentation
+ and/or other materials provided with the distribution. 
+
+ THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+
+ The views and conclusions contained in the software and documentation are those
+ of the authors and should not be interpreted as representing official policies, 
+ either expressed or implied, of the FreeBSD Project.
+ */
+
+/**
+ * <p>
+ * An array-backed list that counts how many times it has been modified. Unlike
+ * {@link ArrayList}, replacing an element also counts as a modification.
+ * </p>
+ * <p>
+ * This is used by properties that hand out live lists of their values, so that
+ * changes made through those lists can be detected (see
+ * {@link ezvcard.property.VCardProperty#isDirty}).
+ * </p>
+ * @author Michael Angstadt
+ * @param <E> the element type
+ */
+public class ModCountList<E> extends AbstractList<E> implements RandomAccess {
+	private final List<E> list;
+
+	/**
+	 * Creates an empty list.
+	 */
+	public ModCountList() {
+		list = new ArrayList<>();
+	}
+
+	/**
+	 * Creates an empty list.
+	 * @param initialCapacity the initial capacity
+	 */
+	public ModCountList(int initialCapacity) {
+		list = new ArrayList<>(initialCapacity);
+	}
+
+	/**
+	 * Creates a list that contains the elements of the given collection. Its
+	 * modification count starts at zero.
+	 * @param collection the collection to copy
+	 */
+	public ModCountList(Collection<? extends E> collection) {
+		list = new ArrayList<>(collection);
+	}
+
+	/**
+	 * Gets the number of times the list has been modified.
+	 * @return the modification count
+	 */
+	public int getModCount() {
+		return modCount;
+	}
+
+	@Override
+	public E get(int index) {
+		return list.get(index);
+	}
+
+	@Override
+	public int size() {
+		return list.size();
+	}
+
+	@Override
+	public E set(int index, E element) {
+		E replaced = list.set(index, element);
+		modCount++;
+		return replaced;
+	}
+
+	@Override
+	public void add(int index, E element) {
+		list.add(index, element);
+		modCount++;
+	}
+
+	@Override
+	public E remove(int index) {
+		E removed = list.remove(index);
+		modCount++;
+		return removed;
+	}
+
+	@Override
+	public void clear() {
+		if (list.isEmpty()) {
+			return;
+		}
+		list.clear();
+		modCount++;
+	}
+}
@@ -0,0 +1,210 @@
+package ezvcard.util;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+import ezvcard.Messages;
+
+/*
+ Copyright (c) 2012-2021, Michael Angstadt
+ All rights reserved.
+
+ Redistribution and use in source and binary forms, with or without
+ modification, are permitted provided that the following conditions are met: 
+
+ 1. Redistributions of source code must retain the above copyright notice, this
+ list of conditions and the following disclaimer. 
+ 2. Redistributions in binary form must reproduce the above copyright notice,
+ this list of conditions and the following disclaimer in the documentation
+ and/or other materials provided with the distribution. 
+
+ THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+
+ The views and conclusions contained in the software and documentation are those
+ of the authors and should not be interpreted as representing official policies, 
+ either expressed or implied, of the FreeBSD Project.
+ */
+
+/**
+ * <p>
+ * Compresses data in gzip format using multiple threads. The data is split
+ * into fixed-size blocks, each of which is compressed into a separate gzip
+ * "member" by a thread pool. The members are written to the underlying output
+ * stream in order.
+ * </p>
+ * <p>
+ * The gzip format allows a file to consist of multiple members, which are
+ * decompressed as a single data stream by {@link GZIPInputStream} and by the
+ * "gunzip" command. Because each block is compressed independently, the output
+ * is slightly larger than when the data is compressed as a whole.
+ * </p>
+ * <p>
+ * Calling {@link #flush} causes the data that has been written so far to be
+ * compressed and written, so it should be called sparingly. This class is not
+ * thread-safe.
+ * </p>
+ * @author Michael Angstadt
+ */
+public class ParallelGzipOutputStream extends OutputStream {
+	/**
+	 * The default size of each block of data that is compressed into a gzip
+	 * member.
+	 */
+	public static final int DEFAULT_BLOCK_SIZE = 1024 * 1024;
+
+	private final OutputStream out;
+	private final ForkJoinPool forkJoinPool;
+	private final int blockSize;
+	private final int maxPendingBlocks;
+	private final Deque<ForkJoinTask<byte[]>> pending = new ArrayDeque<>();
+	private byte[] block;
+	private int pos = 0;
+	private boolean membersWritten = false;
+	private boolean closed = false;
+
+	/**
+	 * @param out the output stream to write the compressed data to
+	 * @param forkJoinPool the thread pool to compress the data with
+	 */
+	public ParallelGzipOutputStream(OutputStream out, ForkJoinPool forkJoinPool) {
+		this(out, forkJoinPool, DEFAULT_BLOCK_SIZE);
+	}
+
+	/**
+	 * @param out the output stream to write the compressed data to
+	 * @param forkJoinPool the thread pool to compress the data with
+	 * @param blockSize the size of each block of data that is compressed into
+	 * a gzip member
+	 */
+	public ParallelGzipOutputStream(OutputStream out, ForkJoinPool forkJoinPool, int blockSize) {
+		if (blockSize <= 0) {
+			throw Messages.INSTANCE.getIllegalArgumentException(50);
+		}
+
+		this.out = out;
+		this.forkJoinPool = forkJoinPool;
+		this.blockSize = blockSize;
+		this.maxPendingBlocks = Math.max(forkJoinPool.getParallelism(), 1) * 2;
+		block = new byte[blockSize];
+	}
+
+	@Override
+	public void write(int b) throws IOException {
+		ensureOpen();
+		block[pos++] = (byte) b;
+		if (pos == blockSize) {
+			submitBlock();
+		}
+	}
+
+	@Override
+	public void write(byte[] b, int off, int len) throws IOException {
+		ensureOpen();
+		while (len > 0) {
+			int copy = Math.min(len, blockSize - pos);
+			System.arraycopy(b, off, block, pos, copy);
+			pos += copy;
+			off += copy;
+			len -= copy;
+
+			if (pos == blockSize) {
+				submitBlock();
+			}
+		}
+	}
+
+	/**
+	 * Compresses the data that has been written so far, waits for all of the
+	 * compressed data to be written to the underlying output stream, and then
+	 * flushes the underlying output stream.
+	 * @throws IOException if there's a problem writing to the output stream
+	 */
+	@Override
+	public void flush() throws IOException {
+		ensureOpen();
+		drain();
+		out.flush();
+	}
+
+	@Override
+	public void close() throws IOException {
+		if (closed) {
+			return;
+		}
+
+		try {
+			drain();
+			if (!membersWritten) {
+				//an empty gzip file must still contain a member
+				out.write(compress(new byte[0], 0));
+			}
+		} finally {
+			closed = true;
+			for (ForkJoinTask<byte[]> task : pending) {
+				task.cancel(false);
+			}
+			pending.clear();
+			out.close();
+		}
+	}
+
+	private void submitBlock() throws IOException {
+		byte[] data = block;
+		int length = pos;
+		pending.add(forkJoinPool.submit(() -> compress(data, length)));
+
+		block = new byte[blockSize];
+		pos = 0;
+
+		while (pending.size() > maxPendingBlocks) {
+			writeNextMember();
+		}
+	}
+
+	private void drain() throws IOException {
+		if (pos > 0) {
+			submitBlock();
+		}
+		while (!pending.isEmpty()) {
+			writeNextMember();
+		}
+	}
+
+	private void writeNextMember() throws IOException {
+		ForkJoinTask<byte[]> task = pending.poll();
+
+		byte[] member = IOUtils.join(task);
+		out.write(member);
+		membersWritten = true;
+	}
+
+	private static byte[] compress(byte[] data, int length) throws IOException {
+		ByteArrayOutputStream bout = new ByteArrayOutputStream(length / 2 + 64);
+		try (GZIPOutputStream gzip = new GZIPOutputStream(bout, 8192)) {
+			gzip.write(data, 0, length);
+		}
+		return bout.toByteArray();
+	}
+
+	private void ensureOpen() throws IOException {
+		if (closed) {
+			throw new IOException(Messages.INSTANCE.getExceptionMessage(49));
+		}
+	}
+}
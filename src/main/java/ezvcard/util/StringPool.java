@@ -0,0 +1,134 @@
+package ezvcard.util;
+
+import ezvcard.Messages;
+import ezvcard.io.StreamReader;
+
+/*
+ Copyright (c) 2012-2021, Michael Angstadt
+ All rights reserved.
+
+ Redistribution and use in source and binary forms, with or without
+ modification, are permitted provided that the following conditions are met: 
+
+ 1. Redistributions of source code must retain the above copyright notice, this
+ list of conditions and the following disclaimer. 
+ 2. Redistributions in binary form must reproduce the above copyright notice,
+ this list of conditions and the following disclaimer in the documentation
+ and/or other materials provided with the distribution. 
+
+ THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+
+ The views and conclusions contained in the software and documentation are those
+ of the authors and should not be interpreted as representing official policies, 
+ either expressed or implied, of the FreeBSD Project.
+ */
+
+/**
+ * <p>
+ * A bounded, thread-safe pool of strings that is used to deduplicate the
+ * strings that appear over and over again when parsing vCards, such as
+ * parameter names and values (e.g. "TYPE", "work", "cell") and property groups
+ * (e.g. "item1"). A single pool can be shared by any number of readers,
+ * including readers running in parallel.
+ * </p>
+ * <p>
+ * The pool has a fixed number of slots and never grows. Each string is hashed
+ * to a single slot. If the slot already contains an equal string, that string
+ * is returned. Otherwise, the given string replaces whatever was in the slot.
+ * This means that a string is not guaranteed to stay in the pool, but strings
+ * that are seen frequently will be. Strings that are longer than the maximum
+ * length are not pooled, since long strings are rarely repeated.
+ * </p>
+ * <p>
+ * <b>Example:</b>
+ * </p>
+ * 
+ * <pre class="brush:java">
+ * StringPool pool = new StringPool();
+ * List&lt;VCard&gt; vcards1 = Ezvcard.parse(file1).stringPool(pool).all();
+ * List&lt;VCard&gt; vcards2 = Ezvcard.parse(file2).stringPool(pool).all();
+ * </pre>
+ * @author Michael Angstadt
+ * @see StreamReader#setStringPool
+ */
+public class StringPool {
+	/**
+	 * The default number of slots.
+	 */
+	public static final int DEFAULT_CAPACITY = 4096;
+
+	/**
+	 * The default maximum length of a pooled string.
+	 */
+	public static final int DEFAULT_MAX_LENGTH = 64;
+
+	/*
+	 * Strings are immutable, so a string that is read from the table by one
+	 * thread is always fully initialized, even though the table is not
+	 * synchronized. The worst that can happen in a race is that a string is
+	 * not deduplicated.
+	 */
+	private final String[] table;
+	private final int mask;
+	private final int maxLength;
+
+	/**
+	 * Creates a pool with the default capacity and maximum string length.
+	 */
+	public StringPool() {
+		this(DEFAULT_CAPACITY, DEFAULT_MAX_LENGTH);
+	}
+
+	/**
+	 * Creates a pool.
+	 * @param capacity the number of slots (rounded up to the nearest power of
+	 * two)
+	 * @param maxLength the maximum length of a string for it to be pooled
+	 * @throws IllegalArgumentException if the capacity is not positive
+	 */
+	public StringPool(int capacity, int maxLength) {
+		if (capacity <= 0) {
+			throw Messages.INSTANCE.getIllegalArgumentException(51);
+		}
+
+		int size = 1;
+		while (size < capacity) {
+			size <<= 1;
+		}
+
+		table = new String[size];
+		mask = size - 1;
+		this.maxLength = maxLength;
+	}
+
+	/**
+	 * Gets the pooled instance of a string.
+	 * @param string the string (can be null)
+	 * @return the pooled instance, or the given string if an equal string was
+	 * not in the pool (in which case the given string is added to the pool)
+	 */
+	public String intern(String string) {
+		if (string == null || string.length() > maxLength) {
+			return string;
+		}
+
+		int hash = string.hashCode();
+		int slot = (hash ^ (hash >>> 16)) & mask;
+		String pooled = table[slot];
+		if (string.equals(pooled)) {
+			return pooled;
+		}
+
+		table[slot] = string;
+		return string;
+	}
+}
@@ -85,6 +85,22 @@ public final class StringUtils {
 		return lowerCaseMap;
 	}
 
+	/**
+	 * Calculates a case-insensitive hash code for a string without creating a
+	 * lowercase copy of it. Two strings that are equal according to
+	 * {@link String#equalsIgnoreCase} have the same hash code.
+	 * @param string the string
+	 * @return the hash code
+	 */
+	public static int hashCodeIgnoreCase(String string) {
+		int hash = 0;
+		for (int i = 0; i < string.length(); i++) {
+			char c = string.charAt(i);
+			hash = 31 * hash + Character.toLowerCase(Character.toUpperCase(c));
+		}
+		return hash;
+	}
+
 	private StringUtils() {
 		//hide
 	}
@@ -0,0 +1,131 @@
+package ezvcard.util;
+
+import java.io.BufferedInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+
+/*
+ Copyright (c) 2012-2021, Michael Angstadt
+ All rights reserved.
+
+ Redistribution and use in source and binary forms, with or without
+ modification, are permitted provided that the following conditions are met: 
+
+ 1. Redistributions of source code must retain the above copyright notice, this
+ list of conditions and the following disclaimer. 
+ 2. Redistributions in binary form must reproduce the above copyright notice,
+ this list of conditions and the following disclaimer in the documentation
+ and/or other materials provided with the distribution. 
+
+ THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+
+ The views and conclusions contained in the software and documentation are those
+ of the authors and should not be interpreted as representing official policies, 
+ either expressed or implied, of the FreeBSD Project.
+ */
+
+/**
+ * <p>
+ * Stores binary data in temporary files. The files are not deleted
+ * automatically. Call {@link FileHandle#delete} when the data is no longer
+ * needed.
+ * </p>
+ * <p>
+ * <b>Example:</b>
+ * </p>
+ * 
+ * <pre class="brush:java">
+ * try (VCardReader reader = new VCardReader(file)) {
+ *   reader.setBinaryStorage(new TempFileBinaryStorage());
+ *   VCard vcard = reader.readNext();
+ * 
+ *   Photo photo = vcard.getPhotos().get(0);
+ *   try (InputStream in = photo.openData()) {
+ *     //...
+ *   }
+ * }
+ * </pre>
+ * @author Michael Angstadt
+ */
+public class TempFileBinaryStorage implements BinaryStorage {
+	private final Path directory;
+
+	/**
+	 * Creates temporary files in the system's default temporary directory.
+	 */
+	public TempFileBinaryStorage() {
+		this(null);
+	}
+
+	/**
+	 * @param directory the directory to create the temporary files in or null
+	 * to use the system's default temporary directory
+	 */
+	public TempFileBinaryStorage(Path directory) {
+		this.directory = directory;
+	}
+
+	public FileHandle store(InputStream in) throws IOException {
+		Path file = (directory == null) ? Files.createTempFile("ez-vcard", ".bin") : Files.createTempFile(directory, "ez-vcard", ".bin");
+		try {
+			long size = Files.copy(in, file, StandardCopyOption.REPLACE_EXISTING);
+			return new FileHandle(file, size);
+		} catch (IOException | RuntimeException e) {
+			Files.deleteIfExists(file);
+			throw e;
+		}
+	}
+
+	/**
+	 * A handle to binary data that is stored in a file.
+	 */
+	public static class FileHandle implements BinaryHandle {
+		private final Path file;
+		private final long size;
+
+		/**
+		 * @param file the file
+		 * @param size the size of the file in bytes
+		 */
+		public FileHandle(Path file, long size) {
+			this.file = file;
+			this.size = size;
+		}
+
+		public InputStream open() throws IOException {
+			return new BufferedInputStream(Files.newInputStream(file));
+		}
+
+		public long size() {
+			return size;
+		}
+
+		/**
+		 * Gets the file that the data is stored in.
+		 * @return the file
+		 */
+		public Path getFile() {
+			return file;
+		}
+
+		/**
+		 * Deletes the file that the data is stored in.
+		 * @throws IOException if the file cannot be deleted
+		 */
+		public void delete() throws IOException {
+			Files.deleteIfExists(file);
+		}
+	}
+}
@@ -0,0 +1,271 @@
+package ezvcard.util;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.charset.Charset;
+import java.nio.charset.CharsetDecoder;
+import java.nio.charset.CodingErrorAction;
+import java.nio.charset.StandardCharsets;
+
+import ezvcard.Messages;
+
+/*
+ Copyright (c) 2012-2021, Michael Angstadt
+ All rights reserved.
+
+ Redistribution and use in source and binary forms, with or without
+ modification, are permitted provided that the following conditions are met: 
+
+ 1. Redistributions of source code must retain the above copyright notice, this
+ list of conditions and the following disclaimer. 
+ 2. Redistributions in binary form must reproduce the above copyright notice,
+ this list of conditions and the following disclaimer in the documentation
+ and/or other materials provided with the distribution. 
+
+ THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+
+ The views and conclusions contained in the software and documentation are those
+ of the authors and should not be interpreted as representing official policies, 
+ either expressed or implied, of the FreeBSD Project.
+ */
+
+/**
+ * <p>
+ * Decodes a UTF-8 or US-ASCII byte stream. ASCII bytes, which make up the
+ * overwhelming majority of a typical vCard (including all of its structural
+ * characters), are converted to characters directly without going through a
+ * {@link CharsetDecoder}. Only runs of non-ASCII bytes are passed to the
+ * decoder.
+ * </p>
+ * <p>
+ * Unlike {@link InputStreamReader}, the {@link #read()} method is not
+ * synchronized and does not allocate anything, which makes reading one
+ * character at a time (as the vCard tokenizer does) considerably cheaper.
+ * Malformed byte sequences are replaced with the Unicode replacement
+ * character, just as {@link InputStreamReader} does.
+ * </p>
+ * <p>
+ * This class is not thread-safe.
+ * </p>
+ * @author Michael Angstadt
+ */
+public class Utf8Reader extends Reader {
+	private final InputStream in;
+	private final Charset charset;
+	private final CharsetDecoder decoder;
+	private final byte[] bytes;
+	private final CharBuffer chars;
+	private int pos = 0, limit = 0;
+	private boolean eof = false;
+
+	/**
+	 * Creates a reader that decodes the stream using UTF-8.
+	 * @param in the input stream
+	 */
+	public Utf8Reader(InputStream in) {
+		this(in, StandardCharsets.UTF_8);
+	}
+
+	/**
+	 * Creates a reader.
+	 * @param in the input stream
+	 * @param charset the character set (must be UTF-8 or US-ASCII)
+	 * @throws IllegalArgumentException if the character set is not supported
+	 * @see #isSupported
+	 */
+	public Utf8Reader(InputStream in, Charset charset) {
+		if (!isSupported(charset)) {
+			throw Messages.INSTANCE.getIllegalArgumentException(52, charset.name());
+		}
+
+		this.in = in;
+		this.charset = charset;
+		decoder = charset.newDecoder().onMalformedInput(CodingErrorAction.REPLACE).onUnmappableCharacter(CodingErrorAction.REPLACE);
+		bytes = new byte[8192];
+		chars = CharBuffer.allocate(bytes.length);
+		chars.flip();
+	}
+
+	/**
+	 * Determines if this class can decode the given character set.
+	 * @param charset the character set
+	 * @return true if it's UTF-8 or US-ASCII, false if not
+	 */
+	public static boolean isSupported(Charset charset) {
+		return StandardCharsets.UTF_8.equals(charset) || StandardCharsets.US_ASCII.equals(charset);
+	}
+
+	/**
+	 * Gets the character set that the stream is decoded with.
+	 * @return the character set
+	 */
+	public Charset getEncoding() {
+		return charset;
+	}
+
+	@Override
+	public int read() throws IOException {
+		while (true) {
+			if (chars.hasRemaining()) {
+				return chars.get();
+			}
+
+			if (pos == limit && !fill()) {
+				return -1;
+			}
+
+			byte b = bytes[pos];
+			if (b >= 0) {
+				pos++;
+				return b;
+			}
+
+			decodeNonAscii(true);
+		}
+	}
+
+	@Override
+	public int read(char[] buffer, int offset, int length) throws IOException {
+		if (length == 0) {
+			return 0;
+		}
+
+		int end = offset + length;
+		int i = offset;
+		while (i < end) {
+			if (chars.hasRemaining()) {
+				int count = Math.min(end - i, chars.remaining());
+				chars.get(buffer, i, count);
+				i += count;
+				continue;
+			}
+
+			if (pos == limit) {
+				if (i > offset) {
+					//don't block if characters have already been read
+					break;
+				}
+				if (!fill()) {
+					return -1;
+				}
+			}
+
+			//copy ASCII bytes directly
+			while (i < end && pos < limit) {
+				byte b = bytes[pos];
+				if (b < 0) {
+					break;
+				}
+				buffer[i++] = (char) b;
+				pos++;
+			}
+
+			if (i < end && pos < limit) {
+				boolean block = (i == offset);
+				decodeNonAscii(block);
+				if (!block && !chars.hasRemaining()) {
+					//don't block if characters have already been read
+					break;
+				}
+			}
+		}
+
+		return i - offset;
+	}
+
+	/**
+	 * Decodes the run of non-ASCII bytes that starts at the current position
+	 * into the character buffer.
+	 * @param block true to read more bytes from the input stream if a
+	 * multi-byte sequence is cut off by the end of the byte buffer, false to
+	 * leave the sequence undecoded until the next call
+	 * @throws IOException if there's a problem reading from the input stream
+	 */
+	private void decodeNonAscii(boolean block) throws IOException {
+		if (block && limit - pos < 4 && !eof) {
+			//make sure multi-byte sequences are not cut off
+			fill();
+		}
+
+		int runEnd = pos;
+		while (runEnd < limit && bytes[runEnd] < 0) {
+			runEnd++;
+		}
+
+		/*
+		 * If the run is terminated by an ASCII byte or by the end of the
+		 * stream, then any incomplete sequence at the end of the run is
+		 * malformed. Otherwise, it may be completed by the next bytes that are
+		 * read from the stream.
+		 */
+		boolean endOfInput = runEnd < limit || eof;
+
+		ByteBuffer byteBuffer = ByteBuffer.wrap(bytes, pos, runEnd - pos);
+		chars.clear();
+		decoder.reset();
+		decoder.decode(byteBuffer, chars, endOfInput);
+		if (endOfInput) {
+			decoder.flush(chars);
+		}
+		chars.flip();
+
+		pos = byteBuffer.position();
+		if (block && !chars.hasRemaining() && !eof) {
+			//an incomplete sequence is sitting at the end of the buffer
+			fill();
+		}
+	}
+
+	/**
+	 * Moves any unread bytes to the beginning of the byte buffer and reads
+	 * more bytes from the input stream.
+	 * @return true if there are bytes available, false if the end of the
+	 * stream has been reached
+	 * @throws IOException if there's a problem reading from the input stream
+	 */
+	private boolean fill() throws IOException {
+		if (pos > 0) {
+			System.arraycopy(bytes, pos, bytes, 0, limit - pos);
+			limit -= pos;
+			pos = 0;
+		}
+
+		if (!eof && limit < bytes.length) {
+			int read = in.read(bytes, limit, bytes.length - limit);
+			if (read < 0) {
+				eof = true;
+			} else {
+				limit += read;
+			}
+		}
+
+		return pos < limit;
+	}
+
+	@Override
+	public boolean ready() throws IOException {
+		return chars.hasRemaining() || pos < limit || in.available() > 0;
+	}
+
+	/**
+	 * Closes the underlying input stream.
+	 * @throws IOException if there's a problem closing the stream
+	 */
+	@Override
+	public void close() throws IOException {
+		in.close();
+	}
+}
@@ -0,0 +1,285 @@
+package ezvcard.util;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.ByteBuffer;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.CharsetEncoder;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+
+import ezvcard.Messages;
+
+/*
+ Copyright (c) 2012-2021, Michael Angstadt
+ All rights reserved.
+
+ Redistribution and use in source and binary forms, with or without
+ modification, are permitted provided that the following conditions are met: 
+
+ 1. Redistributions of source code must retain the above copyright notice, this
+ list of conditions and the following disclaimer. 
+ 2. Redistributions in binary form must reproduce the above copyright notice,
+ this list of conditions and the following disclaimer in the documentation
+ and/or other materials provided with the distribution. 
+
+ THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+
+ The views and conclusions contained in the software and documentation are those
+ of the authors and should not be interpreted as representing official policies, 
+ either expressed or implied, of the FreeBSD Project.
+ */
+
+/**
+ * <p>
+ * Encodes characters as UTF-8 directly into a byte buffer, which is written to
+ * an {@link OutputStream} or {@link WritableByteChannel} when it fills up or
+ * when the writer is flushed. Unlike {@link OutputStreamWriter}, no
+ * {@link CharsetEncoder} or intermediate buffers are involved, the write
+ * methods are not synchronized, and nothing is allocated after the writer has
+ * been created.
+ * </p>
+ * <p>
+ * Byte buffers are taken from a small shared pool and returned to it when the
+ * writer is closed, so creating a new writer for each of many short-lived
+ * output streams does not allocate a new buffer each time. Unpaired surrogate
+ * characters are encoded as "?", just as {@link OutputStreamWriter} does.
+ * </p>
+ * <p>
+ * This class is not thread-safe.
+ * </p>
+ * @author Michael Angstadt
+ */
+public class Utf8Writer extends Writer {
+	private static final int BUFFER_SIZE = 8192;
+	private static final BlockingQueue<byte[]> POOL = new ArrayBlockingQueue<>(16);
+
+	private final OutputStream out;
+	private final WritableByteChannel channel;
+	private byte[] bytes;
+	private int pos = 0;
+	private char highSurrogate = 0;
+
+	/**
+	 * @param out the output stream to write to
+	 */
+	public Utf8Writer(OutputStream out) {
+		this(out, null);
+	}
+
+	/**
+	 * @param channel the channel to write to
+	 */
+	public Utf8Writer(WritableByteChannel channel) {
+		this(null, channel);
+	}
+
+	private Utf8Writer(OutputStream out, WritableByteChannel channel) {
+		this.out = out;
+		this.channel = channel;
+
+		byte[] bytes = POOL.poll();
+		this.bytes = (bytes == null) ? new byte[BUFFER_SIZE] : bytes;
+	}
+
+	@Override
+	public void write(int c) throws IOException {
+		ensureOpen();
+		if (c < 0x80 && highSurrogate == 0) {
+			if (pos == bytes.length) {
+				drain();
+			}
+			bytes[pos++] = (byte) c;
+			return;
+		}
+
+		encode((char) c);
+	}
+
+	@Override
+	public void write(char[] buffer, int offset, int length) throws IOException {
+		ensureOpen();
+		int end = offset + length;
+		int i = offset;
+		while (i < end) {
+			if (highSurrogate == 0) {
+				//copy ASCII characters directly
+				int stop = Math.min(end, i + bytes.length - pos);
+				while (i < stop) {
+					char c = buffer[i];
+					if (c >= 0x80) {
+						break;
+					}
+					bytes[pos++] = (byte) c;
+					i++;
+				}
+				if (pos == bytes.length) {
+					drain();
+				}
+				if (i == stop) {
+					continue;
+				}
+			}
+
+			encode(buffer[i++]);
+		}
+	}
+
+	@Override
+	public void write(String str, int offset, int length) throws IOException {
+		ensureOpen();
+		int end = offset + length;
+		int i = offset;
+		while (i < end) {
+			if (highSurrogate == 0) {
+				//copy ASCII characters directly
+				int stop = Math.min(end, i + bytes.length - pos);
+				while (i < stop) {
+					char c = str.charAt(i);
+					if (c >= 0x80) {
+						break;
+					}
+					bytes[pos++] = (byte) c;
+					i++;
+				}
+				if (pos == bytes.length) {
+					drain();
+				}
+				if (i == stop) {
+					continue;
+				}
+			}
+
+			encode(str.charAt(i++));
+		}
+	}
+
+	/**
+	 * Encodes a single character. If the character is the first half of a
+	 * surrogate pair, it is held onto until the second half is written.
+	 * @param c the character
+	 * @throws IOException if there's a problem writing to the output stream
+	 */
+	private void encode(char c) throws IOException {
+		if (bytes.length - pos < 4) {
+			drain();
+		}
+
+		if (highSurrogate != 0) {
+			char high = highSurrogate;
+			highSurrogate = 0;
+			if (Character.isLowSurrogate(c)) {
+				int codePoint = Character.toCodePoint(high, c);
+				bytes[pos++] = (byte) (0xf0 | (codePoint >> 18));
+				bytes[pos++] = (byte) (0x80 | ((codePoint >> 12) & 0x3f));
+				bytes[pos++] = (byte) (0x80 | ((codePoint >> 6) & 0x3f));
+				bytes[pos++] = (byte) (0x80 | (codePoint & 0x3f));
+				return;
+			}
+
+			//unpaired high surrogate
+			bytes[pos++] = '?';
+			if (bytes.length - pos < 4) {
+				drain();
+			}
+		}
+
+		if (c < 0x80) {
+			bytes[pos++] = (byte) c;
+		} else if (c < 0x800) {
+			bytes[pos++] = (byte) (0xc0 | (c >> 6));
+			bytes[pos++] = (byte) (0x80 | (c & 0x3f));
+		} else if (Character.isHighSurrogate(c)) {
+			highSurrogate = c;
+		} else if (Character.isLowSurrogate(c)) {
+			//unpaired low surrogate
+			bytes[pos++] = '?';
+		} else {
+			bytes[pos++] = (byte) (0xe0 | (c >> 12));
+			bytes[pos++] = (byte) (0x80 | ((c >> 6) & 0x3f));
+			bytes[pos++] = (byte) (0x80 | (c & 0x3f));
+		}
+	}
+
+	/**
+	 * Writes the contents of the byte buffer to the output stream.
+	 * @throws IOException if there's a problem writing to the output stream
+	 */
+	private void drain() throws IOException {
+		if (pos == 0) {
+			return;
+		}
+
+		if (out != null) {
+			out.write(bytes, 0, pos);
+		} else {
+			ByteBuffer buffer = ByteBuffer.wrap(bytes, 0, pos);
+			while (buffer.hasRemaining()) {
+				channel.write(buffer);
+			}
+		}
+		pos = 0;
+	}
+
+	private void ensureOpen() throws IOException {
+		if (bytes == null) {
+			throw new IOException(Messages.INSTANCE.getExceptionMessage(49));
+		}
+	}
+
+	/**
+	 * Writes any buffered bytes to the output stream and flushes the output
+	 * stream. If the last character written was the first half of a surrogate
+	 * pair, it continues to be held onto.
+	 * @throws IOException if there's a problem writing to the output stream
+	 */
+	@Override
+	public void flush() throws IOException {
+		ensureOpen();
+		drain();
+		if (out != null) {
+			out.flush();
+		}
+	}
+
+	/**
+	 * Writes any buffered bytes and closes the underlying output stream.
+	 * @throws IOException if there's a problem writing to or closing the
+	 * stream
+	 */
+	@Override
+	public void close() throws IOException {
+		if (bytes == null) {
+			return;
+		}
+
+		try {
+			if (highSurrogate != 0) {
+				//unpaired high surrogate
+				highSurrogate = 0;
+				write('?');
+			}
+			drain();
+		} finally {
+			POOL.offer(bytes);
+			bytes = null;
+
+			if (out != null) {
+				out.close();
+			} else {
+				channel.close();
+			}
+		}
+	}
+}
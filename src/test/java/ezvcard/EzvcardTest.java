@@ -13,8 +13,12 @@ import java.io.Writer;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Iterator;
 import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 import javax.xml.xpath.XPath;
 import javax.xml.xpath.XPathConstants;
@@ -131,6 +135,55 @@ public class EzvcardTest {
 		assertFalse(it.hasNext());
 	}
 
+	@Test
+	public void parse_stream() throws Exception {
+		//@formatter:off
+		String str = 
+		"BEGIN:VCARD\r\n" +
+		"VERSION:2.1\r\n" +
+		"FN:John Doe\r\n" +
+		"END:VCARD\r\n" +
+		"BEGIN:VCARD\r\n" +
+		"VERSION:3.0\r\n" +
+		"FN:Jane Doe\r\n" +
+		"X-INVALID\r\n" +
+		"END:VCARD\r\n";
+		//@formatter:on
+
+		List<List<ParseWarning>> warnings = new ArrayList<>();
+		List<String> names;
+		try (Stream<VCard> stream = Ezvcard.parse(str).warnings(warnings).stream()) {
+			names = stream.map(vcard -> vcard.getFormattedName().getValue()).collect(Collectors.toList());
+		}
+		assertEquals(Arrays.asList("John Doe", "Jane Doe"), names);
+
+		assertEquals(2, warnings.size());
+		assertParseWarnings(warnings.get(0));
+		assertParseWarnings(warnings.get(1), 27);
+	}
+
+	@Test
+	public void parse_stream_file() throws Exception {
+		//@formatter:off
+		String str = 
+		"BEGIN:VCARD\r\n" +
+		"VERSION:2.1\r\n" +
+		"FN:John Doe\r\n" +
+		"END:VCARD\r\n" +
+		"BEGIN:VCARD\r\n" +
+		"VERSION:3.0\r\n" +
+		"FN:Jane Doe\r\n" +
+		"END:VCARD\r\n";
+		//@formatter:on
+
+		Path file = folder.newFile().toPath();
+		Files.write(file, str.getBytes());
+
+		try (Stream<VCard> stream = Ezvcard.parse(file).stream()) {
+			assertEquals(2, stream.count());
+		}
+	}
+
 	@Test
 	public void parse_register() throws Exception {
 		//@formatter:off
@@ -553,6 +606,25 @@ public class EzvcardTest {
 		assertTrue(Files.size(file) > 0);
 	}
 
+	@Test
+	public void write_parallel() throws Exception {
+		List<VCard> vcards = new ArrayList<>();
+		for (int i = 0; i < 20; i++) {
+			VCard vcard = new VCard((i < 10) ? VCardVersion.V2_1 : VCardVersion.V4_0);
+			vcard.setFormattedName("John Doe " + i);
+			vcards.add(vcard);
+		}
+
+		ForkJoinPool pool = new ForkJoinPool(2);
+		try {
+			assertEquals(Ezvcard.write(vcards).go(), Ezvcard.write(vcards).parallel(pool).go());
+			assertEquals(Ezvcard.writeJson(vcards).go(), Ezvcard.writeJson(vcards).parallel(pool).go());
+			assertEquals(Ezvcard.writeXml(vcards).go(), Ezvcard.writeXml(vcards).parallel(pool).go());
+		} finally {
+			pool.shutdown();
+		}
+	}
+
 	@Test
 	public void writeXml_go() throws Exception {
 		VCard vcard = new VCard();
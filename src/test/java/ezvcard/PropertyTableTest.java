@@ -0,0 +1,232 @@
+package ezvcard;
+
+import static java.util.Arrays.asList;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.Test;
+
+import ezvcard.property.Email;
+import ezvcard.property.Note;
+import ezvcard.property.Title;
+import ezvcard.property.Url;
+import ezvcard.property.VCardProperty;
+
+/*
+ Copyright (c) 2012-2021, Michael Angstadt
+ All rights reserved.
+
+ Redistribution and use in source and binary forms, with or without
+ modification, are permitted provided that the following conditions are met: 
+
+ 1. Redistributions of source code must retain the above copyright notice, this
+ list of conditions and the following disclaimer. 
+ 2. Redistributions in binary form must reproduce the above copyright notice,
+ this list of conditions and the following disclaimer in the documentation
+ and/or other materials provided with the distribution. 
+
+ THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+
+ The views and conclusions contained in the software and documentation are those
+ of the authors and should not be interpreted as representing official policies, 
+ either expressed or implied, of the FreeBSD Project.
+ */
+
+/**
+ * @author Michael Angstadt
+ */
+public class PropertyTableTest {
+	private final Note note1 = new Note("1"), note2 = new Note("2"), note3 = new Note("3");
+	private final Email email1 = new Email("1"), email2 = new Email("2");
+	private final Title title = new Title("1");
+
+	@Test
+	public void add() {
+		PropertyTable table = new PropertyTable();
+		table.add(Note.class, note1);
+		table.add(Email.class, email1);
+		table.add(Note.class, note2);
+		table.add(Title.class, title);
+		table.add(Email.class, email2);
+
+		//grouped by class, in the order the classes were first added
+		assertEquals(asList(note1, note2, email1, email2, title), table.values());
+		assertEquals(5, table.size());
+		assertEquals(2, table.size(Note.class));
+		assertEquals(0, table.size(Url.class));
+		assertEquals(3, table.slotCount());
+		assertSame(Email.class, table.slotClass(1));
+		assertEquals(asList(email1, email2), table.slotValues(1));
+		assertSame(note1, table.first(Note.class));
+		assertNull(table.first(Url.class));
+		assertSame(email2, table.get(Email.class, 1));
+	}
+
+	@Test
+	public void add_index() {
+		PropertyTable table = new PropertyTable();
+		table.add(Email.class, 0, email1);
+		table.add(Note.class, note1);
+		table.add(Note.class, 0, note2);
+		table.add(Note.class, 2, note3);
+
+		assertEquals(asList(email1, note2, note1, note3), table.values());
+	}
+
+	@Test(expected = IndexOutOfBoundsException.class)
+	public void add_index_out_of_bounds() {
+		PropertyTable table = new PropertyTable();
+		table.add(Note.class, note1);
+		table.add(Email.class, email1);
+		table.add(Note.class, 2, note2);
+	}
+
+	@Test(expected = IndexOutOfBoundsException.class)
+	public void get_out_of_bounds() {
+		PropertyTable table = new PropertyTable();
+		table.add(Note.class, note1);
+		table.add(Email.class, email1);
+		table.get(Note.class, 1);
+	}
+
+	@Test
+	public void set() {
+		PropertyTable table = new PropertyTable();
+		table.add(Note.class, note1);
+		table.add(Note.class, note2);
+
+		assertSame(note2, table.set(Note.class, 1, note3));
+		assertEquals(asList(note1, note3), table.values());
+	}
+
+	@Test
+	public void remove() {
+		PropertyTable table = new PropertyTable();
+		table.add(Note.class, note1);
+		table.add(Email.class, email1);
+		table.add(Title.class, title);
+
+		assertSame(email1, table.remove(Email.class, 0));
+		assertEquals(asList(note1, title), table.values());
+		assertEquals(2, table.slotCount());
+
+		assertNull(table.remove(Note.class, note2));
+		assertSame(note1, table.remove(Note.class, new Note("1")));
+		assertNull(table.remove(Url.class, new Url("1")));
+		assertEquals(asList(title), table.values());
+
+		//the class is moved to the end when it is added again
+		table.add(Note.class, note1);
+		assertEquals(asList(title, note1), table.values());
+	}
+
+	@Test
+	public void removeAll() {
+		PropertyTable table = new PropertyTable();
+		table.add(Note.class, note1);
+		table.add(Email.class, email1);
+		table.add(Note.class, note2);
+
+		assertEquals(asList(note1, note2), table.removeAll(Note.class));
+		assertEquals(asList(email1), table.values());
+		assertEquals(1, table.slotCount());
+		assertEquals(asList(), table.removeAll(Note.class));
+	}
+
+	@Test
+	public void replace() {
+		PropertyTable table = new PropertyTable();
+		table.add(Note.class, note1);
+		table.add(Note.class, note2);
+		table.add(Email.class, email1);
+
+		assertEquals(asList(note1, note2), table.replace(Note.class, note3));
+		assertEquals(asList(email1, note3), table.values());
+
+		assertEquals(asList(note3), table.replace(Note.class, null));
+		assertEquals(asList(email1), table.values());
+	}
+
+	@Test
+	public void values_copy() {
+		PropertyTable table = new PropertyTable();
+		table.add(Note.class, note1);
+		List<VCardProperty> values = table.values();
+		table.add(Note.class, note2);
+
+		assertEquals(asList(note1), values);
+	}
+
+	@Test
+	public void grow() {
+		PropertyTable table = new PropertyTable();
+		List<VCardProperty> expectedNotes = new ArrayList<>();
+		List<VCardProperty> expectedEmails = new ArrayList<>();
+		for (int i = 0; i < 100; i++) {
+			Note note = new Note(i + "");
+			Email email = new Email(i + "");
+			table.add(Note.class, note);
+			table.add(Email.class, email);
+			expectedNotes.add(note);
+			expectedEmails.add(email);
+		}
+
+		List<VCardProperty> expected = new ArrayList<>(expectedNotes);
+		expected.addAll(expectedEmails);
+		assertEquals(expected, table.values());
+		assertEquals(expectedEmails, table.values(Email.class));
+	}
+
+	@Test
+	public void copy() {
+		PropertyTable table = new PropertyTable();
+		table.add(Note.class, note1);
+		table.add(Email.class, email1);
+		table.add(Note.class, note2);
+
+		PropertyTable copy = table.copy(true);
+		assertSame(note1, copy.slotValues(0).get(0));
+
+		//shared properties are copied when handed out
+		VCardProperty copied = copy.get(Note.class, 0);
+		assertNotSame(note1, copied);
+		assertEquals(note1, copied);
+		assertSame(copied, copy.get(Note.class, 0));
+
+		//shared flags are shifted along with the properties
+		copy.add(Note.class, 0, note3);
+		assertSame(note3, copy.get(Note.class, 0));
+		assertSame(copied, copy.get(Note.class, 1));
+		assertSame(note2, copy.slotValues(0).get(2));
+		assertNotSame(note2, copy.remove(Note.class, 2));
+
+		List<VCardProperty> values = copy.values();
+		assertEquals(asList(note3, note1, email1), values);
+		assertNotSame(email1, values.get(2));
+
+		//properties that are not shared are copied immediately
+		PropertyTable copy2 = table.copy(false);
+		assertNotSame(note1, copy2.slotValues(0).get(0));
+		assertEquals(asList(note1, note2, email1), copy2.values());
+		assertSame(note1, table.get(Note.class, 0));
+
+		//clear
+		PropertyTable copy3 = table.copy(true);
+		copy3.clearShared();
+		assertSame(note1, copy3.get(Note.class, 0));
+	}
+}
@@ -0,0 +1,81 @@
+package ezvcard;
+
+import static java.util.Arrays.asList;
+import static org.junit.Assert.assertEquals;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import org.junit.Test;
+
+import ezvcard.property.RawProperty;
+
+/*
+ Copyright (c) 2012-2021, Michael Angstadt
+ All rights reserved.
+
+ Redistribution and use in source and binary forms, with or without
+ modification, are permitted provided that the following conditions are met: 
+
+ 1. Redistributions of source code must retain the above copyright notice, this
+ list of conditions and the following disclaimer. 
+ 2. Redistributions in binary form must reproduce the above copyright notice,
+ this list of conditions and the following disclaimer in the documentation
+ and/or other materials provided with the distribution. 
+
+ THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+
+ The views and conclusions contained in the software and documentation are those
+ of the authors and should not be interpreted as representing official policies, 
+ either expressed or implied, of the FreeBSD Project.
+ */
+
+/**
+ * @author Michael Angstadt
+ */
+public class RawPropertyIndexTest {
+	@Test
+	public void get() {
+		List<RawProperty> properties = new ArrayList<>();
+		for (int i = 0; i < 50; i++) {
+			properties.add(new RawProperty("X-PROP-" + (i % 10), "value" + i));
+		}
+		properties.add(new RawProperty(null, "value"));
+
+		RawPropertyIndex index = new RawPropertyIndex(properties, 5);
+		assertEquals(5, index.getRenameCount());
+
+		for (int i = 0; i < 10; i++) {
+			List<RawProperty> expected = new ArrayList<>();
+			for (int j = i; j < 50; j += 10) {
+				expected.add(properties.get(j));
+			}
+			assertEquals(expected, index.get("x-prop-" + i));
+		}
+
+		assertEquals(asList(), index.get("X-PROP-10"));
+		assertEquals(asList(), index.get(null));
+	}
+
+	@Test
+	public void empty() {
+		RawPropertyIndex index = new RawPropertyIndex(Collections.<RawProperty> emptyList(), 0);
+		assertEquals(asList(), index.get("X-PROP"));
+	}
+
+	@Test(expected = UnsupportedOperationException.class)
+	public void immutable() {
+		RawPropertyIndex index = new RawPropertyIndex(asList(new RawProperty("X-PROP", "value")), 0);
+		index.get("X-PROP").clear();
+	}
+}
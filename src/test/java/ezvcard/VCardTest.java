@@ -13,12 +13,14 @@ import static org.junit.Assert.assertNotSame;
 import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
 
 import java.util.Collection;
 import java.util.List;
 
 import org.junit.Test;
 
+import ezvcard.property.FormattedName;
 import ezvcard.property.Gender;
 import ezvcard.property.HasAltId;
 import ezvcard.property.Note;
@@ -95,6 +97,44 @@ public class VCardTest {
 		assertEquals(asList(property1, property2), vcard.getProperties(Note.class));
 	}
 
+	@Test
+	public void addDeferredProperty() {
+		VCard vcard = new VCard();
+		int[] calls = { 0 };
+
+		Note property1 = new Note("value");
+		vcard.addDeferredProperty(Note.class, () -> {
+			calls[0]++;
+			return property1;
+		});
+		RawProperty property2 = new RawProperty("X-FOO", "value");
+		vcard.addDeferredProperty(Gender.class, () -> {
+			calls[0]++;
+			return property2;
+		});
+		vcard.addDeferredProperty(StructuredName.class, () -> {
+			calls[0]++;
+			return null;
+		});
+		assertEquals(0, calls[0]);
+
+		assertEquals(asList(), vcard.getProperties(StructuredName.class));
+		assertEquals(1, calls[0]);
+
+		Note property3 = new Note("value2");
+		vcard.addProperty(property3);
+		assertEquals(2, calls[0]);
+		assertEquals(asList(property1, property3), vcard.getProperties(Note.class));
+
+		//the supplier may return a property of a different class
+		assertEquals(asList(property2), vcard.getProperties(RawProperty.class));
+		assertEquals(3, calls[0]);
+		assertNull(vcard.getGender());
+
+		assertEquals(3, vcard.getProperties().size());
+		assertEquals(3, calls[0]);
+	}
+
 	@Test
 	public void setProperty() {
 		VCard vcard = new VCard();
@@ -161,6 +201,105 @@ public class VCardTest {
 		assertEquals(property, vcard.getExtendedProperty("NAME"));
 	}
 
+	@Test
+	public void getExtendedProperties_name() {
+		VCard vcard = new VCard();
+		assertEquals(asList(), vcard.getExtendedProperties("NAME"));
+
+		RawProperty property = vcard.addExtendedProperty("NAME", "value");
+		RawProperty property2 = vcard.addExtendedProperty("NAME2", "value");
+		RawProperty property3 = vcard.addExtendedProperty("name", "value2");
+		List<RawProperty> actual = vcard.getExtendedProperties("Name");
+		assertEquals(asList(property, property3), actual);
+		assertEquals(asList(), vcard.getExtendedProperties(null));
+
+		//changes made through the list returned by getExtendedProperties()
+		vcard.getExtendedProperties().remove(property);
+		assertEquals(asList(property3), vcard.getExtendedProperties("NAME"));
+
+		//returned lists are snapshots
+		assertEquals(asList(property, property3), actual);
+
+		//renamed properties
+		property2.setPropertyName("NAME");
+		assertEquals(asList(property2, property3), vcard.getExtendedProperties("NAME"));
+		assertEquals(asList(), vcard.getExtendedProperties("NAME2"));
+
+		//deferred properties
+		RawProperty property4 = new RawProperty("NAME", "value3");
+		vcard.addDeferredProperty(Note.class, () -> property4);
+		assertEquals(asList(property2, property3, property4), vcard.getExtendedProperties("NAME"));
+	}
+
+	@Test
+	public void getExtendedProperties_name_renames_are_tracked_per_vcard() {
+		VCard vcard = new VCard();
+		RawProperty property = vcard.addExtendedProperty("NAME", "value");
+		VCard other = new VCard();
+		RawProperty otherProperty = other.addExtendedProperty("NAME", "value");
+
+		List<RawProperty> list = vcard.getExtendedProperties("NAME");
+		other.getExtendedProperties("NAME");
+
+		//renaming another vCard's property does not rebuild the index
+		otherProperty.setPropertyName("NAME2");
+		assertSame(list, vcard.getExtendedProperties("NAME"));
+		assertEquals(asList(otherProperty), other.getExtendedProperties("NAME2"));
+
+		property.setPropertyName("NAME2");
+		assertEquals(asList(), vcard.getExtendedProperties("NAME"));
+		assertEquals(asList(property), vcard.getExtendedProperties("NAME2"));
+
+		//copies of frozen vCards track the renames of their own properties
+		vcard.freeze();
+		VCard copy = new VCard(vcard);
+		RawProperty copied = copy.getExtendedProperty("NAME2");
+		assertNotSame(property, copied);
+		copied.setPropertyName("NAME3");
+		assertEquals(asList(copied), copy.getExtendedProperties("NAME3"));
+		assertEquals(asList(property), vcard.getExtendedProperties("NAME2"));
+	}
+
+	@Test
+	public void getExtendedProperties_name_removed_properties_are_not_tracked() {
+		VCard vcard = new VCard();
+		RawProperty property = vcard.addExtendedProperty("NAME", "value");
+		RawProperty property2 = vcard.addExtendedProperty("NAME", "value");
+		RawProperty property3 = vcard.addExtendedProperty("NAME", "value");
+		vcard.getExtendedProperties("NAME");
+
+		vcard.removeProperty(property);
+		vcard.getExtendedProperties().remove(property2);
+		RawProperty property4 = new RawProperty("NAME", "value");
+		vcard.getExtendedProperties().set(0, property4);
+		List<RawProperty> list = vcard.getExtendedProperties("NAME");
+		assertEquals(asList(property4), list);
+
+		//renaming properties that were removed does not rebuild the index
+		property.setPropertyName("NAME3");
+		property2.setPropertyName("NAME3");
+		property3.setPropertyName("NAME3");
+		assertSame(list, vcard.getExtendedProperties("NAME"));
+	}
+
+	@Test
+	public void getExtendedProperties_name_frozen() {
+		VCard vcard = new VCard();
+		RawProperty property = vcard.addExtendedProperty("NAME", "value");
+		vcard.freeze();
+
+		//the index is built when the vCard is frozen
+		List<RawProperty> list = vcard.getExtendedProperties("NAME");
+		assertEquals(asList(property), list);
+		assertSame(list, vcard.getExtendedProperties("NAME"));
+
+		//reads do not replace the index
+		property.setPropertyName("NAME2");
+		assertEquals(asList(), vcard.getExtendedProperties("NAME"));
+		assertEquals(asList(property), vcard.getExtendedProperties("NAME2"));
+		assertNotSame(vcard.getExtendedProperties("NAME2"), vcard.getExtendedProperties("NAME2"));
+	}
+
 	@Test
 	public void addExtendedProperty() {
 		VCard vcard = new VCard();
@@ -336,6 +475,101 @@ public class VCardTest {
 		assertEquals(vcard, copy);
 	}
 
+	@Test
+	public void freeze() {
+		VCard vcard = new VCard();
+		vcard.setFormattedName("John Doe");
+		vcard.addNote("Note");
+		Note deferred = new Note("Deferred");
+		vcard.addDeferredProperty(Note.class, () -> deferred);
+
+		assertFalse(vcard.isFrozen());
+		assertSame(vcard, vcard.freeze());
+		assertTrue(vcard.isFrozen());
+		assertSame(vcard, vcard.freeze());
+
+		//deferred properties are resolved when frozen
+		assertSame(deferred, vcard.getNotes().get(1));
+		assertEquals(new VCard(vcard).hashCode(), vcard.hashCode());
+
+		List<Runnable> modifications = asList( //@formatter:off
+			() -> vcard.setVersion(VCardVersion.V4_0),
+			() -> vcard.addNote("Note 2"),
+			() -> vcard.setFormattedName("Jane Doe"),
+			() -> vcard.removeProperty(vcard.getFormattedName()),
+			() -> vcard.removeProperties(Note.class),
+			() -> vcard.addExtendedProperty("X-FOO", "value"),
+			() -> vcard.addDeferredProperty(Note.class, () -> null),
+			() -> vcard.getNotes().add(new Note("Note 2")),
+			() -> vcard.getNotes().remove(0),
+			() -> vcard.getNotes().set(0, new Note("Note 2")),
+			() -> vcard.getNotes().clear()
+		); //@formatter:on
+		for (Runnable modification : modifications) {
+			try {
+				modification.run();
+				fail();
+			} catch (UnsupportedOperationException e) {
+				//expected
+			}
+		}
+
+		assertEquals(VCardVersion.V3_0, vcard.getVersion());
+		assertPropertyCount(3, vcard);
+		assertEquals(3, vcard.getProperties().size());
+
+		//copies are not frozen
+		VCard copy = new VCard(vcard);
+		assertFalse(copy.isFrozen());
+		copy.addNote("Note 2");
+		assertPropertyCount(4, copy);
+	}
+
+	@Test
+	public void copy_frozen() {
+		VCard vcard = new VCard();
+		vcard.setFormattedName("John Doe");
+		vcard.addNote("Note 1");
+		vcard.addNote("Note 2");
+		vcard.addExtendedProperty("X-FOO", "value");
+		vcard.freeze();
+
+		VCard copy = new VCard(vcard);
+		assertFalse(copy.isFrozen());
+		assertEquals(vcard, copy);
+		assertEquals(vcard.hashCode(), copy.hashCode());
+		assertEquals(vcard.toString(), copy.toString());
+
+		//properties are copied when they are retrieved from the copy
+		Note note = copy.getNotes().get(1);
+		assertNotSame(vcard.getNotes().get(1), note);
+		note.setValue("Changed");
+		assertEquals("Note 2", vcard.getNotes().get(1).getValue());
+		assertSame(note, copy.getNotes().get(1));
+
+		assertNotSame(vcard.getExtendedProperty("X-FOO"), copy.getExtendedProperty("X-FOO"));
+		copy.getExtendedProperty("X-FOO").setValue("changed");
+		assertEquals("value", vcard.getExtendedProperty("X-FOO").getValue());
+
+		//removed properties are copied
+		FormattedName fn = copy.removeProperties(FormattedName.class).get(0);
+		assertNotSame(vcard.getFormattedName(), fn);
+
+		//copies of copies
+		VCard copy2 = new VCard(copy);
+		Note note1 = copy2.getNotes().get(0);
+		assertNotSame(copy.getNotes().get(0), note1);
+		assertNotSame(vcard.getNotes().get(0), note1);
+		assertNotSame(note, copy2.getNotes().get(1));
+		assertEquals("Changed", copy2.getNotes().get(1).getValue());
+
+		for (VCardProperty property : copy2) {
+			for (VCardProperty originalProperty : vcard) {
+				assertNotSame(originalProperty, property);
+			}
+		}
+	}
+
 	@Test
 	public void equals_essentials() {
 		VCard one = new VCard();
@@ -416,6 +650,32 @@ public class VCardTest {
 		assertEqualsAndHash(one, two);
 	}
 
+	@Test
+	public void equals_frozen() {
+		VCard one = new VCard();
+		one.addNote("Note 1");
+		one.addNote("Note 2");
+		one.addNote("Note 3");
+		one.freeze();
+
+		VCard two = new VCard();
+		two.addNote("Note 1");
+		two.addNote("Note 3");
+		two.addNote("Note 2");
+		two.freeze();
+
+		assertEqualsAndHash(one, two);
+
+		VCard three = new VCard();
+		three.addNote("Note 1");
+		three.addNote("Note 3");
+		three.addNote("Note 3");
+		three.freeze();
+
+		assertNotEquals(one, three);
+		assertNotEquals(three, one);
+	}
+
 	@Test
 	public void toString_() {
 		VCard vcard = new VCard();
@@ -0,0 +1,105 @@
+package ezvcard.io;
+
+import static ezvcard.VCardVersion.V4_0;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import javax.xml.namespace.QName;
+
+import org.junit.Test;
+
+import ezvcard.io.LuckyNumProperty.LuckyNumScribe;
+import ezvcard.io.scribe.ScribeIndex;
+import ezvcard.property.FormattedName;
+import ezvcard.property.Photo;
+import ezvcard.property.RawProperty;
+
+/*
+ Copyright (c) 2012-2021, Michael Angstadt
+ All rights reserved.
+
+ Redistribution and use in source and binary forms, with or without
+ modification, are permitted provided that the following conditions are met: 
+
+ 1. Redistributions of source code must retain the above copyright notice, this
+ list of conditions and the following disclaimer. 
+ 2. Redistributions in binary form must reproduce the above copyright notice,
+ this list of conditions and the following disclaimer in the documentation
+ and/or other materials provided with the distribution. 
+
+ THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+
+ The views and conclusions contained in the software and documentation are those
+ of the authors and should not be interpreted as representing official policies, 
+ either expressed or implied, of the FreeBSD Project.
+ */
+
+/**
+ * @author Michael Angstadt
+ */
+public class PropertyFilterTest {
+	private final ScribeIndex index = new ScribeIndex();
+
+	@Test
+	public void include_names() {
+		PropertyFilter filter = PropertyFilter.include("FN", "email");
+		assertTrue(filter.accepts("FN", index));
+		assertTrue(filter.accepts("fn", index));
+		assertTrue(filter.accepts("EMAIL", index));
+		assertFalse(filter.accepts("NOTE", index));
+		assertFalse(filter.accepts("X-FOO", index));
+
+		assertTrue(filter.accepts(new QName(V4_0.getXmlNamespace(), "fn"), index));
+		assertFalse(filter.accepts(new QName(V4_0.getXmlNamespace(), "note"), index));
+	}
+
+	@Test
+	public void exclude_names() {
+		PropertyFilter filter = PropertyFilter.exclude("PHOTO");
+		assertFalse(filter.accepts("photo", index));
+		assertTrue(filter.accepts("FN", index));
+		assertTrue(filter.accepts("X-FOO", index));
+
+		assertFalse(filter.accepts(new QName(V4_0.getXmlNamespace(), "photo"), index));
+		assertTrue(filter.accepts(new QName(V4_0.getXmlNamespace(), "fn"), index));
+	}
+
+	@Test
+	public void include_classes() {
+		PropertyFilter filter = PropertyFilter.include(FormattedName.class, RawProperty.class);
+		assertTrue(filter.accepts("fn", index));
+		assertTrue(filter.accepts("X-FOO", index));
+		assertFalse(filter.accepts("NOTE", index));
+
+		assertTrue(filter.accepts(new QName(V4_0.getXmlNamespace(), "fn"), index));
+		assertTrue(filter.accepts(new QName(V4_0.getXmlNamespace(), "x-foo"), index));
+		assertFalse(filter.accepts(new QName(V4_0.getXmlNamespace(), "note"), index));
+		assertFalse(filter.accepts(new QName("http://example.com", "foo"), index));
+	}
+
+	@Test
+	public void exclude_classes() {
+		PropertyFilter filter = PropertyFilter.exclude(Photo.class);
+		assertFalse(filter.accepts("PHOTO", index));
+		assertTrue(filter.accepts("FN", index));
+		assertTrue(filter.accepts("X-FOO", index));
+	}
+
+	@Test
+	public void custom_scribe() {
+		index.register(new LuckyNumScribe());
+
+		PropertyFilter filter = PropertyFilter.include(LuckyNumProperty.class);
+		assertTrue(filter.accepts("X-LUCKY-NUM", index));
+		assertFalse(filter.accepts("X-FOO", index));
+	}
+}
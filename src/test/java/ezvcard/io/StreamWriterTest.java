@@ -8,6 +8,7 @@ import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotEquals;
 import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
 
@@ -16,6 +17,7 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Iterator;
 import java.util.List;
+import java.util.concurrent.ForkJoinPool;
 
 import org.junit.Before;
 import org.junit.Test;
@@ -308,6 +310,28 @@ public class StreamWriterTest {
 		assertEquals(3, writer.count(Address.class));
 	}
 
+	@Test
+	public void writeAll_render_throws_IOException() throws Exception {
+		IOException expected = new IOException();
+		StreamWriterStub writer = new StreamWriterStub() {
+			@Override
+			protected RenderedVCard render(VCard vcard, List<VCardProperty> properties) throws IOException {
+				throw expected;
+			}
+		};
+
+		ForkJoinPool pool = new ForkJoinPool(2);
+		try {
+			writer.setForkJoinPool(pool);
+			writer.writeAll(Arrays.asList(vcard, new VCard(), new VCard()));
+			fail();
+		} catch (IOException e) {
+			assertSame(expected, e);
+		} finally {
+			pool.shutdown();
+		}
+	}
+
 	private class StreamWriterStub extends StreamWriter {
 		private VCardVersion targetVersion;
 		private List<VCardProperty> propertiesList;
@@ -16,11 +16,13 @@ import ezvcard.io.LuckyNumProperty;
 import ezvcard.io.LuckyNumProperty.LuckyNumScribe;
 import ezvcard.io.MyFormattedNameProperty;
 import ezvcard.io.MyFormattedNameProperty.MyFormattedNameScribe;
+import ezvcard.io.PropertyFilter;
 import ezvcard.io.scribe.CannotParseScribe;
 import ezvcard.io.scribe.SkipMeScribe;
 import ezvcard.parameter.AddressType;
 import ezvcard.parameter.TelephoneType;
 import ezvcard.property.Categories;
+import ezvcard.property.Email;
 import ezvcard.property.FormattedName;
 import ezvcard.property.Label;
 import ezvcard.property.Nickname;
@@ -834,6 +836,44 @@ public class HCardParserTest {
 		//@formatter:on
 	}
 
+	@Test
+	public void property_filter() throws Exception {
+		//@formatter:off
+		String html =
+		"<html>" +
+			"<body>" +
+				"<div class=\"vcard\">" +
+					"<span class=\"fn\">John Doe</span>" +
+					"<span class=\"nickname\">Johnny</span>" +
+					"<a class=\"url\" href=\"mailto:john@example.com\">Email</a>" +
+					"<a class=\"url\" href=\"aim:goim?screenname=johndoe\">IM</a>" +
+				"</div>" +
+			"</body>" +
+		"</html>";
+		//@formatter:on
+
+		HCardParser reader = new HCardParser(html, "http://example.com");
+		reader.setPropertyFilter(PropertyFilter.include(FormattedName.class, Email.class));
+
+		VCard vcard = reader.readNext();
+		assertPropertyCount(2, vcard);
+		assertEquals("John Doe", vcard.getFormattedName().getValue());
+		assertEquals("john@example.com", vcard.getEmails().get(0).getValue());
+		assertParseWarnings(reader);
+		assertNoMoreVCards(reader);
+
+		reader = new HCardParser(html, "http://example.com");
+		reader.setPropertyFilter(PropertyFilter.exclude("fn", "email"));
+
+		vcard = reader.readNext();
+		assertPropertyCount(3, vcard);
+		assertEquals("http://example.com", vcard.getSources().get(0).getValue());
+		assertEquals("Johnny", vcard.getNickname().getValues().get(0));
+		assertEquals("johndoe", vcard.getImpps().get(0).getHandle());
+		assertParseWarnings(reader);
+		assertNoMoreVCards(reader);
+	}
+
 	private static VCardAsserter readHtml(String html) {
 		HCardParser parser = new HCardParser(html);
 		return new VCardAsserter(parser);
@@ -6,6 +6,7 @@ import static ezvcard.util.TestUtils.assertParseWarnings;
 import static ezvcard.util.TestUtils.assertPropertyCount;
 import static ezvcard.util.TestUtils.assertVersion;
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
 
 import java.io.Writer;
 import java.nio.charset.StandardCharsets;
@@ -13,6 +14,7 @@ import java.nio.file.Files;
 import java.nio.file.Path;
 import java.time.OffsetDateTime;
 import java.time.ZoneOffset;
+import java.util.List;
 
 import org.junit.Rule;
 import org.junit.Test;
@@ -24,6 +26,7 @@ import ezvcard.VCardVersion;
 import ezvcard.io.MyFormattedNameProperty;
 import ezvcard.io.MyFormattedNameProperty.MyFormattedNameScribe;
 import ezvcard.io.ParseContext;
+import ezvcard.io.PropertyFilter;
 import ezvcard.io.scribe.CannotParseScribe;
 import ezvcard.io.scribe.SkipMeScribe;
 import ezvcard.io.scribe.VCardPropertyScribe;
@@ -34,6 +37,7 @@ import ezvcard.parameter.TelephoneType;
 import ezvcard.parameter.VCardParameters;
 import ezvcard.property.Anniversary;
 import ezvcard.property.Birthday;
+import ezvcard.property.Email;
 import ezvcard.property.FormattedName;
 import ezvcard.property.Gender;
 import ezvcard.property.Key;
@@ -44,6 +48,7 @@ import ezvcard.property.Url;
 import ezvcard.property.VCardProperty;
 import ezvcard.property.asserter.VCardAsserter;
 import ezvcard.util.PartialDate;
+import ezvcard.util.StringPool;
 import ezvcard.util.TelUri;
 
 /*
@@ -138,6 +143,66 @@ public class JCardReaderTest {
 		//@formatter:on
 	}
 
+	@Test
+	public void string_pool() throws Throwable {
+		//@formatter:off
+		String json =
+		"[" +
+			"[\"vcard\",[[\"version\",{},\"text\",\"4.0\"],[\"email\",{\"group\":\"item1\",\"type\":\"work\"},\"text\",\"one@example.com\"]]]," +
+			"[\"vcard\",[[\"version\",{},\"text\",\"4.0\"],[\"email\",{\"group\":\"item1\",\"type\":\"work\"},\"text\",\"two@example.com\"]]]" +
+		"]";
+		//@formatter:on
+
+		List<VCard> vcards;
+		try (JCardReader reader = new JCardReader(json)) {
+			reader.setStringPool(new StringPool());
+			vcards = reader.readAll();
+		}
+
+		Email email1 = vcards.get(0).getEmails().get(0);
+		Email email2 = vcards.get(1).getEmails().get(0);
+		assertSame(email1.getGroup(), email2.getGroup());
+		assertSame(email1.getParameters().get("TYPE").get(0), email2.getParameters().get("TYPE").get(0));
+		assertEquals("work", email2.getParameters().get("TYPE").get(0));
+	}
+
+	@Test
+	public void property_filter() throws Throwable {
+		//@formatter:off
+		String json =
+		"[\"vcard\"," +
+			"[" +
+				"[\"version\", {}, \"text\", \"4.0\"]," +
+				"[\"fn\", {}, \"text\", \"John Doe\"]," +
+				"[\"photo\", {\"type\": [\"work\", \"home\"]}, \"uri\", \"data:image/jpeg;base64,AAAA\"]," +
+				"[\"x-foo\", {}, \"unknown\", [\"one\", {\"two\": [1, 2]}]]," +
+				"[\"note\", {}, \"text\", \"Note\"]" +
+			"]" +
+		"]";
+		//@formatter:on
+
+		JCardReader reader = new JCardReader(json);
+		reader.setPropertyFilter(PropertyFilter.exclude("PHOTO", "X-FOO"));
+
+		VCard vcard = reader.readNext();
+		assertVersion(V4_0, vcard);
+		assertPropertyCount(2, vcard);
+		assertEquals("John Doe", vcard.getFormattedName().getValue());
+		assertEquals("Note", vcard.getNotes().get(0).getValue());
+		assertParseWarnings(reader);
+		assertNoMoreVCards(reader);
+
+		reader = new JCardReader(json);
+		reader.setPropertyFilter(PropertyFilter.include(FormattedName.class));
+
+		vcard = reader.readNext();
+		assertVersion(V4_0, vcard);
+		assertPropertyCount(1, vcard);
+		assertEquals("John Doe", vcard.getFormattedName().getValue());
+		assertParseWarnings(reader);
+		assertNoMoreVCards(reader);
+	}
+
 	@Test
 	public void no_version() throws Exception {
 		//@formatter:off
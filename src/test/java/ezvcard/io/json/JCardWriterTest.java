@@ -10,6 +10,9 @@ import java.nio.charset.StandardCharsets;
 import java.nio.file.Path;
 import java.time.OffsetDateTime;
 import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
 
 import org.junit.Rule;
 import org.junit.Test;
@@ -489,4 +492,35 @@ public class JCardWriterTest {
 			return property.value;
 		}
 	}
+
+	@Test
+	public void writeAll_parallel() throws Throwable {
+		List<VCard> vcards = new ArrayList<>();
+		for (int i = 0; i < 50; i++) {
+			VCard vcard = new VCard();
+			vcard.setFormattedName("John Doe " + i);
+			vcard.addTelephoneNumber("+1 555 555 " + i, TelephoneType.HOME).setGroup("item" + i);
+			vcards.add(vcard);
+		}
+
+		StringWriter expected = new StringWriter();
+		try (JCardWriter writer = new JCardWriter(expected, true)) {
+			writer.setPrettyPrint(true);
+			for (VCard vcard : vcards) {
+				writer.write(vcard);
+			}
+		}
+
+		ForkJoinPool pool = new ForkJoinPool(4);
+		StringWriter actual = new StringWriter();
+		try (JCardWriter writer = new JCardWriter(actual, true)) {
+			writer.setPrettyPrint(true);
+			writer.setForkJoinPool(pool);
+			writer.writeAll(vcards);
+		} finally {
+			pool.shutdown();
+		}
+
+		assertEquals(expected.toString(), actual.toString());
+	}
 }
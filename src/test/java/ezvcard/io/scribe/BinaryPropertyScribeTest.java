@@ -9,14 +9,24 @@ import static org.junit.Assert.assertArrayEquals;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNull;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+
 import org.junit.Test;
 
 import ezvcard.VCardVersion;
+import ezvcard.io.ParseContext;
 import ezvcard.io.scribe.Sensei.Check;
 import ezvcard.parameter.Encoding;
 import ezvcard.parameter.ImageType;
+import ezvcard.parameter.VCardParameters;
 import ezvcard.property.BinaryProperty;
+import ezvcard.util.BinaryHandle;
 import ezvcard.util.DataUri;
+import ezvcard.util.Gobble;
 import ezvcard.util.org.apache.commons.codec.binary.Base64;
 
 /*
@@ -291,6 +301,147 @@ public class BinaryPropertyScribeTest {
 		sensei.assertParseJson(dataUri).run(hasData(data, ImageType.JPEG));
 	}
 
+	@Test
+	public void parseText_binary_storage() throws Exception {
+		byte[] data = new byte[1000];
+		for (int i = 0; i < data.length; i++) {
+			data[i] = (byte) i;
+		}
+		String base64 = Base64.encodeBase64String(data);
+		String folded = base64.substring(0, 100) + "\r\n " + base64.substring(100);
+
+		List<byte[]> stored = new ArrayList<>();
+		ParseContext context = new ParseContext();
+		context.setBinaryStorage(in -> {
+			byte[] bytes = new Gobble(in).asByteArray();
+			stored.add(bytes);
+			return new BinaryHandle() {
+				public InputStream open() {
+					return new ByteArrayInputStream(bytes);
+				}
+
+				public long size() {
+					return bytes.length;
+				}
+			};
+		});
+		context.setBinaryStorageThreshold(100);
+
+		VCardParameters parameters = new VCardParameters();
+		parameters.setEncoding(Encoding.B);
+		parameters.setType("png");
+		context.setVersion(V3_0);
+		BinaryPropertyImpl property = scribe.parseText(folded, null, parameters, context);
+		assertEquals(ImageType.PNG, property.getContentType());
+		assertEquals(1000, property.getDataHandle().size());
+		assertNull(property.getData());
+		assertArrayEquals(data, property.readData());
+		assertArrayEquals(data, stored.get(0));
+
+		context.setVersion(V4_0);
+		property = scribe.parseText(new DataUri("image/jpeg", data).toString(), URI, new VCardParameters(), context);
+		assertEquals(ImageType.JPEG, property.getContentType());
+		assertArrayEquals(data, property.readData());
+		assertEquals(2, stored.size());
+
+		//data URI that contains text
+		String text = new DataUri("text/plain", new String(new char[200]).replace('\0', 'a')).toString();
+		property = scribe.parseText(text, URI, new VCardParameters(), context);
+		assertNull(property.getDataHandle());
+		assertEquals(2, stored.size());
+
+		//below the threshold
+		context.setVersion(V3_0);
+		property = scribe.parseText(Base64.encodeBase64String(this.data), null, parameters, context);
+		assertNull(property.getDataHandle());
+		assertArrayEquals(this.data, property.getData());
+		assertEquals(2, stored.size());
+
+		//URL
+		property = scribe.parseText(url + "?" + base64, URL, new VCardParameters(), context);
+		assertNull(property.getDataHandle());
+		assertEquals(2, stored.size());
+	}
+
+	@Test
+	public void parseText_binary_storage_malformed() throws Exception {
+		String[] values = { "Zm9v!YmFy", "Zm9vYg", "Zm9vYmE", "Zm9vY", "Zm9v=YmFy", "Zm-_" };
+
+		ParseContext context = new ParseContext();
+		context.setBinaryStorage(in -> {
+			byte[] bytes = new Gobble(in).asByteArray();
+			return new BinaryHandle() {
+				public InputStream open() {
+					return new ByteArrayInputStream(bytes);
+				}
+
+				public long size() {
+					return bytes.length;
+				}
+			};
+		});
+		context.setVersion(V2_1);
+
+		VCardParameters parameters = new VCardParameters();
+		parameters.setEncoding(Encoding.BASE64);
+		for (String value : values) {
+			BinaryPropertyImpl property = scribe.parseText(value, null, parameters, context);
+			assertArrayEquals(value, Base64.decodeBase64(value), property.readData());
+		}
+	}
+
+	@Test
+	public void parseText_binary_storage_read_sizes() throws Exception {
+		for (int length = 0; length < 12; length++) {
+			byte[] data = new byte[length];
+			for (int i = 0; i < data.length; i++) {
+				data[i] = (byte) (i * 37);
+			}
+			String base64 = Base64.encodeBase64String(data);
+			base64 = base64.substring(0, base64.length() / 2) + "\r\n " + base64.substring(base64.length() / 2);
+
+			for (int chunkSize = 1; chunkSize < 8; chunkSize++) {
+				int size = chunkSize;
+				ParseContext context = new ParseContext();
+				context.setBinaryStorage(in -> {
+					//mix single-byte reads with reads of the given size
+					ByteArrayOutputStream out = new ByteArrayOutputStream();
+					byte[] buffer = new byte[size + 1];
+					while (true) {
+						int b = in.read();
+						if (b < 0) {
+							break;
+						}
+						out.write(b);
+
+						int read = in.read(buffer, 1, size);
+						if (read < 0) {
+							break;
+						}
+						out.write(buffer, 1, read);
+					}
+					byte[] bytes = out.toByteArray();
+					return new BinaryHandle() {
+						public InputStream open() {
+							return new ByteArrayInputStream(bytes);
+						}
+
+						public long size() {
+							return bytes.length;
+						}
+					};
+				});
+				context.setBinaryStorageThreshold(0);
+				context.setVersion(V3_0);
+
+				VCardParameters parameters = new VCardParameters();
+				parameters.setEncoding(Encoding.B);
+				BinaryPropertyImpl property = scribe.parseText(base64, null, parameters, context);
+				assertArrayEquals(length + "/" + chunkSize, data, property.readData());
+			}
+		}
+	}
+
 	private static class BinaryPropertyScribeImpl extends BinaryPropertyScribe<BinaryPropertyImpl, ImageType> {
 		public BinaryPropertyScribeImpl() {
 			super(BinaryPropertyImpl.class, "BINARY");
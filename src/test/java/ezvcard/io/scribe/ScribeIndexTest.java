@@ -0,0 +1,132 @@
+package ezvcard.io.scribe;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+import ezvcard.VCardDataType;
+import ezvcard.VCardVersion;
+import ezvcard.io.ParseContext;
+import ezvcard.io.text.WriteContext;
+import ezvcard.parameter.VCardParameters;
+import ezvcard.property.Address;
+import ezvcard.property.Birthday;
+import ezvcard.property.Kind;
+import ezvcard.property.ProductId;
+import ezvcard.property.RawProperty;
+import ezvcard.property.VCardProperty;
+
+/*
+ Copyright (c) 2012-2021, Michael Angstadt
+ All rights reserved.
+
+ Redistribution and use in source and binary forms, with or without
+ modification, are permitted provided that the following conditions are met: 
+
+ 1. Redistributions of source code must retain the above copyright notice, this
+ list of conditions and the following disclaimer. 
+ 2. Redistributions in binary form must reproduce the above copyright notice,
+ this list of conditions and the following disclaimer in the documentation
+ and/or other materials provided with the distribution. 
+
+ THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+
+ The views and conclusions contained in the software and documentation are those
+ of the authors and should not be interpreted as representing official policies, 
+ either expressed or implied, of the FreeBSD Project.
+ */
+
+/**
+ * @author Michael Angstadt
+ */
+public class ScribeIndexTest {
+	@Test
+	public void getWritePlan() {
+		ScribeIndex index = new ScribeIndex();
+
+		WritePlan plan = index.getWritePlan(Address.class, VCardVersion.V3_0);
+		assertSame(Address.class, plan.getPropertyClass());
+		assertSame(VCardVersion.V3_0, plan.getVersion());
+		assertSame(index.getPropertyScribe(Address.class), plan.getScribe());
+		assertTrue(plan.isSupported());
+		assertTrue(plan.hasScribe());
+		assertFalse(plan.isProductId());
+		assertTrue(plan.isLabelSynthesized());
+		assertSame(plan, index.getWritePlan(Address.class, VCardVersion.V3_0));
+
+		plan = index.getWritePlan(Address.class, VCardVersion.V4_0);
+		assertFalse(plan.isLabelSynthesized());
+
+		plan = index.getWritePlan(Kind.class, VCardVersion.V3_0);
+		assertFalse(plan.isSupported());
+		assertTrue(index.getWritePlan(Kind.class, VCardVersion.V4_0).isSupported());
+
+		plan = index.getWritePlan(ProductId.class, VCardVersion.V4_0);
+		assertTrue(plan.isProductId());
+
+		plan = index.getWritePlan(Birthday.class, VCardVersion.V4_0);
+		assertEquals(VCardDataType.DATE_AND_OR_TIME, plan.getDefaultDataType());
+
+		plan = index.getWritePlan(RawProperty.class, VCardVersion.V4_0);
+		assertNull(plan.getScribe());
+		assertNull(plan.getDefaultDataType());
+		assertTrue(plan.hasScribe());
+	}
+
+	@Test
+	public void getWritePlan_register() {
+		ScribeIndex index = new ScribeIndex();
+
+		WritePlan plan = index.getWritePlan(TestProperty.class, VCardVersion.V4_0);
+		assertNull(plan.getScribe());
+		assertFalse(plan.hasScribe());
+
+		TestScribe scribe = new TestScribe();
+		index.register(scribe);
+		plan = index.getWritePlan(TestProperty.class, VCardVersion.V4_0);
+		assertSame(scribe, plan.getScribe());
+		assertTrue(plan.hasScribe());
+
+		index.unregister(scribe);
+		plan = index.getWritePlan(TestProperty.class, VCardVersion.V4_0);
+		assertFalse(plan.hasScribe());
+	}
+
+	private static class TestProperty extends VCardProperty {
+		//empty
+	}
+
+	private static class TestScribe extends VCardPropertyScribe<TestProperty> {
+		public TestScribe() {
+			super(TestProperty.class, "X-TEST");
+		}
+
+		@Override
+		protected VCardDataType _defaultDataType(VCardVersion version) {
+			return VCardDataType.TEXT;
+		}
+
+		@Override
+		protected String _writeText(TestProperty property, WriteContext context) {
+			return "";
+		}
+
+		@Override
+		protected TestProperty _parseText(String value, VCardDataType dataType, VCardParameters parameters, ParseContext context) {
+			return new TestProperty();
+		}
+	}
+}
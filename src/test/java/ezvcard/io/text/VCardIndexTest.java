@@ -0,0 +1,235 @@
+package ezvcard.io.text;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.io.IOException;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import ezvcard.VCard;
+
+/*
+ Copyright (c) 2012-2021, Michael Angstadt
+ All rights reserved.
+
+ Redistribution and use in source and binary forms, with or without
+ modification, are permitted provided that the following conditions are met: 
+
+ 1. Redistributions of source code must retain the above copyright notice, this
+ list of conditions and the following disclaimer. 
+ 2. Redistributions in binary form must reproduce the above copyright notice,
+ this list of conditions and the following disclaimer in the documentation
+ and/or other materials provided with the distribution. 
+
+ THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+
+ The views and conclusions contained in the software and documentation are those
+ of the authors and should not be interpreted as representing official policies, 
+ either expressed or implied, of the FreeBSD Project.
+ */
+
+/**
+ * @author Michael Angstadt
+ */
+public class VCardIndexTest {
+	@Rule
+	public TemporaryFolder folder = new TemporaryFolder();
+
+	//@formatter:off
+	private final String data =
+	"junk\r\n" +
+	"BEGIN:VCARD\r\n" +
+		"VERSION:3.0\r\n" +
+		"UID:one\r\n" +
+		"FN:Jöhn Doe\r\n" +
+	"END:VCARD\r\n" +
+	"BEGIN:VCARD\r\n" +
+		"VERSION:2.1\r\n" +
+		"FN:Agent Smith\r\n" +
+		"AGENT:\r\n" +
+		"BEGIN:VCARD\r\n" +
+			"UID:nested\r\n" +
+		"END:VCARD\r\n" +
+	"END:VCARD\r\n" +
+	"BEGIN:VCARD\r\n" +
+		"VERSION:4.0\r\n" +
+		"UID:three\r\n" +
+		"FN:Jöhn Doe\r\n" +
+		"NOTE:漢字\r\n" +
+	"END:VCARD";
+	//@formatter:on
+
+	@Test
+	public void build() throws Exception {
+		Path file = write(data, StandardCharsets.UTF_8);
+		VCardIndex index = VCardIndex.build(file);
+
+		assertEquals(3, index.size());
+		assertEquals(StandardCharsets.UTF_8, index.getCharset());
+
+		VCardIndex.Entry entry = index.getEntries().get(0);
+		assertEquals(6, entry.getOffset());
+		assertEquals("one", entry.getUid());
+		assertEquals("Jöhn Doe", entry.getFormattedName());
+
+		entry = index.getEntries().get(1);
+		assertNull(entry.getUid());
+		assertEquals("Agent Smith", entry.getFormattedName());
+
+		entry = index.getEntries().get(2);
+		assertEquals("three", entry.getUid());
+
+		assertSame(index.getEntries().get(2), index.getEntryByUid("three"));
+		assertNull(index.getEntryByUid("nested"));
+		assertEquals(Arrays.asList(index.getEntries().get(0), index.getEntries().get(2)), index.getEntriesByFormattedName("Jöhn Doe"));
+
+		assertReads(index, file);
+	}
+
+	@Test
+	public void build_without_keys() throws Exception {
+		Path file = write(data, StandardCharsets.UTF_8);
+		VCardIndex index = VCardIndex.build(file, StandardCharsets.UTF_8, false);
+
+		assertEquals(3, index.size());
+		for (VCardIndex.Entry entry : index.getEntries()) {
+			assertNull(entry.getUid());
+			assertNull(entry.getFormattedName());
+		}
+		assertNull(index.readByUid(file, "one"));
+
+		assertReads(index, file);
+	}
+
+	@Test
+	public void build_charset() throws Exception {
+		String data = "BEGIN:VCARD\r\nFN:Jöhn\r\nEND:VCARD\r\nBEGIN:VCARD\r\nFN:Jäne\r\nEND:VCARD\r\n";
+		Path file = write(data, StandardCharsets.ISO_8859_1);
+		VCardIndex index = VCardIndex.build(file, StandardCharsets.ISO_8859_1, true);
+
+		assertEquals("Jäne", index.getEntries().get(1).getFormattedName());
+		assertEquals("Jäne", index.read(file, 1).getFormattedName().getValue());
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void build_incompatible_charset() throws Exception {
+		Path file = write(data, StandardCharsets.UTF_16);
+		VCardIndex.build(file, StandardCharsets.UTF_16, true);
+	}
+
+	@Test
+	public void save_load() throws Exception {
+		Path file = write(data, StandardCharsets.UTF_8);
+		Path indexFile = folder.newFile().toPath();
+
+		VCardIndex index = VCardIndex.build(file);
+		index.save(indexFile);
+		VCardIndex loaded = VCardIndex.load(indexFile);
+
+		assertEquals(index.size(), loaded.size());
+		assertEquals(index.getCharset(), loaded.getCharset());
+		for (int i = 0; i < index.size(); i++) {
+			VCardIndex.Entry expected = index.getEntries().get(i);
+			VCardIndex.Entry actual = loaded.getEntries().get(i);
+			assertEquals(expected.getOffset(), actual.getOffset());
+			assertEquals(expected.getLength(), actual.getLength());
+			assertEquals(expected.getUid(), actual.getUid());
+			assertEquals(expected.getFormattedName(), actual.getFormattedName());
+		}
+
+		assertEquals("漢字", loaded.readByUid(file, "three").getNotes().get(0).getValue());
+	}
+
+	@Test(expected = IOException.class)
+	public void load_not_an_index() throws Exception {
+		Path file = write(data, StandardCharsets.UTF_8);
+		VCardIndex.load(file);
+	}
+
+	@Test
+	public void build_utf8_bom() throws Exception {
+		Path file = write("\uFEFF" + data, StandardCharsets.UTF_8);
+		VCardIndex index = VCardIndex.build(file);
+
+		assertEquals(3, index.size());
+		assertEquals(6 + 3, index.getEntries().get(0).getOffset());
+		assertEquals("one", index.read(file, 0).getUid().getValue());
+		assertEquals("漢字", index.readByUid(file, "three").getNotes().get(0).getValue());
+	}
+
+	@Test
+	public void file_changed() throws Exception {
+		Path file = write(data, StandardCharsets.UTF_8);
+		Path indexFile = folder.newFile().toPath();
+		VCardIndex.build(file).save(indexFile);
+		VCardIndex index = VCardIndex.load(indexFile);
+		assertTrue(index.isUpToDate(file));
+
+		FileTime lastModified = Files.getLastModifiedTime(file);
+		Files.write(file, data.replace("Agent", "Agent Agent").getBytes(StandardCharsets.UTF_8));
+		Files.setLastModifiedTime(file, lastModified);
+		assertFalse(index.isUpToDate(file));
+		try {
+			index.read(file, 2);
+			fail();
+		} catch (IOException e) {
+			//expected
+		}
+
+		Files.write(file, data.getBytes(StandardCharsets.UTF_8));
+		Files.setLastModifiedTime(file, FileTime.fromMillis(lastModified.toMillis() + 5000));
+		assertFalse(index.isUpToDate(file));
+
+		Files.setLastModifiedTime(file, lastModified);
+		assertTrue(index.isUpToDate(file));
+		assertEquals("three", index.read(file, 2).getUid().getValue());
+	}
+
+	@Test
+	public void empty_file() throws Exception {
+		Path file = write("", StandardCharsets.UTF_8);
+		VCardIndex index = VCardIndex.build(file);
+		assertEquals(0, index.size());
+	}
+
+	private static void assertReads(VCardIndex index, Path file) throws IOException {
+		List<VCard> expected;
+		try (VCardReader reader = new VCardReader(file)) {
+			expected = reader.readAll();
+		}
+
+		assertEquals(expected.size(), index.size());
+		for (int i = 0; i < index.size(); i++) {
+			assertEquals(expected.get(i), index.read(file, i));
+		}
+	}
+
+	private Path write(String data, Charset charset) throws IOException {
+		Path file = folder.newFile().toPath();
+		Files.write(file, data.getBytes(charset));
+		return file;
+	}
+}
@@ -0,0 +1,240 @@
+package ezvcard.io.text;
+
+import static ezvcard.util.TestUtils.assertParseWarnings;
+import static ezvcard.util.TestUtils.assertVersion;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStreamReader;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.Test;
+
+import ezvcard.VCard;
+import ezvcard.VCardVersion;
+import ezvcard.io.ParseWarning;
+import ezvcard.io.PropertyFilter;
+import ezvcard.property.FormattedName;
+import ezvcard.util.StringPool;
+
+/*
+ Copyright (c) 2012-2021, Michael Angstadt
+ All rights reserved.
+
+ Redistribution and use in source and binary forms, with or without
+ modification, are permitted provided that the following conditions are met: 
+
+ 1. Redistributions of source code must retain the above copyright notice, this
+ list of conditions and the following disclaimer. 
+ 2. Redistributions in binary form must reproduce the above copyright notice,
+ this list of conditions and the following disclaimer in the documentation
+ and/or other materials provided with the distribution. 
+
+ THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+
+ The views and conclusions contained in the software and documentation are those
+ of the authors and should not be interpreted as representing official policies, 
+ either expressed or implied, of the FreeBSD Project.
+ */
+
+/**
+ * @author Michael Angstadt
+ */
+public class VCardPushParserTest {
+	//@formatter:off
+	private final String data =
+	"BEGIN:VCARD\r\n" +
+		"VERSION:2.1\r\n" +
+		"FN:Jöhn 漢字 Doe\r\n" +
+		"NOTE;ENCODING=QUOTED-PRINTABLE;CHARSET=UTF-8:caf=C3=A9 =\r\n" +
+		"au lait\r\n" +
+		"AGENT:\r\n" +
+		"BEGIN:VCARD\r\n" +
+			"VERSION:2.1\r\n" +
+			"FN:Agent 007\r\n" +
+		"END:VCARD\r\n" +
+	"END:VCARD\r\n" +
+	"BEGIN:VCARD\r\n" +
+		"VERSION:3.0\r\n" +
+		"FN:Jane\r\n" +
+		"  Doe\r\n" +
+		"BAD LINE\r\n" +
+	"END:VCARD\r\n";
+	//@formatter:on
+
+	@Test
+	public void push() throws Exception {
+		byte[] bytes = data.getBytes(StandardCharsets.UTF_8);
+
+		List<VCard> expected;
+		try (VCardReader reader = new VCardReader(new InputStreamReader(new ByteArrayInputStream(bytes), StandardCharsets.UTF_8))) {
+			expected = reader.readAll();
+		}
+
+		//push one byte at a time to split up multi-byte characters, folded lines, etc
+		List<VCard> vcards = new ArrayList<>();
+		List<List<ParseWarning>> warnings = new ArrayList<>();
+		VCardPushParser parser = new VCardPushParser((vcard, w) -> {
+			vcards.add(vcard);
+			warnings.add(w);
+		});
+		for (int i = 0; i < bytes.length; i++) {
+			parser.push(ByteBuffer.wrap(bytes, i, 1));
+		}
+		assertEquals(2, vcards.size());
+		parser.finish();
+
+		assertEquals(expected, vcards);
+
+		VCard vcard = vcards.get(0);
+		assertEquals("Jöhn 漢字 Doe", vcard.getFormattedName().getValue());
+		assertEquals("café au lait", vcard.getNotes().get(0).getValue());
+		assertEquals("Agent 007", vcard.getAgent().getVCard().getFormattedName().getValue());
+		assertParseWarnings(warnings.get(0));
+
+		vcard = vcards.get(1);
+		assertVersion(VCardVersion.V3_0, vcard);
+		assertEquals("Jane Doe", vcard.getFormattedName().getValue());
+		assertParseWarnings(warnings.get(1), 27);
+		assertEquals(Integer.valueOf(16), warnings.get(1).get(0).getLineNumber());
+	}
+
+	@Test
+	public void push_vcard_available_immediately() {
+		List<VCard> vcards = new ArrayList<>();
+		VCardPushParser parser = new VCardPushParser((vcard, warnings) -> vcards.add(vcard));
+
+		byte[] bytes = data.getBytes(StandardCharsets.UTF_8);
+		int secondVCard = bytes.length - "BEGIN:VCARD\r\nVERSION:3.0\r\nFN:Jane\r\n  Doe\r\nBAD LINE\r\nEND:VCARD\r\n".length();
+		parser.push(bytes, 0, secondVCard - 2);
+		assertEquals(0, vcards.size());
+
+		//the vCard is available as soon as the "END" line is terminated
+		parser.push(bytes, secondVCard - 2, 1);
+		assertEquals(1, vcards.size());
+
+		parser.push(bytes, secondVCard, bytes.length - secondVCard - 2);
+		assertEquals(1, vcards.size());
+
+		//no newline at the end
+		parser.finish();
+		assertEquals(2, vcards.size());
+	}
+
+	@Test
+	public void finish_unterminated() {
+		List<VCard> vcards = new ArrayList<>();
+		VCardPushParser parser = new VCardPushParser((vcard, warnings) -> vcards.add(vcard));
+
+		byte[] bytes = "BEGIN:VCARD\r\nVERSION:4.0\r\nFN:John".getBytes(StandardCharsets.UTF_8);
+		parser.push(bytes, 0, bytes.length);
+		assertEquals(0, vcards.size());
+
+		parser.finish();
+		assertEquals(1, vcards.size());
+		assertEquals("John", vcards.get(0).getFormattedName().getValue());
+
+		//parser can be reused
+		bytes = "BEGIN:VCARD\r\nFN:Jane\r\nEND:VCARD\r\n".getBytes(StandardCharsets.UTF_8);
+		parser.push(bytes, 0, bytes.length);
+		parser.finish();
+		assertEquals(2, vcards.size());
+		assertEquals("Jane", vcards.get(1).getFormattedName().getValue());
+	}
+
+	@Test
+	public void charset() {
+		List<VCard> vcards = new ArrayList<>();
+		VCardReaderConfig config = new VCardReaderConfig.Builder().defaultVersion(VCardVersion.V4_0).build();
+		VCardPushParser parser = new VCardPushParser(StandardCharsets.ISO_8859_1, config, (vcard, warnings) -> vcards.add(vcard));
+
+		byte[] bytes = "BEGIN:VCARD\r\nFN:Jöhn\r\nNOTE;ENCODING=QUOTED-PRINTABLE:caf=E9\r\nEND:VCARD\r\n".getBytes(StandardCharsets.ISO_8859_1);
+		parser.push(ByteBuffer.wrap(bytes));
+		parser.finish();
+
+		VCard vcard = vcards.get(0);
+		assertVersion(VCardVersion.V4_0, vcard);
+		assertEquals("Jöhn", vcard.getFormattedName().getValue());
+		assertEquals("café", vcard.getNotes().get(0).getValue());
+	}
+
+	@Test
+	public void property_filter() {
+		List<VCard> vcards = new ArrayList<>();
+		VCardReaderConfig config = new VCardReaderConfig.Builder().filter(PropertyFilter.include(FormattedName.class)).build();
+		VCardPushParser parser = new VCardPushParser(StandardCharsets.UTF_8, config, (vcard, warnings) -> vcards.add(vcard));
+
+		byte[] bytes = data.getBytes(StandardCharsets.UTF_8);
+		parser.push(ByteBuffer.wrap(bytes));
+		parser.finish();
+
+		VCard vcard = vcards.get(0);
+		assertEquals(1, vcard.getProperties().size());
+		assertEquals("Jöhn 漢字 Doe", vcard.getFormattedName().getValue());
+	}
+
+	@Test
+	public void config() {
+		//@formatter:off
+		String str =
+		"BEGIN:VCARD\r\n" +
+			"VERSION:3.0\r\n" +
+			"FN:John Doe\r\n" +
+		"BEGIN:VCARD\r\n" +
+			"VERSION:3.0\r\n" +
+			"FN:Jane Doe\r\n" +
+			"TEL;TYPE=cell:555-0100\r\n" +
+		"END:VCARD\r\n" +
+		"BEGIN:VCARD\r\n" +
+			"VERSION:3.0\r\n" +
+			"FN:Joe Doe\r\n" +
+			"TEL;TYPE=cell:555-0101\r\n" +
+		"END:VCARD\r\n";
+		//@formatter:on
+
+		StringPool stringPool = new StringPool();
+		VCardReaderConfig config = new VCardReaderConfig.Builder().recovery(true).stringPool(stringPool).build();
+		List<VCard> vcards = new ArrayList<>();
+		List<List<ParseWarning>> warnings = new ArrayList<>();
+		VCardPushParser parser = new VCardPushParser(StandardCharsets.UTF_8, config, (vcard, w) -> {
+			vcards.add(vcard);
+			warnings.add(w);
+		});
+
+		byte[] bytes = str.getBytes(StandardCharsets.UTF_8);
+		parser.push(ByteBuffer.wrap(bytes));
+		parser.finish();
+
+		assertEquals(2, vcards.size());
+		assertEquals("Jane Doe", vcards.get(0).getFormattedName().getValue());
+		assertParseWarnings(warnings.get(0), 39);
+		assertEquals("Joe Doe", vcards.get(1).getFormattedName().getValue());
+		assertParseWarnings(warnings.get(1));
+
+		String type1 = vcards.get(0).getTelephoneNumbers().get(0).getParameters().getType();
+		String type2 = vcards.get(1).getTelephoneNumbers().get(0).getParameters().getType();
+		assertSame(type1, type2);
+
+		//warnings off
+		config = new VCardReaderConfig.Builder().recovery(true).warnings(false).build();
+		warnings.clear();
+		parser = new VCardPushParser(StandardCharsets.UTF_8, config, (vcard, w) -> warnings.add(w));
+		parser.push(ByteBuffer.wrap(bytes));
+		parser.finish();
+		assertEquals(2, warnings.size());
+		assertParseWarnings(warnings.get(0));
+	}
+}
@@ -1,5 +1,7 @@
 package ezvcard.io.text;
 
+import static java.util.Arrays.asList;
+
 import static ezvcard.VCardDataType.INTEGER;
 import static ezvcard.VCardDataType.TEXT;
 import static ezvcard.VCardVersion.V2_1;
@@ -11,14 +13,31 @@ import static ezvcard.util.TestUtils.assertParseWarnings;
 import static ezvcard.util.TestUtils.assertPropertyCount;
 import static ezvcard.util.TestUtils.assertVersion;
 import static ezvcard.util.TestUtils.each;
+import static org.junit.Assert.assertArrayEquals;
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
 
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.Reader;
+import java.io.StringReader;
+import java.io.StringWriter;
 import java.nio.charset.Charset;
+import java.time.Instant;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Iterator;
 import java.util.List;
+import java.util.Optional;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 import org.junit.Test;
 
@@ -33,17 +52,31 @@ import ezvcard.io.LuckyNumProperty.LuckyNumScribe;
 import ezvcard.io.MyFormattedNameProperty;
 import ezvcard.io.MyFormattedNameProperty.MyFormattedNameScribe;
 import ezvcard.io.ParseContext;
+import ezvcard.io.ParseWarning;
+import ezvcard.io.PropertyFilter;
 import ezvcard.io.scribe.CannotParseScribe;
 import ezvcard.io.scribe.SkipMeScribe;
 import ezvcard.io.scribe.VCardPropertyScribe;
 import ezvcard.parameter.AddressType;
+import ezvcard.parameter.ImageType;
+import ezvcard.parameter.TelephoneType;
 import ezvcard.parameter.VCardParameters;
 import ezvcard.property.Address;
+import ezvcard.property.Agent;
 import ezvcard.property.FormattedName;
 import ezvcard.property.Label;
+import ezvcard.property.Logo;
+import ezvcard.property.Note;
+import ezvcard.property.Photo;
 import ezvcard.property.RawProperty;
+import ezvcard.property.Revision;
+import ezvcard.property.Telephone;
 import ezvcard.property.VCardProperty;
 import ezvcard.property.asserter.VCardAsserter;
+import ezvcard.util.BinaryStorage;
+import ezvcard.util.StringPool;
+import ezvcard.util.TempFileBinaryStorage;
+import ezvcard.util.org.apache.commons.codec.binary.Base64;
 
 /*
  Copyright (c) 2012-2021, Michael Angstadt
@@ -976,6 +1009,785 @@ public class VCardReaderTest {
 		}
 	}
 
+	@Test
+	public void lazy_parsing() throws Exception {
+		//@formatter:off
+		String str =
+		"BEGIN:VCARD\r\n" +
+			"VERSION:3.0\r\n" +
+			"FN:John Doe\r\n" +
+			"X-LUCKY-NUM:24\r\n" +
+			"ADR;TYPE=home:;;123 Main St\r\n" +
+			"LABEL;TYPE=home:123 Main St\r\n" +
+			"X-LUCKY-NUM:22\r\n" +
+			"CANNOTPARSE:value\r\n" +
+			"SKIPME:value\r\n" +
+			"X-FOO:bar\r\n" +
+		"END:VCARD\r\n";
+		//@formatter:on
+
+		int[] parseCount = { 0 };
+		LuckyNumScribe countingScribe = new LuckyNumScribe() {
+			@Override
+			protected LuckyNumProperty _parseText(String value, VCardDataType dataType, VCardParameters parameters, ParseContext context) {
+				parseCount[0]++;
+				return super._parseText(value, dataType, parameters, context);
+			}
+		};
+
+		VCard expected;
+		try (VCardReader reader = new VCardReader(str)) {
+			reader.registerScribe(countingScribe);
+			reader.registerScribe(new CannotParseScribe());
+			reader.registerScribe(new SkipMeScribe());
+			expected = reader.readNext();
+		}
+		assertEquals(2, parseCount[0]);
+
+		parseCount[0] = 0;
+		try (VCardReader reader = new VCardReader(str)) {
+			reader.setLazyParsingEnabled(true);
+			reader.registerScribe(countingScribe);
+			reader.registerScribe(new CannotParseScribe());
+			reader.registerScribe(new SkipMeScribe());
+
+			VCard vcard = reader.readNext();
+			assertEquals(0, parseCount[0]);
+			assertParseWarnings(reader);
+
+			assertEquals("123 Main St", vcard.getAddresses().get(0).getLabel());
+			assertEquals("John Doe", vcard.getFormattedName().getValue());
+			assertEquals(0, parseCount[0]);
+
+			List<LuckyNumProperty> luckyNums = vcard.getProperties(LuckyNumProperty.class);
+			assertEquals(2, parseCount[0]);
+			assertEquals(24, luckyNums.get(0).luckyNum);
+			assertEquals(22, luckyNums.get(1).luckyNum);
+
+			//unparseable properties become RawProperty objects
+			assertEquals(2, vcard.getExtendedProperties().size());
+			assertEquals(expected, vcard);
+
+			assertNoMoreVCards(reader);
+		}
+	}
+
+	@Test
+	public void lazy_parsing_order() throws Exception {
+		//@formatter:off
+		String str =
+		"BEGIN:VCARD\r\n" +
+			"VERSION:3.0\r\n" +
+			"X-FOO:bar\r\n" +
+			"FN:John Doe\r\n" +
+			"NOTE:one\r\n" +
+			"NOTE:\r\n" +
+			"NOTE:three\r\n" +
+		"END:VCARD\r\n";
+		//@formatter:on
+
+		List<VCardProperty> expected;
+		try (VCardReader reader = new VCardReader(str)) {
+			expected = new ArrayList<>(reader.readNext().getProperties());
+		}
+
+		try (VCardReader reader = new VCardReader(str)) {
+			reader.setLazyParsingEnabled(true);
+			VCard vcard = reader.readNext();
+
+			//the properties are not unmarshalled in the order they appear in (the empty NOTE is not deferred)
+			List<Note> notes = vcard.getNotes();
+			assertEquals(asList("one", "", "three"), asList(notes.get(0).getValue(), notes.get(1).getValue(), notes.get(2).getValue()));
+
+			assertEquals(expected, new ArrayList<>(vcard.getProperties()));
+		}
+	}
+
+	@Test
+	public void lazy_parsing_captures_settings() throws Exception {
+		//@formatter:off
+		String str =
+		"BEGIN:VCARD\r\n" +
+			"VERSION:3.0\r\n" +
+			"item1.NOTE:one\r\n" +
+		"END:VCARD\r\n";
+		//@formatter:on
+
+		StringPool pool = new StringPool();
+		VCard vcard;
+		try (VCardReader reader = new VCardReader(str)) {
+			reader.setLazyParsingEnabled(true);
+			reader.setStringPool(pool);
+			vcard = reader.readNext();
+
+			//changes made to the reader after the vCard is read do not affect the deferred properties
+			reader.setStringPool(new StringPool());
+		}
+
+		Note note = vcard.getNotes().get(0);
+		assertEquals("one", note.getValue());
+		assertSame(pool.intern(new String("item1")), note.getGroup());
+	}
+
+	@Test
+	public void property_filter() throws Exception {
+		//@formatter:off
+		String str =
+		"BEGIN:VCARD\r\n" +
+			"VERSION:2.1\r\n" +
+			"FN:John Doe\r\n" +
+			"PHOTO;ENCODING=BASE64;TYPE=JPEG:AAAA\r\n" +
+			"AGENT:\r\n" +
+			"BEGIN:VCARD\r\n" +
+				"FN:Agent 007\r\n" +
+			"END:VCARD\r\n" +
+			"email:john@example.com\r\n" +
+			"X-FOO:bar\r\n" +
+		"END:VCARD\r\n";
+		//@formatter:on
+
+		VCardReader reader = new VCardReader(str);
+		reader.setPropertyFilter(PropertyFilter.include("FN", "EMAIL"));
+
+		VCard vcard = reader.readNext();
+		assertVersion(V2_1, vcard);
+		assertPropertyCount(2, vcard);
+		assertEquals("John Doe", vcard.getFormattedName().getValue());
+		assertEquals("john@example.com", vcard.getEmails().get(0).getValue());
+		assertParseWarnings(reader);
+		assertNoMoreVCards(reader);
+
+		reader = new VCardReader(str);
+		reader.setPropertyFilter(PropertyFilter.exclude(Photo.class, Agent.class, RawProperty.class));
+
+		vcard = reader.readNext();
+		assertVersion(V2_1, vcard);
+		assertPropertyCount(2, vcard);
+		assertEquals("John Doe", vcard.getFormattedName().getValue());
+		assertEquals("john@example.com", vcard.getEmails().get(0).getValue());
+		assertParseWarnings(reader);
+		assertNoMoreVCards(reader);
+	}
+
+	@Test
+	public void config() throws Exception {
+		//@formatter:off
+		String str =
+		"BEGIN:VCARD\r\n" +
+			"FN;X-TEST=one^'two:John Doe\r\n" +
+			"X-LUCKY-NUM:22\r\n" +
+			"NOTE:note\r\n" +
+		"END:VCARD\r\n";
+		//@formatter:on
+
+		//@formatter:off
+		VCardReaderConfig config = new VCardReaderConfig.Builder()
+			.defaultVersion(V3_0)
+			.caretDecoding(false)
+			.filter(PropertyFilter.exclude("NOTE"))
+			.register(new LuckyNumScribe())
+		.build();
+		//@formatter:on
+
+		try (VCardReader reader = new VCardReader(new StringReader(str), config)) {
+			assertFalse(reader.isCaretDecodingEnabled());
+
+			VCard vcard = reader.readNext();
+			assertVersion(V3_0, vcard);
+			assertEquals("one^'two", vcard.getFormattedName().getParameter("X-TEST"));
+			assertEquals(22, vcard.getProperty(LuckyNumProperty.class).luckyNum);
+			assertEquals(0, vcard.getNotes().size());
+			assertNoMoreVCards(reader);
+		}
+
+		//modifying a reader's scribe index does not affect the config
+		try (VCardReader reader = new VCardReader(new StringReader(str), config)) {
+			reader.registerScribe(new MyFormattedNameScribe());
+
+			VCard vcard = reader.readNext();
+			assertEquals(1, vcard.getProperties(MyFormattedNameProperty.class).size());
+		}
+		try (VCardReader reader = new VCardReader(new StringReader(str), config)) {
+			VCard vcard = reader.readNext();
+			assertEquals(0, vcard.getProperties(MyFormattedNameProperty.class).size());
+			assertEquals(22, vcard.getProperty(LuckyNumProperty.class).luckyNum);
+		}
+	}
+
+	@Test
+	public void reset() throws Exception {
+		//@formatter:off
+		String str =
+		"BEGIN:VCARD\r\n" +
+			"VERSION:4.0\r\n" +
+			"FN:John Doe\r\n" +
+		"END:VCARD\r\n" +
+		"BEGIN:VCARD\r\n" +
+			"VERSION:4.0\r\n" +
+			"FN:Jane Doe\r\n" +
+		"END:VCARD\r\n";
+		//@formatter:on
+
+		VCardReader reader = new VCardReader(str);
+		reader.setDefaultQuotedPrintableCharset(Charset.forName("ISO-8859-1"));
+		reader.setCaretDecodingEnabled(false);
+
+		VCard vcard = reader.readNext();
+		assertEquals("John Doe", vcard.getFormattedName().getValue());
+
+		//@formatter:off
+		str =
+		"BEGIN:VCARD\r\n" +
+			"FN;X-TEST=a^'b:Joe\r\n" +
+			"NOTE;ENCODING=QUOTED-PRINTABLE:caf=E9\r\n" +
+			"X-INVALID\r\n" +
+		"END:VCARD\r\n";
+		//@formatter:on
+		reader.reset(str);
+
+		vcard = reader.readNext();
+		assertVersion(V2_1, vcard);
+		assertEquals("Joe", vcard.getFormattedName().getValue());
+		assertEquals("a^'b", vcard.getFormattedName().getParameter("X-TEST"));
+		assertEquals("caf\u00e9", vcard.getNotes().get(0).getValue());
+		assertParseWarnings(reader, 27);
+		assertNoMoreVCards(reader);
+
+		reader.reset(new ByteArrayInputStream("BEGIN:VCARD\r\nFN:Jim\r\nEND:VCARD\r\n".getBytes()));
+		vcard = reader.readNext();
+		assertEquals("Jim", vcard.getFormattedName().getValue());
+		assertParseWarnings(reader);
+		assertNoMoreVCards(reader);
+	}
+
+	@Test
+	public void reset_parallel() throws Exception {
+		StringBuilder sb = new StringBuilder();
+		for (int i = 0; i < 20; i++) {
+			sb.append("BEGIN:VCARD\r\nFN:" + i + "\r\nEND:VCARD\r\n");
+		}
+
+		ForkJoinPool pool = new ForkJoinPool(2);
+		try (VCardReader reader = new VCardReader(sb.toString())) {
+			reader.setForkJoinPool(pool);
+
+			VCard vcard = reader.readNext();
+			assertEquals("0", vcard.getFormattedName().getValue());
+
+			//read-ahead vCards are discarded
+			reader.reset("BEGIN:VCARD\r\nFN:John\r\nEND:VCARD\r\n");
+			vcard = reader.readNext();
+			assertEquals("John", vcard.getFormattedName().getValue());
+			assertNoMoreVCards(reader);
+		} finally {
+			pool.shutdown();
+		}
+	}
+
+	@Test
+	public void string_pool() throws Exception {
+		StringBuilder sb = new StringBuilder();
+		for (int i = 0; i < 4; i++) {
+			sb.append("BEGIN:VCARD\r\nVERSION:3.0\r\nitem1.TEL;TYPE=cell,voice:" + i + "\r\nitem2.EMAIL;TYPE=internet:" + i + "\r\nEND:VCARD\r\n");
+		}
+
+		StringPool stringPool = new StringPool();
+		ForkJoinPool pool = new ForkJoinPool(2);
+		try {
+			for (ForkJoinPool forkJoinPool : new ForkJoinPool[] { null, pool }) {
+				List<VCard> vcards = new ArrayList<>();
+				try (VCardReader reader = new VCardReader(sb.toString())) {
+					reader.setStringPool(stringPool);
+					reader.setForkJoinPool(forkJoinPool);
+					assertSame(stringPool, reader.getStringPool());
+
+					VCard vcard;
+					while ((vcard = reader.readNext()) != null) {
+						vcards.add(vcard);
+					}
+				}
+
+				assertEquals(4, vcards.size());
+				Telephone first = vcards.get(0).getTelephoneNumbers().get(0);
+				for (VCard vcard : vcards) {
+					Telephone tel = vcard.getTelephoneNumbers().get(0);
+					assertSame(first.getGroup(), tel.getGroup());
+					assertSame(first.getParameters().get("TYPE").get(0), tel.getParameters().get("TYPE").get(0));
+					assertSame(first.getParameters().get("TYPE").get(1), tel.getParameters().get("TYPE").get(1));
+					assertSame(first.getParameters().getMap().keySet().iterator().next(), tel.getParameters().getMap().keySet().iterator().next());
+					assertEquals(asList(TelephoneType.CELL, TelephoneType.VOICE), tel.getTypes());
+				}
+			}
+		} finally {
+			pool.shutdown();
+		}
+	}
+
+	@Test
+	public void warnings_disabled() throws Exception {
+		//@formatter:off
+		String str =
+		"BEGIN:VCARD\r\n" +
+			"VERSION:4.0\r\n" +
+			"X-INVALID\r\n" +
+			"SKIPME:value\r\n" +
+			"CANNOTPARSE:value\r\n" +
+			"BDAY:invalid\r\n" +
+			"AGENT:BEGIN:VCARD\\nX-INVALID\\nEND:VCARD\r\n" +
+		"END:VCARD\r\n";
+		//@formatter:on
+
+		try (VCardReader reader = new VCardReader(str)) {
+			reader.registerScribe(new SkipMeScribe());
+			reader.registerScribe(new CannotParseScribe());
+			reader.readNext();
+			assertTrue(reader.getWarnings().size() > 0);
+		}
+
+		try (VCardReader reader = new VCardReader(str)) {
+			reader.registerScribe(new SkipMeScribe());
+			reader.registerScribe(new CannotParseScribe());
+			reader.setWarningsEnabled(false);
+
+			VCard vcard = reader.readNext();
+			assertEquals("invalid", vcard.getBirthday().getText());
+			assertParseWarnings(reader);
+			assertNoMoreVCards(reader);
+		}
+
+		ForkJoinPool pool = new ForkJoinPool(2);
+		try (VCardReader reader = new VCardReader(str)) {
+			reader.setForkJoinPool(pool);
+			reader.setWarningsEnabled(false);
+
+			reader.readNext();
+			assertParseWarnings(reader);
+		} finally {
+			pool.shutdown();
+		}
+	}
+
+	@Test
+	public void original_line_caching() throws Exception {
+		//@formatter:off
+		String str =
+		"BEGIN:VCARD\r\n" +
+			"VERSION:2.1\r\n" +
+			"fn:John Doe\r\n" +
+			"item1.TEL;home;Voice:+1 555 555 1234\r\n" +
+			"TEL;WORK:+1 555 555 9876\r\n" +
+			"NOTE;ENCODING=QUOTED-PRINTABLE:one=0D=0Atwo\r\n" +
+			"X-CUSTOM;x-param=value:foo\r\n" +
+			"REV:20210101T000000Z\r\n" +
+		"END:VCARD\r\n";
+		//@formatter:on
+
+		VCard vcard;
+		try (VCardReader reader = new VCardReader(str)) {
+			reader.setOriginalLineCachingEnabled(true);
+			vcard = reader.readNext();
+		}
+
+		assertEquals("fn:John Doe", vcard.getFormattedName().getOriginalLine(VCardVersion.V2_1, false));
+		assertNull(vcard.getNotes().get(0).getOriginalLine(VCardVersion.V2_1, false));
+
+		vcard.getTelephoneNumbers().get(1).setText("+1 555 555 0000");
+		vcard.setRevision(new Revision(Instant.parse("2022-01-01T00:00:00Z")));
+
+		StringWriter sw = new StringWriter();
+		try (VCardWriter writer = new VCardWriter(sw, VCardVersion.V2_1)) {
+			writer.setAddProdId(false);
+			writer.write(vcard);
+		}
+
+		//@formatter:off
+		String expected =
+		"BEGIN:VCARD\r\n" +
+			"VERSION:2.1\r\n" +
+			"fn:John Doe\r\n" +
+			"item1.TEL;home;Voice:+1 555 555 1234\r\n" +
+			"TEL;TYPE=WORK:+1 555 555 0000\r\n" +
+			"NOTE;ENCODING=QUOTED-PRINTABLE;CHARSET=UTF-8:one=0D=0Atwo\r\n" +
+			"X-CUSTOM;x-param=value:foo\r\n" +
+			"REV:20220101T000000Z\r\n" +
+		"END:VCARD\r\n";
+		//@formatter:on
+		assertEquals(expected, sw.toString());
+
+		//different version
+		sw = new StringWriter();
+		try (VCardWriter writer = new VCardWriter(sw, VCardVersion.V3_0)) {
+			writer.setAddProdId(false);
+			writer.write(vcard);
+		}
+		assertTrue(sw.toString().contains("\r\nFN:John Doe\r\n"));
+
+		//disabled by default
+		try (VCardReader reader = new VCardReader(str)) {
+			vcard = reader.readNext();
+		}
+		assertNull(vcard.getFormattedName().getOriginalLine(VCardVersion.V2_1, false));
+	}
+
+	@Test
+	public void originalLineCaching_writer_settings() throws Exception {
+		//@formatter:off
+		String str =
+		"BEGIN:VCARD\r\n" +
+			"VERSION:4.0\r\n" +
+			"N:Doe;John\r\n" +
+			"NOTE:Aa\r\n" +
+			"X-CUSTOM;X-PARAM=a^^b:foo\r\n" +
+		"END:VCARD\r\n";
+		//@formatter:on
+
+		VCard vcard;
+		try (VCardReader reader = new VCardReader(str)) {
+			reader.setOriginalLineCachingEnabled(true);
+			vcard = reader.readNext();
+		}
+
+		//"Aa" and "BB" have the same hash code
+		vcard.getNotes().get(0).setValue("BB");
+
+		StringWriter sw = new StringWriter();
+		try (VCardWriter writer = new VCardWriter(sw, VCardVersion.V4_0)) {
+			writer.setAddProdId(false);
+			writer.setCaretEncodingEnabled(true);
+			writer.write(vcard);
+		}
+
+		//@formatter:off
+		String expected =
+		"BEGIN:VCARD\r\n" +
+			"VERSION:4.0\r\n" +
+			"N:Doe;John\r\n" +
+			"NOTE:BB\r\n" +
+			"X-CUSTOM;X-PARAM=a^^b:foo\r\n" +
+		"END:VCARD\r\n";
+		//@formatter:on
+		assertEquals(expected, sw.toString());
+
+		//trailing semicolons requested
+		sw = new StringWriter();
+		try (VCardWriter writer = new VCardWriter(sw, VCardVersion.V4_0)) {
+			writer.setAddProdId(false);
+			writer.setCaretEncodingEnabled(true);
+			writer.setIncludeTrailingSemicolons(true);
+			writer.write(vcard);
+		}
+		assertTrue(sw.toString().contains("\r\nN:Doe;John;;;\r\n"));
+
+		//caret encoding disabled
+		sw = new StringWriter();
+		try (VCardWriter writer = new VCardWriter(sw, VCardVersion.V4_0)) {
+			writer.setAddProdId(false);
+			writer.write(vcard);
+		}
+		assertFalse(sw.toString().contains("^^"));
+	}
+
+	@Test
+	public void binary_storage() throws Exception {
+		byte[] data = new byte[100000];
+		new Random(1).nextBytes(data);
+
+		//@formatter:off
+		String str =
+		"BEGIN:VCARD\r\n" +
+			"VERSION:3.0\r\n" +
+			"PHOTO;ENCODING=b;TYPE=jpeg:" + Base64.encodeBase64String(data) + "\r\n" +
+			"LOGO;ENCODING=b;TYPE=png:" + Base64.encodeBase64String("small".getBytes()) + "\r\n" +
+		"END:VCARD\r\n";
+		//@formatter:on
+
+		List<TempFileBinaryStorage.FileHandle> handles = new ArrayList<>();
+		BinaryStorage storage = in -> {
+			TempFileBinaryStorage.FileHandle handle = new TempFileBinaryStorage().store(in);
+			handles.add(handle);
+			return handle;
+		};
+
+		try (VCardReader reader = new VCardReader(str)) {
+			reader.setBinaryStorage(storage);
+			VCard vcard = reader.readNext();
+
+			Photo photo = vcard.getPhotos().get(0);
+			assertEquals(ImageType.JPEG, photo.getContentType());
+			assertSame(handles.get(0), photo.getDataHandle());
+			assertNull(photo.getData());
+			assertArrayEquals(data, photo.readData());
+
+			//below the threshold
+			Logo logo = vcard.getLogos().get(0);
+			assertNull(logo.getDataHandle());
+			assertArrayEquals("small".getBytes(), logo.getData());
+
+			assertEquals(1, handles.size());
+			assertParseWarnings(reader);
+		} finally {
+			for (TempFileBinaryStorage.FileHandle handle : handles) {
+				handle.delete();
+			}
+		}
+	}
+
+	@Test
+	public void binary_storage_exception() throws Exception {
+		//@formatter:off
+		String str =
+		"BEGIN:VCARD\r\n" +
+			"VERSION:3.0\r\n" +
+			"PHOTO;ENCODING=b;TYPE=jpeg:" + Base64.encodeBase64String(new byte[100]) + "\r\n" +
+		"END:VCARD\r\n";
+		//@formatter:on
+
+		IOException exception = new IOException();
+		try (VCardReader reader = new VCardReader(str)) {
+			reader.setBinaryStorage(in -> {
+				throw exception;
+			});
+			reader.setBinaryStorageThreshold(0);
+			reader.readNext();
+			fail();
+		} catch (IOException e) {
+			assertSame(exception, e);
+		}
+	}
+
+	@Test
+	public void stream() throws Exception {
+		//@formatter:off
+		String str =
+		"BEGIN:VCARD\r\n" +
+			"VERSION:2.1\r\n" +
+			"FN:John Doe\r\n" +
+		"END:VCARD\r\n" +
+		"BEGIN:VCARD\r\n" +
+			"VERSION:3.0\r\n" +
+			"FN:Jane Doe\r\n" +
+		"END:VCARD\r\n" +
+		"BEGIN:VCARD\r\n" +
+			"VERSION:4.0\r\n" +
+			"FN:Joe Doe\r\n" +
+		"END:VCARD\r\n";
+		//@formatter:on
+
+		AtomicBoolean closed = new AtomicBoolean();
+		Reader in = new StringReader(str) {
+			@Override
+			public void close() {
+				closed.set(true);
+				super.close();
+			}
+		};
+
+		VCardReader reader = new VCardReader(in);
+		try (Stream<VCard> stream = reader.stream()) {
+			List<String> names = stream.skip(1).map(vcard -> vcard.getFormattedName().getValue()).collect(Collectors.toList());
+			assertEquals(Arrays.asList("Jane Doe", "Joe Doe"), names);
+			assertFalse(closed.get());
+		}
+		assertTrue(closed.get());
+	}
+
+	@Test
+	public void stream_lazy() throws Exception {
+		//@formatter:off
+		String str =
+		"BEGIN:VCARD\r\n" +
+			"VERSION:2.1\r\n" +
+			"FN:John Doe\r\n" +
+		"END:VCARD\r\n" +
+		"BEGIN:VCARD\r\n" +
+			"VERSION:3.0\r\n" +
+			"FN:Jane Doe\r\n" +
+		"END:VCARD\r\n";
+		//@formatter:on
+
+		try (VCardReader reader = new VCardReader(str)) {
+			Optional<VCard> first = reader.stream().findFirst();
+			assertEquals("John Doe", first.get().getFormattedName().getValue());
+
+			//the second vCard should not have been read
+			VCard vcard = reader.readNext();
+			assertEquals("Jane Doe", vcard.getFormattedName().getValue());
+			assertNoMoreVCards(reader);
+		}
+	}
+
+	@Test
+	public void stream_parallel() throws Exception {
+		StringBuilder sb = new StringBuilder();
+		for (int i = 0; i < 5000; i++) {
+			//@formatter:off
+			sb.append(
+			"BEGIN:VCARD\r\n" +
+				"VERSION:4.0\r\n" +
+				"FN:" + i + "\r\n" +
+			"END:VCARD\r\n");
+			//@formatter:on
+		}
+
+		try (VCardReader reader = new VCardReader(sb.toString())) {
+			List<String> names = reader.stream().parallel().map(vcard -> vcard.getFormattedName().getValue()).collect(Collectors.toList());
+			assertEquals(5000, names.size());
+			for (int i = 0; i < names.size(); i++) {
+				assertEquals(Integer.toString(i), names.get(i));
+			}
+		}
+	}
+
+	@Test
+	public void parallel() throws Exception {
+		//@formatter:off
+		String str =
+		"BEGIN:VCARD\r\n" +
+			"VERSION:2.1\r\n" +
+			"FN:John Doe\r\n" +
+			"AGENT:\r\n" +
+			"BEGIN:VCARD\r\n" +
+				"VERSION:2.1\r\n" +
+				"FN:Agent 007\r\n" +
+			"END:VCARD\r\n" +
+			"NOTE;ENCODING=QUOTED-PRINTABLE:one=\r\n" +
+			"END:VCARD\r\n" +
+		"END:VCARD\r\n" +
+		"BEGIN:VCARD\r\n" +
+			"VERSION:3.0\r\n" +
+			"FN:Jane\r\n" +
+			" Doe\r\n" +
+		"END:VCARD\r\n";
+		//@formatter:on
+
+		StringBuilder sb = new StringBuilder();
+		for (int i = 0; i < 50; i++) {
+			sb.append(str);
+		}
+		str = sb.toString();
+
+		List<VCard> expected;
+		try (VCardReader reader = new VCardReader(str)) {
+			expected = reader.readAll();
+		}
+
+		ForkJoinPool pool = new ForkJoinPool(4);
+		try (VCardReader reader = new VCardReader(str)) {
+			reader.setForkJoinPool(pool);
+			List<VCard> actual = reader.readAll();
+			assertEquals(100, actual.size());
+			assertEquals(expected, actual);
+
+			VCard vcard = actual.get(0);
+			assertEquals("John Doe", vcard.getFormattedName().getValue());
+			assertEquals("Agent 007", vcard.getAgent().getVCard().getFormattedName().getValue());
+			assertEquals("oneEND:VCARD", vcard.getNotes().get(0).getValue());
+
+			vcard = actual.get(1);
+			assertVersion(V3_0, vcard);
+			assertEquals("JaneDoe", vcard.getFormattedName().getValue());
+		} finally {
+			pool.shutdown();
+		}
+	}
+
+	@Test
+	public void parallel_warnings() throws Exception {
+		//@formatter:off
+		String str =
+		"BEGIN:VCARD\r\n" +
+			"VERSION:3.0\r\n" +
+		"END:VCARD\r\n" +
+		"BEGIN:VCARD\r\n" +
+			"VERSION:3.0\r\n" +
+			"bad-line\r\n" +
+		"END:VCARD\r\n" +
+		"BEGIN:VCARD\r\n" +
+			"VERSION:3.0\r\n" +
+		"END:VCARD\r\n";
+		//@formatter:on
+
+		ForkJoinPool pool = new ForkJoinPool(2);
+		try (VCardReader reader = new VCardReader(str)) {
+			reader.setForkJoinPool(pool);
+
+			reader.readNext();
+			assertParseWarnings(reader);
+
+			reader.readNext();
+			List<ParseWarning> warnings = reader.getWarnings();
+			assertParseWarnings(warnings, 27);
+			assertEquals(Integer.valueOf(6), warnings.get(0).getLineNumber());
+
+			reader.readNext();
+			assertParseWarnings(reader);
+
+			assertNoMoreVCards(reader);
+		} finally {
+			pool.shutdown();
+		}
+	}
+
+	@Test
+	public void recovery() throws Exception {
+		//@formatter:off
+		String str =
+		"BEGIN:VCARD\r\n" +
+			"VERSION:3.0\r\n" +
+			"FN:John Doe\r\n" +
+		"BEGIN:VCARD\r\n" +
+			"VERSION:3.0\r\n" +
+			"FN:Jane Doe\r\n" +
+		"END:VCARD\r\n" +
+		"BEGIN:VCARD\r\n" +
+			"VERSION:3.0\r\n" +
+			"PHOTO:\u0000\u0001\u0002\r\n" +
+		"END:VCARD\r\n" +
+		"BEGIN:VCARD\r\n" +
+			"VERSION:3.0\r\n" +
+			"FN:Joe Doe\r\n" +
+		"END:VCARD\r\n";
+		//@formatter:on
+
+		ForkJoinPool pool = new ForkJoinPool(2);
+		try {
+			for (ForkJoinPool p : Arrays.asList(null, pool)) {
+				try (VCardReader reader = new VCardReader(str)) {
+					reader.setRecoveryEnabled(true);
+					reader.setForkJoinPool(p);
+
+					VCard vcard = reader.readNext();
+					assertEquals("Jane Doe", vcard.getFormattedName().getValue());
+					List<ParseWarning> warnings = reader.getWarnings();
+					assertParseWarnings(warnings, 39);
+					assertEquals(Integer.valueOf(1), warnings.get(0).getLineNumber());
+
+					vcard = reader.readNext();
+					assertEquals("Joe Doe", vcard.getFormattedName().getValue());
+					warnings = reader.getWarnings();
+					assertParseWarnings(warnings, 39);
+					assertEquals(Integer.valueOf(8), warnings.get(0).getLineNumber());
+
+					assertNoMoreVCards(reader);
+
+					assertEquals(2, reader.getSkippedCards());
+					assertEquals(7, reader.getSkippedLines());
+					assertEquals(str.indexOf("BEGIN:VCARD\r\nVERSION:3.0\r\nFN:Jane") + str.indexOf("BEGIN:VCARD\r\nVERSION:3.0\r\nFN:Joe") - str.indexOf("BEGIN:VCARD\r\nVERSION:3.0\r\nPHOTO"), reader.getSkippedCharacters());
+				}
+			}
+		} finally {
+			pool.shutdown();
+		}
+
+		//without recovery mode, the first vCard swallows the rest
+		try (VCardReader reader = new VCardReader(str)) {
+			VCard vcard = reader.readNext();
+			assertEquals("John Doe", vcard.getFormattedName().getValue());
+			assertEquals(0, reader.getSkippedCards());
+			assertNoMoreVCards(reader);
+		}
+	}
+
 	private static VCardAsserter read(String str) {
 		VCardReader reader = new VCardReader(str);
 		return new VCardAsserter(reader);
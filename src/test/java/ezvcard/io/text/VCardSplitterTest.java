@@ -0,0 +1,313 @@
+package ezvcard.io.text;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+import org.junit.Test;
+
+/*
+ Copyright (c) 2012-2021, Michael Angstadt
+ All rights reserved.
+
+ Redistribution and use in source and binary forms, with or without
+ modification, are permitted provided that the following conditions are met: 
+
+ 1. Redistributions of source code must retain the above copyright notice, this
+ list of conditions and the following disclaimer. 
+ 2. Redistributions in binary form must reproduce the above copyright notice,
+ this list of conditions and the following disclaimer in the documentation
+ and/or other materials provided with the distribution. 
+
+ THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+
+ The views and conclusions contained in the software and documentation are those
+ of the authors and should not be interpreted as representing official policies, 
+ either expressed or implied, of the FreeBSD Project.
+ */
+
+/**
+ * @author Michael Angstadt
+ */
+public class VCardSplitterTest {
+	@Test
+	public void split() {
+		//@formatter:off
+		String str =
+		"junk\r\n" +
+		"BEGIN:VCARD\r\n" +
+			"FN:John Doe\r\n" +
+		"END:VCARD\r\n" +
+		"more junk\r\n" +
+		"begin:vcard\n" +
+			"FN:Jane Doe\n" +
+		"end: vcard \n";
+		//@formatter:on
+
+		VCardSplitter splitter = new VCardSplitter();
+		splitter.append(str);
+		splitter.finish();
+
+		assertChunk(splitter.poll(), 2, "BEGIN:VCARD\r\nFN:John Doe\r\nEND:VCARD");
+		assertChunk(splitter.poll(), 6, "begin:vcard\nFN:Jane Doe\nend: vcard ");
+		assertNull(splitter.poll());
+	}
+
+	@Test
+	public void nested_vcard() {
+		//@formatter:off
+		String str =
+		"BEGIN:VCARD\r\n" +
+			"AGENT:\r\n" +
+			"BEGIN:VCARD\r\n" +
+				"FN:Agent 007\r\n" +
+			"END:VCARD\r\n" +
+			"FN:John Doe\r\n" +
+		"END:VCARD\r\n" +
+		"BEGIN:VCARD\r\n" +
+			"FN:Jane Doe\r\n" +
+		"END:VCARD\r\n";
+		//@formatter:on
+
+		VCardSplitter splitter = new VCardSplitter();
+		splitter.append(str);
+		splitter.finish();
+
+		assertChunk(splitter.poll(), 1, "BEGIN:VCARD\r\nAGENT:\r\nBEGIN:VCARD\r\nFN:Agent 007\r\nEND:VCARD\r\nFN:John Doe\r\nEND:VCARD");
+		assertChunk(splitter.poll(), 8, "BEGIN:VCARD\r\nFN:Jane Doe\r\nEND:VCARD");
+		assertNull(splitter.poll());
+	}
+
+	@Test
+	public void folded_lines() {
+		//@formatter:off
+		String str =
+		"BEGIN:VCARD\r\n" +
+			"NOTE:one\r\n" +
+			" END:VCARD\r\n" +
+			"NOTE;ENCODING=QUOTED-PRINTABLE:two=\r\n" +
+			"END:VCARD\r\n" +
+			"FN:John Doe\r\n" +
+		"END:VCARD\r\n";
+		//@formatter:on
+
+		VCardSplitter splitter = new VCardSplitter();
+		splitter.append(str);
+		splitter.finish();
+
+		assertChunk(splitter.poll(), 1, str.substring(0, str.length() - 2));
+		assertNull(splitter.poll());
+	}
+
+	@Test
+	public void data_appended_in_pieces() {
+		//@formatter:off
+		String str =
+		"BEGIN:VCARD\r\n" +
+			"FN:John Doe\r\n" +
+		"END:VCARD\r\n" +
+		"BEGIN:VCARD\r\n" +
+			"FN:Jane Doe\r\n" +
+		"END:VCARD\r\n";
+		//@formatter:on
+
+		VCardSplitter splitter = new VCardSplitter();
+		char[] chars = str.toCharArray();
+		for (int i = 0; i < chars.length; i++) {
+			splitter.append(chars, i, 1);
+			if (i == 34) {
+				//the first vCard is not available until its "END" line is terminated
+				assertNull(splitter.poll());
+			}
+		}
+
+		assertChunk(splitter.poll(), 1, "BEGIN:VCARD\r\nFN:John Doe\r\nEND:VCARD");
+		assertChunk(splitter.poll(), 4, "BEGIN:VCARD\r\nFN:Jane Doe\r\nEND:VCARD");
+		assertNull(splitter.poll());
+	}
+
+	@Test
+	public void unterminated_vcard() {
+		//@formatter:off
+		String str =
+		"BEGIN:VCARD\r\n" +
+			"FN:John Doe";
+		//@formatter:on
+
+		VCardSplitter splitter = new VCardSplitter();
+		splitter.append(str);
+		assertNull(splitter.poll());
+
+		splitter.finish();
+		assertChunk(splitter.poll(), 1, str);
+		assertNull(splitter.poll());
+	}
+
+	@Test
+	public void offset() {
+		//@formatter:off
+		String str =
+		"junk\r\n" +
+		"BEGIN:VCARD\r\n" +
+			"FN:John Doe\r\n" +
+		"END:VCARD\r\n" +
+		"more junk\n" +
+		"\r" +
+		"begin:vcard\n" +
+			"FN:Jane\r\n" +
+			" Doe\n" +
+		"end:vcard";
+		//@formatter:on
+
+		VCardSplitter splitter = new VCardSplitter();
+		splitter.append(str);
+		splitter.finish();
+
+		VCardSplitter.Chunk chunk = splitter.poll();
+		assertEquals(6, chunk.getOffset());
+		assertEquals(chunk.getText(), str.substring(6, 6 + chunk.getText().length()));
+
+		chunk = splitter.poll();
+		assertEquals(54, chunk.getOffset());
+		assertEquals(chunk.getText(), str.substring(54));
+
+		assertNull(splitter.poll());
+	}
+
+	@Test
+	public void recovery_missing_end() {
+		//@formatter:off
+		String str =
+		"BEGIN:VCARD\r\n" +
+			"FN:John Doe\r\n" +
+		"BEGIN:VCARD\r\n" +
+			"FN:Jane Doe\r\n" +
+		"END:VCARD\r\n";
+		//@formatter:on
+
+		VCardSplitter splitter = new VCardSplitter();
+		splitter.setRecoveryEnabled(true);
+		splitter.append(str);
+		splitter.finish();
+
+		VCardSplitter.Chunk chunk = splitter.poll();
+		assertChunk(chunk, 3, "BEGIN:VCARD\r\nFN:Jane Doe\r\nEND:VCARD");
+		assertEquals(1, chunk.getSkippedLineNumber());
+		assertEquals(2, chunk.getSkippedLines());
+		assertEquals(1, chunk.getSkippedCards());
+		assertNull(splitter.poll());
+
+		assertEquals(1, splitter.getSkippedCards());
+		assertEquals(2, splitter.getSkippedLines());
+		assertEquals(26, splitter.getSkippedCharacters());
+	}
+
+	@Test
+	public void recovery_agent() {
+		//@formatter:off
+		String str =
+		"BEGIN:VCARD\r\n" +
+			"item1.AGENT;TYPE=x:\r\n" +
+			"BEGIN:VCARD\r\n" +
+				"FN:Jane Doe\r\n" +
+			"END:VCARD\r\n" +
+			"AGENT:\r\n" +
+			"FN:John Doe\r\n" +
+		"END:VCARD\r\n";
+		//@formatter:on
+
+		VCardSplitter splitter = new VCardSplitter();
+		splitter.setRecoveryEnabled(true);
+		splitter.append(str);
+		splitter.finish();
+
+		VCardSplitter.Chunk chunk = splitter.poll();
+		assertChunk(chunk, 1, str.substring(0, str.length() - 2));
+		assertEquals(0, chunk.getSkippedLineNumber());
+		assertEquals(0, chunk.getSkippedLines());
+		assertNull(splitter.poll());
+
+		assertEquals(0, splitter.getSkippedCards());
+	}
+
+	@Test
+	public void recovery_corrupt() {
+		//@formatter:off
+		String str =
+		"BEGIN:VCARD\r\n" +
+			"FN:John Doe\r\n" +
+		"END:VCARD\r\n" +
+		"\r\n" +
+		"BEGIN:VCARD\r\n" +
+			"NOTE:\u0000\u0001\u0002\r\n" +
+			"FN:Jane Doe\r\n" +
+		"END:VCARD\r\n" +
+		"garbage\r\n" +
+		"BEGIN:VCARD\r\n" +
+			"FN:Caf\ufffd\r\n" +
+		"END:VCARD\r\n" +
+		"BEGIN:VCARD\r\n" +
+			"FN:Joe Doe\r\n" +
+		"END:VCARD\r\n" +
+		"BEGIN:VCARD\r\n" +
+			"FN:Truncated";
+		//@formatter:on
+
+		VCardSplitter splitter = new VCardSplitter();
+		splitter.setRecoveryEnabled(true);
+		splitter.append(str);
+		splitter.finish();
+
+		VCardSplitter.Chunk chunk = splitter.poll();
+		assertChunk(chunk, 1, "BEGIN:VCARD\r\nFN:John Doe\r\nEND:VCARD");
+		assertEquals(0, chunk.getSkippedLines());
+
+		chunk = splitter.poll();
+		assertChunk(chunk, 13, "BEGIN:VCARD\r\nFN:Joe Doe\r\nEND:VCARD");
+		assertEquals(5, chunk.getSkippedLineNumber());
+		assertEquals(8, chunk.getSkippedLines());
+		assertEquals(2, chunk.getSkippedCards());
+
+		assertNull(splitter.poll());
+
+		assertEquals(3, splitter.getSkippedCards());
+		assertEquals(10, splitter.getSkippedLines());
+		int start = str.indexOf("BEGIN:VCARD\r\nNOTE");
+		int end = str.indexOf("BEGIN:VCARD\r\nFN:Joe");
+		int truncated = str.length() - str.lastIndexOf("BEGIN:VCARD");
+		assertEquals(end - start + truncated, splitter.getSkippedCharacters());
+	}
+
+	@Test
+	public void recovery_disabled() {
+		//@formatter:off
+		String str =
+		"BEGIN:VCARD\r\n" +
+			"FN:John Doe\r\n" +
+		"BEGIN:VCARD\r\n" +
+			"FN:Jane Doe\r\n" +
+		"END:VCARD\r\n";
+		//@formatter:on
+
+		VCardSplitter splitter = new VCardSplitter();
+		splitter.append(str);
+		splitter.finish();
+
+		assertChunk(splitter.poll(), 1, str);
+		assertNull(splitter.poll());
+		assertEquals(0, splitter.getSkippedCards());
+	}
+
+	private static void assertChunk(VCardSplitter.Chunk chunk, int expectedLineNumber, String expectedText) {
+		assertEquals(expectedLineNumber, chunk.getLineNumber());
+		assertEquals(expectedText, chunk.getText());
+	}
+}
@@ -2,12 +2,22 @@ package ezvcard.io.text;
 
 import static ezvcard.util.TestUtils.assertValidate;
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.InputStream;
 import java.io.StringWriter;
+import java.nio.channels.Channels;
 import java.nio.charset.Charset;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.Path;
 import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
 
 import org.junit.Rule;
 import org.junit.Test;
@@ -17,6 +27,8 @@ import ezvcard.VCard;
 import ezvcard.VCardDataType;
 import ezvcard.VCardVersion;
 import ezvcard.io.ParseContext;
+import ezvcard.io.scribe.KeyScribe;
+import ezvcard.io.scribe.PhotoScribe;
 import ezvcard.io.scribe.SkipMeScribe;
 import ezvcard.io.scribe.VCardPropertyScribe;
 import ezvcard.parameter.AddressType;
@@ -42,6 +54,7 @@ import ezvcard.property.StructuredName;
 import ezvcard.property.Telephone;
 import ezvcard.property.Timezone;
 import ezvcard.property.VCardProperty;
+import ezvcard.util.BinaryHandle;
 import ezvcard.util.Gobble;
 import ezvcard.util.PartialDate;
 import ezvcard.util.TelUri;
@@ -107,6 +120,28 @@ public class VCardWriterTest {
 		assertEquals(actual, expected);
 	}
 
+	@Test
+	public void channel() throws Throwable {
+		VCard vcard = new VCard();
+		vcard.setFormattedName("José Müller 😀");
+
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		try (VCardWriter writer = new VCardWriter(Channels.newChannel(out), VCardVersion.V4_0)) {
+			writer.setAddProdId(false);
+			writer.write(vcard);
+		}
+
+		//@formatter:off
+		String expected =
+		"BEGIN:VCARD\r\n" +
+			"VERSION:4.0\r\n" +
+			"FN:José Müller 😀\r\n" +
+		"END:VCARD\r\n";
+		//@formatter:on
+
+		assertEquals(expected, new String(out.toByteArray(), StandardCharsets.UTF_8));
+	}
+
 	@Test
 	public void nestedVCard() throws Throwable {
 		VCard vcard = new VCard();
@@ -625,6 +660,107 @@ public class VCardWriterTest {
 		}
 	}
 
+	@Test
+	public void binary_data_streamed() throws Throwable {
+		byte data[] = new byte[5000];
+		for (int i = 0; i < data.length; i++) {
+			data[i] = (byte) (i * 31);
+		}
+
+		BinaryHandle handle = new BinaryHandle() {
+			@Override
+			public InputStream open() {
+				return new ByteArrayInputStream(data);
+			}
+
+			@Override
+			public long size() {
+				return data.length;
+			}
+		};
+
+		VCard vcard = new VCard();
+		Photo photo = new Photo(data, ImageType.JPEG);
+		photo.setGroup("item1");
+		vcard.addPhoto(photo);
+		photo = new Photo((byte[]) null, null);
+		photo.setDataHandle(handle, ImageType.PNG);
+		vcard.addPhoto(photo);
+		vcard.addNote("note");
+
+		/*
+		 * Compare against a scribe that builds the entire base64 string in
+		 * memory before writing it.
+		 */
+		PhotoScribe inMemoryScribe = new PhotoScribe() {
+			@Override
+			public boolean hasBinaryData(Photo property) {
+				return false;
+			}
+		};
+
+		for (VCardVersion version : VCardVersion.values()) {
+			for (TargetApplication targetApplication : Arrays.asList(null, TargetApplication.OUTLOOK)) {
+				StringWriter expected = new StringWriter();
+				try (VCardWriter writer = new VCardWriter(expected, version)) {
+					writer.registerScribe(inMemoryScribe);
+					writer.setTargetApplication(targetApplication);
+					writer.write(vcard);
+				}
+
+				StringWriter actual = new StringWriter();
+				try (VCardWriter writer = new VCardWriter(actual, version)) {
+					writer.setTargetApplication(targetApplication);
+					writer.write(vcard);
+				}
+
+				assertEquals(expected.toString(), actual.toString());
+			}
+		}
+	}
+
+	@Test
+	public void binary_data_custom_writeText() throws Throwable {
+		VCard vcard = new VCard();
+		vcard.addPhoto(new Photo("foobar".getBytes(), ImageType.JPEG));
+		vcard.addKey(new Key("foobar".getBytes(), KeyType.X509));
+
+		//scribes that override _writeText() are not bypassed
+		PhotoScribe photoScribe = new PhotoScribe() {
+			@Override
+			protected String _writeText(Photo property, WriteContext context) {
+				return "custom";
+			}
+		};
+		KeyScribe keyScribe = new KeyScribe() {
+			@Override
+			protected String _writeText(Key property, WriteContext context) {
+				return "custom";
+			}
+		};
+		assertFalse(photoScribe.hasBinaryData(vcard.getPhotos().get(0)));
+		assertFalse(keyScribe.hasBinaryData(vcard.getKeys().get(0)));
+		assertTrue(new KeyScribe().hasBinaryData(vcard.getKeys().get(0)));
+
+		StringWriter sw = new StringWriter();
+		try (VCardWriter writer = new VCardWriter(sw, VCardVersion.V4_0)) {
+			writer.setAddProdId(false);
+			writer.registerScribe(photoScribe);
+			writer.registerScribe(keyScribe);
+			writer.write(vcard);
+		}
+
+		//@formatter:off
+		String expected =
+		"BEGIN:VCARD\r\n" +
+			"VERSION:4.0\r\n" +
+			"PHOTO:custom\r\n" +
+			"KEY:custom\r\n" +
+		"END:VCARD\r\n";
+		//@formatter:on
+		assertEquals(expected, sw.toString());
+	}
+
 	@Test
 	public void quoted_printable_encoding() throws Throwable {
 		VCard vcard = new VCard();
@@ -881,4 +1017,95 @@ public class VCardWriterTest {
 
 		assertEquals(expected, actual);
 	}
+
+	@Test
+	public void writeAll_parallel() throws Throwable {
+		List<VCard> vcards = new ArrayList<>();
+		for (int i = 0; i < 50; i++) {
+			VCard vcard = new VCard();
+			vcard.setFormattedName("John Doe " + i);
+			vcard.addNote("Make sure that this long line is folded the same way when the vCards are written in parallel.");
+			vcard.addTelephoneNumber("+1 555 555 " + i).setGroup("item" + i);
+			if (i % 5 == 0) {
+				VCard agentVCard = new VCard();
+				agentVCard.setFormattedName("Agent " + i);
+				vcard.setAgent(new Agent(agentVCard));
+			}
+			vcards.add(vcard);
+		}
+
+		ForkJoinPool pool = new ForkJoinPool(4);
+		try {
+			for (VCardVersion version : VCardVersion.values()) {
+				StringWriter expected = new StringWriter();
+				try (VCardWriter writer = new VCardWriter(expected, version)) {
+					for (VCard vcard : vcards) {
+						writer.write(vcard);
+					}
+				}
+
+				StringWriter actual = new StringWriter();
+				try (VCardWriter writer = new VCardWriter(actual, version)) {
+					writer.setForkJoinPool(pool);
+					writer.write(vcards.get(0));
+					writer.writeAll(vcards.subList(1, vcards.size()));
+				}
+
+				assertEquals(expected.toString(), actual.toString());
+			}
+		} finally {
+			pool.shutdown();
+		}
+	}
+
+	@Test
+	public void writeAll_parallel_settings_changed() throws Throwable {
+		List<VCard> vcards = new ArrayList<>();
+		for (int i = 0; i < 20; i++) {
+			VCard vcard = new VCard();
+			vcard.setFormattedName("John Doe " + i);
+			vcard.addNote("Make sure that this long line is folded according to the writer's current settings.");
+			vcards.add(vcard);
+		}
+
+		ForkJoinPool pool = new ForkJoinPool(2);
+		try {
+			StringWriter expected = new StringWriter();
+			try (VCardWriter writer = new VCardWriter(expected, VCardVersion.V3_0)) {
+				writer.writeAll(vcards);
+				writer.setTargetVersion(VCardVersion.V4_0);
+				writer.getVObjectWriter().getFoldedLineWriter().setLineLength(30);
+				writer.setAddProdId(false);
+				writer.writeAll(vcards);
+			}
+
+			StringWriter actual = new StringWriter();
+			try (VCardWriter writer = new VCardWriter(actual, VCardVersion.V3_0)) {
+				writer.setForkJoinPool(pool);
+				writer.writeAll(vcards);
+				writer.setTargetVersion(VCardVersion.V4_0);
+				writer.getVObjectWriter().getFoldedLineWriter().setLineLength(30);
+				writer.setAddProdId(false);
+				writer.writeAll(vcards);
+			}
+
+			assertEquals(expected.toString(), actual.toString());
+		} finally {
+			pool.shutdown();
+		}
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void writeAll_parallel_no_scribe() throws Throwable {
+		VCard vcard = new VCard();
+		vcard.addProperty(new SkipMeProperty());
+
+		ForkJoinPool pool = new ForkJoinPool(2);
+		try (VCardWriter writer = new VCardWriter(new StringWriter(), VCardVersion.V4_0)) {
+			writer.setForkJoinPool(pool);
+			writer.writeAll(Arrays.asList(new VCard(), vcard));
+		} finally {
+			pool.shutdown();
+		}
+	}
 }
@@ -12,6 +12,9 @@ import java.io.InputStreamReader;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.Path;
 import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
 
 import org.custommonkey.xmlunit.XMLUnit;
 import org.junit.BeforeClass;
@@ -1000,4 +1003,34 @@ public class XCardDocumentTest {
 		StreamReader reader = xcard.reader();
 		return new VCardAsserter(reader);
 	}
-}
\ No newline at end of file
+
+	@Test
+	public void writeAll_parallel() throws Throwable {
+		List<VCard> vcards = new ArrayList<>();
+		for (int i = 0; i < 50; i++) {
+			VCard vcard = new VCard();
+			vcard.setFormattedName("John Doe " + i);
+			vcard.addTelephoneNumber("+1 555 555 " + i, TelephoneType.HOME).setGroup("item" + i);
+			vcards.add(vcard);
+		}
+
+		XCardDocument expected = new XCardDocument();
+		XCardDocumentStreamWriter writer = expected.writer();
+		for (VCard vcard : vcards) {
+			writer.write(vcard);
+		}
+
+		ForkJoinPool pool = new ForkJoinPool(4);
+		XCardDocument actual = new XCardDocument();
+		try {
+			writer = actual.writer();
+			writer.setForkJoinPool(pool);
+			writer.writeAll(vcards);
+		} finally {
+			pool.shutdown();
+		}
+
+		assertXMLEqual(expected.getDocument(), actual.getDocument());
+		assertEquals(expected.write(), actual.write());
+	}
+}
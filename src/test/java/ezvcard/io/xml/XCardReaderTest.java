@@ -8,6 +8,7 @@ import static ezvcard.util.TestUtils.assertVersion;
 import static org.custommonkey.xmlunit.XMLAssert.assertXMLEqual;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
 
@@ -18,6 +19,7 @@ import java.nio.file.Files;
 import java.nio.file.Path;
 import java.time.ZoneOffset;
 import java.util.Iterator;
+import java.util.List;
 
 import javax.xml.transform.TransformerException;
 
@@ -36,6 +38,7 @@ import ezvcard.io.LuckyNumProperty;
 import ezvcard.io.LuckyNumProperty.LuckyNumScribe;
 import ezvcard.io.MyFormattedNameProperty;
 import ezvcard.io.MyFormattedNameProperty.MyFormattedNameScribe;
+import ezvcard.io.PropertyFilter;
 import ezvcard.io.SalaryProperty;
 import ezvcard.io.SalaryProperty.SalaryScribe;
 import ezvcard.io.scribe.CannotParseScribe;
@@ -45,6 +48,7 @@ import ezvcard.parameter.EmailType;
 import ezvcard.parameter.TelephoneType;
 import ezvcard.property.Anniversary;
 import ezvcard.property.Birthday;
+import ezvcard.property.Email;
 import ezvcard.property.FormattedName;
 import ezvcard.property.Gender;
 import ezvcard.property.Key;
@@ -57,6 +61,7 @@ import ezvcard.property.Url;
 import ezvcard.property.Xml;
 import ezvcard.property.asserter.VCardAsserter;
 import ezvcard.util.PartialDate;
+import ezvcard.util.StringPool;
 import ezvcard.util.TelUri;
 import ezvcard.util.XmlUtils;
 
@@ -139,6 +144,71 @@ public class XCardReaderTest {
 		//@formatter:on
 	}
 
+	@Test
+	public void string_pool() throws Exception {
+		String vcard = "<vcard><group name=\"item1\"><email><parameters><type><text>work</text></type></parameters><text>a@example.com</text></email></group></vcard>";
+		String xml = "<vcards xmlns=\"" + V4_0.getXmlNamespace() + "\">" + vcard + vcard + "</vcards>";
+
+		List<VCard> vcards;
+		try (XCardReader reader = new XCardReader(xml)) {
+			reader.setStringPool(new StringPool());
+			vcards = reader.readAll();
+		}
+
+		Email email1 = vcards.get(0).getEmails().get(0);
+		Email email2 = vcards.get(1).getEmails().get(0);
+		assertSame(email1.getGroup(), email2.getGroup());
+		assertSame(email1.getParameters().get("TYPE").get(0), email2.getParameters().get("TYPE").get(0));
+		assertEquals("work", email2.getParameters().get("TYPE").get(0));
+	}
+
+	@Test
+	public void property_filter() throws Exception {
+		//@formatter:off
+		String xml =
+		"<vcards xmlns=\"" + V4_0.getXmlNamespace() + "\">" +
+			"<vcard>" +
+				"<fn><text>Dr. Gregory House M.D.</text></fn>" +
+				"<n>" +
+					"<surname>House</surname>" +
+					"<given>Gregory</given>" +
+				"</n>" +
+				"<group name=\"grp\">" +
+					"<note>" +
+						"<parameters><language><language-tag>en</language-tag></language></parameters>" +
+						"<text>Note</text>" +
+					"</note>" +
+					"<fn><text>House</text></fn>" +
+				"</group>" +
+			"</vcard>" +
+		"</vcards>";
+		//@formatter:on
+
+		XCardReader reader = new XCardReader(xml);
+		reader.setPropertyFilter(PropertyFilter.include(FormattedName.class));
+
+		VCard vcard = reader.readNext();
+		assertVersion(V4_0, vcard);
+		assertPropertyCount(2, vcard);
+		assertEquals("Dr. Gregory House M.D.", vcard.getFormattedNames().get(0).getValue());
+		assertEquals("House", vcard.getFormattedNames().get(1).getValue());
+		assertEquals("grp", vcard.getFormattedNames().get(1).getGroup());
+		assertParseWarnings(reader);
+		assertNoMoreVCards(reader);
+
+		reader = new XCardReader(xml);
+		reader.setPropertyFilter(PropertyFilter.exclude("fn", "n"));
+
+		vcard = reader.readNext();
+		assertVersion(V4_0, vcard);
+		assertPropertyCount(1, vcard);
+		Note note = vcard.getNotes().get(0);
+		assertEquals("Note", note.getValue());
+		assertEquals("en", note.getLanguage());
+		assertParseWarnings(reader);
+		assertNoMoreVCards(reader);
+	}
+
 	@Test
 	public void read_multiple() throws Exception {
 		//@formatter:off
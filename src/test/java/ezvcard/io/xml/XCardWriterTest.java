@@ -3,6 +3,7 @@ package ezvcard.io.xml;
 import static ezvcard.VCardVersion.V4_0;
 import static ezvcard.util.TestUtils.assertValidate;
 import static org.custommonkey.xmlunit.XMLAssert.assertXMLEqual;
+import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
@@ -10,8 +11,13 @@ import static org.junit.Assert.fail;
 import java.io.IOException;
 import java.io.StringWriter;
 import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
 import java.nio.file.Path;
 import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.zip.GZIPInputStream;
 
 import org.custommonkey.xmlunit.XMLUnit;
 import org.junit.Before;
@@ -675,6 +681,23 @@ public class XCardWriterTest {
 		assertTrue(xml.matches(".*?<note><text>\u019dote</text></note>.*"));
 	}
 
+	@Test
+	public void write_gzip_parallel() throws Exception {
+		Path file = tempFolder.getRoot().toPath().resolve("contacts.xml.gz");
+		ForkJoinPool pool = new ForkJoinPool(2);
+		try (XCardWriter writer = new XCardWriter(file, new XCardOutputProperties(), pool)) {
+			VCard vcard = new VCard();
+			vcard.addNote("\u019dote");
+			writer.write(vcard);
+		} finally {
+			pool.shutdown();
+		}
+
+		try (XCardReader reader = new XCardReader(new GZIPInputStream(Files.newInputStream(file)))) {
+			assertEquals("\u019dote", reader.readNext().getNotes().get(0).getValue());
+		}
+	}
+
 	@Test
 	public void write_embedded_vcards_not_supported() throws Exception {
 		writer.registerScribe(new EmbeddedScribe());
@@ -828,4 +851,36 @@ public class XCardWriterTest {
 			throw new EmbeddedVCardException(new VCard());
 		}
 	}
+
+	@Test
+	public void writeAll_parallel() throws Throwable {
+		List<VCard> vcards = new ArrayList<>();
+		for (int i = 0; i < 50; i++) {
+			VCard vcard = new VCard();
+			vcard.setFormattedName("John Doe " + i);
+			vcard.addTelephoneNumber("+1 555 555 " + i, TelephoneType.HOME).setGroup("item" + i);
+			vcard.addProperty(new SkipMeProperty());
+			vcards.add(vcard);
+		}
+
+		StringWriter expected = new StringWriter();
+		try (XCardWriter writer = new XCardWriter(expected, 2)) {
+			writer.registerScribe(new SkipMeScribe());
+			for (VCard vcard : vcards) {
+				writer.write(vcard);
+			}
+		}
+
+		ForkJoinPool pool = new ForkJoinPool(4);
+		StringWriter actual = new StringWriter();
+		try (XCardWriter writer = new XCardWriter(actual, 2)) {
+			writer.registerScribe(new SkipMeScribe());
+			writer.setForkJoinPool(pool);
+			writer.writeAll(vcards);
+		} finally {
+			pool.shutdown();
+		}
+
+		assertEquals(expected.toString(), actual.toString());
+	}
 }
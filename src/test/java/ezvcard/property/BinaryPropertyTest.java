@@ -4,9 +4,12 @@ import static ezvcard.property.PropertySensei.assertCopy;
 import static ezvcard.property.PropertySensei.assertEqualsMethod;
 import static ezvcard.property.PropertySensei.assertNothingIsEqual;
 import static ezvcard.property.PropertySensei.assertValidate;
+import static org.junit.Assert.assertArrayEquals;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotEquals;
 import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
 
 import java.io.ByteArrayInputStream;
 import java.io.IOException;
@@ -18,6 +21,8 @@ import java.nio.file.Paths;
 import org.junit.Test;
 
 import ezvcard.parameter.ImageType;
+import ezvcard.util.BinaryHandle;
+import ezvcard.util.Gobble;
 
 /*
  Copyright (c) 2012-2021, Michael Angstadt
@@ -134,6 +139,48 @@ public class BinaryPropertyTest {
 		assertCopy(original).notSame("getData");
 	}
 
+	@Test
+	public void dataHandle() throws Exception {
+		byte[] data = "data".getBytes();
+		BinaryHandle handle = new BinaryHandle() {
+			public InputStream open() {
+				return new ByteArrayInputStream(data);
+			}
+
+			public long size() {
+				return data.length;
+			}
+		};
+
+		BinaryPropertyImpl property = new BinaryPropertyImpl("one", ImageType.PNG);
+		property.setDataHandle(handle, ImageType.JPEG);
+		assertNull(property.getUrl());
+		assertSame(handle, property.getDataHandle());
+		assertNull(property.getData());
+		assertArrayEquals(data, property.readData());
+		assertEquals(ImageType.JPEG, property.getContentType());
+		try (InputStream in = property.openData()) {
+			assertArrayEquals(data, new Gobble(in).asByteArray());
+		}
+		assertValidate(property).run();
+
+		BinaryPropertyImpl copy = new BinaryPropertyImpl(property);
+		assertSame(handle, copy.getDataHandle());
+		assertEquals(property, copy);
+
+		property.setData(data, ImageType.JPEG);
+		assertNull(property.getDataHandle());
+		try (InputStream in = property.openData()) {
+			assertArrayEquals(data, new Gobble(in).asByteArray());
+		}
+
+		property.setDataHandle(handle, ImageType.JPEG);
+		property.setUrl("one", ImageType.PNG);
+		assertNull(property.getDataHandle());
+		assertNull(property.getData());
+		assertNull(property.openData());
+	}
+
 	@Test
 	public void equals() {
 		//@formatter:off
@@ -158,6 +205,40 @@ public class BinaryPropertyTest {
 		//@formatter:on
 	}
 
+	@Test
+	public void equals_dataHandle() {
+		BinaryPropertyImpl inMemory = new BinaryPropertyImpl("data".getBytes(), ImageType.PNG);
+		BinaryPropertyImpl one = new BinaryPropertyImpl();
+		one.setDataHandle(handle("data".getBytes()), ImageType.PNG);
+		BinaryPropertyImpl two = new BinaryPropertyImpl();
+		two.setDataHandle(handle("data".getBytes()), ImageType.PNG);
+
+		assertEquals(one, two);
+		assertEquals(one.hashCode(), two.hashCode());
+		assertEquals(one, inMemory);
+		assertEquals(inMemory, one);
+		assertEquals(inMemory.hashCode(), one.hashCode());
+
+		two.setDataHandle(handle("dat2".getBytes()), ImageType.PNG);
+		assertNotEquals(one, two);
+		two.setDataHandle(handle("data2".getBytes()), ImageType.PNG);
+		assertNotEquals(one, two);
+		two.setDataHandle(handle("data".getBytes()), ImageType.JPEG);
+		assertNotEquals(one, two);
+	}
+
+	private static BinaryHandle handle(byte[] data) {
+		return new BinaryHandle() {
+			public InputStream open() {
+				return new ByteArrayInputStream(data);
+			}
+
+			public long size() {
+				return data.length;
+			}
+		};
+	}
+
 	public static class BinaryPropertyImpl extends BinaryProperty<ImageType> {
 		public BinaryPropertyImpl() {
 			super();
@@ -1,5 +1,7 @@
 package ezvcard.property;
 
+import static java.util.Arrays.asList;
+
 import static ezvcard.VCardVersion.V2_1;
 import static ezvcard.VCardVersion.V3_0;
 import static ezvcard.VCardVersion.V4_0;
@@ -11,6 +13,9 @@ import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNull;
 
+import java.util.ArrayList;
+import java.util.List;
+
 import org.junit.Test;
 
 import ezvcard.VCardDataType;
@@ -103,6 +108,35 @@ public class RawPropertyTest {
 		assertCopy(original);
 	}
 
+	@Test
+	public void nameListeners() {
+		List<RawProperty> renamed = new ArrayList<>();
+		RawProperty.NameListener listener = renamed::add;
+		RawProperty.NameListener listener2 = renamed::add;
+
+		RawProperty property = new RawProperty("name", "value");
+		property.addNameListener(listener);
+		property.addNameListener(listener);
+		property.addNameListener(listener2);
+		property.setPropertyName("name2");
+		assertEquals(asList(property, property), renamed);
+
+		//listeners are not copied
+		renamed.clear();
+		new RawProperty(property).setPropertyName("name3");
+		assertEquals(asList(), renamed);
+
+		property.removeNameListener(listener);
+		property.setPropertyName("name3");
+		assertEquals(asList(property), renamed);
+
+		renamed.clear();
+		property.removeNameListener(listener2);
+		property.removeNameListener(listener2);
+		property.setPropertyName("name4");
+		assertEquals(asList(), renamed);
+	}
+
 	@Test
 	public void equals() {
 		//@formatter:off
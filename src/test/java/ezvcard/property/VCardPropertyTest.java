@@ -174,6 +174,95 @@ public class VCardPropertyTest {
 		assertEquals(expected, property.getParameters());
 	}
 
+	@Test
+	public void originalLine() {
+		CopyConstructorTest property = new CopyConstructorTest("value");
+		assertNull(property.getOriginalLine(V3_0, false));
+		assertTrue(property.isDirty());
+
+		property.setOriginalLine("X-TEST:value", V3_0, false);
+		assertEquals("X-TEST:value", property.getOriginalLine(V3_0, false));
+		assertNull(property.getOriginalLine(V4_0, false));
+		assertFalse(property.isDirty());
+
+		VCardProperty copy = property.copy();
+		assertEquals("X-TEST:value", copy.getOriginalLine(V3_0, false));
+
+		//setter
+		property.setGroup("group");
+		assertNull(property.getOriginalLine(V3_0, false));
+		assertTrue(property.isDirty());
+		assertEquals("X-TEST:value", copy.getOriginalLine(V3_0, false));
+
+		//parameters modified directly
+		property.setOriginalLine("group.X-TEST:value", V3_0, false);
+		assertFalse(property.isDirty());
+		property.getParameters().setLanguage("en");
+		assertNull(property.getOriginalLine(V3_0, false));
+		assertTrue(property.isDirty());
+
+		property.setOriginalLine("group.X-TEST;LANGUAGE=en:value", V3_0, false);
+		property.markDirty();
+		assertNull(property.getOriginalLine(V3_0, false));
+
+		property.setOriginalLine(null, V3_0, false);
+		assertNull(property.getOriginalLine(V3_0, false));
+		assertTrue(property.isDirty());
+	}
+
+	@Test
+	public void originalLine_equal_hash_codes() {
+		//"Aa" and "BB" have the same hash code
+		assertEquals("Aa".hashCode(), "BB".hashCode());
+
+		Note property = new Note("Aa");
+		property.setOriginalLine("NOTE:Aa", V3_0, false);
+		property.setValue("BB");
+		assertNull(property.getOriginalLine(V3_0, false));
+		assertTrue(property.isDirty());
+	}
+
+	@Test
+	public void originalLine_value_lists() {
+		Address adr = new Address();
+		adr.getStreetAddresses().add("123 Main St");
+		adr.setOriginalLine("ADR:;;123 Main St;;;;", V3_0, false);
+		assertFalse(adr.isDirty());
+		adr.getStreetAddresses().set(0, "124 Main St");
+		assertTrue(adr.isDirty());
+
+		StructuredName n = new StructuredName();
+		n.setOriginalLine("N:;;;;", V3_0, false);
+		n.getPrefixes().add("Dr.");
+		assertTrue(n.isDirty());
+
+		n.setOriginalLine("N:;;Dr.;;", V3_0, false);
+		n.setFamily("Doe");
+		assertTrue(n.isDirty());
+
+		Categories categories = new Categories();
+		categories.getValues().add("one");
+		categories.setOriginalLine("CATEGORIES:one", V3_0, false);
+		categories.getValues().clear();
+		assertTrue(categories.isDirty());
+
+		Address copy = new Address(adr);
+		copy.setOriginalLine("ADR:;;124 Main St;;;;", V3_0, false);
+		assertFalse(copy.isDirty());
+	}
+
+	@Test
+	public void originalLine_caret() {
+		CopyConstructorTest property = new CopyConstructorTest("value");
+		property.setOriginalLine("X-TEST;X-PARAM=^^:value", V3_0, true);
+		assertEquals("X-TEST;X-PARAM=^^:value", property.getOriginalLine(V3_0, true));
+		assertNull(property.getOriginalLine(V3_0, false));
+
+		property.setOriginalLine("X-TEST:value", V3_0, true);
+		assertEquals("X-TEST:value", property.getOriginalLine(V3_0, true));
+		assertEquals("X-TEST:value", property.getOriginalLine(V3_0, false));
+	}
+
 	@Test
 	public void compareTo() {
 		VCardPropertyImpl one = new VCardPropertyImpl();
@@ -0,0 +1,162 @@
+package ezvcard.util;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.junit.Test;
+
+/*
+ Copyright (c) 2012-2021, Michael Angstadt
+ All rights reserved.
+
+ Redistribution and use in source and binary forms, with or without
+ modification, are permitted provided that the following conditions are met: 
+
+ 1. Redistributions of source code must retain the above copyright notice, this
+ list of conditions and the following disclaimer. 
+ 2. Redistributions in binary form must reproduce the above copyright notice,
+ this list of conditions and the following disclaimer in the documentation
+ and/or other materials provided with the distribution. 
+
+ THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+
+ The views and conclusions contained in the software and documentation are those
+ of the authors and should not be interpreted as representing official policies, 
+ either expressed or implied, of the FreeBSD Project.
+ */
+
+/**
+ * @author Michael Angstadt
+ */
+public class ArrayMapTest {
+	@Test
+	public void put_get_remove() {
+		Map<String, String> map = new ArrayMap<>();
+		assertTrue(map.isEmpty());
+
+		assertNull(map.put("one", "1"));
+		assertNull(map.put("two", "2"));
+		assertNull(map.put(null, "null"));
+		assertEquals("1", map.put("one", "uno"));
+		assertEquals(3, map.size());
+
+		assertEquals("uno", map.get("one"));
+		assertEquals("null", map.get(null));
+		assertNull(map.get("three"));
+		assertTrue(map.containsKey("two"));
+		assertFalse(map.containsKey("three"));
+
+		assertEquals("uno", map.remove("one"));
+		assertNull(map.remove("one"));
+		assertEquals(Arrays.asList("two", null), new ArrayList<>(map.keySet()));
+
+		map.clear();
+		assertTrue(map.isEmpty());
+		assertNull(map.get("two"));
+	}
+
+	@Test
+	public void insertion_order() {
+		Map<String, Integer> map = new ArrayMap<>();
+		Map<String, Integer> expected = new LinkedHashMap<>();
+		for (int i = 0; i < ArrayMap.THRESHOLD * 3; i++) {
+			String key = "key" + (ArrayMap.THRESHOLD * 3 - i);
+			map.put(key, i);
+			expected.put(key, i);
+
+			assertEquals(new ArrayList<>(expected.entrySet()), new ArrayList<>(map.entrySet()));
+		}
+
+		//grown past the threshold
+		map.remove("key1");
+		expected.remove("key1");
+		map.put("key1", 100);
+		expected.put("key1", 100);
+		assertEquals(new ArrayList<>(expected.entrySet()), new ArrayList<>(map.entrySet()));
+		assertEquals(expected, map);
+		assertEquals(expected.hashCode(), map.hashCode());
+	}
+
+	@Test
+	public void copy_constructor() {
+		Map<String, String> orig = new LinkedHashMap<>();
+		orig.put("b", "2");
+		orig.put("a", "1");
+
+		Map<String, String> copy = new ArrayMap<>(orig);
+		assertEquals(orig, copy);
+		assertEquals(Arrays.asList("b", "a"), new ArrayList<>(copy.keySet()));
+	}
+
+	@Test
+	public void iterator_remove() {
+		Map<String, String> map = new ArrayMap<>();
+		map.put("one", "1");
+		map.put("two", "2");
+		map.put("three", "3");
+
+		Iterator<Map.Entry<String, String>> it = map.entrySet().iterator();
+		it.next();
+		it.next();
+		it.remove();
+		assertEquals("three", it.next().getKey());
+		assertFalse(it.hasNext());
+
+		assertEquals(Arrays.asList("one", "three"), new ArrayList<>(map.keySet()));
+
+		map.values().remove("1");
+		assertEquals(Arrays.asList("three"), new ArrayList<>(map.keySet()));
+	}
+
+	@Test(expected = IllegalStateException.class)
+	public void iterator_remove_twice() {
+		Map<String, String> map = new ArrayMap<>();
+		map.put("one", "1");
+
+		Iterator<Map.Entry<String, String>> it = map.entrySet().iterator();
+		it.next();
+		it.remove();
+		it.remove();
+	}
+
+	@Test(expected = ConcurrentModificationException.class)
+	public void iterator_concurrent_modification() {
+		Map<String, String> map = new ArrayMap<>();
+		map.put("one", "1");
+		map.put("two", "2");
+
+		Iterator<Map.Entry<String, String>> it = map.entrySet().iterator();
+		it.next();
+		map.put("three", "3");
+		it.next();
+	}
+
+	@Test
+	public void entry_setValue() {
+		Map<String, String> map = new ArrayMap<>();
+		map.put("one", "1");
+
+		Map.Entry<String, String> entry = map.entrySet().iterator().next();
+		assertEquals("1", entry.setValue("uno"));
+		assertEquals("uno", entry.getValue());
+		assertEquals("uno", map.get("one"));
+	}
+}
@@ -0,0 +1,118 @@
+package ezvcard.util;
+
+import static org.junit.Assert.assertEquals;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.StringWriter;
+
+import org.junit.Test;
+
+import ezvcard.util.org.apache.commons.codec.binary.Base64;
+
+/*
+ Copyright (c) 2012-2021, Michael Angstadt
+ All rights reserved.
+
+ Redistribution and use in source and binary forms, with or without
+ modification, are permitted provided that the following conditions are met: 
+
+ 1. Redistributions of source code must retain the above copyright notice, this
+ list of conditions and the following disclaimer. 
+ 2. Redistributions in binary form must reproduce the above copyright notice,
+ this list of conditions and the following disclaimer in the documentation
+ and/or other materials provided with the distribution. 
+
+ THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+
+ The views and conclusions contained in the software and documentation are those
+ of the authors and should not be interpreted as representing official policies, 
+ either expressed or implied, of the FreeBSD Project.
+ */
+
+/**
+ * @author Michael Angstadt
+ */
+public class Base64OutputStreamTest {
+	@Test
+	public void write() throws Exception {
+		for (int length = 0; length < 20; length++) {
+			byte[] data = data(length);
+			String expected = Base64.encodeBase64String(data);
+
+			//byte array
+			StringWriter sw = new StringWriter();
+			try (OutputStream out = new Base64OutputStream(sw)) {
+				out.write(data);
+			}
+			assertEquals(expected, sw.toString());
+
+			//one byte at a time
+			sw = new StringWriter();
+			try (OutputStream out = new Base64OutputStream(sw)) {
+				for (byte b : data) {
+					out.write(b);
+				}
+			}
+			assertEquals(expected, sw.toString());
+
+			//split into pieces that do not line up with the 3-byte groups
+			sw = new StringWriter();
+			try (OutputStream out = new Base64OutputStream(sw)) {
+				int split = length / 2 + 1;
+				out.write(data, 0, Math.min(split, length));
+				out.write(data, Math.min(split, length), length - Math.min(split, length));
+			}
+			assertEquals(expected, sw.toString());
+		}
+	}
+
+	@Test
+	public void write_large() throws Exception {
+		byte[] data = data(100000);
+
+		StringWriter sw = new StringWriter();
+		try (OutputStream out = new Base64OutputStream(sw)) {
+			out.write(data);
+		}
+		assertEquals(Base64.encodeBase64String(data), sw.toString());
+	}
+
+	@Test
+	public void close_does_not_close_writer() throws Exception {
+		StringWriter sw = new StringWriter();
+		OutputStream out = new Base64OutputStream(sw);
+		out.write(new byte[] { 1, 2, 3, 4 });
+		out.flush();
+		assertEquals("AQID", sw.toString());
+
+		out.close();
+		out.close();
+		sw.write("!");
+		assertEquals("AQIDBA==!", sw.toString());
+	}
+
+	@Test(expected = IOException.class)
+	public void write_after_close() throws Exception {
+		OutputStream out = new Base64OutputStream(new StringWriter());
+		out.close();
+		out.write(1);
+	}
+
+	private static byte[] data(int length) {
+		byte[] data = new byte[length];
+		for (int i = 0; i < length; i++) {
+			data[i] = (byte) (i * 31 + 7);
+		}
+		return data;
+	}
+}
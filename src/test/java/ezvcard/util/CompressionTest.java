@@ -0,0 +1,186 @@
+package ezvcard.util;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import ezvcard.Ezvcard;
+import ezvcard.VCard;
+import ezvcard.VCardVersion;
+
+/*
+ Copyright (c) 2012-2021, Michael Angstadt
+ All rights reserved.
+
+ Redistribution and use in source and binary forms, with or without
+ modification, are permitted provided that the following conditions are met: 
+
+ 1. Redistributions of source code must retain the above copyright notice, this
+ list of conditions and the following disclaimer. 
+ 2. Redistributions in binary form must reproduce the above copyright notice,
+ this list of conditions and the following disclaimer in the documentation
+ and/or other materials provided with the distribution. 
+
+ THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+
+ The views and conclusions contained in the software and documentation are those
+ of the authors and should not be interpreted as representing official policies, 
+ either expressed or implied, of the FreeBSD Project.
+ */
+
+/**
+ * @author Michael Angstadt
+ */
+public class CompressionTest {
+	@Rule
+	public TemporaryFolder folder = new TemporaryFolder();
+
+	@Test
+	public void fromFileName() {
+		assertEquals(Compression.GZIP, Compression.fromFileName(Paths.get("contacts.vcf.gz")));
+		assertEquals(Compression.GZIP, Compression.fromFileName(Paths.get("contacts.vcf.GZIP")));
+		assertEquals(Compression.DEFLATE, Compression.fromFileName(Paths.get("contacts.vcf.zz")));
+		assertEquals(Compression.DEFLATE, Compression.fromFileName(Paths.get("contacts.vcf.zlib")));
+		assertEquals(Compression.DEFLATE, Compression.fromFileName(Paths.get("contacts.vcf.deflate")));
+		assertEquals(Compression.NONE, Compression.fromFileName(Paths.get("contacts.vcf")));
+		assertEquals(Compression.NONE, Compression.fromFileName(Paths.get("gz")));
+	}
+
+	@Test
+	public void detect() throws Exception {
+		byte[] data = "BEGIN:VCARD".getBytes(StandardCharsets.UTF_8);
+
+		assertEquals(Compression.GZIP, Compression.detect(write(compress(Compression.GZIP, data))));
+		assertEquals(Compression.DEFLATE, Compression.detect(write(compress(Compression.DEFLATE, data))));
+		assertEquals(Compression.NONE, Compression.detect(write(data)));
+		assertEquals(Compression.NONE, Compression.detect(write(new byte[0])));
+		assertEquals(Compression.NONE, Compression.detect(write(new byte[] { 0x1f })));
+	}
+
+	@Test
+	public void decompress() throws Exception {
+		byte[] data = "BEGIN:VCARD".getBytes(StandardCharsets.UTF_8);
+
+		for (Compression compression : Compression.values()) {
+			InputStream in = Compression.decompress(new ByteArrayInputStream(compress(compression, data)));
+			assertArrayEquals(compression.name(), data, toByteArray(in));
+		}
+
+		for (byte[] shortData : new byte[][] { {}, { 'a' } }) {
+			InputStream in = Compression.decompress(new ByteArrayInputStream(shortData));
+			assertArrayEquals(shortData, toByteArray(in));
+		}
+	}
+
+	@Test
+	public void newOutputStream() throws Exception {
+		byte[] data = "BEGIN:VCARD".getBytes(StandardCharsets.UTF_8);
+
+		for (String extension : new String[] { ".vcf", ".vcf.gz", ".vcf.zz" }) {
+			Path file = folder.getRoot().toPath().resolve("contacts" + extension);
+			try (OutputStream out = Compression.newOutputStream(file, null)) {
+				out.write(data);
+			}
+			assertEquals(extension, Compression.fromFileName(file), Compression.detect(file));
+			assertArrayEquals(extension, data, toByteArray(Compression.newInputStream(file)));
+		}
+	}
+
+	@Test
+	public void newOutputStream_append_gzip() throws Exception {
+		Path file = folder.getRoot().toPath().resolve("contacts.vcf.gz");
+		for (String data : new String[] { "one", "two" }) {
+			try (OutputStream out = Compression.newOutputStream(file, null, StandardOpenOption.CREATE, StandardOpenOption.APPEND)) {
+				out.write(data.getBytes(StandardCharsets.UTF_8));
+			}
+		}
+
+		byte[] actual = toByteArray(Compression.newInputStream(file));
+		assertEquals("onetwo", new String(actual, StandardCharsets.UTF_8));
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void newOutputStream_append_deflate() throws Exception {
+		Path file = folder.getRoot().toPath().resolve("contacts.vcf.zz");
+		Compression.newOutputStream(file, null, StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+	}
+
+	@Test
+	public void vcard() throws Exception {
+		VCard vcard = new VCard();
+		vcard.setFormattedName("José");
+		ForkJoinPool pool = new ForkJoinPool(2);
+
+		try {
+			for (String extension : new String[] { ".vcf.gz", ".vcf.zz" }) {
+				Path file = folder.getRoot().toPath().resolve("contacts" + extension);
+
+				Ezvcard.write(vcard, vcard).version(VCardVersion.V4_0).parallel(pool).go(file);
+				List<VCard> parsed = Ezvcard.parse(file).memoryMapped(true).all();
+				assertEquals(2, parsed.size());
+				assertEquals("José", parsed.get(1).getFormattedName().getValue());
+
+				file = folder.getRoot().toPath().resolve("contacts.json" + extension.substring(4));
+				Ezvcard.writeJson(vcard).parallel(pool).go(file);
+				assertEquals("José", Ezvcard.parseJson(file).first().getFormattedName().getValue());
+
+				file = folder.getRoot().toPath().resolve("contacts.xml" + extension.substring(4));
+				Ezvcard.writeXml(vcard).parallel(pool).go(file);
+				assertEquals("José", Ezvcard.parseXml(file).first().getFormattedName().getValue());
+			}
+		} finally {
+			pool.shutdown();
+		}
+	}
+
+	private Path write(byte[] data) throws IOException {
+		Path file = folder.newFile().toPath();
+		Files.write(file, data);
+		return file;
+	}
+
+	private static byte[] compress(Compression compression, byte[] data) throws IOException {
+		ByteArrayOutputStream bout = new ByteArrayOutputStream();
+		try (OutputStream out = compression.compress(bout)) {
+			out.write(data);
+		}
+		return bout.toByteArray();
+	}
+
+	private static byte[] toByteArray(InputStream in) throws IOException {
+		try (InputStream closeMe = in) {
+			ByteArrayOutputStream out = new ByteArrayOutputStream();
+			byte[] buffer = new byte[1024];
+			int read;
+			while ((read = in.read(buffer)) != -1) {
+				out.write(buffer, 0, read);
+			}
+			return out.toByteArray();
+		}
+	}
+}
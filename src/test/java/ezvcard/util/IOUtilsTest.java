@@ -1,11 +1,20 @@
 package ezvcard.util;
 
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
 import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.verify;
 
+import java.io.ByteArrayInputStream;
 import java.io.Closeable;
 import java.io.IOException;
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
 
 import org.junit.Test;
 
@@ -51,4 +60,52 @@ public class IOUtilsTest {
 		IOUtils.closeQuietly(closeable);
 		verify(closeable).close();
 	}
+
+	@Test
+	public void contentEquals() throws Exception {
+		byte[] data = new byte[20000];
+		for (int i = 0; i < data.length; i++) {
+			data[i] = (byte) i;
+		}
+		byte[] different = data.clone();
+		different[data.length - 1]++;
+
+		assertTrue(IOUtils.contentEquals(new ByteArrayInputStream(data), new ByteArrayInputStream(data.clone())));
+		assertTrue(IOUtils.contentEquals(new ByteArrayInputStream(new byte[0]), new ByteArrayInputStream(new byte[0])));
+		assertFalse(IOUtils.contentEquals(new ByteArrayInputStream(data), new ByteArrayInputStream(different)));
+		assertFalse(IOUtils.contentEquals(new ByteArrayInputStream(data), new ByteArrayInputStream(Arrays.copyOf(data, 8192))));
+		assertFalse(IOUtils.contentEquals(new ByteArrayInputStream(Arrays.copyOf(data, 8192)), new ByteArrayInputStream(data)));
+	}
+
+	@Test
+	public void join() throws Exception {
+		ForkJoinPool pool = new ForkJoinPool(1);
+		try {
+			assertEquals("value", IOUtils.join(pool.submit(() -> "value")));
+
+			IOException ioException = new IOException();
+			ForkJoinTask<String> task = pool.submit(() -> {
+				throw ioException;
+			});
+			try {
+				IOUtils.join(task);
+				fail();
+			} catch (IOException e) {
+				assertSame(ioException, e);
+			}
+
+			IllegalStateException runtimeException = new IllegalStateException();
+			task = pool.submit(() -> {
+				throw runtimeException;
+			});
+			try {
+				IOUtils.join(task);
+				fail();
+			} catch (IllegalStateException e) {
+				//expected
+			}
+		} finally {
+			pool.shutdown();
+		}
+	}
 }
@@ -894,4 +894,38 @@ public class ListMultimapTest {
 		assertTrue(two.isEmpty());
 		assertCollectionContains(map.keySet());
 	}
+
+	@Test
+	public void getModCount() {
+		ListMultimap<String, String> map = new ListMultimap<>();
+		int count = map.getModCount();
+
+		map.put("foo", "1");
+		assertTrue(map.getModCount() > count);
+		count = map.getModCount();
+
+		List<String> list = map.get("foo");
+		list.add("2");
+		assertTrue(map.getModCount() > count);
+		count = map.getModCount();
+
+		list.set(0, "3");
+		assertTrue(map.getModCount() > count);
+		count = map.getModCount();
+
+		ListIterator<String> it = list.listIterator();
+		it.next();
+		it.remove();
+		assertTrue(map.getModCount() > count);
+		count = map.getModCount();
+
+		//no change
+		assertFalse(map.remove("foo", "bar"));
+		assertFalse(list.remove("bar"));
+		map.removeAll("bar");
+		assertEquals(count, map.getModCount());
+
+		map.removeAll("foo");
+		assertTrue(map.getModCount() > count);
+	}
 }
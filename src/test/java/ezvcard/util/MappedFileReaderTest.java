@@ -0,0 +1,167 @@
+package ezvcard.util;
+
+import static org.junit.Assert.assertEquals;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import ezvcard.Ezvcard;
+import ezvcard.VCard;
+
+/*
+ Copyright (c) 2012-2021, Michael Angstadt
+ All rights reserved.
+
+ Redistribution and use in source and binary forms, with or without
+ modification, are permitted provided that the following conditions are met: 
+
+ 1. Redistributions of source code must retain the above copyright notice, this
+ list of conditions and the following disclaimer. 
+ 2. Redistributions in binary form must reproduce the above copyright notice,
+ this list of conditions and the following disclaimer in the documentation
+ and/or other materials provided with the distribution. 
+
+ THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+
+ The views and conclusions contained in the software and documentation are those
+ of the authors and should not be interpreted as representing official policies, 
+ either expressed or implied, of the FreeBSD Project.
+ */
+
+/**
+ * @author Michael Angstadt
+ */
+public class MappedFileReaderTest {
+	@Rule
+	public TemporaryFolder folder = new TemporaryFolder();
+
+	@Test
+	public void read() throws Exception {
+		String data = "one two three";
+		Path file = write(data, StandardCharsets.UTF_8);
+
+		try (MappedFileReader reader = new MappedFileReader(file)) {
+			assertEquals(data, consume(reader));
+			assertEquals(-1, reader.read());
+		}
+	}
+
+	@Test
+	public void empty_file() throws Exception {
+		Path file = write("", StandardCharsets.UTF_8);
+
+		try (MappedFileReader reader = new MappedFileReader(file)) {
+			assertEquals(-1, reader.read());
+			assertEquals(-1, reader.read(new char[10], 0, 10));
+		}
+	}
+
+	@Test
+	public void small_windows() throws Exception {
+		StringBuilder sb = new StringBuilder();
+		for (int i = 0; i < 1000; i++) {
+			sb.append("aé€😀");
+		}
+		String data = sb.toString();
+		Path file = write(data, StandardCharsets.UTF_8);
+
+		/*
+		 * Multi-byte characters will straddle the window boundaries.
+		 */
+		for (long windowSize : new long[] { 4, 5, 7, 64, 8193 }) {
+			try (MappedFileReader reader = new MappedFileReader(file, StandardCharsets.UTF_8, windowSize)) {
+				assertEquals(data, consume(reader));
+			}
+		}
+	}
+
+	@Test
+	public void single_char_reads() throws Exception {
+		String data = "aé€";
+		Path file = write(data, StandardCharsets.UTF_8);
+
+		try (MappedFileReader reader = new MappedFileReader(file, StandardCharsets.UTF_8, 4)) {
+			assertEquals('a', reader.read());
+			assertEquals('é', reader.read());
+			assertEquals('€', reader.read());
+			assertEquals(-1, reader.read());
+		}
+	}
+
+	@Test
+	public void charset() throws Exception {
+		String data = "café";
+		Path file = write(data, StandardCharsets.ISO_8859_1);
+
+		try (MappedFileReader reader = new MappedFileReader(file, StandardCharsets.ISO_8859_1)) {
+			assertEquals(data, consume(reader));
+		}
+	}
+
+	@Test
+	public void malformed_input() throws Exception {
+		Path file = folder.newFile().toPath();
+		Files.write(file, new byte[] { 'a', (byte) 0xff, 'b', (byte) 0xe2, (byte) 0x82 });
+
+		try (MappedFileReader reader = new MappedFileReader(file)) {
+			assertEquals("a�b�", consume(reader));
+		}
+	}
+
+	@Test(expected = IOException.class)
+	public void closed() throws Exception {
+		Path file = write("one", StandardCharsets.UTF_8);
+
+		MappedFileReader reader = new MappedFileReader(file);
+		reader.close();
+		reader.read();
+	}
+
+	@Test
+	public void vcard() throws Exception {
+		//@formatter:off
+		String data =
+		"BEGIN:VCARD\r\n" +
+			"VERSION:4.0\r\n" +
+			"FN:José\r\n" +
+		"END:VCARD\r\n";
+		//@formatter:on
+		Path file = write(data, StandardCharsets.UTF_8);
+
+		VCard vcard = Ezvcard.parse(file).memoryMapped(true).first();
+		assertEquals("José", vcard.getFormattedName().getValue());
+	}
+
+	private Path write(String data, Charset charset) throws IOException {
+		Path file = folder.newFile().toPath();
+		Files.write(file, data.getBytes(charset));
+		return file;
+	}
+
+	private static String consume(Reader reader) throws IOException {
+		StringBuilder sb = new StringBuilder();
+		char[] buffer = new char[100];
+		int read;
+		while ((read = reader.read(buffer)) != -1) {
+			sb.append(buffer, 0, read);
+		}
+		return sb.toString();
+	}
+}
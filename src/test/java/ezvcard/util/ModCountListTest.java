@@ -0,0 +1,78 @@
+package ezvcard.util;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Arrays;
+import java.util.Iterator;
+
+import org.junit.Test;
+
+/*
+ Copyright (c) 2012-2021, Michael Angstadt
+ All rights reserved.
+
+ Redistribution and use in source and binary forms, with or without
+ modification, are permitted provided that the following conditions are met: 
+
+ 1. Redistributions of source code must retain the above copyright notice, this
+ list of conditions and the following disclaimer. 
+ 2. Redistributions in binary form must reproduce the above copyright notice,
+ this list of conditions and the following disclaimer in the documentation
+ and/or other materials provided with the distribution. 
+
+ THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+
+ The views and conclusions contained in the software and documentation are those
+ of the authors and should not be interpreted as representing official policies, 
+ either expressed or implied, of the FreeBSD Project.
+ */
+
+/**
+ * @author Michael Angstadt
+ */
+public class ModCountListTest {
+	@Test
+	public void getModCount() {
+		ModCountList<String> list = new ModCountList<>(Arrays.asList("a", "b"));
+		assertEquals(0, list.getModCount());
+		assertEquals(Arrays.asList("a", "b"), list);
+
+		int count = list.getModCount();
+		list.add("c");
+		assertTrue(list.getModCount() > count);
+
+		count = list.getModCount();
+		list.set(0, "a");
+		assertTrue(list.getModCount() > count);
+
+		count = list.getModCount();
+		Iterator<String> it = list.iterator();
+		it.next();
+		it.remove();
+		assertTrue(list.getModCount() > count);
+		assertEquals(Arrays.asList("b", "c"), list);
+
+		count = list.getModCount();
+		list.subList(0, 1).clear();
+		assertTrue(list.getModCount() > count);
+		assertEquals(Arrays.asList("c"), list);
+
+		count = list.getModCount();
+		list.clear();
+		assertTrue(list.getModCount() > count);
+
+		count = list.getModCount();
+		list.clear();
+		assertEquals(count, list.getModCount());
+	}
+}
@@ -0,0 +1,123 @@
+package ezvcard.util;
+
+import static org.junit.Assert.assertArrayEquals;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.ForkJoinPool;
+import java.util.zip.GZIPInputStream;
+
+import org.junit.AfterClass;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+/*
+ Copyright (c) 2012-2021, Michael Angstadt
+ All rights reserved.
+
+ Redistribution and use in source and binary forms, with or without
+ modification, are permitted provided that the following conditions are met: 
+
+ 1. Redistributions of source code must retain the above copyright notice, this
+ list of conditions and the following disclaimer. 
+ 2. Redistributions in binary form must reproduce the above copyright notice,
+ this list of conditions and the following disclaimer in the documentation
+ and/or other materials provided with the distribution. 
+
+ THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+
+ The views and conclusions contained in the software and documentation are those
+ of the authors and should not be interpreted as representing official policies, 
+ either expressed or implied, of the FreeBSD Project.
+ */
+
+/**
+ * @author Michael Angstadt
+ */
+public class ParallelGzipOutputStreamTest {
+	private static ForkJoinPool pool;
+
+	@BeforeClass
+	public static void beforeClass() {
+		pool = new ForkJoinPool(4);
+	}
+
+	@AfterClass
+	public static void afterClass() {
+		pool.shutdown();
+	}
+
+	@Test
+	public void write() throws Exception {
+		StringBuilder sb = new StringBuilder();
+		for (int i = 0; i < 1000; i++) {
+			sb.append("line ").append(i).append("\r\n");
+		}
+		byte[] data = sb.toString().getBytes(StandardCharsets.UTF_8);
+
+		/*
+		 * Use a small block size so the data is split across many gzip
+		 * members.
+		 */
+		ByteArrayOutputStream bout = new ByteArrayOutputStream();
+		try (OutputStream out = new ParallelGzipOutputStream(bout, pool, 100)) {
+			out.write(data, 0, 50);
+			out.write(data[50]);
+			out.write(data, 51, data.length - 51);
+		}
+
+		assertArrayEquals(data, gunzip(bout.toByteArray()));
+	}
+
+	@Test
+	public void flush() throws Exception {
+		byte[] data = "BEGIN:VCARD".getBytes(StandardCharsets.UTF_8);
+
+		ByteArrayOutputStream bout = new ByteArrayOutputStream();
+		try (OutputStream out = new ParallelGzipOutputStream(bout, pool)) {
+			out.write(data);
+			out.flush();
+			assertArrayEquals(data, gunzip(bout.toByteArray()));
+		}
+
+		assertArrayEquals(data, gunzip(bout.toByteArray()));
+	}
+
+	@Test
+	public void empty() throws Exception {
+		ByteArrayOutputStream bout = new ByteArrayOutputStream();
+		new ParallelGzipOutputStream(bout, pool).close();
+
+		assertArrayEquals(new byte[0], gunzip(bout.toByteArray()));
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void invalid_block_size() {
+		new ParallelGzipOutputStream(new ByteArrayOutputStream(), pool, 0);
+	}
+
+	private static byte[] gunzip(byte[] data) throws IOException {
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		try (InputStream in = new GZIPInputStream(new ByteArrayInputStream(data))) {
+			byte[] buffer = new byte[1024];
+			int read;
+			while ((read = in.read(buffer)) != -1) {
+				out.write(buffer, 0, read);
+			}
+		}
+		return out.toByteArray();
+	}
+}
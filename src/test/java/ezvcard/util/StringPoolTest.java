@@ -0,0 +1,80 @@
+package ezvcard.util;
+
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
+import org.junit.Test;
+
+/*
+ Copyright (c) 2012-2021, Michael Angstadt
+ All rights reserved.
+
+ Redistribution and use in source and binary forms, with or without
+ modification, are permitted provided that the following conditions are met: 
+
+ 1. Redistributions of source code must retain the above copyright notice, this
+ list of conditions and the following disclaimer. 
+ 2. Redistributions in binary form must reproduce the above copyright notice,
+ this list of conditions and the following disclaimer in the documentation
+ and/or other materials provided with the distribution. 
+
+ THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+
+ The views and conclusions contained in the software and documentation are those
+ of the authors and should not be interpreted as representing official policies, 
+ either expressed or implied, of the FreeBSD Project.
+ */
+
+/**
+ * @author Michael Angstadt
+ */
+public class StringPoolTest {
+	@Test
+	public void intern() {
+		StringPool pool = new StringPool();
+		String one = new String("work");
+		String two = new String("work");
+
+		assertSame(one, pool.intern(one));
+		assertSame(one, pool.intern(two));
+		assertNull(pool.intern(null));
+	}
+
+	@Test
+	public void max_length() {
+		StringPool pool = new StringPool(16, 3);
+		String one = new String("work");
+		String two = new String("work");
+
+		assertSame(one, pool.intern(one));
+		assertSame(two, pool.intern(two));
+	}
+
+	@Test
+	public void bounded() {
+		StringPool pool = new StringPool(1, 64);
+		String one = new String("work");
+		String two = new String("home");
+		String three = new String("work");
+
+		assertSame(one, pool.intern(one));
+		assertSame(two, pool.intern(two));
+
+		//"work" was replaced by "home"
+		assertSame(three, pool.intern(three));
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void invalid_capacity() {
+		new StringPool(0, 64);
+	}
+}
@@ -1,6 +1,7 @@
 package ezvcard.util;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
 
 import java.util.Arrays;
 import java.util.Collection;
@@ -76,4 +77,12 @@ public class StringUtilsTest {
 
 		assertEquals(expected, actual);
 	}
+
+	@Test
+	public void hashCodeIgnoreCase() {
+		assertEquals(StringUtils.hashCodeIgnoreCase("value"), StringUtils.hashCodeIgnoreCase("VaLuE"));
+		assertEquals(StringUtils.hashCodeIgnoreCase("Straße"), StringUtils.hashCodeIgnoreCase("STRAße"));
+		assertEquals(0, StringUtils.hashCodeIgnoreCase(""));
+		assertNotEquals(StringUtils.hashCodeIgnoreCase("one"), StringUtils.hashCodeIgnoreCase("two"));
+	}
 }
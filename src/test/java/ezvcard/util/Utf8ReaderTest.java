@@ -0,0 +1,163 @@
+package ezvcard.util;
+
+import static org.junit.Assert.assertEquals;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+
+import org.junit.Test;
+
+/*
+ Copyright (c) 2012-2021, Michael Angstadt
+ All rights reserved.
+
+ Redistribution and use in source and binary forms, with or without
+ modification, are permitted provided that the following conditions are met: 
+
+ 1. Redistributions of source code must retain the above copyright notice, this
+ list of conditions and the following disclaimer. 
+ 2. Redistributions in binary form must reproduce the above copyright notice,
+ this list of conditions and the following disclaimer in the documentation
+ and/or other materials provided with the distribution. 
+
+ THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+
+ The views and conclusions contained in the software and documentation are those
+ of the authors and should not be interpreted as representing official policies, 
+ either expressed or implied, of the FreeBSD Project.
+ */
+
+/**
+ * @author Michael Angstadt
+ */
+public class Utf8ReaderTest {
+	@Test
+	public void read() throws Exception {
+		String data = "BEGIN:VCARD\r\nFN:José Müller 😀\r\nNOTE:€\r\nEND:VCARD\r\n";
+		byte[] bytes = data.getBytes(StandardCharsets.UTF_8);
+
+		assertEquals(data, readBulk(new Utf8Reader(new ByteArrayInputStream(bytes)), 100));
+		assertEquals(data, readSingle(new Utf8Reader(new ByteArrayInputStream(bytes))));
+	}
+
+	@Test
+	public void multibyte_chars_straddle_buffer_boundary() throws Exception {
+		StringBuilder sb = new StringBuilder();
+		for (int i = 0; i < 5000; i++) {
+			sb.append("ab€😀é");
+		}
+		String data = sb.toString();
+		byte[] bytes = data.getBytes(StandardCharsets.UTF_8);
+
+		assertEquals(data, readBulk(new Utf8Reader(new TrickleInputStream(bytes, 3)), 7));
+		assertEquals(data, readBulk(new Utf8Reader(new ByteArrayInputStream(bytes)), 1000));
+		assertEquals(data, readSingle(new Utf8Reader(new TrickleInputStream(bytes, 5))));
+	}
+
+	@Test
+	public void malformed_input() throws Exception {
+		byte[][] inputs = { //@formatter:off
+			{ 'a', (byte) 0xff, 'b' },
+			{ 'a', (byte) 0xe2, (byte) 0x82, 'b' },
+			{ (byte) 0xe2, (byte) 0x82 },
+			{ (byte) 0xc3 },
+			{ (byte) 0x80, (byte) 0x80, 'a', (byte) 0xf0, (byte) 0x9f, (byte) 0x98 }
+		}; //@formatter:on
+
+		for (byte[] input : inputs) {
+			String expected = new Gobble(new InputStreamReader(new ByteArrayInputStream(input), StandardCharsets.UTF_8)).asString();
+			assertEquals(expected, readBulk(new Utf8Reader(new ByteArrayInputStream(input)), 100));
+			assertEquals(expected, readSingle(new Utf8Reader(new TrickleInputStream(input, 1))));
+		}
+	}
+
+	@Test
+	public void us_ascii() throws Exception {
+		byte[] input = "café".getBytes(StandardCharsets.UTF_8);
+		String expected = new Gobble(new InputStreamReader(new ByteArrayInputStream(input), StandardCharsets.US_ASCII)).asString();
+
+		assertEquals(expected, readBulk(new Utf8Reader(new ByteArrayInputStream(input), StandardCharsets.US_ASCII), 100));
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void unsupported_charset() {
+		new Utf8Reader(new ByteArrayInputStream(new byte[0]), StandardCharsets.UTF_16);
+	}
+
+	@Test
+	public void empty() throws Exception {
+		Utf8Reader reader = new Utf8Reader(new ByteArrayInputStream(new byte[0]));
+		assertEquals(-1, reader.read());
+		assertEquals(-1, reader.read(new char[10], 0, 10));
+	}
+
+	@Test
+	public void does_not_block_after_reading_chars() throws Exception {
+		int[] reads = { 0 };
+		TrickleInputStream in = new TrickleInputStream("ab\u00e9".getBytes(StandardCharsets.UTF_8), 3) {
+			@Override
+			public synchronized int read(byte[] b, int off, int len) {
+				reads[0]++;
+				return super.read(b, off, len);
+			}
+		};
+		Utf8Reader reader = new Utf8Reader(in);
+
+		char[] buffer = new char[10];
+		assertEquals(2, reader.read(buffer, 0, buffer.length));
+		assertEquals("ab", new String(buffer, 0, 2));
+		assertEquals(1, reads[0]);
+
+		assertEquals(1, reader.read(buffer, 0, buffer.length));
+		assertEquals('\u00e9', buffer[0]);
+		assertEquals(-1, reader.read(buffer, 0, buffer.length));
+	}
+
+	private static String readBulk(Reader reader, int bufferSize) throws IOException {
+		StringBuilder sb = new StringBuilder();
+		char[] buffer = new char[bufferSize];
+		int read;
+		while ((read = reader.read(buffer)) != -1) {
+			sb.append(buffer, 0, read);
+		}
+		return sb.toString();
+	}
+
+	private static String readSingle(Reader reader) throws IOException {
+		StringBuilder sb = new StringBuilder();
+		int c;
+		while ((c = reader.read()) != -1) {
+			sb.append((char) c);
+		}
+		return sb.toString();
+	}
+
+	/**
+	 * Returns only a few bytes per read.
+	 */
+	private static class TrickleInputStream extends ByteArrayInputStream {
+		private final int max;
+
+		public TrickleInputStream(byte[] buf, int max) {
+			super(buf);
+			this.max = max;
+		}
+
+		@Override
+		public synchronized int read(byte[] b, int off, int len) {
+			return super.read(b, off, Math.min(len, max));
+		}
+	}
+}
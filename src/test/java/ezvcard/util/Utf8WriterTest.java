@@ -0,0 +1,134 @@
+package ezvcard.util;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.channels.Channels;
+import java.nio.charset.StandardCharsets;
+
+import org.junit.Test;
+
+/*
+ Copyright (c) 2012-2021, Michael Angstadt
+ All rights reserved.
+
+ Redistribution and use in source and binary forms, with or without
+ modification, are permitted provided that the following conditions are met: 
+
+ 1. Redistributions of source code must retain the above copyright notice, this
+ list of conditions and the following disclaimer. 
+ 2. Redistributions in binary form must reproduce the above copyright notice,
+ this list of conditions and the following disclaimer in the documentation
+ and/or other materials provided with the distribution. 
+
+ THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+
+ The views and conclusions contained in the software and documentation are those
+ of the authors and should not be interpreted as representing official policies, 
+ either expressed or implied, of the FreeBSD Project.
+ */
+
+/**
+ * @author Michael Angstadt
+ */
+public class Utf8WriterTest {
+	@Test
+	public void write() throws Exception {
+		String data = "BEGIN:VCARD\r\nFN:José Müller 😀\r\nNOTE:€\r\nEND:VCARD\r\n";
+		byte[] expected = data.getBytes(StandardCharsets.UTF_8);
+
+		//bulk
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		try (Writer writer = new Utf8Writer(out)) {
+			writer.write(data);
+		}
+		assertArrayEquals(expected, out.toByteArray());
+
+		//one character at a time
+		out = new ByteArrayOutputStream();
+		try (Writer writer = new Utf8Writer(out)) {
+			for (char c : data.toCharArray()) {
+				writer.write(c);
+			}
+		}
+		assertArrayEquals(expected, out.toByteArray());
+
+		//char array, split in the middle of a surrogate pair
+		out = new ByteArrayOutputStream();
+		try (Writer writer = new Utf8Writer(out)) {
+			char[] chars = data.toCharArray();
+			int split = data.indexOf("😀") + 1;
+			writer.write(chars, 0, split);
+			writer.write(chars, split, chars.length - split);
+		}
+		assertArrayEquals(expected, out.toByteArray());
+	}
+
+	@Test
+	public void write_large() throws Exception {
+		StringBuilder sb = new StringBuilder();
+		for (int i = 0; i < 5000; i++) {
+			sb.append("abcé€😀");
+		}
+		String data = sb.toString();
+
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		try (Writer writer = new Utf8Writer(out)) {
+			writer.write(data);
+		}
+		assertArrayEquals(data.getBytes(StandardCharsets.UTF_8), out.toByteArray());
+	}
+
+	@Test
+	public void write_channel() throws Exception {
+		String data = "FN:José\r\n";
+
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		try (Writer writer = new Utf8Writer(Channels.newChannel(out))) {
+			writer.write(data);
+		}
+		assertArrayEquals(data.getBytes(StandardCharsets.UTF_8), out.toByteArray());
+	}
+
+	@Test
+	public void unpaired_surrogates() throws Exception {
+		String data = "a\ud83db\ude00c\ud83d";
+
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		try (Writer writer = new Utf8Writer(out)) {
+			writer.write(data);
+		}
+		assertArrayEquals(data.getBytes(StandardCharsets.UTF_8), out.toByteArray());
+	}
+
+	@Test
+	public void flush() throws Exception {
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		Writer writer = new Utf8Writer(out);
+		writer.write("abc");
+		assertEquals(0, out.size());
+
+		writer.flush();
+		assertEquals(3, out.size());
+		writer.close();
+	}
+
+	@Test(expected = IOException.class)
+	public void write_after_close() throws Exception {
+		Writer writer = new Utf8Writer(new ByteArrayOutputStream());
+		writer.close();
+		writer.write("abc");
+	}
+}